@@ -90,6 +90,24 @@ public class DbUtils {
         return method.getEnclosingElement().getSimpleName().toString() + "." + method.getSimpleName().toString();
     }
 
+    /**
+     * @return chunk size of {@code @Batch} parameter, 0 when batch is executed at once
+     */
+    public static int batchChunkSize(@Nullable QueryParameter batchParam) {
+        if (batchParam == null) {
+            return 0;
+        }
+        var annotation = AnnotationUtils.findAnnotation(batchParam.variable(), BATCH_ANNOTATION);
+        var chunkSize = AnnotationUtils.<Integer>parseAnnotationValueWithoutDefault(annotation, "chunkSize");
+        if (chunkSize == null) {
+            return 0;
+        }
+        if (chunkSize < 0) {
+            throw new ProcessingErrorException("@Batch chunk size can't be negative", batchParam.variable());
+        }
+        return chunkSize;
+    }
+
     public record Mapper(@Nullable TypeMirror typeMirror, TypeName typeName, Set<String> tag, @Nullable Function<CodeBlock, CodeBlock> wrapper) {
         public Mapper(TypeName typeName, Set<String> tag) {
             this(null, typeName, tag, null);
@@ -0,0 +1,232 @@
+package ru.tinkoff.kora.database.annotation.processor;
+
+import com.squareup.javapoet.*;
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.annotation.processor.common.AnnotationUtils;
+import ru.tinkoff.kora.annotation.processor.common.CommonUtils;
+import ru.tinkoff.kora.annotation.processor.common.FieldFactory;
+import ru.tinkoff.kora.annotation.processor.common.ProcessingErrorException;
+import ru.tinkoff.kora.database.annotation.processor.model.QueryParameter;
+
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.*;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
+
+/**
+ * Wraps generated query methods with {@code @Query(cache = ...)} result cache lookup and invalidates caches of the same {@code @Table} after write methods.
+ * Cache is bypassed inside of transaction, invalidation of blocking methods waits for commit of transaction of current or explicit connection.
+ * Cache key is built from method parameters, so array and non-record entity parameters are rejected.
+ * Original method body is moved to private {@code _<method>_uncached} method.
+ */
+public final class QueryCacheGenerator {
+    public static final ClassName CACHE = ClassName.get("ru.tinkoff.kora.cache", "Cache");
+    public static final ClassName QUERY_CACHE_KEY = ClassName.get("ru.tinkoff.kora.database.common", "QueryCacheKey");
+    private static final Set<ClassName> CURSOR_TYPES = Set.of(ClassName.get(Stream.class), ClassName.get("ru.tinkoff.kora.database.jdbc", "JdbcResultCursor"), ClassName.get(Flow.Publisher.class));
+
+    private final Map<ExecutableElement, String> methodCaches = new HashMap<>();
+    private final Map<String, Set<String>> tableCaches = new HashMap<>();
+
+    public QueryCacheGenerator(Types types, Elements elements, TypeSpec.Builder type, MethodSpec.Builder constructor, List<ExecutableElement> queryMethods) {
+        var caches = new FieldFactory(types, elements, type, constructor, "_query_cache_");
+        for (var method : queryMethods) {
+            var cacheType = cacheType(method);
+            if (cacheType == null) {
+                continue;
+            }
+            var cacheElement = elements.getTypeElement(CACHE.canonicalName());
+            var keyElement = elements.getTypeElement(QUERY_CACHE_KEY.canonicalName());
+            if (cacheElement == null) {
+                throw new ProcessingErrorException("@Query cache requires ru.tinkoff.kora.cache.Cache in classpath", method);
+            }
+            var expectedType = types.getDeclaredType(cacheElement, keyElement.asType(), types.getWildcardType(null, null));
+            if (!types.isAssignable(cacheType, expectedType)) {
+                throw new ProcessingErrorException("@Query cache must implement Cache<QueryCacheKey, ?>, but was " + cacheType, method);
+            }
+            var returnType = method.getReturnType();
+            if (returnType.getKind() == TypeKind.VOID || CommonUtils.isMono(returnType) || CommonUtils.isFuture(returnType) || CommonUtils.isFlux(returnType)
+                || TypeName.get(returnType) instanceof ParameterizedTypeName ptn && CURSOR_TYPES.contains(ptn.rawType)) {
+                throw new ProcessingErrorException("@Query cache is supported only for blocking methods returning value", method);
+            }
+            if (method.getParameters().stream().anyMatch(p -> AnnotationUtils.isAnnotationPresent(p, DbUtils.BATCH_ANNOTATION))) {
+                throw new ProcessingErrorException("@Query cache is not supported for @Batch methods", method);
+            }
+            if (!method.getThrownTypes().isEmpty()) {
+                throw new ProcessingErrorException("@Query cache is not supported for methods declaring checked exceptions", method);
+            }
+            var field = caches.add(TypeName.get(cacheType), Set.of());
+            this.methodCaches.put(method, field);
+            var table = table(method);
+            if (table != null) {
+                this.tableCaches.computeIfAbsent(table, t -> new LinkedHashSet<>()).add(field);
+            }
+        }
+    }
+
+    /**
+     * Fails when method has cache option, for repositories that don't support query cache
+     */
+    public static void checkNotCached(ExecutableElement method) {
+        if (cacheType(method) != null) {
+            throw new ProcessingErrorException("@Query cache is supported only for JDBC repositories", method);
+        }
+    }
+
+    @Nullable
+    private static TypeMirror cacheType(ExecutableElement method) {
+        var queryAnnotation = AnnotationUtils.findAnnotation(method, DbUtils.QUERY_ANNOTATION);
+        var cacheType = AnnotationUtils.<TypeMirror>parseAnnotationValueWithoutDefault(queryAnnotation, "cache");
+        if (cacheType == null || cacheType.getKind() == TypeKind.VOID) {
+            return null;
+        }
+        return cacheType;
+    }
+
+    @Nullable
+    private static String table(ExecutableElement method) {
+        var tableAnnotation = AnnotationUtils.findAnnotation(method, DbUtils.TABLE_ANNOTATION);
+        if (tableAnnotation == null) {
+            return null;
+        }
+        return AnnotationUtils.parseAnnotationValueWithoutDefault(tableAnnotation, "value");
+    }
+
+    /**
+     * @return generated method as is, or cache wrapper and private uncached method
+     */
+    public List<MethodSpec> generate(ExecutableElement method, ExecutableType methodType, QueryWithParameters query, List<QueryParameter> parameters, MethodSpec generated) {
+        var cacheField = this.methodCaches.get(method);
+        if (cacheField != null) {
+            return List.of(this.cachedMethod(method, methodType, query, parameters, generated, cacheField), uncachedMethod(generated));
+        }
+        var table = table(method);
+        var invalidatedCaches = table == null ? null : this.tableCaches.get(table);
+        if (invalidatedCaches == null) {
+            return List.of(generated);
+        }
+        return List.of(this.invalidatingMethod(method, methodType, parameters, generated, invalidatedCaches), uncachedMethod(generated));
+    }
+
+    private MethodSpec cachedMethod(ExecutableElement method, ExecutableType methodType, QueryWithParameters query, List<QueryParameter> parameters, MethodSpec generated, String cacheField) {
+        for (var parameter : parameters) {
+            checkKeyParameter(parameter);
+        }
+        var keyParameters = parameters.stream()
+            .filter(p -> !(p instanceof QueryParameter.ConnectionParameter))
+            .map(p -> CodeBlock.of("$N", p.variable().getSimpleName().toString()))
+            .collect(CodeBlock.joining(", "));
+        var keyParametersList = keyParameters.isEmpty()
+            ? CodeBlock.of("$T.of()", List.class)
+            : CodeBlock.of("$T.asList($L)", Arrays.class, keyParameters);
+        var b = DbUtils.queryMethodBuilder(method, methodType)
+            .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "unchecked").build());
+        // uncommitted data of transaction is not visible to others, so it can't be shared by cache
+        var connectionParameter = parameters.stream()
+            .filter(p -> p instanceof QueryParameter.ConnectionParameter)
+            .findFirst();
+        if (connectionParameter.isPresent()) {
+            b.beginControlFlow("if ($N != null || this._connectionFactory.currentConnection() != null)", connectionParameter.get().variable().getSimpleName().toString());
+        } else {
+            b.beginControlFlow("if (this._connectionFactory.currentConnection() != null)");
+        }
+        return b.addStatement("return this.$N($L)", uncachedName(generated), arguments(generated))
+            .endControlFlow()
+            .addStatement("var _cacheKey = new $T($S, $S, $L)", QUERY_CACHE_KEY, DbUtils.operationName(method), query.rawQuery(), keyParametersList)
+            .addStatement("return ($T) this.$N.computeIfAbsent(_cacheKey, _k -> this.$N($L))", generated.returnType.box(), cacheField, uncachedName(generated), arguments(generated))
+            .build();
+    }
+
+    /**
+     * Key parameters are compared with equals, so arrays and beans would give key that never matches
+     */
+    private static void checkKeyParameter(QueryParameter parameter) {
+        if (parameter instanceof QueryParameter.SimpleParameter && parameter.type().getKind() == TypeKind.ARRAY) {
+            throw new ProcessingErrorException("@Query cache is not supported for array parameters, use List instead", parameter.variable());
+        }
+        if (parameter instanceof QueryParameter.EntityParameter ep) {
+            if (ep.entity().typeElement().getKind() != ElementKind.RECORD) {
+                throw new ProcessingErrorException("@Query cache is supported only for record entity parameters", parameter.variable());
+            }
+            if (ep.entity().columns().stream().anyMatch(c -> c.type().getKind() == TypeKind.ARRAY)) {
+                throw new ProcessingErrorException("@Query cache is not supported for entity parameters with array fields", parameter.variable());
+            }
+        }
+    }
+
+    private MethodSpec invalidatingMethod(ExecutableElement method, ExecutableType methodType, List<QueryParameter> parameters, MethodSpec generated, Set<String> caches) {
+        var b = DbUtils.queryMethodBuilder(method, methodType);
+        var invalidate = CodeBlock.builder();
+        for (var cache : caches) {
+            invalidate.addStatement("this.$N.invalidateAll()", cache);
+        }
+        var returnType = methodType.getReturnType();
+        if (CommonUtils.isMono(returnType)) {
+            return b.addCode("return this.$N($L).doFinally(_signal -> {$>\n", uncachedName(generated), arguments(generated))
+                .addCode(invalidate.build())
+                .addCode("$<});\n")
+                .build();
+        }
+        if (CommonUtils.isFuture(returnType)) {
+            return b.addCode("return this.$N($L).whenComplete((_result, _error) -> {$>\n", uncachedName(generated), arguments(generated))
+                .addCode(invalidate.build())
+                .addCode("$<});\n")
+                .build();
+        }
+        // inside of transaction cache is invalidated after commit, otherwise other thread could cache old data before commit
+        b.beginControlFlow("try");
+        if (returnType.getKind() == TypeKind.VOID) {
+            b.addStatement("this.$N($L)", uncachedName(generated), arguments(generated));
+        } else {
+            b.addStatement("return this.$N($L)", uncachedName(generated), arguments(generated));
+        }
+        b.nextControlFlow("finally");
+        // explicit connection could take part in transaction, that is not current one
+        var connectionParameter = parameters.stream()
+            .filter(p -> p instanceof QueryParameter.ConnectionParameter)
+            .findFirst();
+        if (connectionParameter.isPresent()) {
+            var connection = connectionParameter.get().variable().getSimpleName().toString();
+            b.beginControlFlow("if ($N != null)", connection)
+                .addCode("this._connectionFactory.afterCommit($N, () -> {$>\n", connection)
+                .addCode(invalidate.build())
+                .addCode("$<});\n")
+                .nextControlFlow("else");
+        }
+        b.addCode("this._connectionFactory.afterCommit(() -> {$>\n")
+            .addCode(invalidate.build())
+            .addCode("$<});\n");
+        if (connectionParameter.isPresent()) {
+            b.endControlFlow();
+        }
+        return b.endControlFlow().build();
+    }
+
+    private static MethodSpec uncachedMethod(MethodSpec generated) {
+        return MethodSpec.methodBuilder(uncachedName(generated))
+            .addModifiers(Modifier.PRIVATE)
+            .addTypeVariables(generated.typeVariables)
+            .returns(generated.returnType)
+            .addParameters(generated.parameters)
+            .addExceptions(generated.exceptions)
+            .varargs(generated.varargs)
+            .addCode(generated.code)
+            .build();
+    }
+
+    private static String uncachedName(MethodSpec generated) {
+        return "_" + generated.name + "_uncached";
+    }
+
+    private static CodeBlock arguments(MethodSpec generated) {
+        return generated.parameters.stream()
+            .map(p -> CodeBlock.of("$N", p.name))
+            .collect(CodeBlock.joining(", "));
+    }
+}
@@ -91,6 +91,11 @@ public class CassandraNativeTypes {
             (rsName, i) -> CodeBlock.of("$L.get($L, $T.class)", rsName, i, ZonedDateTime.class),
             (stmt, var, i) -> CodeBlock.of("$L.set($L, $L, $T.class)", stmt, i, var, ZonedDateTime.class)
         );
+        var token = CassandraNativeType.of(
+            CassandraTypes.TOKEN,
+            (rsName, i) -> CodeBlock.of("$L.getToken($L)", rsName, i),
+            (stmt, var, i) -> CodeBlock.of("$L.setToken($L, $L)", stmt, i, var)
+        );
 
         nativeTypes = List.of(
             booleanPrimitive,
@@ -112,7 +117,8 @@ public class CassandraNativeTypes {
             localDate,
             instant,
             localTime,
-            zonedDateTime
+            zonedDateTime,
+            token
         );
     }
 
@@ -5,6 +5,7 @@ import jakarta.annotation.Nullable;
 import ru.tinkoff.kora.annotation.processor.common.*;
 import ru.tinkoff.kora.common.Tag;
 import ru.tinkoff.kora.database.annotation.processor.DbUtils;
+import ru.tinkoff.kora.database.annotation.processor.QueryCacheGenerator;
 import ru.tinkoff.kora.database.annotation.processor.QueryWithParameters;
 import ru.tinkoff.kora.database.annotation.processor.RepositoryGenerator;
 import ru.tinkoff.kora.database.annotation.processor.model.QueryParameter;
@@ -58,8 +59,9 @@ public class CassandraRepositoryGenerator implements RepositoryGenerator {
 
         int methodCounter = 1;
         for (var method : queryMethods) {
+            QueryCacheGenerator.checkNotCached(method);
             var methodType = (ExecutableType) this.types.asMemberOf(repositoryType, method);
-            var parameters = QueryParameterParser.parse(this.types, CassandraTypes.CONNECTION, CassandraTypes.PARAMETER_COLUMN_MAPPER, method, methodType);
+            var parameters = QueryParameterParser.parse(this.types, List.of(CassandraTypes.CONNECTION, CassandraTypes.PAGE_REQUEST), CassandraTypes.PARAMETER_COLUMN_MAPPER, method, methodType);
             var queryAnnotation = AnnotationUtils.findAnnotation(method, DbUtils.QUERY_ANNOTATION);
             var queryString = AnnotationUtils.<String>parseAnnotationValueWithoutDefault(queryAnnotation, "value");
             var query = QueryWithParameters.parse(filer, types, queryString, parameters, repositoryType, method);
@@ -108,6 +110,17 @@ public class CassandraRepositoryGenerator implements RepositoryGenerator {
         var isFlux = CommonUtils.isFlux(returnType);
         var isMono = CommonUtils.isMono(returnType);
         var isFuture = CommonUtils.isFuture(returnType);
+        var isPage = isPage(isFuture ? ((DeclaredType) returnType).getTypeArguments().get(0) : returnType);
+        var pageRequest = parameters.stream()
+            .filter(p -> p instanceof QueryParameter.ConnectionParameter && TypeName.get(p.type()).equals(CassandraTypes.PAGE_REQUEST))
+            .findFirst()
+            .orElse(null);
+        if (pageRequest != null && !isPage) {
+            throw new ProcessingErrorException("CassandraPageRequest parameter is allowed only for methods returning CassandraPage", method);
+        }
+        if (isPage && (isMono || isFlux)) {
+            throw new ProcessingErrorException("CassandraPage can be returned only by blocking or CompletionStage methods", method);
+        }
         if (isMono || isFlux) {
             b.addCode("return ");
             b.beginControlFlow("$T.deferContextual(_reactorCtx ->", isFlux ? CommonClassNames.flux : CommonClassNames.mono);
@@ -141,6 +154,9 @@ public class CassandraRepositoryGenerator implements RepositoryGenerator {
         if (profile != null) {
             b.addStatement("_stmt.setExecutionProfileName($S)", profile);
         }
+        if (pageRequest != null) {
+            b.addStatement("$N.applyTo(_stmt)", pageRequest.name());
+        }
 
         StatementSetterGenerator.generate(b, method, query, parameters, batchParam, parameterMappers);
         if (isMono || isFlux) {
@@ -169,7 +185,11 @@ public class CassandraRepositoryGenerator implements RepositoryGenerator {
                 b.addStatement("return _session.executeAsync(_s).thenApply(_rs -> (Void)null)");
             } else {
                 Objects.requireNonNull(resultMapperName, () -> "Illegal State occurred when expected to get result mapper, but got null in " + method.getEnclosingElement().getSimpleName() + "#" + method.getSimpleName());
-                b.addStatement("return _session.executeAsync(_s).thenCompose($N::apply)", resultMapperName);
+                if (isPage) {
+                    b.addStatement("return _session.executeAsync(_s).thenApply(_rs -> $T.of(_rs, $N))", CassandraTypes.PAGE, resultMapperName);
+                } else {
+                    b.addStatement("return _session.executeAsync(_s).thenCompose($N::apply)", resultMapperName);
+                }
             }
             b.addCode("""
                     $<})$<
@@ -188,7 +208,11 @@ public class CassandraRepositoryGenerator implements RepositoryGenerator {
             b.addStatement("var _rs = _session.execute(_s)");
             if (returnType.getKind() != TypeKind.VOID) {
                 Objects.requireNonNull(resultMapperName, () -> "Illegal State occurred when expected to get result mapper, but got null in " + method.getEnclosingElement().getSimpleName() + "#" + method.getSimpleName());
-                b.addStatement("var _result = $N.apply(_rs)", resultMapperName);
+                if (isPage) {
+                    b.addStatement("var _result = $T.of(_rs, $N)", CassandraTypes.PAGE, resultMapperName);
+                } else {
+                    b.addStatement("var _result = $N.apply(_rs)", resultMapperName);
+                }
             }
             b.addStatement("_telemetry.close(null)");
             if (returnType.getKind() != TypeKind.VOID) {
@@ -214,6 +238,16 @@ public class CassandraRepositoryGenerator implements RepositoryGenerator {
         var resultSetMapper = mappings.getMapping(CassandraTypes.RESULT_SET_MAPPER);
         var reactiveResultSetMapper = mappings.getMapping(CassandraTypes.REACTIVE_RESULT_SET_MAPPER);
         var rowMapper = mappings.getMapping(CassandraTypes.ROW_MAPPER);
+        var pageType = CommonUtils.isFuture(returnType) ? Visitors.visitDeclaredType(returnType, dt -> dt.getTypeArguments().get(0)) : returnType;
+        if (isPage(pageType)) {
+            // page is built from first page of result set with row mapper
+            var rowType = ((DeclaredType) pageType).getTypeArguments().get(0);
+            var mapperType = ParameterizedTypeName.get(CassandraTypes.ROW_MAPPER, TypeName.get(rowType));
+            if (rowMapper != null) {
+                return Optional.of(new DbUtils.Mapper(rowMapper.mapperClass(), mapperType, rowMapper.mapperTags()));
+            }
+            return Optional.of(new DbUtils.Mapper(mapperType, Set.of()));
+        }
         if (CommonUtils.isFlux(returnType)) {
             var fluxParam = Visitors.visitDeclaredType(returnType, dt -> dt.getTypeArguments().get(0));
             if (CommonUtils.isVoid(fluxParam)) {
@@ -283,6 +317,10 @@ public class CassandraRepositoryGenerator implements RepositoryGenerator {
         return Optional.of(new DbUtils.Mapper(mapperType, Set.of()));
     }
 
+    private static boolean isPage(TypeMirror type) {
+        return TypeName.get(type) instanceof ParameterizedTypeName ptn && ptn.rawType.equals(CassandraTypes.PAGE);
+    }
+
     public void enrichWithExecutor(TypeElement repositoryElement, TypeSpec.Builder builder, MethodSpec.Builder constructorBuilder) {
         builder.addField(CassandraTypes.CONNECTION_FACTORY, "_connectionFactory", Modifier.PRIVATE, Modifier.FINAL);
         builder.addSuperinterface(CassandraTypes.REPOSITORY);
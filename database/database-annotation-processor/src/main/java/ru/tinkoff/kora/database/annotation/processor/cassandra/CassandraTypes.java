@@ -14,10 +14,13 @@ public class CassandraTypes {
     public static final ClassName DEFAULT_BATCH_TYPE = ClassName.get("com.datastax.oss.driver.api.core.cql", "DefaultBatchType");
     public static final ClassName STATEMENT = ClassName.get("com.datastax.oss.driver.api.core.cql", "Statement");
     public static final ClassName BOUND_STATEMENT_BUILDER = ClassName.get("com.datastax.oss.driver.api.core.cql", "BoundStatementBuilder");
+    public static final ClassName TOKEN = ClassName.get("com.datastax.oss.driver.api.core.metadata.token", "Token");
 
 
     public static final ClassName CONNECTION_FACTORY = ClassName.get("ru.tinkoff.kora.database.cassandra", "CassandraConnectionFactory");
     public static final ClassName REPOSITORY = ClassName.get("ru.tinkoff.kora.database.cassandra", "CassandraRepository");
+    public static final ClassName PAGE = ClassName.get("ru.tinkoff.kora.database.cassandra", "CassandraPage");
+    public static final ClassName PAGE_REQUEST = ClassName.get("ru.tinkoff.kora.database.cassandra", "CassandraPageRequest");
 
     public static final ClassName CASSANDRA_PROFILE = ClassName.get("ru.tinkoff.kora.database.cassandra.annotation", "CassandraProfile");
     public static final ClassName PARAMETER_COLUMN_MAPPER = ClassName.get("ru.tinkoff.kora.database.cassandra.mapper.parameter", "CassandraParameterColumnMapper");
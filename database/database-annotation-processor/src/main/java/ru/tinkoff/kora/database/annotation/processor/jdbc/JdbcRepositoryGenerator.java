@@ -6,6 +6,7 @@ import ru.tinkoff.kora.annotation.processor.common.*;
 import ru.tinkoff.kora.common.Tag;
 import ru.tinkoff.kora.database.annotation.processor.DbUtils;
 import ru.tinkoff.kora.database.annotation.processor.DbUtils.Mapper;
+import ru.tinkoff.kora.database.annotation.processor.QueryCacheGenerator;
 import ru.tinkoff.kora.database.annotation.processor.QueryWithParameters;
 import ru.tinkoff.kora.database.annotation.processor.RepositoryGenerator;
 import ru.tinkoff.kora.database.annotation.processor.model.QueryParameter;
@@ -28,9 +29,14 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
 import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 public final class JdbcRepositoryGenerator implements RepositoryGenerator {
+    private static final ClassName STREAM = ClassName.get(Stream.class);
+    private static final ClassName PUBLISHER = ClassName.get(Flow.Publisher.class);
+
     private final TypeMirror repositoryInterface;
     private final Types types;
     private final Elements elements;
@@ -55,6 +61,7 @@ public final class JdbcRepositoryGenerator implements RepositoryGenerator {
         this.enrichWithExecutor(repositoryElement, type, constructor, queryMethods);
         var resultMappers = new FieldFactory(this.types, elements, type, constructor, "_result_mapper_");
         var parameterMappers = new FieldFactory(this.types, elements, type, constructor, "_parameter_mapper_");
+        var queryCache = new QueryCacheGenerator(this.types, this.elements, type, constructor, queryMethods);
 
         int methodCounter = 1;
         for (var method : queryMethods) {
@@ -74,7 +81,7 @@ public final class JdbcRepositoryGenerator implements RepositoryGenerator {
                 JdbcTypes.PARAMETER_COLUMN_MAPPER
             ));
             var methodSpec = this.generate(repositoryElement, type, methodCounter, method, methodType, query, parameters, resultMapper, parameterMappers);
-            type.addMethod(methodSpec);
+            type.addMethods(queryCache.generate(method, methodType, query, parameters, methodSpec));
             methodCounter++;
         }
         return type.addMethod(constructor.build()).build();
@@ -97,6 +104,22 @@ public final class JdbcRepositoryGenerator implements RepositoryGenerator {
 
         var batchParam = parameters.stream().filter(QueryParameter.BatchParameter.class::isInstance).findFirst().orElse(null);
         var generatedKeys = AnnotationUtils.isAnnotationPresent(method, DbUtils.ID_ANNOTATION);
+        if (cursorType(methodType.getReturnType()) != null) {
+            if (batchParam != null || generatedKeys) {
+                throw new ProcessingErrorException("@Batch and @Id methods can't return Stream, JdbcResultCursor or Flow.Publisher", method);
+            }
+            var rowType = ((DeclaredType) methodType.getReturnType()).getTypeArguments().get(0);
+            var rowMapperType = ParameterizedTypeName.get(JdbcTypes.ROW_MAPPER, TypeName.get(rowType).box());
+            var mappings = CommonUtils.parseMapping(method);
+            if (mappings.getMapping(JdbcTypes.RESULT_SET_MAPPER) != null) {
+                throw new ProcessingErrorException("Stream, JdbcResultCursor and Flow.Publisher results are mapped row by row, use JdbcRowMapper instead of JdbcResultSetMapper", method);
+            }
+            var rowMapper = mappings.getMapping(JdbcTypes.ROW_MAPPER);
+            if (rowMapper != null) {
+                return Optional.of(new Mapper(rowMapper.mapperClass(), rowMapperType, mappings.mapperTags()));
+            }
+            return Optional.of(new Mapper(rowMapperType, mappings.mapperTags()));
+        }
         if (batchParam != null && !generatedKeys) {
             // either void or update count, no way to parse results from db with jdbc api
             if (ArrayTypeName.of(int.class).equals(TypeName.get(returnType))) {
@@ -140,6 +163,15 @@ public final class JdbcRepositoryGenerator implements RepositoryGenerator {
             sql = sql.replace(":" + parameter.sqlParameterName(), "?");
         }
 
+        var queryAnnotation = AnnotationUtils.findAnnotation(method, DbUtils.QUERY_ANNOTATION);
+        var fetchSize = Objects.requireNonNullElse(AnnotationUtils.<Integer>parseAnnotationValueWithoutDefault(queryAnnotation, "fetchSize"), 0);
+        var readOnly = Objects.requireNonNullElse(AnnotationUtils.<Boolean>parseAnnotationValueWithoutDefault(queryAnnotation, "readOnly"), false);
+        var newConnection = readOnly ? "newReadOnlyConnection" : "newConnection";
+        var cursorType = cursorType(methodType.getReturnType());
+        if (cursorType != null) {
+            return this.generateCursor(type, methodNumber, method, methodType, cursorType, query, sql, fetchSize, newConnection, parameters, resultMapperName, parameterMappers);
+        }
+
         var b = DbUtils.queryMethodBuilder(method, methodType);
         var returnType = methodType.getReturnType();
         final boolean isMono = CommonUtils.isMono(returnType);
@@ -156,54 +188,66 @@ public final class JdbcRepositoryGenerator implements RepositoryGenerator {
             .map(p -> CodeBlock.of("$L", p.variable()))
             .orElse(CodeBlock.of("this._connectionFactory.currentConnection()"));
 
-        var queryContextFieldName = "QUERY_CONTEXT_" + methodNumber;
-        type.addField(
-            FieldSpec.builder(DbUtils.QUERY_CONTEXT, queryContextFieldName, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
-                .initializer("""
-                    new $T(
-                          $S,
-                          $S,
-                          $S
-                        )""", DbUtils.QUERY_CONTEXT, query.rawQuery(), sql, DbUtils.operationName(method))
-                .build());
+        var queryContextFieldName = this.addQueryContextField(type, methodNumber, method, query, sql);
         b.addStatement("var _query = $L", queryContextFieldName);
 
+        var generatedKeys = AnnotationUtils.isAnnotationPresent(method, DbUtils.ID_ANNOTATION);
+        var chunkSize = DbUtils.batchChunkSize(batchParam);
+        if (chunkSize > 0 && generatedKeys) {
+            throw new ProcessingErrorException("@Batch with chunk size can't return database-generated @Id", method);
+        }
+        var ctx = isFuture || isMono ? "_ctxFork" : "_ctxCurrent";
         if (isFuture || isMono) {
             b.addCode("""
                 var _ctxFork = _ctxCurrent.fork();
                 _ctxFork.inject();
-                var _telemetry = this._connectionFactory.telemetry().createContext(_ctxFork, _query);
                 """);
+        }
+        if (chunkSize > 0) {
+            var large = returnType.toString().equals(DbUtils.UPDATE_COUNT.canonicalName()) || returnType.toString().equals("long[]");
+            b.addStatement("var _telemetry = new $T(this._connectionFactory.telemetry(), $L, _query, $L, $L)", JdbcTypes.BATCH_CHUNKS, ctx, chunkSize, large);
         } else {
-            b.addCode("""
-                var _telemetry = this._connectionFactory.telemetry().createContext(_ctxCurrent, _query);
-                """);
+            b.addStatement("var _telemetry = this._connectionFactory.telemetry().createContext($L, _query)", ctx);
         }
+        var executeBatch = chunkSize > 0 ? CodeBlock.of("_telemetry.executeBatch(_stmt)") : CodeBlock.of("_stmt.executeBatch()");
+        var executeLargeBatch = chunkSize > 0 ? CodeBlock.of("_telemetry.executeLargeBatch(_stmt)") : CodeBlock.of("_stmt.executeLargeBatch()");
 
         b.addCode("""
             var _conToUse = $L;
             $T _conToClose;
             if (_conToUse == null) {
-                _conToUse = this._connectionFactory.newConnection();
+                try {
+                    _conToUse = this._connectionFactory.$L();
+                } catch (RuntimeException e) {
+                    _telemetry.close(e);
+                    throw e;
+                }
                 _conToClose = _conToUse;
             } else {
                 _conToClose = null;
             }
-            """, connection, JdbcTypes.CONNECTION);
+            """, connection, JdbcTypes.CONNECTION, newConnection);
 
-        var generatedKeys = AnnotationUtils.isAnnotationPresent(method, DbUtils.ID_ANNOTATION);
         if (generatedKeys) {
             b.addCode("try (_conToClose; var _stmt = _conToUse.prepareStatement(_query.sql(), $T.RETURN_GENERATED_KEYS)) {$>\n", Statement.class);
+        } else if (chunkSize > 0) {
+            // statement is closed before transaction of chunks is rolled back, and connection is closed after that
+            b.addCode("try (_conToClose; var _batchTx = _telemetry.begin(_conToUse); var _stmtLease = this._connectionFactory.prepareStatement(_conToUse, _query)) {$>\n");
+            b.addStatement("var _stmt = _stmtLease.statement()");
         } else {
-            b.addCode("try (_conToClose; var _stmt = _conToUse.prepareStatement(_query.sql())) {$>\n");
+            b.addCode("try (_conToClose; var _stmtLease = this._connectionFactory.prepareStatement(_conToUse, _query)) {$>\n");
+            b.addStatement("var _stmt = _stmtLease.statement()");
+        }
+        if (fetchSize > 0) {
+            b.addStatement("_stmt.setFetchSize($L)", fetchSize);
         }
-        b.addCode(StatementSetterGenerator.generate(method, query, parameters, batchParam, parameterMappers));
+        b.addCode(StatementSetterGenerator.generate(method, query, parameters, batchParam, chunkSize > 0, parameterMappers));
         if (MethodUtils.isVoid(method)
             || isMono && MethodUtils.isVoidGeneric(methodType.getReturnType())
             || isFuture && MethodUtils.isVoidGeneric(methodType.getReturnType())) {
 
             if (batchParam != null) {
-                b.addStatement("_stmt.executeBatch()");
+                b.addStatement("$L", executeBatch);
             } else {
                 b.addStatement("_stmt.execute()");
             }
@@ -215,15 +259,15 @@ public final class JdbcRepositoryGenerator implements RepositoryGenerator {
             }
         } else if (batchParam != null) {
             if (returnType.toString().equals(DbUtils.UPDATE_COUNT.canonicalName())) {
-                b.addStatement("var _batchResult = _stmt.executeLargeBatch()");
+                b.addStatement("var _batchResult = $L", executeLargeBatch);
                 b.addStatement("_telemetry.close(null)");
                 b.addStatement("return new $T($T.of(_batchResult).sum())", DbUtils.UPDATE_COUNT, LongStream.class);
             } else if (returnType.toString().equals("long[]")) {
-                b.addStatement("var _batchResult = _stmt.executeLargeBatch()");
+                b.addStatement("var _batchResult = $L", executeLargeBatch);
                 b.addStatement("_telemetry.close(null)");
                 b.addStatement("return _batchResult");
             } else if (returnType.toString().equals("int[]")) {
-                b.addStatement("var _batchResult = _stmt.executeBatch()");
+                b.addStatement("var _batchResult = $L", executeBatch);
                 b.addStatement("_telemetry.close(null)");
                 b.addStatement("return _batchResult");
             } else if (generatedKeys) {
@@ -231,14 +275,14 @@ public final class JdbcRepositoryGenerator implements RepositoryGenerator {
                     ? CodeBlock.of("_result")
                     : CodeBlock.of("$T.requireNonNull(_result, $S)", Objects.class, "Result mapping is expected non-null, but was null");
 
-                b.addStatement("var _batchResult = _stmt.executeBatch()");
+                b.addStatement("var _batchResult = $L", executeBatch);
                 b.addCode("try (var _rs = _stmt.getGeneratedKeys()) {$>\n")
                     .addCode("var _result = $L.apply(_rs);\n", resultMapperName)
                     .addCode("_telemetry.close(null);\n")
                     .addCode("return $L;", result)
                     .addCode("$<\n}\n");
             } else {
-                b.addStatement("var _batchResult = _stmt.executeBatch()");
+                b.addStatement("var _batchResult = $L", executeBatch);
                 b.addStatement("_telemetry.close(null)");
             }
         } else if (returnType.toString().equals(DbUtils.UPDATE_COUNT.canonicalName())) {
@@ -293,6 +337,95 @@ public final class JdbcRepositoryGenerator implements RepositoryGenerator {
         return b.build();
     }
 
+    private MethodSpec generateCursor(TypeSpec.Builder type, int methodNumber, ExecutableElement method, ExecutableType methodType, ClassName cursorType, QueryWithParameters query, String sql, int fetchSize, String newConnection, List<QueryParameter> parameters, String rowMapperName, FieldFactory parameterMappers) {
+        var b = DbUtils.queryMethodBuilder(method, methodType);
+        var isPublisher = cursorType.equals(PUBLISHER);
+        var connection = parameters.stream().filter(QueryParameter.ConnectionParameter.class::isInstance).findFirst()
+            .map(p -> CodeBlock.of("$L", p.variable()))
+            .orElse(CodeBlock.of("this._connectionFactory.currentConnection()"));
+        var queryContextFieldName = this.addQueryContextField(type, methodNumber, method, query, sql);
+
+        b.addStatement("var _ctxCurrent = ru.tinkoff.kora.common.Context.current()");
+        if (isPublisher) {
+            b.addCode("return new $T<>(_executor, () -> {$>\n", JdbcTypes.RESULT_PUBLISHER);
+            b.addCode("""
+                var _ctxFork = _ctxCurrent.fork();
+                _ctxFork.inject();
+                var _query = $L;
+                var _telemetry = this._connectionFactory.telemetry().createContext(_ctxFork, _query);
+                """, queryContextFieldName);
+        } else {
+            b.addCode("""
+                var _query = $L;
+                var _telemetry = this._connectionFactory.telemetry().createContext(_ctxCurrent, _query);
+                """, queryContextFieldName);
+        }
+        b.addCode("""
+            var _conToUse = $L;
+            $T _conToClose;
+            if (_conToUse == null) {
+                try {
+                    _conToUse = this._connectionFactory.$L();
+                } catch (RuntimeException e) {
+                    _telemetry.close(e);
+                    throw e;
+                }
+                _conToClose = _conToUse;
+            } else {
+                _conToClose = null;
+            }
+            var _cursor = new $T<>(_conToClose, _telemetry, $L);
+            try {$>
+            var _stmt = _cursor.prepare(_conToUse, _query.sql(), $L);
+            """, connection, JdbcTypes.CONNECTION, newConnection, JdbcTypes.RESULT_CURSOR, rowMapperName, fetchSize);
+        b.addCode(StatementSetterGenerator.generate(method, query, parameters, null, parameterMappers));
+        b.addStatement("_cursor.execute()");
+        if (cursorType.equals(STREAM)) {
+            b.addStatement("return _cursor.stream()");
+        } else {
+            b.addStatement("return _cursor");
+        }
+        b.addCode("$<\n} catch (java.sql.SQLException e) {\n")
+            .addCode("  _cursor.close(e);\n")
+            .addCode("  throw new ru.tinkoff.kora.database.jdbc.RuntimeSqlException(e);\n")
+            .addCode("} catch (Exception e) {\n")
+            .addCode("  _cursor.close(e);\n")
+            .addCode("  throw e;\n");
+        if (isPublisher) {
+            b.addCode("} finally {\n")
+                .addCode("  _ctxCurrent.inject();\n")
+                .addCode("}\n");
+            b.addCode("$<\n});\n");
+        } else {
+            b.addCode("}\n");
+        }
+        return b.build();
+    }
+
+    private String addQueryContextField(TypeSpec.Builder type, int methodNumber, ExecutableElement method, QueryWithParameters query, String sql) {
+        var queryContextFieldName = "QUERY_CONTEXT_" + methodNumber;
+        type.addField(
+            FieldSpec.builder(DbUtils.QUERY_CONTEXT, queryContextFieldName, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("""
+                    new $T(
+                          $S,
+                          $S,
+                          $S
+                        )""", DbUtils.QUERY_CONTEXT, query.rawQuery(), sql, DbUtils.operationName(method))
+                .build());
+        return queryContextFieldName;
+    }
+
+    @Nullable
+    private static ClassName cursorType(TypeMirror returnType) {
+        if (TypeName.get(returnType) instanceof ParameterizedTypeName ptn) {
+            if (ptn.rawType.equals(STREAM) || ptn.rawType.equals(JdbcTypes.RESULT_CURSOR) || ptn.rawType.equals(PUBLISHER)) {
+                return ptn.rawType;
+            }
+        }
+        return null;
+    }
+
     public void enrichWithExecutor(TypeElement repositoryElement, TypeSpec.Builder builder, MethodSpec.Builder constructorBuilder, List<ExecutableElement> queryMethods) {
         builder.addField(JdbcTypes.CONNECTION_FACTORY, "_connectionFactory", Modifier.PRIVATE, Modifier.FINAL);
         builder.addSuperinterface(JdbcTypes.JDBC_REPOSITORY);
@@ -311,7 +444,7 @@ public final class JdbcRepositoryGenerator implements RepositoryGenerator {
         }
         constructorBuilder.addStatement("this._connectionFactory = _connectionFactory");
 
-        var needThreadPool = queryMethods.stream().anyMatch(e -> CommonUtils.isMono(e.getReturnType()) || CommonUtils.isFuture(e.getReturnType()));
+        var needThreadPool = queryMethods.stream().anyMatch(e -> CommonUtils.isMono(e.getReturnType()) || CommonUtils.isFuture(e.getReturnType()) || PUBLISHER.equals(cursorType(e.getReturnType())));
         if (needThreadPool && executorTag != null) {
             builder.addField(TypeName.get(Executor.class), "_executor", Modifier.PRIVATE, Modifier.FINAL);
             constructorBuilder.addStatement("this._executor = _executor");
@@ -320,10 +453,14 @@ public final class JdbcRepositoryGenerator implements RepositoryGenerator {
                 .build());
         } else if (needThreadPool) {
             builder.addField(TypeName.get(Executor.class), "_executor", Modifier.PRIVATE, Modifier.FINAL);
-            constructorBuilder.addStatement("this._executor = _executor");
             constructorBuilder.addParameter(ParameterSpec.builder(TypeName.get(Executor.class), "_executor")
                 .addAnnotation(TagUtils.makeAnnotationSpecForTypes(JdbcTypes.JDBC_DATABASE))
+                .addAnnotation(CommonClassNames.nullable)
                 .build());
+            // connection factory executor is preferred, injected one is kept for factories that don't provide it
+            constructorBuilder.addStatement("var _connectionFactoryExecutor = _connectionFactory.executor()");
+            constructorBuilder.addStatement("this._executor = _connectionFactoryExecutor != null ? _connectionFactoryExecutor : $T.requireNonNull(_executor, $S)",
+                Objects.class, "Connection factory doesn't provide executor for async repository methods, provide @Tag(JdbcDatabase.class) Executor or use @Repository(executorTag = ...)");
         }
     }
 }
@@ -6,6 +6,9 @@ public class JdbcTypes {
     public static final ClassName CONNECTION = ClassName.get("java.sql", "Connection");
     public static final ClassName CONNECTION_FACTORY = ClassName.get("ru.tinkoff.kora.database.jdbc", "JdbcConnectionFactory");
     public static final ClassName JDBC_REPOSITORY = ClassName.get("ru.tinkoff.kora.database.jdbc", "JdbcRepository");
+    public static final ClassName RESULT_CURSOR = ClassName.get("ru.tinkoff.kora.database.jdbc", "JdbcResultCursor");
+    public static final ClassName RESULT_PUBLISHER = ClassName.get("ru.tinkoff.kora.database.jdbc", "JdbcResultPublisher");
+    public static final ClassName BATCH_CHUNKS = ClassName.get("ru.tinkoff.kora.database.jdbc", "JdbcBatchChunks");
 
     public static final String RESULT_PACKAGE = "ru.tinkoff.kora.database.jdbc.mapper.result";
     public static final ClassName JDBC_DATABASE = ClassName.get("ru.tinkoff.kora.database.jdbc", "JdbcDatabase");
@@ -17,6 +17,13 @@ import static ru.tinkoff.kora.annotation.processor.common.CommonUtils.isNullable
 public class StatementSetterGenerator {
 
     public static CodeBlock generate(ExecutableElement method, QueryWithParameters sqlWithParameters, List<QueryParameter> parameters, @Nullable QueryParameter batchParam, FieldFactory parameterMappers) {
+        return generate(method, sqlWithParameters, parameters, batchParam, false, parameterMappers);
+    }
+
+    /**
+     * @param chunkedBatch batch elements are added through {@code JdbcBatchChunks} stored in {@code _telemetry} variable
+     */
+    public static CodeBlock generate(ExecutableElement method, QueryWithParameters sqlWithParameters, List<QueryParameter> parameters, @Nullable QueryParameter batchParam, boolean chunkedBatch, FieldFactory parameterMappers) {
         var b = CodeBlock.builder();
         if (batchParam != null) {
             // one of Iterable<T>, Iterator<T>, Stream<T>
@@ -129,7 +136,9 @@ public class StatementSetterGenerator {
                 }
             }
         }
-        if (batchParam != null) {
+        if (batchParam != null && chunkedBatch) {
+            b.add("_telemetry.addBatch(_stmt);$<\n}\n");
+        } else if (batchParam != null) {
             b.add("_stmt.addBatch();$<\n}\n");
         }
         return b.build();
@@ -6,6 +6,7 @@ import ru.tinkoff.kora.annotation.processor.common.*;
 import ru.tinkoff.kora.common.Context;
 import ru.tinkoff.kora.common.Tag;
 import ru.tinkoff.kora.database.annotation.processor.DbUtils;
+import ru.tinkoff.kora.database.annotation.processor.QueryCacheGenerator;
 import ru.tinkoff.kora.database.annotation.processor.QueryWithParameters;
 import ru.tinkoff.kora.database.annotation.processor.RepositoryGenerator;
 import ru.tinkoff.kora.database.annotation.processor.model.QueryParameter;
@@ -62,6 +63,7 @@ public final class R2dbcRepositoryGenerator implements RepositoryGenerator {
 
         int methodCounter = 1;
         for (var method : queryMethods) {
+            QueryCacheGenerator.checkNotCached(method);
             var methodType = (ExecutableType) this.types.asMemberOf(repositoryType, method);
             var parameters = QueryParameterParser.parse(this.types, R2dbcTypes.CONNECTION, R2dbcTypes.PARAMETER_COLUMN_MAPPER, method, methodType);
             var queryAnnotation = AnnotationUtils.findAnnotation(method, DbUtils.QUERY_ANNOTATION);
@@ -114,6 +116,15 @@ public final class R2dbcRepositoryGenerator implements RepositoryGenerator {
         var returnType = isMono || isFlux
             ? ((DeclaredType) method.getReturnType()).getTypeArguments().get(0)
             : method.getReturnType();
+        var chunkSize = DbUtils.batchChunkSize(batchParam);
+        if (chunkSize > 0) {
+            var isVoidOrUpdateCount = CommonUtils.isVoid(returnType) || returnType.toString().equals(DbUtils.UPDATE_COUNT.canonicalName());
+            if (generatedKeys || isFlux || !isVoidOrUpdateCount) {
+                throw new ProcessingErrorException("@Batch with chunk size can only return void/UpdateCount", method);
+            }
+            this.generateChunkedBatch(b, method, returnType, isMono, query, parameters, batchParam, chunkSize, connectionParameter, parameterMappers);
+            return b.build();
+        }
 
         b.addCode("var _result = ");
         b.addCode("$T.deferContextual(_reactorCtx -> {$>\n", isFlux ? CommonClassNames.flux : CommonClassNames.mono);
@@ -175,6 +186,66 @@ public final class R2dbcRepositoryGenerator implements RepositoryGenerator {
         return b.build();
     }
 
+    private void generateChunkedBatch(MethodSpec.Builder b, ExecutableElement method, TypeMirror returnType, boolean isMono, QueryWithParameters query, List<QueryParameter> parameters, QueryParameter batchParam, int chunkSize, @Nullable QueryParameter connectionParameter, FieldFactory parameterMappers) {
+        b.addCode("var _result = $T.deferContextual(_reactorCtx -> {$>\n", CommonClassNames.mono);
+        b.addStatement("var _ctxCurrent = $T.current(_reactorCtx)", CommonClassNames.contextReactor);
+        b.addStatement("var _ctxFork = _ctxCurrent.fork()");
+        b.addStatement("_ctxFork.inject()");
+        // chunks are executed in single transaction, so failed chunk doesn't leave previous chunks committed
+        if (connectionParameter == null) {
+            b.addCode("return this._connectionFactory.inTx(_con -> $T.fromIterable($N)$>\n", CommonClassNames.flux, batchParam.name());
+        } else {
+            b.addCode("var _con = $N;\n", connectionParameter.name());
+            b.addCode("var _chunks = $T.fromIterable($N)$>\n", CommonClassNames.flux, batchParam.name());
+        }
+        b.addCode(".buffer($L)\n", chunkSize);
+        b.addCode(".concatMap(_chunk -> {$>\n");
+        b.addStatement("var _telemetry = this._connectionFactory.telemetry().createContext(_ctxFork, _query)");
+        b.addStatement("var _stmt = _con.createStatement(_query.sql())");
+        R2dbcStatementSetterGenerator.generate(b, method, query, parameters, batchParam, "_chunk", parameterMappers);
+        b.addCode("return $T.<$T>from(_stmt.execute())\n", CommonClassNames.flux, R2dbcTypes.RESULT);
+        b.addCode("""
+              .flatMap($T::getRowsUpdated)
+              .doOnEach(_s -> {
+                if (_s.isOnComplete()) {
+                  _telemetry.close(null);
+                } else if (_s.isOnError()) {
+                  _telemetry.close(_s.getThrowable());
+                }
+              });""", R2dbcTypes.RESULT);
+        b.addCode("$<\n})\n");
+        b.addCode(".reduce(0L, Long::sum)$<");
+        if (connectionParameter == null) {
+            b.addCode(")");
+        } else {
+            b.addCode("""
+                ;
+                return (_con.isAutoCommit()
+                  ? $T.from(_con.beginTransaction()).then(_chunks
+                      .flatMap(_r -> $T.from(_con.commitTransaction()).thenReturn(_r))
+                      .onErrorResume(_e -> $T.from(_con.rollbackTransaction()).then($T.error(_e))))
+                  : _chunks)""", CommonClassNames.mono, CommonClassNames.mono, CommonClassNames.mono, CommonClassNames.mono);
+        }
+        b.addCode("""
+
+            .doOnEach(_s -> {
+              if (_s.isOnComplete() || _s.isOnError()) {
+                _ctxCurrent.inject();
+              }
+            });""");
+        b.addCode("$<\n});\n");
+        var isUpdateCount = returnType.toString().equals(DbUtils.UPDATE_COUNT.canonicalName());
+        if (isMono && isUpdateCount) {
+            b.addCode("return _result.map($T::new);\n", DbUtils.UPDATE_COUNT);
+        } else if (isMono) {
+            b.addCode("return _result.then();\n");
+        } else if (isUpdateCount) {
+            b.addCode("return new $T(_result.block());\n", DbUtils.UPDATE_COUNT);
+        } else {
+            b.addCode("_result.block();\n");
+        }
+    }
+
     private Optional<DbUtils.Mapper> parseResultMapper(ExecutableElement method, List<QueryParameter> parameters, ExecutableType methodType) {
         var returnType = methodType.getReturnType();
         final boolean isFlux = CommonUtils.isFlux(returnType);
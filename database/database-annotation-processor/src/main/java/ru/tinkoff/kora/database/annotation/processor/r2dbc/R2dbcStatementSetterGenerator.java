@@ -17,11 +17,18 @@ import java.util.Objects;
 public class R2dbcStatementSetterGenerator {
 
     public static void generate(MethodSpec.Builder b, ExecutableElement method, QueryWithParameters sqlWithParameters, List<QueryParameter> parameters, @Nullable QueryParameter batchParam, FieldFactory parameterMappers) {
+        generate(b, method, sqlWithParameters, parameters, batchParam, batchParam == null ? null : batchParam.name(), parameterMappers);
+    }
+
+    /**
+     * @param batchList name of variable holding batch elements bound to statement, e.g. current chunk of batch parameter
+     */
+    public static void generate(MethodSpec.Builder b, ExecutableElement method, QueryWithParameters sqlWithParameters, List<QueryParameter> parameters, @Nullable QueryParameter batchParam, @Nullable String batchList, FieldFactory parameterMappers) {
         if (batchParam != null) {
             b.addCode("""
                 for (int i = 0; i < $L.size(); i++) {
                   var _batch_$L = $L.get(i);$>
-                """, batchParam.name(), batchParam.name(), batchParam.name());
+                """, batchList, batchParam.name(), batchList);
         }
 
         for (int i = 0, sqlIndex = 1; i < parameters.size(); i++, sqlIndex++) {
@@ -129,7 +136,7 @@ public class R2dbcStatementSetterGenerator {
             b.addCode("""
                 if(i != $L.size() - 1) {
                   _stmt.add();
-                }""", batchParam.name());
+                }""", batchList);
             b.addCode("\n$<}\n");
         }
     }
@@ -5,6 +5,7 @@ import jakarta.annotation.Nullable;
 import ru.tinkoff.kora.annotation.processor.common.*;
 import ru.tinkoff.kora.common.Tag;
 import ru.tinkoff.kora.database.annotation.processor.DbUtils;
+import ru.tinkoff.kora.database.annotation.processor.QueryCacheGenerator;
 import ru.tinkoff.kora.database.annotation.processor.QueryWithParameters;
 import ru.tinkoff.kora.database.annotation.processor.RepositoryGenerator;
 import ru.tinkoff.kora.database.annotation.processor.model.QueryParameter;
@@ -23,6 +24,7 @@ import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
 import java.util.*;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
 
 public final class VertxRepositoryGenerator implements RepositoryGenerator {
     private final TypeMirror repositoryInterface;
@@ -63,6 +65,7 @@ public final class VertxRepositoryGenerator implements RepositoryGenerator {
 
         int methodCounter = 1;
         for (var method : queryMethods) {
+            QueryCacheGenerator.checkNotCached(method);
             var methodType = (ExecutableType) this.types.asMemberOf(repositoryType, method);
             var parameters = QueryParameterParser.parse(this.types, List.of(VertxTypes.CONNECTION, VertxTypes.SQL_CLIENT), VertxTypes.PARAMETER_COLUMN_MAPPER, method, methodType);
             var queryAnnotation = AnnotationUtils.findAnnotation(method, DbUtils.QUERY_ANNOTATION);
@@ -114,9 +117,12 @@ public final class VertxRepositoryGenerator implements RepositoryGenerator {
         var connectionParam = parameters.stream().filter(QueryParameter.ConnectionParameter.class::isInstance).findFirst().orElse(null);
         var returnType = methodType.getReturnType();
         var isFlux = CommonUtils.isFlux(returnType);
+        var isPublisher = isPublisher(returnType);
         var isMono = CommonUtils.isMono(returnType);
         var isCompletionStage = this.isCompletionStage(returnType);
         var isVoid = isVoid(returnType);
+        var queryAnnotation = AnnotationUtils.findAnnotation(method, DbUtils.QUERY_ANNOTATION);
+        var fetchSize = Objects.requireNonNullElse(AnnotationUtils.<Integer>parseAnnotationValueWithoutDefault(queryAnnotation, "fetchSize"), 0);
 
         ParametersToTupleBuilder.generate(b, query, method, parameters, batchParam, parameterMappers);
         CodeBlock resultMapper;
@@ -134,30 +140,39 @@ public final class VertxRepositoryGenerator implements RepositoryGenerator {
             b.addCode("return ");
         }
         if (batchParam != null) {
+            var chunkSize = DbUtils.batchChunkSize(batchParam);
+            var batchArgs = chunkSize > 0 ? CodeBlock.of("_query, _batchParams, $L", chunkSize) : CodeBlock.of("_query, _batchParams");
             if (isCompletionStage || !isMono) {
                 if (connectionParam == null) {
-                    b.addCode("$T.batchCompletionStage(this._connectionFactory, _query, _batchParams)\n", VertxTypes.REPOSITORY_HELPER);
+                    b.addCode("$T.batchCompletionStage(this._connectionFactory, $L)\n", VertxTypes.REPOSITORY_HELPER, batchArgs);
                 } else {
-                    b.addCode("$T.batchCompletionStage($N, this._connectionFactory.telemetry(), _query, _batchParams)\n", VertxTypes.REPOSITORY_HELPER, connectionParam.name());
+                    b.addCode("$T.batchCompletionStage($N, this._connectionFactory.telemetry(), $L)\n", VertxTypes.REPOSITORY_HELPER, connectionParam.name(), batchArgs);
                 }
                 if (isVoid) {
                     b.addCode("  .thenApply(v -> (Void) null)\n");
                 }
             } else {
                 if (connectionParam == null) {
-                    b.addCode("$T.Reactor.batchMono(this._connectionFactory, _query, _batchParams)\n", VertxTypes.REPOSITORY_HELPER);
+                    b.addCode("$T.Reactor.batchMono(this._connectionFactory, $L)\n", VertxTypes.REPOSITORY_HELPER, batchArgs);
                 } else {
-                    b.addCode("$T.Reactor.batchMono($N, this._connectionFactory.telemetry(), _query, _batchParams)\n", VertxTypes.REPOSITORY_HELPER, connectionParam.name());
+                    b.addCode("$T.Reactor.batchMono($N, this._connectionFactory.telemetry(), $L)\n", VertxTypes.REPOSITORY_HELPER, connectionParam.name(), batchArgs);
                 }
                 if (isVoid) {
                     b.addCode("  .then()\n");
                 }
             }
         } else if (isFlux) {
+            var streamArgs = fetchSize > 0 ? CodeBlock.of("_query, _tuple, $L, $L", fetchSize, resultMapperName) : CodeBlock.of("_query, _tuple, $L", resultMapperName);
             if (connectionParam == null) {
-                b.addCode("$T.Reactor.flux(this._connectionFactory, _query, _tuple, $L)\n", VertxTypes.REPOSITORY_HELPER, resultMapperName);
+                b.addCode("$T.Reactor.flux(this._connectionFactory, $L)\n", VertxTypes.REPOSITORY_HELPER, streamArgs);
             } else {
-                b.addCode("$T.Reactor.flux($N, this._connectionFactory.telemetry(), _query, _tuple, $L)\n", VertxTypes.REPOSITORY_HELPER, connectionParam.name(), resultMapperName);
+                b.addCode("$T.Reactor.flux($N, this._connectionFactory.telemetry(), $L)\n", VertxTypes.REPOSITORY_HELPER, connectionParam.name(), streamArgs);
+            }
+        } else if (isPublisher) {
+            if (connectionParam == null) {
+                b.addCode("new $T<>(this._connectionFactory, _query, _tuple, $L, $L)\n", VertxTypes.ROW_STREAM_PUBLISHER, fetchSize, resultMapperName);
+            } else {
+                b.addCode("new $T<>($N, this._connectionFactory.telemetry(), _query, _tuple, $L, $L)\n", VertxTypes.ROW_STREAM_PUBLISHER, connectionParam.name(), fetchSize, resultMapperName);
             }
         } else if (isMono) {
             if (connectionParam == null) {
@@ -172,7 +187,7 @@ public final class VertxRepositoryGenerator implements RepositoryGenerator {
                 b.addCode("$T.completionStage($N, this._connectionFactory.telemetry(), _query, _tuple, $L)\n", VertxTypes.REPOSITORY_HELPER, connectionParam.name(), resultMapper);
             }
         }
-        if (isFlux) {
+        if (isFlux || isPublisher) {
             b.addCode(";\n");
         } else if (isMono) {
             b.addCode(";\n");
@@ -190,7 +205,7 @@ public final class VertxRepositoryGenerator implements RepositoryGenerator {
             return Optional.empty();
         }
 
-        final boolean isFlux = CommonUtils.isFlux(returnType);
+        final boolean isFlux = CommonUtils.isFlux(returnType) || isPublisher(returnType);
         final boolean isMono = CommonUtils.isMono(returnType);
         final boolean isCompletionStage = isCompletionStage(returnType);
         for (var parameter : parameters) {
@@ -282,8 +297,12 @@ public final class VertxRepositoryGenerator implements RepositoryGenerator {
         return this.types.isAssignable(returnType, this.completionStageType);
     }
 
+    private static boolean isPublisher(TypeMirror tm) {
+        return tm instanceof DeclaredType dt && ((TypeElement) dt.asElement()).getQualifiedName().contentEquals(Flow.Publisher.class.getCanonicalName());
+    }
+
     private boolean isVoid(TypeMirror tm) {
-        if (isCompletionStage(tm) || CommonUtils.isMono(tm) || CommonUtils.isFlux(tm)) {
+        if (isCompletionStage(tm) || CommonUtils.isMono(tm) || CommonUtils.isFlux(tm) || isPublisher(tm)) {
             tm = Visitors.visitDeclaredType(tm, dt -> dt.getTypeArguments().get(0));
         }
         return CommonUtils.isVoid(tm);
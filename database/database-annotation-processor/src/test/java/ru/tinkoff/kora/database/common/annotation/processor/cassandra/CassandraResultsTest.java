@@ -1,14 +1,19 @@
 package ru.tinkoff.kora.database.common.annotation.processor.cassandra;
 
+import com.datastax.oss.driver.api.core.cql.ExecutionInfo;
 import com.datastax.oss.driver.api.core.cql.Statement;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import reactor.core.publisher.Mono;
 import ru.tinkoff.kora.common.Tag;
+import ru.tinkoff.kora.database.cassandra.CassandraPage;
+import ru.tinkoff.kora.database.cassandra.CassandraPageRequest;
 import ru.tinkoff.kora.database.cassandra.mapper.result.CassandraAsyncResultSetMapper;
 import ru.tinkoff.kora.database.cassandra.mapper.result.CassandraReactiveResultSetMapper;
 import ru.tinkoff.kora.database.cassandra.mapper.result.CassandraResultSetMapper;
+import ru.tinkoff.kora.database.cassandra.mapper.result.CassandraRowMapper;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
@@ -73,6 +78,59 @@ public class CassandraResultsTest extends AbstractCassandraRepositoryTest {
         verify(mapper).apply(executor.resultSet);
     }
 
+    @Test
+    public void testReturnPage() {
+        var mapper = Mockito.mock(CassandraRowMapper.class);
+        var repository = compileCassandra(List.of(mapper), """
+            @Repository
+            public interface TestRepository extends CassandraRepository {
+                @Query("SELECT value FROM test WHERE id = :id")
+                CassandraPage<Integer> test(int id, CassandraPageRequest page);
+            }
+            """);
+        var executionInfo = Mockito.mock(ExecutionInfo.class);
+        when(executor.resultSet.getAvailableWithoutFetching()).thenReturn(1);
+        when(executor.resultSet.getExecutionInfo()).thenReturn(executionInfo);
+        when(executionInfo.getPagingState()).thenReturn(ByteBuffer.wrap(new byte[]{1, 2, 3}));
+        when(mapper.apply(executor.row)).thenReturn(42);
+
+        var result = (CassandraPage<?>) repository.invoke("test", 1, new CassandraPageRequest(10, "BAUG"));
+
+        assertThat(result.rows()).containsExactly(42);
+        assertThat(result.pagingState()).isEqualTo("AQID");
+        verify(executor.boundStatementBuilder).setInt(0, 1);
+        verify(executor.boundStatementBuilder).setPageSize(10);
+        verify(executor.boundStatementBuilder).setPagingState(ByteBuffer.wrap(new byte[]{4, 5, 6}));
+    }
+
+    @Test
+    public void testReturnFuturePage() {
+        var mapper = Mockito.mock(CassandraRowMapper.class);
+        var repository = compileCassandra(List.of(mapper), """
+            @Repository
+            public interface TestRepository extends CassandraRepository {
+                @Query("SELECT value FROM test WHERE id = :id")
+                CompletionStage<CassandraPage<Integer>> test(int id, CassandraPageRequest page);
+            }
+            """);
+        var executionInfo = Mockito.mock(ExecutionInfo.class);
+        when(executor.asyncResultSet.remaining()).thenReturn(2);
+        when(executor.asyncResultSet.getExecutionInfo()).thenReturn(executionInfo);
+        when(executor.iterator.hasNext()).thenReturn(true, true, false);
+        when(executionInfo.getPagingState()).thenReturn(null);
+        when(mapper.apply(executor.row)).thenReturn(42);
+
+        var result = (CassandraPage<?>) repository.invoke("test", 1, CassandraPageRequest.first(10));
+
+        assertThat(result.rows()).containsExactly(42, 42);
+        assertThat(result.pagingState()).isNull();
+        assertThat(result.hasNext()).isFalse();
+        verify(executor.mockSession).executeAsync(any(Statement.class));
+        verify(executor.boundStatementBuilder).setInt(0, 1);
+        verify(executor.boundStatementBuilder).setPageSize(10);
+        verify(executor.boundStatementBuilder, Mockito.never()).setPagingState(any(ByteBuffer.class));
+    }
+
     @Test
     public void testReturnFutureObject() {
         var mapper = Mockito.mock(CassandraAsyncResultSetMapper.class);
@@ -4,7 +4,6 @@ import org.junit.jupiter.api.Test;
 
 import java.sql.SQLException;
 import java.util.List;
-import java.util.concurrent.Executors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -41,7 +40,7 @@ final class JdbcMacrosTest extends AbstractJdbcRepositoryTest {
 
     @Test
     void returnSelectsAndTable() throws SQLException {
-        var repository = compileJdbc(List.of(Executors.newCachedThreadPool(), newGeneratedObject("TestRowMapper")), """
+        var repository = compileJdbc(List.of(executor.asyncExecutor, newGeneratedObject("TestRowMapper")), """
             @Repository
             public interface TestRepository extends JdbcRepository {
                         
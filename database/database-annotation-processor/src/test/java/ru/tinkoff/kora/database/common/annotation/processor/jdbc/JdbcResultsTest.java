@@ -3,18 +3,35 @@ package ru.tinkoff.kora.database.common.annotation.processor.jdbc;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import reactor.adapter.JdkFlowAdapter;
+import ru.tinkoff.kora.cache.Cache;
 import ru.tinkoff.kora.common.Tag;
+import ru.tinkoff.kora.database.common.QueryCacheKey;
 import ru.tinkoff.kora.database.common.UpdateCount;
+import ru.tinkoff.kora.database.common.telemetry.DataBaseTelemetry;
+import ru.tinkoff.kora.database.jdbc.JdbcConnectionFactory;
+import ru.tinkoff.kora.database.jdbc.JdbcDatabase;
+import ru.tinkoff.kora.database.jdbc.JdbcResultCursor;
+import ru.tinkoff.kora.database.jdbc.RuntimeSqlException;
 import ru.tinkoff.kora.database.jdbc.mapper.result.JdbcResultSetMapper;
 
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -109,7 +126,7 @@ public class JdbcResultsTest extends AbstractJdbcRepositoryTest {
     @Test
     public void testReturnMonoObject() throws SQLException {
         var mapper = Mockito.mock(JdbcResultSetMapper.class);
-        var repository = compileJdbc(List.of(Executors.newCachedThreadPool(), mapper), """
+        var repository = compileJdbc(List.of(executor.asyncExecutor, mapper), """
             @Repository
             public interface TestRepository extends JdbcRepository {
                 @Query("SELECT count(*) FROM test")
@@ -126,6 +143,33 @@ public class JdbcResultsTest extends AbstractJdbcRepositoryTest {
         verify(mapper).apply(executor.resultSet);
     }
 
+    @Test
+    public void testAsyncMethodUsesInjectedExecutorWhenConnectionFactoryHasNone() {
+        var factory = Mockito.mock(JdbcConnectionFactory.class, Mockito.CALLS_REAL_METHODS);
+        when(factory.newConnection()).thenReturn(executor.mockConnection);
+        when(factory.telemetry()).thenReturn(executor.telemetry());
+        var executed = new AtomicInteger();
+        Executor injected = command -> {
+            executed.incrementAndGet();
+            command.run();
+        };
+        var repository = compile(factory, List.of(injected), """
+            @Repository
+            public interface TestRepository extends JdbcRepository {
+                @Query("INSERT INTO test(value) VALUES ('value')")
+                CompletionStage<Void> test();
+            }
+            """);
+
+        repository.invoke("test");
+
+        assertThat(executed).hasValue(1);
+        var constructorParameters = repository.objectClass.getConstructors()[0].getParameters();
+        assertThat(constructorParameters).hasSize(2);
+        assertThat(constructorParameters[1].getType()).isEqualTo(Executor.class);
+        assertThat(constructorParameters[1].getAnnotation(Tag.class).value()).containsExactly(JdbcDatabase.class);
+    }
+
     @Test
     public void testReturnMonoObjectWithExecutor() throws SQLException {
         var mapper = Mockito.mock(JdbcResultSetMapper.class);
@@ -148,7 +192,7 @@ public class JdbcResultsTest extends AbstractJdbcRepositoryTest {
 
     @Test
     public void testReturnMonoVoid() throws SQLException {
-        var repository = compileJdbc(List.of(Executors.newCachedThreadPool()), """
+        var repository = compileJdbc(List.of(executor.asyncExecutor), """
             @Repository
             public interface TestRepository extends JdbcRepository {
                 @Query("SELECT count(*) FROM test")
@@ -165,7 +209,7 @@ public class JdbcResultsTest extends AbstractJdbcRepositoryTest {
     @Test
     public void testReturnCompletionStageObject() throws SQLException {
         var mapper = Mockito.mock(JdbcResultSetMapper.class);
-        var repository = compileJdbc(List.of(Executors.newCachedThreadPool(), mapper), """
+        var repository = compileJdbc(List.of(executor.asyncExecutor, mapper), """
             @Repository
             public interface TestRepository extends JdbcRepository {
                 @Query("SELECT count(*) FROM test")
@@ -204,7 +248,7 @@ public class JdbcResultsTest extends AbstractJdbcRepositoryTest {
 
     @Test
     public void testReturnCompletionStageVoid() throws SQLException {
-        var repository = compileJdbc(List.of(Executors.newCachedThreadPool()), """
+        var repository = compileJdbc(List.of(executor.asyncExecutor), """
             @Repository
             public interface TestRepository extends JdbcRepository {
                 @Query("SELECT count(*) FROM test")
@@ -221,7 +265,7 @@ public class JdbcResultsTest extends AbstractJdbcRepositoryTest {
     @Test
     public void testReturnCompletableFutureObject() throws SQLException {
         var mapper = Mockito.mock(JdbcResultSetMapper.class);
-        var repository = compileJdbc(List.of(Executors.newCachedThreadPool(), mapper), """
+        var repository = compileJdbc(List.of(executor.asyncExecutor, mapper), """
             @Repository
             public interface TestRepository extends JdbcRepository {
                 @Query("SELECT count(*) FROM test")
@@ -260,7 +304,7 @@ public class JdbcResultsTest extends AbstractJdbcRepositoryTest {
 
     @Test
     public void testReturnCompletableFutureVoid() throws SQLException {
-        var repository = compileJdbc(List.of(Executors.newCachedThreadPool()), """
+        var repository = compileJdbc(List.of(executor.asyncExecutor), """
             @Repository
             public interface TestRepository extends JdbcRepository {
                 @Query("SELECT count(*) FROM test")
@@ -292,6 +336,179 @@ public class JdbcResultsTest extends AbstractJdbcRepositoryTest {
         verify(executor.preparedStatement).executeLargeUpdate();
     }
 
+    @Test
+    public void testReadOnlyQueryUsesReadOnlyConnection() throws SQLException {
+        executor = new MockJdbcExecutor() {
+            @Override
+            public Connection currentConnection() {
+                return null;
+            }
+
+            @Override
+            public Connection newConnection() {
+                throw new IllegalStateException("Read only query should not use primary connection");
+            }
+
+            @Override
+            public Connection newReadOnlyConnection() {
+                return mockConnection;
+            }
+        };
+        var mapper = Mockito.mock(JdbcResultSetMapper.class);
+        var repository = compileJdbc(List.of(mapper), """
+            @Repository
+            public interface TestRepository extends JdbcRepository {
+                @Query(value = "SELECT count(*) FROM test", readOnly = true)
+                Integer test();
+            }
+            """);
+        when(mapper.apply(any())).thenReturn(42);
+
+        var result = repository.invoke("test");
+
+        assertThat(result).isEqualTo(42);
+        verify(executor.mockConnection).prepareStatement("SELECT count(*) FROM test");
+        verify(executor.mockConnection).close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testQueryCache() throws SQLException {
+        var cache = Mockito.mock(Cache.class);
+        var mapper = Mockito.mock(JdbcResultSetMapper.class);
+        var repository = compileJdbc(List.of(cache, mapper), """
+            @Repository
+            public interface TestRepository extends JdbcRepository {
+                @Table("test")
+                @Query(value = "SELECT value FROM test WHERE id = :id", cache = ru.tinkoff.kora.cache.Cache.class)
+                Integer select(int id);
+
+                @Table("test")
+                @Query("UPDATE test SET value = :value WHERE id = :id")
+                void update(int id, int value);
+
+                @Table("other")
+                @Query("UPDATE other SET value = :value WHERE id = :id")
+                void updateOther(int id, int value);
+            }
+            """);
+        when(mapper.apply(any())).thenReturn(42);
+        when(cache.computeIfAbsent(any(), any())).thenAnswer(invocation -> invocation.<Function<Object, Object>>getArgument(1).apply(invocation.getArgument(0)));
+        executor.current = null;
+
+        var result = repository.invoke("select", 1);
+
+        assertThat(result).isEqualTo(42);
+        verify(cache).computeIfAbsent(eq(new QueryCacheKey("TestRepository.select", "SELECT value FROM test WHERE id = :id", List.of(1))), any());
+        verify(executor.mockConnection).prepareStatement("SELECT value FROM test WHERE id = ?");
+
+        repository.invoke("updateOther", 1, 2);
+        verify(cache, never()).invalidateAll();
+
+        repository.invoke("update", 1, 2);
+        verify(cache).invalidateAll();
+
+        when(executor.mockConnection.getAutoCommit()).thenReturn(true);
+        executor.inTx(connection -> {
+            executor.current = connection;
+            repository.invoke("select", 1);
+            verify(cache, times(1)).computeIfAbsent(any(), any());
+
+            repository.invoke("update", 1, 2);
+            verify(cache, times(1)).invalidateAll();
+        });
+        verify(executor.mockConnection).commit();
+        verify(cache, times(2)).invalidateAll();
+    }
+
+    @Test
+    public void testQueryCacheReactiveFails() {
+        Exception exception = Assertions.assertThrows(Exception.class, () -> {
+            compileJdbc(List.of(), """
+                @Repository
+                public interface TestRepository extends JdbcRepository {
+                    @Query(value = "SELECT value FROM test", cache = ru.tinkoff.kora.cache.Cache.class)
+                    Mono<Integer> select();
+                }
+                """);
+        });
+
+        assertThat(exception.getMessage()).contains("@Query cache is supported only for blocking methods returning value");
+    }
+
+    @Test
+    public void testQueryCacheArrayParameterFails() {
+        Exception exception = Assertions.assertThrows(Exception.class, () -> {
+            compileJdbc(List.of(), """
+                @Repository
+                public interface TestRepository extends JdbcRepository {
+                    @Query(value = "SELECT value FROM test WHERE id = ANY(:ids)", cache = ru.tinkoff.kora.cache.Cache.class)
+                    Integer select(int[] ids);
+                }
+                """);
+        });
+
+        assertThat(exception.getMessage()).contains("@Query cache is not supported for array parameters");
+    }
+
+    @Test
+    public void testQueryCacheBeanParameterFails() {
+        Exception exception = Assertions.assertThrows(Exception.class, () -> {
+            compileJdbc(List.of(), """
+                public class TestBean {
+                    private int id;
+
+                    public int getId() {
+                        return id;
+                    }
+
+                    public void setId(int id) {
+                        this.id = id;
+                    }
+                }
+                """, """
+                @Repository
+                public interface TestRepository extends JdbcRepository {
+                    @Query(value = "SELECT value FROM test WHERE id = :entity.id", cache = ru.tinkoff.kora.cache.Cache.class)
+                    Integer select(TestBean entity);
+                }
+                """);
+        });
+
+        assertThat(exception.getMessage()).contains("@Query cache is supported only for record entity parameters");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testQueryCacheInvalidatedAfterCommitOfExplicitConnection() throws SQLException {
+        var cache = Mockito.mock(Cache.class);
+        var mapper = Mockito.mock(JdbcResultSetMapper.class);
+        var repository = compileJdbc(List.of(cache, mapper), """
+            @Repository
+            public interface TestRepository extends JdbcRepository {
+                @Table("test")
+                @Query(value = "SELECT value FROM test WHERE id = :id", cache = ru.tinkoff.kora.cache.Cache.class)
+                Integer select(int id);
+
+                @Table("test")
+                @Query("UPDATE test SET value = :value WHERE id = :id")
+                void update(Connection connection, int id, int value);
+            }
+            """);
+        executor.current = null;
+        when(executor.mockConnection.getAutoCommit()).thenReturn(true);
+
+        executor.inTx(connection -> {
+            repository.invoke("update", connection, 1, 2);
+            verify(cache, never()).invalidateAll();
+        });
+        verify(executor.mockConnection).commit();
+        verify(cache).invalidateAll();
+
+        repository.invoke("update", executor.mockConnection, 1, 2);
+        verify(cache, times(2)).invalidateAll();
+    }
+
     @Test
     public void returnBatchArbitraryFails() {
         Exception exception = Assertions.assertThrows(Exception.class, () -> {
@@ -373,6 +590,125 @@ public class JdbcResultsTest extends AbstractJdbcRepositoryTest {
         assertThat(result).containsExactly(1, 2, 3);
     }
 
+    @Test
+    public void returnChunkedBatchUpdateCount() throws SQLException {
+        var repository = compileJdbc(List.of(), """
+            @Repository
+            public interface TestRepository extends JdbcRepository {
+                @Query("INSERT INTO test(value) VALUES (:value)")
+                UpdateCount test(@Batch(chunkSize = 2) java.util.List<String> value);
+            }
+            """);
+        when(executor.preparedStatement.executeLargeBatch()).thenReturn(new long[]{1, 1}, new long[]{1, 1}, new long[]{1});
+
+        var result = repository.<UpdateCount>invoke("test", List.of("test1", "test2", "test3", "test4", "test5"));
+
+        assertThat(result.value()).isEqualTo(5);
+        verify(executor.mockConnection).prepareStatement("INSERT INTO test(value) VALUES (?)");
+        verify(executor.preparedStatement, times(5)).addBatch();
+        verify(executor.preparedStatement, times(3)).executeLargeBatch();
+    }
+
+    @Test
+    public void returnChunkedBatchIntArray() throws SQLException {
+        var repository = compileJdbc(List.of(), """
+            @Repository
+            public interface TestRepository extends JdbcRepository {
+                @Query("INSERT INTO test(test) VALUES (:someint)")
+                int[] test(@Batch(chunkSize = 2) java.util.List<Integer> someint);
+            }
+            """);
+        when(executor.preparedStatement.executeBatch()).thenReturn(new int[]{1, 2}, new int[]{3, 4});
+        var result = (int[]) repository.invoke("test", List.of(1, 2, 3, 4));
+
+        verify(executor.preparedStatement, times(2)).executeBatch();
+        assertThat(result).containsExactly(1, 2, 3, 4);
+    }
+
+    @Test
+    public void chunkedBatchIsCommittedOnceOutsideOfTransaction() throws SQLException {
+        var repository = compileJdbc(List.of(), """
+            @Repository
+            public interface TestRepository extends JdbcRepository {
+                @Query("INSERT INTO test(value) VALUES (:value)")
+                void test(@Batch(chunkSize = 2) java.util.List<String> value);
+            }
+            """);
+        when(executor.mockConnection.getAutoCommit()).thenReturn(true);
+        when(executor.preparedStatement.executeBatch()).thenReturn(new int[]{1, 1}, new int[]{1});
+
+        repository.invoke("test", List.of("test1", "test2", "test3"));
+
+        var order = inOrder(executor.mockConnection, executor.preparedStatement);
+        order.verify(executor.mockConnection).setAutoCommit(false);
+        order.verify(executor.preparedStatement, times(2)).executeBatch();
+        order.verify(executor.mockConnection).commit();
+        order.verify(executor.mockConnection).setAutoCommit(true);
+        verify(executor.mockConnection, never()).rollback();
+    }
+
+    @Test
+    public void chunkedBatchIsRolledBackWhenChunkFails() throws SQLException {
+        var repository = compileJdbc(List.of(), """
+            @Repository
+            public interface TestRepository extends JdbcRepository {
+                @Query("INSERT INTO test(value) VALUES (:value)")
+                void test(@Batch(chunkSize = 2) java.util.List<String> value);
+            }
+            """);
+        executor.current = null;
+        when(executor.mockConnection.getAutoCommit()).thenReturn(true);
+        when(executor.preparedStatement.executeBatch()).thenReturn(new int[]{1, 1}).thenThrow(new SQLException("test"));
+
+        assertThatThrownBy(() -> repository.invoke("test", List.of("test1", "test2", "test3", "test4")))
+            .hasRootCauseInstanceOf(SQLException.class);
+
+        var order = inOrder(executor.mockConnection, executor.preparedStatement);
+        order.verify(executor.mockConnection).setAutoCommit(false);
+        order.verify(executor.preparedStatement, times(2)).executeBatch();
+        order.verify(executor.preparedStatement).close();
+        order.verify(executor.mockConnection).rollback();
+        order.verify(executor.mockConnection).setAutoCommit(true);
+        order.verify(executor.mockConnection).close();
+        verify(executor.mockConnection, never()).commit();
+    }
+
+    @Test
+    public void chunkedBatchTakesPartInSurroundingTransaction() throws SQLException {
+        var repository = compileJdbc(List.of(), """
+            @Repository
+            public interface TestRepository extends JdbcRepository {
+                @Query("INSERT INTO test(value) VALUES (:value)")
+                void test(@Batch(chunkSize = 2) java.util.List<String> value);
+            }
+            """);
+        when(executor.mockConnection.getAutoCommit()).thenReturn(false);
+        when(executor.preparedStatement.executeBatch()).thenReturn(new int[]{1, 1}).thenThrow(new SQLException("test"));
+
+        assertThatThrownBy(() -> repository.invoke("test", List.of("test1", "test2", "test3")))
+            .hasRootCauseInstanceOf(SQLException.class);
+
+        verify(executor.mockConnection, never()).setAutoCommit(anyBoolean());
+        verify(executor.mockConnection, never()).commit();
+        verify(executor.mockConnection, never()).rollback();
+    }
+
+    @Test
+    public void returnChunkedBatchGeneratedIdsFails() {
+        Exception exception = Assertions.assertThrows(Exception.class, () -> {
+            compileJdbc(List.of(JdbcResultSetMapper.listResultSetMapper(rs -> rs.getLong(1))), """
+                @Repository
+                public interface TestRepository extends JdbcRepository {
+                    @Query("INSERT INTO test(value) VALUES (:value)")
+                    @Id
+                    java.util.List<Long> test(@Batch(chunkSize = 2) java.util.List<String> value);
+                }
+                """);
+        });
+
+        assertThat(exception.getMessage()).contains("@Batch with chunk size can't return database-generated @Id");
+    }
+
     @Test
     public void returnBatchGeneratedIds() throws SQLException {
         var repository = compileJdbc(List.of(JdbcResultSetMapper.listResultSetMapper(rs -> rs.getLong(1))), """
@@ -617,6 +953,116 @@ public class JdbcResultsTest extends AbstractJdbcRepositoryTest {
         executor.reset();
     }
 
+    @Test
+    public void testStreamWithRowMapper() throws SQLException {
+        var repository = compileJdbc(List.of(), """
+            @Repository
+            public interface TestRepository extends JdbcRepository {
+                @Query(value = "SELECT count(*) FROM test", fetchSize = 100)
+                @Mapping(TestRowMapper.class)
+                java.util.stream.Stream<Integer> test();
+            }
+            """, """
+            public final class TestRowMapper implements JdbcRowMapper<Integer> {
+                public Integer apply(ResultSet rs) {
+                  return 42;
+                }
+            }
+            """);
+
+        when(executor.resultSet.next()).thenReturn(true, true, false);
+        try (var result = repository.<Stream<Integer>>invoke("test")) {
+            verify(executor.preparedStatement).setFetchSize(100);
+            verify(executor.preparedStatement).executeQuery();
+            verify(executor.resultSet, never()).next();
+            assertThat(result).containsExactly(42, 42);
+        }
+        verify(executor.resultSet).close();
+        verify(executor.preparedStatement).close();
+        verify(executor.mockConnection, never()).close();
+    }
+
+    @Test
+    public void testCursorWithRowMapper() throws SQLException {
+        var repository = compileJdbc(List.of(), """
+            @Repository
+            public interface TestRepository extends JdbcRepository {
+                @Query("SELECT count(*) FROM test")
+                @Mapping(TestRowMapper.class)
+                JdbcResultCursor<Integer> test();
+            }
+            """, """
+            public final class TestRowMapper implements JdbcRowMapper<Integer> {
+                public Integer apply(ResultSet rs) {
+                  return 42;
+                }
+            }
+            """);
+
+        when(executor.resultSet.next()).thenReturn(true, true, false);
+        try (var result = repository.<JdbcResultCursor<Integer>>invoke("test")) {
+            assertThat(result.next()).isEqualTo(42);
+        }
+        verify(executor.preparedStatement, never()).setFetchSize(anyInt());
+        verify(executor.resultSet).close();
+        verify(executor.preparedStatement).close();
+    }
+
+    @Test
+    public void testCursorConnectionFailureClosesTelemetry() {
+        var telemetryContext = Mockito.mock(DataBaseTelemetry.DataBaseTelemetryContext.class);
+        var telemetry = Mockito.mock(DataBaseTelemetry.class);
+        when(telemetry.createContext(any(), any())).thenReturn(telemetryContext);
+        var factory = Mockito.mock(JdbcConnectionFactory.class);
+        when(factory.telemetry()).thenReturn(telemetry);
+        var error = new RuntimeSqlException(new SQLException("test"));
+        when(factory.newConnection()).thenThrow(error);
+        var repository = compile(factory, List.of(), """
+            @Repository
+            public interface TestRepository extends JdbcRepository {
+                @Query("SELECT count(*) FROM test")
+                @Mapping(TestRowMapper.class)
+                java.util.stream.Stream<Integer> test();
+            }
+            """, """
+            public final class TestRowMapper implements JdbcRowMapper<Integer> {
+                public Integer apply(ResultSet rs) {
+                  return 42;
+                }
+            }
+            """);
+
+        assertThatThrownBy(() -> repository.invoke("test")).isSameAs(error);
+        verify(telemetryContext).close(error);
+    }
+
+    @Test
+    public void testPublisherWithRowMapper() throws SQLException {
+        var repository = compileJdbc(List.of(executor.asyncExecutor), """
+            @Repository
+            public interface TestRepository extends JdbcRepository {
+                @Query("SELECT count(*) FROM test")
+                @Mapping(TestRowMapper.class)
+                java.util.concurrent.Flow.Publisher<Integer> test();
+            }
+            """, """
+            public final class TestRowMapper implements JdbcRowMapper<Integer> {
+                public Integer apply(ResultSet rs) {
+                  return 42;
+                }
+            }
+            """);
+
+        when(executor.resultSet.next()).thenReturn(true, true, false);
+        var result = repository.<Flow.Publisher<Integer>>invoke("test");
+        verify(executor.preparedStatement, never()).executeQuery();
+
+        var rows = JdkFlowAdapter.flowPublisherToFlux(result).collectList().block();
+        assertThat(rows).containsExactly(42, 42);
+        verify(executor.resultSet).close();
+        verify(executor.preparedStatement).close();
+    }
+
     @Test
     public void testMultipleMethodsWithSameReturnType() {
         var mapper = Mockito.mock(JdbcResultSetMapper.class);
@@ -10,6 +10,8 @@ import ru.tinkoff.kora.database.jdbc.JdbcHelper;
 import ru.tinkoff.kora.database.jdbc.RuntimeSqlException;
 
 import java.sql.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
@@ -19,6 +21,9 @@ public class MockJdbcExecutor implements JdbcConnectionFactory {
     public final PreparedStatement preparedStatement = Mockito.mock(PreparedStatement.class);
     public final CallableStatement callableStatement = Mockito.mock(CallableStatement.class);
     public final Connection mockConnection = Mockito.mock(Connection.class);
+    public final Executor asyncExecutor = Executors.newCachedThreadPool();
+    @Nullable
+    public Connection current = mockConnection;
 
     public void reset() {
         Mockito.reset(resultSet, preparedStatement, callableStatement, mockConnection);
@@ -47,7 +52,7 @@ public class MockJdbcExecutor implements JdbcConnectionFactory {
 
     @Override
     public Connection currentConnection() {
-        return mockConnection;
+        return current;
     }
 
     @Override
@@ -55,6 +60,11 @@ public class MockJdbcExecutor implements JdbcConnectionFactory {
         return mockConnection;
     }
 
+    @Override
+    public Executor executor() {
+        return asyncExecutor;
+    }
+
     @Override
     public DataBaseTelemetry telemetry() {
         return new DataBaseTelemetry() {
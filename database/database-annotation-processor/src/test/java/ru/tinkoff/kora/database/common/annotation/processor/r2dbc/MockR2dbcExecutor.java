@@ -50,6 +50,9 @@ public class MockR2dbcExecutor implements R2dbcConnectionFactory {
         when(statement.returnGeneratedValues()).thenReturn(statement);
         when(statement.execute()).thenReturn((Publisher) Flux.defer(() -> Flux.just(new MockResult(this.rows, null))));
         when(telemetry.createContext(any(), any())).thenReturn(telemetryContext);
+        when(con.beginTransaction()).thenReturn((Publisher) Mono.empty());
+        when(con.commitTransaction()).thenReturn((Publisher) Mono.empty());
+        when(con.rollbackTransaction()).thenReturn((Publisher) Mono.empty());
     }
 
     public void setUpdateCountResult(long updateCount) {
@@ -75,7 +78,10 @@ public class MockR2dbcExecutor implements R2dbcConnectionFactory {
 
     @Override
     public <T> Mono<T> inTx(Function<Connection, Mono<T>> callback) {
-        return null;
+        return Mono.from(con.beginTransaction())
+            .then(callback.apply(con))
+            .flatMap(r -> Mono.from(con.commitTransaction()).thenReturn(r))
+            .onErrorResume(e -> Mono.from(con.rollbackTransaction()).then(Mono.error(e)));
     }
 
     @Override
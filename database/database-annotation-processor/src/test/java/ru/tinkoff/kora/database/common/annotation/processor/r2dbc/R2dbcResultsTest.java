@@ -4,6 +4,8 @@ import io.r2dbc.spi.Row;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import ru.tinkoff.kora.common.Tag;
 import ru.tinkoff.kora.database.common.UpdateCount;
@@ -16,8 +18,12 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -529,6 +535,127 @@ public class R2dbcResultsTest extends AbstractR2dbcRepositoryTest {
         verify(executor.statement).execute();
     }
 
+    @Test
+    public void returnChunkedBatchUpdateCount() {
+        var repository = compileR2dbc(List.of(), """
+            @Repository
+            public interface TestRepository extends R2dbcRepository {
+                @Query("INSERT INTO test(value) VALUES (:value)")
+                Mono<UpdateCount> test(@ru.tinkoff.kora.database.common.annotation.Batch(chunkSize = 2) java.util.List<String> value);
+            }
+            """);
+        executor.setUpdateCountResult(42);
+
+        var result = repository.<UpdateCount>invoke("test", List.of("test1", "test2", "test3"));
+
+        assertThat(result.value()).isEqualTo(84);
+        verify(executor.con, times(2)).createStatement("INSERT INTO test(value) VALUES ($1)");
+        verify(executor.statement, times(2)).execute();
+        verify(executor.telemetryContext, times(2)).close(null);
+    }
+
+    @Test
+    public void returnChunkedBatchBlockingVoid() {
+        var repository = compileR2dbc(List.of(), """
+            @Repository
+            public interface TestRepository extends R2dbcRepository {
+                @Query("INSERT INTO test(value) VALUES (:value)")
+                void test(@ru.tinkoff.kora.database.common.annotation.Batch(chunkSize = 2) java.util.List<String> value);
+            }
+            """);
+        executor.setUpdateCountResult(42);
+
+        repository.invoke("test", List.of("test1", "test2", "test3"));
+
+        verify(executor.statement, times(2)).execute();
+    }
+
+    @Test
+    public void chunkedBatchIsExecutedInTransaction() {
+        var repository = compileR2dbc(List.of(), """
+            @Repository
+            public interface TestRepository extends R2dbcRepository {
+                @Query("INSERT INTO test(value) VALUES (:value)")
+                Mono<UpdateCount> test(@ru.tinkoff.kora.database.common.annotation.Batch(chunkSize = 2) java.util.List<String> value);
+            }
+            """);
+        executor.setUpdateCountResult(1);
+
+        repository.<UpdateCount>invoke("test", List.of("test1", "test2", "test3"));
+
+        var order = inOrder(executor.con, executor.statement);
+        order.verify(executor.con).beginTransaction();
+        order.verify(executor.statement, times(2)).execute();
+        order.verify(executor.con).commitTransaction();
+        verify(executor.con, never()).rollbackTransaction();
+    }
+
+    @Test
+    public void chunkedBatchIsRolledBackWhenChunkFails() {
+        var repository = compileR2dbc(List.of(), """
+            @Repository
+            public interface TestRepository extends R2dbcRepository {
+                @Query("INSERT INTO test(value) VALUES (:value)")
+                void test(@ru.tinkoff.kora.database.common.annotation.Batch(chunkSize = 2) java.util.List<String> value);
+            }
+            """);
+        executor.setUpdateCountResult(1);
+        var success = executor.statement.execute();
+        var error = new IllegalStateException("test");
+        Mockito.clearInvocations(executor.statement);
+        when(executor.statement.execute()).thenReturn((Publisher) success, (Publisher) Flux.error(error));
+
+        assertThatThrownBy(() -> repository.invoke("test", List.of("test1", "test2", "test3", "test4"))).isSameAs(error);
+
+        verify(executor.statement, times(2)).execute();
+        verify(executor.con).rollbackTransaction();
+        verify(executor.con, never()).commitTransaction();
+    }
+
+    @Test
+    public void chunkedBatchOnAutoCommitConnectionParameterIsExecutedInTransaction() {
+        var repository = compileR2dbc(List.of(), """
+            @Repository
+            public interface TestRepository extends R2dbcRepository {
+                @Query("INSERT INTO test(value) VALUES (:value)")
+                Mono<UpdateCount> test(io.r2dbc.spi.Connection connection, @ru.tinkoff.kora.database.common.annotation.Batch(chunkSize = 2) java.util.List<String> value);
+            }
+            """);
+        executor.setUpdateCountResult(1);
+        when(executor.con.isAutoCommit()).thenReturn(true);
+
+        var result = repository.<UpdateCount>invoke("test", executor.con, List.of("test1", "test2", "test3"));
+
+        assertThat(result.value()).isEqualTo(2);
+        var order = inOrder(executor.con, executor.statement);
+        order.verify(executor.con).beginTransaction();
+        order.verify(executor.statement, times(2)).execute();
+        order.verify(executor.con).commitTransaction();
+
+        Mockito.clearInvocations(executor.con);
+        when(executor.con.isAutoCommit()).thenReturn(false);
+        repository.<UpdateCount>invoke("test", executor.con, List.of("test1", "test2", "test3"));
+        verify(executor.con, never()).beginTransaction();
+        verify(executor.con, never()).commitTransaction();
+    }
+
+    @Test
+    public void returnChunkedBatchArbitraryFails() {
+        for (var returnType : List.of("int[]", "long", "Mono<Long>", "Mono<int[]>")) {
+            Exception exception = Assertions.assertThrows(Exception.class, () -> {
+                compileR2dbc(List.of(), """
+                    @Repository
+                    public interface TestRepository extends R2dbcRepository {
+                        @Query("INSERT INTO test(value) VALUES (:value)")
+                        %s test(@ru.tinkoff.kora.database.common.annotation.Batch(chunkSize = 2) java.util.List<String> value);
+                    }
+                    """.formatted(returnType));
+            }, returnType);
+
+            assertThat(exception.getMessage()).contains("can only return", "void/UpdateCount");
+        }
+    }
+
     @Test
     public void returnBatchGeneratedIds() {
         var repository = compileR2dbc(List.of(R2dbcResultFluxMapper.monoList(row -> row.get(0, String.class))), """
@@ -24,6 +24,7 @@ import static org.mockito.Mockito.when;
 
 public class MockVertxExecutor implements VertxConnectionFactory {
     public final SqlConnection connection = Mockito.mock(SqlConnection.class);
+    public final Transaction transaction = Mockito.mock(Transaction.class);
     public final PreparedStatement stmt = Mockito.mock(PreparedStatement.class);
     public final PreparedQuery<RowSet<Row>> query = Mockito.mock(PreparedQuery.class);
     public final RowSet<Row> rowSet = Mockito.mock(RowSet.class);
@@ -36,7 +37,22 @@ public class MockVertxExecutor implements VertxConnectionFactory {
     }
 
     public void reset() {
-        Mockito.reset(connection, query, rowSet, telemetry, telemetryContext, stmt);
+        Mockito.reset(connection, transaction, query, rowSet, telemetry, telemetryContext, stmt);
+        doAnswer(invocation -> {
+            var handler = (Handler<AsyncResult<Transaction>>) invocation.getArgument(0);
+            handler.handle(Future.succeededFuture(transaction));
+            return null;
+        }).when(connection).begin(any(Handler.class));
+        doAnswer(invocation -> {
+            var handler = (Handler<AsyncResult<Void>>) invocation.getArgument(0);
+            handler.handle(Future.succeededFuture());
+            return null;
+        }).when(transaction).commit(any(Handler.class));
+        doAnswer(invocation -> {
+            var handler = (Handler<AsyncResult<Void>>) invocation.getArgument(0);
+            handler.handle(Future.succeededFuture());
+            return null;
+        }).when(transaction).rollback(any(Handler.class));
         when(connection.preparedQuery(anyString())).thenReturn(query);
         when(connection.prepare(anyString(), any(Handler.class))).thenAnswer(invocation -> {
             var handler = (Handler<AsyncResult<PreparedStatement>>) invocation.getArgument(1);
@@ -1,5 +1,10 @@
 package ru.tinkoff.kora.database.common.annotation.processor.vertx;
 
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -11,7 +16,12 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -216,6 +226,119 @@ public class VertxResultsTest extends AbstractVertxRepositoryTest {
         verify(executor.query).executeBatch(any(), any());
     }
 
+    @Test
+    public void testReturnChunkedBatchMonoUpdateCount() {
+        var repository = compileVertx(List.of(), """
+            @Repository
+            public interface TestRepository extends VertxRepository {
+                @Query("INSERT INTO test(value) VALUES (:value)")
+                Mono<UpdateCount> test(@Batch(chunkSize = 2) java.util.List<String> value);
+            }
+            """);
+        when(executor.rowSet.rowCount()).thenReturn(42);
+
+        var result = repository.<UpdateCount>invoke("test", List.of("test1", "test2", "test3"));
+
+        assertThat(result.value()).isEqualTo(84);
+        verify(executor.query, times(2)).executeBatch(any(), any());
+        verify(executor.telemetryContext, times(2)).close(null);
+    }
+
+    @Test
+    public void testReturnChunkedBatchBlockingUpdateCount() {
+        var repository = compileVertx(List.of(), """
+            @Repository
+            public interface TestRepository extends VertxRepository {
+                @Query("INSERT INTO test(value) VALUES (:value)")
+                UpdateCount test(@Batch(chunkSize = 2) java.util.List<String> value);
+            }
+            """);
+        when(executor.rowSet.rowCount()).thenReturn(42);
+
+        var result = repository.<UpdateCount>invoke("test", List.of("test1", "test2", "test3"));
+
+        assertThat(result.value()).isEqualTo(84);
+        verify(executor.query, times(2)).executeBatch(any(), any());
+    }
+
+    @Test
+    public void testChunkedBatchIsCommittedOnceOutsideOfTransaction() {
+        var repository = compileVertx(List.of(), """
+            @Repository
+            public interface TestRepository extends VertxRepository {
+                @Query("INSERT INTO test(value) VALUES (:value)")
+                Mono<UpdateCount> test(@Batch(chunkSize = 2) java.util.List<String> value);
+            }
+            """);
+        when(executor.rowSet.rowCount()).thenReturn(1);
+
+        repository.<UpdateCount>invoke("test", List.of("test1", "test2", "test3"));
+
+        var order = inOrder(executor.connection, executor.query, executor.transaction);
+        order.verify(executor.connection).begin(any(Handler.class));
+        order.verify(executor.query, times(2)).executeBatch(any(), any());
+        order.verify(executor.transaction).commit(any(Handler.class));
+        verify(executor.transaction, never()).rollback(any(Handler.class));
+    }
+
+    @Test
+    public void testChunkedBatchIsRolledBackWhenChunkFails() {
+        var repository = compileVertx(List.of(), """
+            @Repository
+            public interface TestRepository extends VertxRepository {
+                @Query("INSERT INTO test(value) VALUES (:value)")
+                CompletionStage<UpdateCount> test(@Batch(chunkSize = 2) java.util.List<String> value);
+            }
+            """);
+        var error = new IllegalStateException("test");
+        var executions = new int[]{0};
+        doAnswer(invocation -> {
+            var handler = (Handler<AsyncResult<RowSet<Row>>>) invocation.getArgument(1);
+            handler.handle(executions[0]++ == 0 ? Future.succeededFuture(executor.rowSet) : Future.failedFuture(error));
+            return null;
+        }).when(executor.query).executeBatch(any(), any());
+
+        assertThatThrownBy(() -> repository.invoke("test", List.of("test1", "test2", "test3", "test4")))
+            .isSameAs(error);
+
+        verify(executor.query, times(2)).executeBatch(any(), any());
+        verify(executor.transaction).rollback(any(Handler.class));
+        verify(executor.transaction, never()).commit(any(Handler.class));
+    }
+
+    @Test
+    public void testChunkedBatchTakesPartInSurroundingTransaction() {
+        var repository = compileVertx(List.of(), """
+            @Repository
+            public interface TestRepository extends VertxRepository {
+                @Query("INSERT INTO test(value) VALUES (:value)")
+                UpdateCount test(@Batch(chunkSize = 2) java.util.List<String> value);
+            }
+            """);
+        when(executor.connection.transaction()).thenReturn(executor.transaction);
+        when(executor.rowSet.rowCount()).thenReturn(1);
+
+        repository.<UpdateCount>invoke("test", List.of("test1", "test2", "test3"));
+
+        verify(executor.connection, never()).begin(any(Handler.class));
+        verify(executor.transaction, never()).commit(any(Handler.class));
+    }
+
+    @Test
+    public void testReturnChunkedBatchSingleChunk() {
+        var repository = compileVertx(List.of(), """
+            @Repository
+            public interface TestRepository extends VertxRepository {
+                @Query("INSERT INTO test(value) VALUES (:value)")
+                CompletionStage<Void> test(@Batch(chunkSize = 2) java.util.List<String> value);
+            }
+            """);
+
+        repository.invoke("test", List.of("test1", "test2"));
+
+        verify(executor.query, times(1)).executeBatch(any(), any());
+    }
+
     @Test
     public void returnBatchArbitraryFails() {
         Exception exception = Assertions.assertThrows(Exception.class, () -> {
@@ -105,6 +105,42 @@ public class VertxReturnTypesTest extends AbstractVertxRepositoryTest {
             """);
     }
 
+    @Test
+    public void testReturnFluxWithFetchSize() {
+        var rowSetMapper = Mockito.mock(VertxRowMapper.class);
+        this.compileVertx(List.of(rowSetMapper), """
+            @Repository
+            public interface TestRepository extends VertxRepository {
+                @Query(value = "select column from table", fetchSize = 1000)
+                Flux<String> select();
+            }
+            """);
+    }
+
+    @Test
+    public void testReturnFlowPublisher() {
+        var rowSetMapper = Mockito.mock(VertxRowMapper.class);
+        this.compileVertx(List.of(rowSetMapper), """
+            @Repository
+            public interface TestRepository extends VertxRepository {
+                @Query(value = "select column from table", fetchSize = 1000)
+                java.util.concurrent.Flow.Publisher<String> select();
+            }
+            """);
+    }
+
+    @Test
+    public void testReturnFlowPublisherWithSqlConnection() {
+        var rowSetMapper = Mockito.mock(VertxRowMapper.class);
+        this.compileVertx(List.of(rowSetMapper), """
+            @Repository
+            public interface TestRepository extends VertxRepository {
+                @Query("select column from table")
+                java.util.concurrent.Flow.Publisher<String> select(SqlConnection connection);
+            }
+            """);
+    }
+
     @Test
     public void testReturnBlocking() {
         var rowSetMapper = Mockito.mock(VertxRowSetMapper.class);
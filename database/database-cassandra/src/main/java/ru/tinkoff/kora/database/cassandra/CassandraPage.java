@@ -0,0 +1,62 @@
+package ru.tinkoff.kora.database.cassandra;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.database.cassandra.mapper.result.CassandraRowMapper;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * <b>Русский</b>: Одна страница результата запроса и непрозрачный курсор для чтения следующей страницы через {@link CassandraPageRequest}.
+ * <hr>
+ * <b>English</b>: Single page of query result and opaque cursor to read next page with {@link CassandraPageRequest}.
+ *
+ * @param rows        <b>Русский</b>: Строки страницы.
+ *                    <hr>
+ *                    <b>English</b>: Page rows.
+ * @param pagingState <b>Русский</b>: Курсор следующей страницы или null, если страница последняя.
+ *                    <hr>
+ *                    <b>English</b>: Next page cursor or null when page is last.
+ */
+public record CassandraPage<T>(List<T> rows, @Nullable String pagingState) {
+
+    public boolean hasNext() {
+        return this.pagingState != null;
+    }
+
+    /**
+     * Maps only rows that are already fetched, so next page is never requested
+     */
+    public static <T> CassandraPage<T> of(ResultSet rs, CassandraRowMapper<T> rowMapper) {
+        var available = rs.getAvailableWithoutFetching();
+        var rows = new ArrayList<T>(available);
+        var it = rs.iterator();
+        for (int i = 0; i < available; i++) {
+            rows.add(rowMapper.apply(it.next()));
+        }
+        return new CassandraPage<>(rows, encode(rs.getExecutionInfo().getPagingState()));
+    }
+
+    public static <T> CassandraPage<T> of(AsyncResultSet rs, CassandraRowMapper<T> rowMapper) {
+        var rows = new ArrayList<T>(rs.remaining());
+        for (var row : rs.currentPage()) {
+            rows.add(rowMapper.apply(row));
+        }
+        return new CassandraPage<>(rows, encode(rs.getExecutionInfo().getPagingState()));
+    }
+
+    @Nullable
+    private static String encode(@Nullable ByteBuffer pagingState) {
+        if (pagingState == null) {
+            return null;
+        }
+        var buf = pagingState.duplicate();
+        var bytes = new byte[buf.remaining()];
+        buf.get(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,64 @@
+package ru.tinkoff.kora.database.cassandra;
+
+import com.datastax.oss.driver.api.core.cql.BoundStatementBuilder;
+import jakarta.annotation.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * <b>Русский</b>: Параметр метода репозитория, возвращающего {@link CassandraPage}, задает размер страницы и курсор, с которого продолжить чтение.
+ * Не связывается с параметрами запроса.
+ * <hr>
+ * <b>English</b>: Parameter of repository method returning {@link CassandraPage}, sets page size and cursor to continue reading from.
+ * It is not bound to query parameters.
+ * <br>
+ * <br>
+ * Пример / Example:
+ * <pre>
+ * {@code
+ * @Repository
+ * public interface MyRepository extends CassandraRepository {
+ *
+ *     @Query("SELECT u.name, u.surname FROM users u")
+ *     CassandraPage<User> findAll(CassandraPageRequest page);
+ * }
+ *
+ * var page = repository.findAll(CassandraPageRequest.first(1000));
+ * while (page.hasNext()) {
+ *     page = repository.findAll(CassandraPageRequest.next(1000, page));
+ * }
+ * }
+ * </pre>
+ *
+ * @param pageSize    <b>Русский</b>: Размер страницы, 0 означает размер из профиля выполнения.
+ *                    <hr>
+ *                    <b>English</b>: Page size, 0 means page size from execution profile.
+ * @param pagingState <b>Русский</b>: Курсор {@link CassandraPage#pagingState()} предыдущей страницы или null для первой страницы.
+ *                    <hr>
+ *                    <b>English</b>: Cursor {@link CassandraPage#pagingState()} of previous page or null for first page.
+ */
+public record CassandraPageRequest(int pageSize, @Nullable String pagingState) {
+    public CassandraPageRequest {
+        if (pageSize < 0) {
+            throw new IllegalArgumentException("Page size can't be negative, but was " + pageSize);
+        }
+    }
+
+    public static CassandraPageRequest first(int pageSize) {
+        return new CassandraPageRequest(pageSize, null);
+    }
+
+    public static CassandraPageRequest next(int pageSize, CassandraPage<?> previous) {
+        return new CassandraPageRequest(pageSize, previous.pagingState());
+    }
+
+    public void applyTo(BoundStatementBuilder stmt) {
+        if (this.pageSize > 0) {
+            stmt.setPageSize(this.pageSize);
+        }
+        if (this.pagingState != null) {
+            stmt.setPagingState(ByteBuffer.wrap(Base64.getUrlDecoder().decode(this.pagingState)));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package ru.tinkoff.kora.database.cassandra;
+
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * <b>Русский</b>: Параллельное чтение всей таблицы: кольцо токенов делится на диапазоны, которые читаются одновременно с ограниченной параллельностью.
+ * Запрос диапазона это метод репозитория с параметрами {@link Token}, настройки запроса (размер страницы, уровень согласованности, таймаут) задаются через {@link ru.tinkoff.kora.database.cassandra.annotation.CassandraProfile}.
+ * <hr>
+ * <b>English</b>: Parallel full table scan: token ring is split into ranges that are read concurrently with bounded parallelism.
+ * Range query is repository method with {@link Token} parameters, query settings (page size, consistency level, timeout) are set with {@link ru.tinkoff.kora.database.cassandra.annotation.CassandraProfile}.
+ * <br>
+ * <br>
+ * Пример / Example:
+ * <pre>
+ * {@code
+ * @Repository
+ * public interface MyRepository extends CassandraRepository {
+ *
+ *     @CassandraProfile("scan")
+ *     @Query("SELECT id, name FROM users WHERE token(id) > :start AND token(id) <= :end")
+ *     Flux<User> findRange(Token start, Token end);
+ * }
+ *
+ * var users = CassandraTokenRangeScan.flux(repository.getCassandraConnectionFactory(), 1024, 16, repository::findRange);
+ * }
+ * </pre>
+ */
+public final class CassandraTokenRangeScan {
+    private static final String MURMUR3_PARTITIONER = "org.apache.cassandra.dht.Murmur3Partitioner";
+    private static final String RANDOM_PARTITIONER = "org.apache.cassandra.dht.RandomPartitioner";
+
+    private CassandraTokenRangeScan() {}
+
+    /**
+     * <b>Русский</b>: Диапазон токенов {@code (start, end]}.
+     * <hr>
+     * <b>English</b>: Token range {@code (start, end]}.
+     */
+    public record Range(Token start, Token end) {}
+
+    /**
+     * @param splits      <b>Русский</b>: Минимальное количество диапазонов, 0 означает по одному диапазону на каждый диапазон токенов кластера.
+     *                    <hr>
+     *                    <b>English</b>: Minimal number of ranges, 0 means one range for every cluster token range.
+     * @param parallelism <b>Русский</b>: Количество одновременно читаемых диапазонов, 0 означает количество процессоров.
+     *                    <hr>
+     *                    <b>English</b>: Number of ranges read concurrently, 0 means number of processors.
+     * @param rangeQuery  <b>Русский</b>: Запрос строк диапазона {@code token > start AND token <= end}.
+     *                    <hr>
+     *                    <b>English</b>: Query of range rows {@code token > start AND token <= end}.
+     */
+    public static <T> Flux<T> flux(CassandraConnectionFactory connectionFactory, int splits, int parallelism, BiFunction<Token, Token, ? extends Publisher<T>> rangeQuery) {
+        var concurrency = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return Flux.defer(() -> Flux.fromIterable(split(connectionFactory, splits)))
+            .flatMap(range -> rangeQuery.apply(range.start(), range.end()), concurrency);
+    }
+
+    /**
+     * Splits token ring of current session into ranges that cover all ring without overlaps and wrap around
+     */
+    public static List<Range> split(CassandraConnectionFactory connectionFactory, int splits) {
+        var tokenMap = connectionFactory.currentSession().getMetadata().getTokenMap()
+            .orElseThrow(() -> new IllegalStateException("Token metadata is not available, check that advanced.metadata.token-map.enabled is true"));
+        var minToken = bound(tokenMap, false);
+        var maxToken = bound(tokenMap, true);
+        var tokenRanges = tokenMap.getTokenRanges();
+        var splitsPerRange = splits <= tokenRanges.size() ? 1 : (splits + tokenRanges.size() - 1) / tokenRanges.size();
+        var result = new ArrayList<Range>(tokenRanges.size() * splitsPerRange + 1);
+        for (var tokenRange : tokenRanges) {
+            var subRanges = splitsPerRange == 1 ? List.of(tokenRange) : tokenRange.splitEvenly(splitsPerRange);
+            for (var subRange : subRanges) {
+                for (var range : subRange.unwrap()) {
+                    // range that ends with min token includes the tail of the ring, but token(k) <= min matches nothing
+                    var end = range.getEnd().equals(minToken) ? maxToken : range.getEnd();
+                    if (!range.getStart().equals(end)) {
+                        result.add(new Range(range.getStart(), end));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Token bound(TokenMap tokenMap, boolean max) {
+        return switch (tokenMap.getPartitionerName()) {
+            case MURMUR3_PARTITIONER -> tokenMap.parse(max ? Long.toString(Long.MAX_VALUE) : Long.toString(Long.MIN_VALUE));
+            case RANDOM_PARTITIONER -> tokenMap.parse(max ? "170141183460469231731687303715884105728" : "-1");
+            default -> throw new IllegalStateException("Token range scan supports only Murmur3Partitioner and RandomPartitioner, but was " + tokenMap.getPartitionerName());
+        };
+    }
+}
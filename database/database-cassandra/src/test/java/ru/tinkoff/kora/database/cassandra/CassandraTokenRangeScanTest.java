@@ -0,0 +1,140 @@
+package ru.tinkoff.kora.database.cassandra;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.metadata.Metadata;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
+import com.datastax.oss.driver.internal.core.metadata.token.Murmur3Token;
+import com.datastax.oss.driver.internal.core.metadata.token.Murmur3TokenRange;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CassandraTokenRangeScanTest {
+    private static final String MURMUR3_PARTITIONER = "org.apache.cassandra.dht.Murmur3Partitioner";
+    private static final Token MIN = new Murmur3Token(Long.MIN_VALUE);
+    private static final Token MAX = new Murmur3Token(Long.MAX_VALUE);
+
+    private final TokenMap tokenMap = mock(TokenMap.class);
+    private final CassandraConnectionFactory connectionFactory = mock(CassandraConnectionFactory.class);
+
+    CassandraTokenRangeScanTest() {
+        var session = mock(CqlSession.class);
+        var metadata = mock(Metadata.class);
+        when(this.connectionFactory.currentSession()).thenReturn(session);
+        when(session.getMetadata()).thenReturn(metadata);
+        when(metadata.getTokenMap()).thenReturn(Optional.of(this.tokenMap));
+        when(this.tokenMap.getPartitionerName()).thenReturn(MURMUR3_PARTITIONER);
+        when(this.tokenMap.parse(anyString())).thenAnswer(invocation -> new Murmur3Token(Long.parseLong(invocation.getArgument(0))));
+    }
+
+    @Test
+    void testWrappedRangeIsSplitAtMinToken() {
+        ring(-100, 100);
+
+        var ranges = CassandraTokenRangeScan.split(this.connectionFactory, 0);
+
+        assertThat(ranges).containsExactly(
+            new CassandraTokenRangeScan.Range(token(-100), token(100)),
+            new CassandraTokenRangeScan.Range(token(100), MAX),
+            new CassandraTokenRangeScan.Range(MIN, token(-100))
+        );
+    }
+
+    @Test
+    void testRangesCoverRingExactlyOnce() {
+        ring(-1000, 0, 1000);
+
+        assertCoversRing(CassandraTokenRangeScan.split(this.connectionFactory, 0), 4);
+        assertCoversRing(CassandraTokenRangeScan.split(this.connectionFactory, 2), 4);
+        assertCoversRing(CassandraTokenRangeScan.split(this.connectionFactory, 10), 12);
+    }
+
+    @Test
+    void testSingleTokenRingIsScannedWhole() {
+        when(this.tokenMap.getTokenRanges()).thenReturn(new LinkedHashSet<>(List.of(new Murmur3TokenRange((Murmur3Token) MIN, (Murmur3Token) MIN))));
+
+        assertThat(CassandraTokenRangeScan.split(this.connectionFactory, 0)).containsExactly(new CassandraTokenRangeScan.Range(MIN, MAX));
+        assertCoversRing(CassandraTokenRangeScan.split(this.connectionFactory, 4), 4);
+    }
+
+    @Test
+    void testUnsupportedPartitionerIsRejected() {
+        ring(-100, 100);
+        when(this.tokenMap.getPartitionerName()).thenReturn("org.apache.cassandra.dht.ByteOrderedPartitioner");
+
+        assertThatThrownBy(() -> CassandraTokenRangeScan.split(this.connectionFactory, 0))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("ByteOrderedPartitioner");
+        assertThatThrownBy(() -> CassandraTokenRangeScan.flux(this.connectionFactory, 0, 1, (start, end) -> Flux.empty()).blockLast())
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testMissingTokenMapIsRejected() {
+        when(this.connectionFactory.currentSession().getMetadata().getTokenMap()).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> CassandraTokenRangeScan.split(this.connectionFactory, 0))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("token-map");
+    }
+
+    @Test
+    void testFluxQueriesEveryRangeWithBoundedParallelism() {
+        ring(-1000, 0, 1000);
+        var active = new AtomicInteger();
+        var maxActive = new AtomicInteger();
+
+        var result = CassandraTokenRangeScan.flux(this.connectionFactory, 8, 2, (start, end) -> Mono.delay(Duration.ofMillis(20))
+                .doOnSubscribe(s -> maxActive.accumulateAndGet(active.incrementAndGet(), Math::max))
+                .doFinally(s -> active.decrementAndGet())
+                .thenReturn(new CassandraTokenRangeScan.Range(start, end)))
+            .collectList()
+            .block();
+
+        assertThat(result).containsExactlyInAnyOrderElementsOf(CassandraTokenRangeScan.split(this.connectionFactory, 8));
+        assertThat(maxActive.get()).isEqualTo(2);
+    }
+
+    private void ring(long... tokens) {
+        var ranges = new LinkedHashSet<TokenRange>();
+        for (int i = 0; i < tokens.length; i++) {
+            ranges.add(new Murmur3TokenRange(new Murmur3Token(tokens[i]), new Murmur3Token(tokens[(i + 1) % tokens.length])));
+        }
+        when(this.tokenMap.getTokenRanges()).thenReturn(ranges);
+    }
+
+    private static Token token(long value) {
+        return new Murmur3Token(value);
+    }
+
+    private static void assertCoversRing(List<CassandraTokenRangeScan.Range> ranges, int minSize) {
+        assertThat(ranges).hasSizeGreaterThanOrEqualTo(minSize);
+        var sorted = new ArrayList<>(ranges);
+        sorted.sort(Comparator.comparing(CassandraTokenRangeScan.Range::start));
+        assertThat(sorted.get(0).start()).isEqualTo(MIN);
+        for (int i = 0; i < sorted.size(); i++) {
+            var range = sorted.get(i);
+            assertThat(range.start()).isLessThan(range.end());
+            if (i > 0) {
+                assertThat(range.start()).isEqualTo(sorted.get(i - 1).end());
+            }
+        }
+        assertThat(sorted.get(sorted.size() - 1).end()).isEqualTo(MAX);
+    }
+}
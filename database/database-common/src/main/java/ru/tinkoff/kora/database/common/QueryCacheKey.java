@@ -0,0 +1,23 @@
+package ru.tinkoff.kora.database.common;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <b>Русский</b>: Ключ кеша результатов запроса {@link ru.tinkoff.kora.database.common.annotation.Query#cache()}: метод репозитория, идентификатор запроса и значения его параметров.
+ * Метод входит в ключ, так как один и тот же запрос может использоваться методами с разными типами результата.
+ * <hr>
+ * <b>English</b>: Query result cache key for {@link ru.tinkoff.kora.database.common.annotation.Query#cache()}: repository method, query id and its parameter values.
+ * Method is part of the key because the same query can be used by methods with different result types.
+ *
+ * @param operation  {@link QueryContext#operation()}, repository and method name
+ * @param queryId    {@link QueryContext#queryId()}
+ * @param parameters query parameter values in method parameter order, may contain nulls
+ */
+public record QueryCacheKey(String operation, String queryId, List<Object> parameters) {
+    public QueryCacheKey {
+        Objects.requireNonNull(operation);
+        Objects.requireNonNull(queryId);
+        Objects.requireNonNull(parameters);
+    }
+}
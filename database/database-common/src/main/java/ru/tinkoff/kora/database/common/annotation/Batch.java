@@ -30,4 +30,20 @@ import java.lang.annotation.Target;
 @Target(ElementType.PARAMETER)
 public @interface Batch {
 
+    /**
+     * @return <b>Русский</b>: Количество элементов, отправляемых в базу одним пакетом, 0 означает что весь список отправляется одним пакетом.
+     * Пакеты выполняются последовательно на одном соединении, метрики и трассировка пишутся для каждого пакета отдельно.
+     * Если вызов происходит вне транзакции, то все пакеты выполняются в одной транзакции, поэтому ошибка в одном из пакетов откатывает и предыдущие,
+     * а внутри транзакции пакеты участвуют в ней, как и обычный пакетный запрос.
+     * Для быстрой вставки в PostgreSQL через JDBC стоит также включить свойство драйвера {@code reWriteBatchedInserts=true},
+     * тогда драйвер переписывает пакет {@code INSERT} в многострочные {@code INSERT ... VALUES (...), (...)}.
+     * <hr>
+     * <b>English</b>: Number of elements sent to database in one batch, 0 means that the whole list is sent as single batch.
+     * Chunks are executed sequentially on the same connection, metrics and traces are recorded for every chunk.
+     * When called outside of transaction all chunks are executed in single transaction, so failure of one chunk rolls back previous chunks as well,
+     * inside of transaction chunks take part in it just like regular batch does.
+     * For fast PostgreSQL inserts with JDBC consider enabling driver property {@code reWriteBatchedInserts=true} as well,
+     * so driver rewrites {@code INSERT} batch into multi row {@code INSERT ... VALUES (...), (...)} statements.
+     */
+    int chunkSize() default 0;
 }
@@ -38,4 +38,60 @@ public @interface Query {
      */
     @Language("SQL")
     String value();
+
+    /**
+     * @return <b>Русский</b>: Количество строк, получаемых из базы за один раз, 0 означает значение драйвера по умолчанию.
+     * Для JDBC методов возвращающих {@link java.util.stream.Stream}, {@code JdbcResultCursor} или {@link java.util.concurrent.Flow.Publisher} позволяет читать результат серверным курсором.
+     * Для Vert.x методов возвращающих {@link java.util.concurrent.Flow.Publisher} или Flux результат читается курсором по указанному количеству строк, 0 означает 50 строк.
+     * <hr>
+     * <b>English</b>: Number of rows fetched from database at once, 0 means driver default.
+     * For JDBC methods returning {@link java.util.stream.Stream}, {@code JdbcResultCursor} or {@link java.util.concurrent.Flow.Publisher} it allows to read result with server side cursor.
+     * For Vert.x methods returning {@link java.util.concurrent.Flow.Publisher} or Flux result is read with cursor by specified number of rows, 0 means 50 rows.
+     */
+    int fetchSize() default 0;
+
+    /**
+     * @return <b>Русский</b>: Запрос только читает данные, вне транзакции JDBC запрос может быть выполнен на реплике, если фабрика соединений умеет маршрутизировать запросы.
+     * <hr>
+     * <b>English</b>: Query only reads data, outside of transaction JDBC query can be executed on replica when connection factory supports routing.
+     */
+    boolean readOnly() default false;
+
+    /**
+     * @return <b>Русский</b>: Кеш результатов запроса, интерфейс с аннотацией {@code ru.tinkoff.kora.cache.annotation.Cache} наследующий {@code Cache<QueryCacheKey, ?>}.
+     * Ключом является {@link ru.tinkoff.kora.database.common.QueryCacheKey}, время жизни и размер задаются конфигурацией кеша.
+     * Если метод помечен {@link Table}, то кеш очищается после вызова любого метода этого же репозитория, помеченного той же {@link Table}.
+     * Очистка выполняется после фиксации транзакции {@code JdbcConnectionFactory#inTx}, если метод вызван внутри неё.
+     * Внутри транзакции и при переданном соединении кеш не используется, чтобы не кешировать незафиксированные данные.
+     * Поддерживается только для блокирующих методов JDBC репозиториев.
+     * <hr>
+     * <b>English</b>: Query result cache, interface annotated with {@code ru.tinkoff.kora.cache.annotation.Cache} extending {@code Cache<QueryCacheKey, ?>}.
+     * Key is {@link ru.tinkoff.kora.database.common.QueryCacheKey}, time to live and size are set with cache configuration.
+     * If method is annotated with {@link Table}, cache is invalidated after call of any method of the same repository annotated with the same {@link Table}.
+     * Invalidation is done after commit of {@code JdbcConnectionFactory#inTx} transaction when method is called inside it.
+     * Cache is bypassed inside of transaction and when connection is passed as parameter, so uncommitted data is never cached.
+     * Supported only for blocking methods of JDBC repositories.
+     * <br>
+     * <br>
+     * Пример / Example:
+     * <pre>
+     * {@code
+     * @Cache("currency-cache")
+     * public interface CurrencyCache extends CaffeineCache<QueryCacheKey, Object> {}
+     *
+     * @Repository
+     * public interface CurrencyRepository extends JdbcRepository {
+     *
+     *     @Table("currency")
+     *     @Query(value = "SELECT * FROM currency WHERE code = :code", cache = CurrencyCache.class)
+     *     Optional<Currency> findByCode(String code);
+     *
+     *     @Table("currency")
+     *     @Query("UPDATE currency SET rate = :rate WHERE code = :code")
+     *     void updateRate(String code, BigDecimal rate);
+     * }
+     * }
+     * </pre>
+     */
+    Class<?> cache() default void.class;
 }
@@ -7,8 +7,10 @@ import java.lang.annotation.Target;
 
 /**
  * <b>Русский</b>: Аннотация указывает имя таблицы в базе данных для сущности.
+ * На методе репозитория указывает таблицу, с которой работает запрос, для очистки {@link Query#cache()}.
  * <hr>
  * <b>English</b>: An annotation specifies table name in the database for an entity model.
+ * On repository method specifies table that query works with, used for {@link Query#cache()} invalidation.
  * <br>
  * <br>
  * Пример / Example:
@@ -20,7 +22,7 @@ import java.lang.annotation.Target;
  *
  * @see Repository
  */
-@Target({ElementType.TYPE})
+@Target({ElementType.TYPE, ElementType.METHOD})
 @Retention(RetentionPolicy.CLASS)
 public @interface Table {
 
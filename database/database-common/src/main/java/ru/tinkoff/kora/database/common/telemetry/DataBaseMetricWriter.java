@@ -3,8 +3,25 @@ package ru.tinkoff.kora.database.common.telemetry;
 import jakarta.annotation.Nullable;
 import ru.tinkoff.kora.database.common.QueryContext;
 
+import java.util.function.IntSupplier;
+
 public interface DataBaseMetricWriter {
     void recordQuery(long queryBegin, QueryContext queryContext, @Nullable Throwable exception);
 
     Object getMetricRegistry();
+
+    @Nullable
+    default DataBaseTelemetry.DataBaseExecutorMetrics executorMetrics(IntSupplier queueSize) {
+        return null;
+    }
+
+    @Nullable
+    default DataBaseTelemetry.DataBaseStatementCacheMetrics statementCacheMetrics() {
+        return null;
+    }
+
+    @Nullable
+    default DataBaseTelemetry.DataBasePoolMetrics poolMetrics(DataBaseTelemetry.DataBasePoolState state) {
+        return null;
+    }
 }
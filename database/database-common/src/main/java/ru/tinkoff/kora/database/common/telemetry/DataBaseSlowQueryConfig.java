@@ -0,0 +1,53 @@
+package ru.tinkoff.kora.database.common.telemetry;
+
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.config.common.annotation.ConfigValueExtractor;
+
+import java.time.Duration;
+
+/**
+ * <b>Русский</b>: Конфигурация выборки медленных запросов: запросы дольше порога логируются с типами и размерами параметров,
+ * опционально для них асинхронно снимается план выполнения.
+ * <hr>
+ * <b>English</b>: Slow query sampling configuration: queries slower than threshold are logged with parameter types and sizes,
+ * optionally their execution plan is captured asynchronously.
+ * <br>
+ * <br>
+ * JDBC queries are sampled from statement lease to close, so cursor methods ({@code Stream}, {@code ResultCursor}, {@code Flow.Publisher})
+ * that keep statement open while rows are consumed and {@code @Id} methods that prepare statement for generated keys are not sampled.
+ *
+ * @see DataBaseSlowQuerySampler
+ */
+@ConfigValueExtractor
+public interface DataBaseSlowQueryConfig {
+    default boolean enabled() {
+        return false;
+    }
+
+    default Duration threshold() {
+        return Duration.ofSeconds(1);
+    }
+
+    /**
+     * Run {@link #explainPrefix()} of slow query on separate connection
+     */
+    default boolean explain() {
+        return false;
+    }
+
+    /**
+     * Prefix of statement that returns plan of query without executing it, e.g. {@code EXPLAIN} for MySQL.
+     * When not set {@code EXPLAIN (ANALYZE off)} is used for PostgreSQL and plans are not captured for other databases
+     */
+    @Nullable
+    default String explainPrefix() {
+        return null;
+    }
+
+    /**
+     * Number of last captured plans kept in memory
+     */
+    default int plansSize() {
+        return 100;
+    }
+}
@@ -0,0 +1,214 @@
+package ru.tinkoff.kora.database.common.telemetry;
+
+import jakarta.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+import ru.tinkoff.kora.database.common.QueryContext;
+import ru.tinkoff.kora.logging.common.arg.StructuredArgument;
+
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Logs queries slower than {@link DataBaseSlowQueryConfig#threshold()} with types and sizes of bound parameters, values are never logged.
+ * When {@link DataBaseSlowQueryConfig#explain()} is enabled, plan of slow query is captured by {@link Explainer} and kept in bounded ring of last plans.
+ * Only one plan is captured at a time, slow queries that come while plan is being captured are only logged.
+ * First failure to capture plan is logged at WARN, following ones at DEBUG.
+ */
+public final class DataBaseSlowQuerySampler {
+
+    /**
+     * Explain prefix used for PostgreSQL when {@link DataBaseSlowQueryConfig#explainPrefix()} is not set
+     */
+    public static final String POSTGRES_EXPLAIN_PREFIX = "EXPLAIN (ANALYZE off)";
+
+    /**
+     * Captures plan of query with given parameter values on separate connection
+     */
+    public interface Explainer {
+        CompletionStage<String> explain(QueryContext query, List<?> parameters);
+    }
+
+    /**
+     * @param processingTime query processing time in nanoseconds
+     */
+    public record Plan(String queryId, String operation, long processingTime, Instant timestamp, String plan) {}
+
+    private final Logger log;
+    private final String poolName;
+    private final long thresholdNanos;
+    @Nullable
+    private final Explainer explainer;
+    private final AtomicBoolean explaining = new AtomicBoolean();
+    private final AtomicBoolean explainFailureLogged = new AtomicBoolean();
+    private final Plan[] plans;
+    private int nextPlan = 0;
+
+    public DataBaseSlowQuerySampler(DataBaseSlowQueryConfig config, String poolName, @Nullable Explainer explainer) {
+        if (config.plansSize() < 1) {
+            throw new IllegalArgumentException("Slow query plans size must be positive, but was " + config.plansSize());
+        }
+        this.poolName = poolName;
+        this.thresholdNanos = config.threshold().toNanos();
+        this.explainer = config.explain() ? explainer : null;
+        this.plans = new Plan[config.plansSize()];
+        this.log = LoggerFactory.getLogger("ru.tinkoff.kora.database." + poolName + ".slow");
+        if (config.explain() && explainer == null) {
+            this.log.warn("Slow SQL plans are not captured for pool '{}': explainPrefix is not configured for this database", poolName);
+        }
+    }
+
+    /**
+     * @return sampler or null when slow query sampling is disabled
+     */
+    @Nullable
+    public static DataBaseSlowQuerySampler create(DataBaseSlowQueryConfig config, String poolName, @Nullable Explainer explainer) {
+        if (!config.enabled()) {
+            return null;
+        }
+        return new DataBaseSlowQuerySampler(config, poolName, explainer);
+    }
+
+    /**
+     * @param postgres whether database is PostgreSQL
+     * @return statement prefix that returns query plan, or null if plan can't be captured for this database
+     */
+    @Nullable
+    public static String explainPrefix(DataBaseSlowQueryConfig config, boolean postgres) {
+        var prefix = config.explainPrefix();
+        if (prefix != null && !prefix.isBlank()) {
+            return prefix.trim() + " ";
+        }
+        return postgres ? POSTGRES_EXPLAIN_PREFIX + " " : null;
+    }
+
+    public boolean isSlow(long processingTime) {
+        return processingTime >= this.thresholdNanos;
+    }
+
+    /**
+     * @param processingTime query processing time in nanoseconds, that is already known to be slow
+     * @param parameters     bound parameter values in bind order
+     */
+    public void record(QueryContext query, long processingTime, List<?> parameters) {
+        if (this.log.isWarnEnabled()) {
+            this.log.warn(marker(query, processingTime, parameters), "Slow SQL for pool '{}' took {}ms, query '{}' with parameters {}",
+                this.poolName, processingTime / 1_000_000, query.queryId(), describe(parameters));
+        }
+        var explainer = this.explainer;
+        if (explainer == null || !this.explaining.compareAndSet(false, true)) {
+            return;
+        }
+        var values = new ArrayList<Object>(parameters);
+        final CompletionStage<String> plan;
+        try {
+            plan = explainer.explain(query, values);
+        } catch (Exception e) {
+            this.explaining.set(false);
+            this.logExplainFailure(query, e);
+            return;
+        }
+        plan.whenComplete((text, error) -> {
+            this.explaining.set(false);
+            if (error != null) {
+                this.logExplainFailure(query, error);
+            } else {
+                this.addPlan(new Plan(query.queryId(), query.operation(), processingTime, Instant.now(), text));
+            }
+        });
+    }
+
+    private void logExplainFailure(QueryContext query, Throwable error) {
+        if (this.explainFailureLogged.compareAndSet(false, true)) {
+            this.log.warn("Failed to explain slow SQL for pool '{}', query '{}', following failures are logged at DEBUG", this.poolName, query.queryId(), error);
+        } else {
+            this.log.debug("Failed to explain slow SQL for pool '{}', query '{}'", this.poolName, query.queryId(), error);
+        }
+    }
+
+    /**
+     * @return last captured plans, slowest first
+     */
+    public List<Plan> plans() {
+        var result = new ArrayList<Plan>(this.plans.length);
+        synchronized (this.plans) {
+            for (var plan : this.plans) {
+                if (plan != null) {
+                    result.add(plan);
+                }
+            }
+        }
+        result.sort(Comparator.comparingLong(Plan::processingTime).reversed());
+        return result;
+    }
+
+    /**
+     * @return slowest of last captured plans for every query id
+     */
+    public Map<String, Plan> slowestPlans() {
+        var result = new LinkedHashMap<String, Plan>();
+        for (var plan : this.plans()) {
+            result.putIfAbsent(plan.queryId(), plan);
+        }
+        return result;
+    }
+
+    private void addPlan(Plan plan) {
+        synchronized (this.plans) {
+            this.plans[this.nextPlan] = plan;
+            this.nextPlan = (this.nextPlan + 1) % this.plans.length;
+        }
+    }
+
+    private Marker marker(QueryContext query, long processingTime, List<?> parameters) {
+        return StructuredArgument.marker("sqlQuery", gen -> {
+            gen.writeStartObject();
+            gen.writeStringField("pool", this.poolName);
+            gen.writeStringField("operation", query.operation());
+            gen.writeStringField("queryId", query.queryId());
+            gen.writeNumberField("processingTime", processingTime / 1_000_000);
+            gen.writeArrayFieldStart("parameters");
+            for (var parameter : parameters) {
+                gen.writeString(describe(parameter));
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+        });
+    }
+
+    static String describe(List<?> parameters) {
+        var sb = new StringBuilder("[");
+        for (int i = 0; i < parameters.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(describe(parameters.get(i)));
+        }
+        return sb.append(']').toString();
+    }
+
+    static String describe(@Nullable Object parameter) {
+        if (parameter == null) {
+            return "null";
+        }
+        var type = parameter.getClass().getSimpleName();
+        if (parameter instanceof CharSequence s) {
+            return type + "(" + s.length() + ")";
+        }
+        if (parameter instanceof Collection<?> c) {
+            return type + "(" + c.size() + ")";
+        }
+        if (parameter instanceof ByteBuffer b) {
+            return type + "(" + b.remaining() + ")";
+        }
+        if (parameter.getClass().isArray()) {
+            return parameter.getClass().getComponentType().getSimpleName() + "[" + Array.getLength(parameter) + "]";
+        }
+        return type;
+    }
+}
@@ -0,0 +1,73 @@
+package ru.tinkoff.kora.database.common.telemetry;
+
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.database.common.QueryContext;
+
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * Telemetry that passes queries slower than threshold with their {@link DataBaseTelemetryContext#parameters(List)} to {@link DataBaseSlowQuerySampler}
+ */
+public final class DataBaseSlowQueryTelemetry implements DataBaseTelemetry {
+    private final DataBaseTelemetry delegate;
+    private final DataBaseSlowQuerySampler sampler;
+
+    public DataBaseSlowQueryTelemetry(DataBaseTelemetry delegate, DataBaseSlowQuerySampler sampler) {
+        this.delegate = delegate;
+        this.sampler = sampler;
+    }
+
+    public DataBaseSlowQuerySampler sampler() {
+        return this.sampler;
+    }
+
+    @Nullable
+    @Override
+    public Object getMetricRegistry() {
+        return this.delegate.getMetricRegistry();
+    }
+
+    @Override
+    public DataBaseTelemetryContext createContext(Context context, QueryContext query) {
+        var delegate = this.delegate.createContext(context, query);
+        var start = System.nanoTime();
+        return new DataBaseTelemetryContext() {
+            private List<?> parameters = List.of();
+
+            @Override
+            public void parameters(List<?> values) {
+                this.parameters = values;
+                delegate.parameters(values);
+            }
+
+            @Override
+            public void close(@Nullable Throwable exception) {
+                delegate.close(exception);
+                var processingTime = System.nanoTime() - start;
+                if (sampler.isSlow(processingTime)) {
+                    sampler.record(query, processingTime, this.parameters);
+                }
+            }
+        };
+    }
+
+    @Nullable
+    @Override
+    public DataBaseExecutorMetrics executorMetrics(IntSupplier queueSize) {
+        return this.delegate.executorMetrics(queueSize);
+    }
+
+    @Nullable
+    @Override
+    public DataBaseStatementCacheMetrics statementCacheMetrics() {
+        return this.delegate.statementCacheMetrics();
+    }
+
+    @Nullable
+    @Override
+    public DataBasePoolMetrics poolMetrics(DataBasePoolState state) {
+        return this.delegate.poolMetrics(state);
+    }
+}
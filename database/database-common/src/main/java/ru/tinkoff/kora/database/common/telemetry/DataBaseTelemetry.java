@@ -4,13 +4,85 @@ import jakarta.annotation.Nullable;
 import ru.tinkoff.kora.common.Context;
 import ru.tinkoff.kora.database.common.QueryContext;
 
+import java.util.List;
+import java.util.function.IntSupplier;
+
 public interface DataBaseTelemetry {
     @Nullable
     Object getMetricRegistry();
 
     interface DataBaseTelemetryContext {
+        /**
+         * Bound parameter values of query, used by slow query sampling
+         *
+         * @see DataBaseSlowQuerySampler
+         */
+        default void parameters(List<?> values) {}
+
         void close(@Nullable Throwable exception);
     }
 
     DataBaseTelemetryContext createContext(Context context, QueryContext query);
+
+    /**
+     * Metrics of executor that runs blocking queries of async repository methods
+     */
+    interface DataBaseExecutorMetrics {
+        void recordQueueWait(long waitNanos);
+    }
+
+    /**
+     * @param queueSize number of tasks waiting in executor queue
+     * @return executor metrics or null if metrics are disabled
+     */
+    @Nullable
+    default DataBaseExecutorMetrics executorMetrics(IntSupplier queueSize) {
+        return null;
+    }
+
+    /**
+     * Metrics of client side prepared statement cache
+     */
+    interface DataBaseStatementCacheMetrics {
+        void recordHit();
+
+        void recordMiss();
+    }
+
+    /**
+     * @return statement cache metrics or null if metrics are disabled
+     */
+    @Nullable
+    default DataBaseStatementCacheMetrics statementCacheMetrics() {
+        return null;
+    }
+
+    /**
+     * Current state of connection pool, sampled by pool gauges
+     */
+    interface DataBasePoolState {
+        int acquired();
+
+        int idle();
+
+        int pending();
+
+        int max();
+    }
+
+    /**
+     * Metrics of connection pool
+     */
+    interface DataBasePoolMetrics {
+        void recordAcquire(long acquireNanos);
+    }
+
+    /**
+     * @param state connection pool state
+     * @return pool metrics or null if metrics are disabled
+     */
+    @Nullable
+    default DataBasePoolMetrics poolMetrics(DataBasePoolState state) {
+        return null;
+    }
 }
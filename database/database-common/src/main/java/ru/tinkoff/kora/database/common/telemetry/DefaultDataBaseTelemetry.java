@@ -4,6 +4,8 @@ import jakarta.annotation.Nullable;
 import ru.tinkoff.kora.common.Context;
 import ru.tinkoff.kora.database.common.QueryContext;
 
+import java.util.function.IntSupplier;
+
 public class DefaultDataBaseTelemetry implements DataBaseTelemetry {
     @Nullable
     private final DataBaseMetricWriter metricWriter;
@@ -26,6 +28,33 @@ public class DefaultDataBaseTelemetry implements DataBaseTelemetry {
         return this.metricWriter.getMetricRegistry();
     }
 
+    @Nullable
+    @Override
+    public DataBaseExecutorMetrics executorMetrics(IntSupplier queueSize) {
+        if (this.metricWriter == null) {
+            return null;
+        }
+        return this.metricWriter.executorMetrics(queueSize);
+    }
+
+    @Nullable
+    @Override
+    public DataBaseStatementCacheMetrics statementCacheMetrics() {
+        if (this.metricWriter == null) {
+            return null;
+        }
+        return this.metricWriter.statementCacheMetrics();
+    }
+
+    @Nullable
+    @Override
+    public DataBasePoolMetrics poolMetrics(DataBasePoolState state) {
+        if (this.metricWriter == null) {
+            return null;
+        }
+        return this.metricWriter.poolMetrics(state);
+    }
+
     @Override
     public DataBaseTelemetryContext createContext(Context ctx, QueryContext query) {
         var metricWriter = this.metricWriter;
@@ -3,6 +3,7 @@ package ru.tinkoff.kora.database.flyway;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import ru.tinkoff.kora.database.common.telemetry.$DataBaseSlowQueryConfig_ConfigValueExtractor;
 import ru.tinkoff.kora.database.common.telemetry.DefaultDataBaseTelemetryFactory;
 import ru.tinkoff.kora.database.jdbc.$JdbcDatabaseConfig_ConfigValueExtractor;
 import ru.tinkoff.kora.database.jdbc.JdbcDatabase;
@@ -39,6 +40,9 @@ public class FlywayJdbcDatabaseInterceptorTest {
             Duration.ofMillis(1000L),
             false,
             new Properties(),
+            false,
+            100,
+            $DataBaseSlowQueryConfig_ConfigValueExtractor.DEFAULTS,
             new $TelemetryConfig_ConfigValueExtractor.TelemetryConfig_Impl(
                 new $TelemetryConfig_LogConfig_ConfigValueExtractor.LogConfig_Impl(true),
                 new $TelemetryConfig_TracingConfig_ConfigValueExtractor.TracingConfig_Impl(true),
@@ -0,0 +1,84 @@
+package ru.tinkoff.kora.database.jdbc;
+
+import org.openjdk.jmh.annotations.*;
+import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.database.common.QueryContext;
+import ru.tinkoff.kora.database.common.telemetry.DataBaseTelemetry;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares single batch with {@link JdbcBatchChunks} of different sizes on in memory H2 database, chunk size 0 means single batch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Measurement(time = 5, iterations = 5)
+@Warmup(time = 5, iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class JdbcBatchChunksBenchmark {
+    private static final QueryContext QUERY = new QueryContext("INSERT INTO test(id, value) VALUES (:id, :value)", "INSERT INTO test(id, value) VALUES (?, ?)");
+    private static final DataBaseTelemetry TELEMETRY = new DataBaseTelemetry() {
+        @Override
+        public Object getMetricRegistry() {
+            return null;
+        }
+
+        @Override
+        public DataBaseTelemetryContext createContext(Context context, QueryContext query) {
+            return exception -> {};
+        }
+    };
+
+    @Param({"100000"})
+    int rows;
+
+    @Param({"0", "100", "1000", "10000"})
+    int chunkSize;
+
+    private Connection connection;
+
+    @Setup
+    public void setup() throws SQLException {
+        this.connection = DriverManager.getConnection("jdbc:h2:mem:batch;DB_CLOSE_DELAY=-1");
+        try (var stmt = this.connection.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS test(id BIGINT, value VARCHAR(64))");
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void truncate() throws SQLException {
+        try (var stmt = this.connection.createStatement()) {
+            stmt.execute("TRUNCATE TABLE test");
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        this.connection.close();
+    }
+
+    @Benchmark
+    public long[] insert() throws SQLException {
+        try (var stmt = this.connection.prepareStatement(QUERY.sql())) {
+            if (this.chunkSize == 0) {
+                for (int i = 0; i < this.rows; i++) {
+                    stmt.setLong(1, i);
+                    stmt.setString(2, "value" + i);
+                    stmt.addBatch();
+                }
+                return stmt.executeLargeBatch();
+            }
+            var chunks = new JdbcBatchChunks(TELEMETRY, Context.current(), QUERY, this.chunkSize, true);
+            for (int i = 0; i < this.rows; i++) {
+                stmt.setLong(1, i);
+                stmt.setString(2, "value" + i);
+                chunks.addBatch(stmt);
+            }
+            return chunks.executeLargeBatch(stmt);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package ru.tinkoff.kora.database.jdbc;
+
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.database.common.QueryContext;
+import ru.tinkoff.kora.database.common.telemetry.DataBaseTelemetry;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * <b>Русский</b>: Выполняет пакетный запрос частями по {@code chunkSize} элементов, чтобы драйвер не держал в памяти весь пакет.
+ * Для каждой части создается отдельный контекст телеметрии.
+ * Если соединение не участвует в транзакции, то все части выполняются в одной транзакции, см. {@link #begin(Connection)}.
+ * <hr>
+ * <b>English</b>: Executes batch query in chunks of {@code chunkSize} elements, so driver does not buffer the whole batch.
+ * Separate telemetry context is created for every chunk.
+ * If connection doesn't take part in transaction, all chunks are executed in single transaction, see {@link #begin(Connection)}.
+ *
+ * @see ru.tinkoff.kora.database.common.annotation.Batch#chunkSize()
+ */
+public final class JdbcBatchChunks implements DataBaseTelemetry.DataBaseTelemetryContext {
+    private final DataBaseTelemetry telemetry;
+    private final Context context;
+    private final QueryContext query;
+    private final int chunkSize;
+    private final boolean large;
+    private long[] results = new long[0];
+    private int resultsSize = 0;
+    private int added = 0;
+    private int executed = 0;
+    @Nullable
+    private Throwable chunkError;
+    @Nullable
+    private Connection transaction;
+
+    /**
+     * @param large use {@link PreparedStatement#executeLargeBatch()} instead of {@link PreparedStatement#executeBatch()}
+     */
+    public JdbcBatchChunks(DataBaseTelemetry telemetry, Context context, QueryContext query, int chunkSize, boolean large) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive, but was " + chunkSize);
+        }
+        this.telemetry = telemetry;
+        this.context = context;
+        this.query = query;
+        this.chunkSize = chunkSize;
+        this.large = large;
+    }
+
+    /**
+     * <b>Русский</b>: Начинает транзакцию для всех частей, если соединение в режиме auto-commit, иначе части выполняются в окружающей транзакции.
+     * Транзакция фиксируется после выполнения последней части, а при закрытии до этого откатывается,
+     * так что ошибка в одной из частей не оставляет предыдущие части зафиксированными.
+     * <hr>
+     * <b>English</b>: Starts transaction for all chunks if connection is in auto-commit mode, otherwise chunks are executed in surrounding transaction.
+     * Transaction is committed after the last chunk is executed and is rolled back if closed before that,
+     * so failure of one chunk doesn't leave previous chunks committed.
+     */
+    public Transaction begin(Connection connection) throws SQLException {
+        if (connection.getAutoCommit()) {
+            connection.setAutoCommit(false);
+            this.transaction = connection;
+        }
+        return this::rollback;
+    }
+
+    public interface Transaction extends AutoCloseable {
+        @Override
+        void close() throws SQLException;
+    }
+
+    public void addBatch(PreparedStatement stmt) throws SQLException {
+        stmt.addBatch();
+        this.added++;
+        if (this.added == this.chunkSize) {
+            this.executeChunk(stmt);
+        }
+    }
+
+    public int[] executeBatch(PreparedStatement stmt) throws SQLException {
+        this.executeRest(stmt);
+        var result = new int[this.resultsSize];
+        for (int i = 0; i < this.resultsSize; i++) {
+            result[i] = (int) this.results[i];
+        }
+        return result;
+    }
+
+    public long[] executeLargeBatch(PreparedStatement stmt) throws SQLException {
+        this.executeRest(stmt);
+        return Arrays.copyOf(this.results, this.resultsSize);
+    }
+
+    private void executeRest(PreparedStatement stmt) throws SQLException {
+        if (this.added > 0 || this.executed == 0) {
+            this.executeChunk(stmt);
+        }
+        var connection = this.transaction;
+        if (connection != null) {
+            connection.commit();
+            this.transaction = null;
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private void rollback() throws SQLException {
+        var connection = this.transaction;
+        if (connection != null) {
+            this.transaction = null;
+            try {
+                connection.rollback();
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    private void executeChunk(PreparedStatement stmt) throws SQLException {
+        this.added = 0;
+        this.executed++;
+        var telemetry = this.telemetry.createContext(this.context, this.query);
+        try {
+            if (this.large) {
+                this.append(stmt.executeLargeBatch());
+            } else {
+                var chunkResult = stmt.executeBatch();
+                this.ensureCapacity(chunkResult.length);
+                for (var count : chunkResult) {
+                    this.results[this.resultsSize++] = count;
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            this.chunkError = e;
+            telemetry.close(e);
+            throw e;
+        }
+        telemetry.close(null);
+    }
+
+    private void append(long[] chunkResult) {
+        this.ensureCapacity(chunkResult.length);
+        System.arraycopy(chunkResult, 0, this.results, this.resultsSize, chunkResult.length);
+        this.resultsSize += chunkResult.length;
+    }
+
+    private void ensureCapacity(int additional) {
+        var required = this.resultsSize + additional;
+        if (required > this.results.length) {
+            this.results = Arrays.copyOf(this.results, Math.max(required, this.results.length * 2));
+        }
+    }
+
+    /**
+     * Chunks are reported as they are executed, so only errors that happened outside of chunk execution are reported here, e.g. parameter mapping errors
+     */
+    @Override
+    public void close(@Nullable Throwable exception) {
+        if (exception != null && exception != this.chunkError) {
+            this.telemetry.createContext(this.context, this.query).close(exception);
+        }
+    }
+}
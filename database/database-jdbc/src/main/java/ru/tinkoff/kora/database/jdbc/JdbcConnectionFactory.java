@@ -8,6 +8,7 @@ import ru.tinkoff.kora.database.common.telemetry.DataBaseTelemetry;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.concurrent.Executor;
 
 /**
  * <b>Русский</b>: Фабрика соединений JDBC которая позволяет выполнять запросы в ручном режиме и в рамках транзакции.
@@ -26,13 +27,44 @@ public interface JdbcConnectionFactory {
 
     Connection newConnection();
 
+    /**
+     * @return <b>Русский</b>: Соединение для запроса {@link ru.tinkoff.kora.database.common.annotation.Query#readOnly()} вне транзакции, фабрика с маршрутизацией возвращает соединение к реплике.
+     * <hr>
+     * <b>English</b>: Connection for {@link ru.tinkoff.kora.database.common.annotation.Query#readOnly()} query outside of transaction, routing factory returns replica connection.
+     * @see JdbcRoutingDatabase
+     */
+    default Connection newReadOnlyConnection() {
+        return this.newConnection();
+    }
+
     DataBaseTelemetry telemetry();
 
+    /**
+     * @return <b>Русский</b>: Исполнитель блокирующих запросов асинхронных методов репозитория,
+     * если фабрика его не предоставляет, то используется внедренный {@code @Tag(JdbcDatabase.class) Executor}.
+     * <hr>
+     * <b>English</b>: Executor of blocking queries of async repository methods,
+     * when factory doesn't provide one, injected {@code @Tag(JdbcDatabase.class) Executor} is used.
+     */
+    @Nullable
+    default Executor executor() {
+        return null;
+    }
+
+    /**
+     * @return <b>Русский</b>: Подготовленное выражение запроса, которое нужно закрыть после выполнения.
+     * <hr>
+     * <b>English</b>: Prepared statement of query that should be closed after execution.
+     */
+    default JdbcStatementLease prepareStatement(Connection connection, QueryContext queryContext) throws SQLException {
+        return new JdbcStatementLease(connection.prepareStatement(queryContext.sql()));
+    }
+
     default <T> T query(QueryContext queryContext, JdbcHelper.SqlFunction1<PreparedStatement, T> callback) {
         var telemetry = this.telemetry().createContext(Context.current(), queryContext);
         return withConnection(connection -> {
-            try (var ps = connection.prepareStatement(queryContext.sql())) {
-                var result = callback.apply(ps);
+            try (var lease = this.prepareStatement(connection, queryContext)) {
+                var result = callback.apply(lease.statement());
                 telemetry.close(null);
                 return result;
             } catch (Exception e) {
@@ -68,12 +100,16 @@ public interface JdbcConnectionFactory {
                 return callback.apply(connection);
             }
             connection.setAutoCommit(false);
+            var callbacks = JdbcTransactionCallbacks.begin(connection);
             try {
                 var result = callback.apply(connection);
                 connection.commit();
                 connection.setAutoCommit(true);
+                callbacks.end();
+                callbacks.committed();
                 return result;
             } catch (Exception e) {
+                callbacks.end();
                 try {
                     connection.rollback();
                     connection.setAutoCommit(true);
@@ -85,6 +121,35 @@ public interface JdbcConnectionFactory {
         });
     }
 
+    /**
+     * <b>Русский</b>: Выполняет действие после фиксации транзакции {@link #inTx}, в которой участвует текущее соединение, и отбрасывает его при откате.
+     * Вне такой транзакции действие выполняется сразу.
+     * <hr>
+     * <b>English</b>: Runs action after commit of {@link #inTx} transaction that current connection takes part in and discards it on rollback.
+     * Outside of such transaction action is run immediately.
+     */
+    default void afterCommit(Runnable action) {
+        var connection = this.currentConnection();
+        if (connection == null) {
+            action.run();
+        } else {
+            this.afterCommit(connection, action);
+        }
+    }
+
+    /**
+     * <b>Русский</b>: Выполняет действие после фиксации транзакции {@link #inTx}, в которой участвует переданное соединение, и отбрасывает его при откате.
+     * Вне такой транзакции действие выполняется сразу.
+     * <hr>
+     * <b>English</b>: Runs action after commit of {@link #inTx} transaction that given connection takes part in and discards it on rollback.
+     * Outside of such transaction action is run immediately.
+     */
+    default void afterCommit(Connection connection, Runnable action) {
+        if (!JdbcTransactionCallbacks.register(connection, action)) {
+            action.run();
+        }
+    }
+
     default <T> T inTx(JdbcHelper.SqlFunction0<T> callback) throws RuntimeSqlException {
         return this.inTx(connection -> {
             return callback.apply();
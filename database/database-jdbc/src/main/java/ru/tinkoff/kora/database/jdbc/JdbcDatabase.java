@@ -6,18 +6,23 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import ru.tinkoff.kora.application.graph.Lifecycle;
 import ru.tinkoff.kora.application.graph.Wrapped;
+import ru.tinkoff.kora.application.graph.internal.loom.VirtualThreadExecutorHolder;
 import ru.tinkoff.kora.common.Context;
 import ru.tinkoff.kora.common.readiness.ReadinessProbe;
 import ru.tinkoff.kora.common.readiness.ReadinessProbeFailure;
 import ru.tinkoff.kora.common.util.TimeUtils;
+import ru.tinkoff.kora.database.common.QueryContext;
+import ru.tinkoff.kora.database.common.telemetry.DataBaseSlowQuerySampler;
 import ru.tinkoff.kora.database.common.telemetry.DataBaseTelemetry;
 import ru.tinkoff.kora.database.common.telemetry.DataBaseTelemetryFactory;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.Executor;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class JdbcDatabase implements Lifecycle, Wrapped<DataSource>, JdbcConnectionFactory, ReadinessProbe {
 
@@ -33,8 +38,13 @@ public class JdbcDatabase implements Lifecycle, Wrapped<DataSource>, JdbcConnect
     private final JdbcDatabaseConfig databaseConfig;
     private final HikariDataSource dataSource;
     private final DataBaseTelemetry telemetry;
+    private final Executor executor;
     @Nullable
-    final Executor executor;
+    private final ExecutorService platformThreadExecutor;
+    @Nullable
+    private final JdbcStatementCache statementCache;
+    @Nullable
+    private final DataBaseSlowQuerySampler slowQuerySampler;
 
     public JdbcDatabase(JdbcDatabaseConfig config, DataBaseTelemetryFactory telemetryFactory) {
         this(config, telemetryFactory, null);
@@ -55,7 +65,37 @@ public class JdbcDatabase implements Lifecycle, Wrapped<DataSource>, JdbcConnect
         if (telemetry.getMetricRegistry() != null) {
             this.dataSource.setMetricRegistry(telemetry.getMetricRegistry());
         }
-        this.executor = executor;
+        this.statementCache = databaseConfig.statementCacheEnabled()
+            ? new JdbcStatementCache(databaseConfig.statementCacheSize(), this.telemetry)
+            : null;
+        var explainPrefix = DataBaseSlowQuerySampler.explainPrefix(databaseConfig.slowQuery(), databaseConfig.jdbcUrl().startsWith("jdbc:postgresql:"));
+        this.slowQuerySampler = DataBaseSlowQuerySampler.create(databaseConfig.slowQuery(), databaseConfig.poolName(), explainPrefix == null
+            ? null
+            : (query, parameters) -> this.explain(explainPrefix, query, parameters));
+        if (executor != null) {
+            this.executor = executor;
+            this.platformThreadExecutor = null;
+        } else {
+            var virtualThreadExecutor = VirtualThreadExecutorHolder.executor();
+            if (virtualThreadExecutor != null) {
+                this.platformThreadExecutor = null;
+                this.executor = new JdbcDatabaseExecutor(virtualThreadExecutor, databaseConfig.maxPoolSize(), this.telemetry);
+            } else {
+                this.platformThreadExecutor = platformThreadExecutor(databaseConfig);
+                this.executor = new JdbcDatabaseExecutor(this.platformThreadExecutor, databaseConfig.maxPoolSize(), this.telemetry);
+            }
+        }
+    }
+
+    static ExecutorService platformThreadExecutor(JdbcDatabaseConfig config) {
+        var threadNumber = new AtomicInteger(1);
+        var executor = new ThreadPoolExecutor(config.maxPoolSize(), config.maxPoolSize(), 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            var thread = new Thread(runnable, "jdbc-" + config.poolName() + "-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
     private static DataBaseTelemetry getTelemetry(JdbcDatabaseConfig config, DataBaseTelemetryFactory factory) {
@@ -89,10 +129,20 @@ public class JdbcDatabase implements Lifecycle, Wrapped<DataSource>, JdbcConnect
         var started = System.nanoTime();
 
         this.dataSource.close();
+        if (this.statementCache != null) {
+            this.statementCache.clear();
+        }
+        if (this.platformThreadExecutor != null) {
+            this.platformThreadExecutor.shutdown();
+        }
 
         logger.info("JdbcDatabase pool '{}' stopped in {}", databaseConfig.poolName(), TimeUtils.tookForLogging(started));
     }
 
+    String poolName() {
+        return this.databaseConfig.poolName();
+    }
+
     @Override
     public DataSource value() {
         return this.dataSource;
@@ -113,6 +163,60 @@ public class JdbcDatabase implements Lifecycle, Wrapped<DataSource>, JdbcConnect
         return this.telemetry;
     }
 
+    /**
+     * @return executor passed to constructor or virtual thread executor (platform threads when virtual threads are unavailable)
+     * that runs at most {@link JdbcDatabaseConfig#maxPoolSize()} tasks at once
+     */
+    @Override
+    public Executor executor() {
+        return this.executor;
+    }
+
+    /**
+     * @return statement from connection cache when {@link JdbcDatabaseConfig#statementCacheEnabled()}, otherwise new statement
+     */
+    @Override
+    public JdbcStatementLease prepareStatement(Connection connection, QueryContext queryContext) throws SQLException {
+        var lease = this.statementCache == null
+            ? new JdbcStatementLease(connection.prepareStatement(queryContext.sql()))
+            : this.statementCache.prepare(connection, queryContext);
+        if (this.slowQuerySampler == null) {
+            return lease;
+        }
+        return new JdbcStatementLease(lease, new JdbcSlowQueryStatement(lease.statement(), this.slowQuerySampler, queryContext));
+    }
+
+    /**
+     * @return sampler of slow queries and their plans or null when {@link JdbcDatabaseConfig#slowQuery()} is disabled
+     */
+    @Nullable
+    public DataBaseSlowQuerySampler slowQuerySampler() {
+        return this.slowQuerySampler;
+    }
+
+    private CompletionStage<String> explain(String explainPrefix, QueryContext query, List<?> parameters) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (var connection = this.dataSource.getConnection();
+                 var stmt = connection.prepareStatement(explainPrefix + query.sql())) {
+                for (int i = 0; i < parameters.size(); i++) {
+                    stmt.setObject(i + 1, parameters.get(i));
+                }
+                var plan = new StringBuilder();
+                try (var rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        if (!plan.isEmpty()) {
+                            plan.append('\n');
+                        }
+                        plan.append(rs.getString(1));
+                    }
+                }
+                return plan.toString();
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        }, this.executor);
+    }
+
     @Nullable
     @Override
     public Connection currentConnection() {
@@ -3,6 +3,8 @@ package ru.tinkoff.kora.database.jdbc;
 import com.zaxxer.hikari.HikariConfig;
 import jakarta.annotation.Nullable;
 import ru.tinkoff.kora.config.common.annotation.ConfigValueExtractor;
+import ru.tinkoff.kora.database.common.telemetry.$DataBaseSlowQueryConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.database.common.telemetry.DataBaseSlowQueryConfig;
 import ru.tinkoff.kora.telemetry.common.TelemetryConfig;
 
 import java.time.Duration;
@@ -67,6 +69,35 @@ public interface JdbcDatabaseConfig {
         return new Properties();
     }
 
+    /**
+     * @return <b>Русский</b>: Кешировать подготовленные выражения репозиториев на стороне Kora на время аренды соединения из пула, например в рамках транзакции.
+     * Для переиспользования между арендами используйте кеш драйвера через {@link #dsProperties()}, например {@code prepareThreshold} для PostgreSQL или {@code cachePrepStmts} для MySQL.
+     * <hr>
+     * <b>English</b>: Cache prepared statements of repositories on Kora side while connection is leased from pool, e.g. during transaction.
+     * Use driver cache with {@link #dsProperties()} for reuse between leases, e.g. {@code prepareThreshold} for PostgreSQL or {@code cachePrepStmts} for MySQL.
+     */
+    default boolean statementCacheEnabled() {
+        return false;
+    }
+
+    /**
+     * @return <b>Русский</b>: Максимальное количество выражений в кеше одного соединения.
+     * <hr>
+     * <b>English</b>: Max number of cached statements per connection.
+     */
+    default int statementCacheSize() {
+        return 100;
+    }
+
+    /**
+     * @return <b>Русский</b>: Логирование медленных запросов и снятие их планов выполнения.
+     * <hr>
+     * <b>English</b>: Logging of slow queries and capture of their execution plans.
+     */
+    default DataBaseSlowQueryConfig slowQuery() {
+        return $DataBaseSlowQueryConfig_ConfigValueExtractor.DEFAULTS;
+    }
+
     TelemetryConfig telemetry();
 
     static HikariConfig toHikariConfig(JdbcDatabaseConfig config) {
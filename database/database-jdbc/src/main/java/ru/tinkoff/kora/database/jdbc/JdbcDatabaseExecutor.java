@@ -0,0 +1,95 @@
+package ru.tinkoff.kora.database.jdbc;
+
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.database.common.telemetry.DataBaseTelemetry;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs blocking queries of async repository methods on delegate executor with at most {@code maxConcurrency} tasks at once.
+ * There is no point to run more queries than there are connections in pool, so the rest of tasks wait in queue instead of waiting for connection.
+ * Worker takes next queued task after the current one is finished, so threads are not started for every task under load.
+ */
+final class JdbcDatabaseExecutor implements Executor {
+    private final Executor delegate;
+    private final int maxConcurrency;
+    @Nullable
+    private final DataBaseTelemetry.DataBaseExecutorMetrics metrics;
+    private final ConcurrentLinkedQueue<Task> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueSize = new AtomicInteger(0);
+    private final AtomicInteger workers = new AtomicInteger(0);
+
+    JdbcDatabaseExecutor(Executor delegate, int maxConcurrency, DataBaseTelemetry telemetry) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Max concurrency must be positive, but was " + maxConcurrency);
+        }
+        this.delegate = delegate;
+        this.maxConcurrency = maxConcurrency;
+        this.metrics = telemetry.executorMetrics(this.queueSize::get);
+    }
+
+    private record Task(Runnable runnable, long queuedAt) {}
+
+    @Override
+    public void execute(Runnable command) {
+        this.queue.add(new Task(command, System.nanoTime()));
+        this.queueSize.incrementAndGet();
+        this.startWorkers();
+    }
+
+    private void startWorkers() {
+        while (!this.queue.isEmpty()) {
+            var workers = this.workers.get();
+            if (workers >= this.maxConcurrency) {
+                return;
+            }
+            if (!this.workers.compareAndSet(workers, workers + 1)) {
+                continue;
+            }
+            var task = this.poll();
+            if (task == null) {
+                // queue was drained by running workers, but some task could be added right before the decrement
+                this.workers.decrementAndGet();
+                continue;
+            }
+            try {
+                this.delegate.execute(() -> this.work(task));
+            } catch (RuntimeException e) {
+                this.workers.decrementAndGet();
+                throw e;
+            }
+        }
+    }
+
+    private void work(Task first) {
+        var task = first;
+        try {
+            while (task != null) {
+                if (this.metrics != null) {
+                    this.metrics.recordQueueWait(System.nanoTime() - task.queuedAt());
+                }
+                try {
+                    task.runnable().run();
+                } catch (Throwable e) {
+                    var thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+                }
+                task = this.poll();
+            }
+        } finally {
+            this.workers.decrementAndGet();
+        }
+        this.startWorkers();
+    }
+
+    @Nullable
+    private Task poll() {
+        var task = this.queue.poll();
+        if (task != null) {
+            this.queueSize.decrementAndGet();
+        }
+        return task;
+    }
+}
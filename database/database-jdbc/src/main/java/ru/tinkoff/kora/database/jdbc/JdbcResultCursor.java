@@ -0,0 +1,149 @@
+package ru.tinkoff.kora.database.jdbc;
+
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.database.common.telemetry.DataBaseTelemetry;
+import ru.tinkoff.kora.database.jdbc.mapper.result.JdbcRowMapper;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <b>Русский</b>: Курсор по результату запроса, строки конвертируются по мере чтения.
+ * Соединение, выражение и результат запроса закрываются когда курсор прочитан до конца, при ошибке или при вызове {@link #close()}.
+ * <hr>
+ * <b>English</b>: Cursor over query result, rows are mapped as they are read.
+ * Connection, statement and result set are released when cursor is read to the end, on error or when {@link #close()} is called.
+ * <br>
+ * <br>
+ * Repository methods returning {@link Stream} or {@link JdbcResultCursor} must be used in try-with-resources, plain {@link Iterator} is not supported as result because it can't be closed when it is partially read.
+ *
+ * @see JdbcRepository
+ */
+public final class JdbcResultCursor<T> implements Iterator<T>, AutoCloseable {
+    @Nullable
+    private final Connection connectionToClose;
+    private final DataBaseTelemetry.DataBaseTelemetryContext telemetry;
+    private final JdbcRowMapper<T> rowMapper;
+    private PreparedStatement statement;
+    private ResultSet resultSet;
+    private boolean restoreAutoCommit = false;
+    private boolean hasRow = false;
+    private boolean closed = false;
+
+    /**
+     * @param connectionToClose connection owned by cursor, null when connection belongs to the caller, e.g. to current transaction
+     */
+    public JdbcResultCursor(@Nullable Connection connectionToClose, DataBaseTelemetry.DataBaseTelemetryContext telemetry, JdbcRowMapper<T> rowMapper) {
+        this.connectionToClose = connectionToClose;
+        this.telemetry = telemetry;
+        this.rowMapper = rowMapper;
+    }
+
+    public PreparedStatement prepare(Connection connection, String sql, int fetchSize) throws SQLException {
+        if (fetchSize > 0 && connection == this.connectionToClose && connection.getAutoCommit()) {
+            // some drivers (e.g. PostgreSQL) fetch rows with server side cursor only inside transaction
+            connection.setAutoCommit(false);
+            this.restoreAutoCommit = true;
+        }
+        this.statement = connection.prepareStatement(sql);
+        if (fetchSize > 0) {
+            this.statement.setFetchSize(fetchSize);
+        }
+        return this.statement;
+    }
+
+    public void execute() throws SQLException {
+        this.resultSet = this.statement.executeQuery();
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+            .onClose(this::close);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.hasRow) {
+            return true;
+        }
+        if (this.closed) {
+            return false;
+        }
+        try {
+            if (this.resultSet.next()) {
+                this.hasRow = true;
+                return true;
+            }
+        } catch (SQLException e) {
+            this.close(e);
+            throw new RuntimeSqlException(e);
+        }
+        this.close(null);
+        return false;
+    }
+
+    @Override
+    public T next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        this.hasRow = false;
+        try {
+            return this.rowMapper.apply(this.resultSet);
+        } catch (SQLException e) {
+            this.close(e);
+            throw new RuntimeSqlException(e);
+        } catch (RuntimeException e) {
+            this.close(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        this.close(null);
+    }
+
+    public void close(@Nullable Throwable error) {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        this.hasRow = false;
+        SQLException closeError = null;
+        try (var connection = this.connectionToClose) {
+            try (var statement = this.statement; var resultSet = this.resultSet) {
+            }
+            if (this.restoreAutoCommit) {
+                // connection is returned to pool, so read only transaction opened for cursor is finished here
+                if (error == null) {
+                    connection.commit();
+                } else {
+                    connection.rollback();
+                }
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            closeError = e;
+        }
+        if (error != null) {
+            if (closeError != null) {
+                error.addSuppressed(closeError);
+            }
+            this.telemetry.close(error);
+        } else if (closeError != null) {
+            this.telemetry.close(closeError);
+            throw new RuntimeSqlException(closeError);
+        } else {
+            this.telemetry.close(null);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package ru.tinkoff.kora.database.jdbc;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * <b>Русский</b>: Публикует строки {@link JdbcResultCursor}, запрос выполняется и строки читаются на переданном исполнителе только по запросу подписчика.
+ * <hr>
+ * <b>English</b>: Publishes rows of {@link JdbcResultCursor}, query is executed and rows are read on given executor only when subscriber requests them.
+ */
+public final class JdbcResultPublisher<T> implements Flow.Publisher<T> {
+    private final Executor executor;
+    private final Supplier<JdbcResultCursor<T>> cursorFactory;
+
+    public JdbcResultPublisher(Executor executor, Supplier<JdbcResultCursor<T>> cursorFactory) {
+        this.executor = executor;
+        this.cursorFactory = cursorFactory;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        subscriber.onSubscribe(new CursorSubscription<>(this.executor, this.cursorFactory, subscriber));
+    }
+
+    private static final class CursorSubscription<T> implements Flow.Subscription, Runnable {
+        private final Executor executor;
+        private final Supplier<JdbcResultCursor<T>> cursorFactory;
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong(0);
+        private final AtomicInteger wip = new AtomicInteger(0);
+        private volatile boolean cancelled = false;
+        private volatile Throwable requestError;
+
+        // accessed only from drain loop
+        private JdbcResultCursor<T> cursor;
+        private boolean done = false;
+
+        private CursorSubscription(Executor executor, Supplier<JdbcResultCursor<T>> cursorFactory, Flow.Subscriber<? super T> subscriber) {
+            this.executor = executor;
+            this.cursorFactory = cursorFactory;
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                this.requestError = new IllegalArgumentException("Requested " + n + " items");
+            } else {
+                this.demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            this.schedule();
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+            this.schedule();
+        }
+
+        private void schedule() {
+            if (this.wip.getAndIncrement() != 0) {
+                return;
+            }
+            try {
+                this.executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                this.done = true;
+                this.subscriber.onError(e);
+            }
+        }
+
+        @Override
+        public void run() {
+            var missed = 1;
+            do {
+                this.drain();
+                missed = this.wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drain() {
+            if (this.done) {
+                return;
+            }
+            var requestError = this.requestError;
+            if (this.cancelled || requestError != null) {
+                this.done = true;
+                if (this.cursor != null) {
+                    this.cursor.close(requestError);
+                }
+                if (requestError != null && !this.cancelled) {
+                    this.subscriber.onError(requestError);
+                }
+                return;
+            }
+            try {
+                while (this.demand.get() > 0 && !this.cancelled) {
+                    if (this.cursor == null) {
+                        this.cursor = this.cursorFactory.get();
+                    }
+                    if (!this.cursor.hasNext()) {
+                        this.done = true;
+                        this.subscriber.onComplete();
+                        return;
+                    }
+                    var row = this.cursor.next();
+                    if (row == null) {
+                        throw new NullPointerException("Row mapper returned null, publisher can't emit null rows");
+                    }
+                    this.demand.decrementAndGet();
+                    this.subscriber.onNext(row);
+                }
+            } catch (Throwable e) {
+                this.done = true;
+                if (this.cursor != null) {
+                    this.cursor.close(e);
+                }
+                this.subscriber.onError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package ru.tinkoff.kora.database.jdbc;
+
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.config.common.annotation.ConfigValueExtractor;
+
+import java.time.Duration;
+
+/**
+ * <b>Русский</b>: Конфигурация маршрутизации запросов только для чтения на реплики.
+ * <hr>
+ * <b>English</b>: Configuration of read only queries routing to replicas.
+ *
+ * @see JdbcRoutingDatabase
+ */
+@ConfigValueExtractor
+public interface JdbcRoutingConfig {
+
+    default Strategy strategy() {
+        return Strategy.ROUND_ROBIN;
+    }
+
+    /**
+     * @return <b>Русский</b>: Как часто проверяется доступность и отставание реплик.
+     * <hr>
+     * <b>English</b>: How often replicas availability and lag are checked.
+     */
+    default Duration healthCheckInterval() {
+        return Duration.ofSeconds(5);
+    }
+
+    /**
+     * @return <b>Русский</b>: Запрос, возвращающий отставание реплики в секундах, например для PostgreSQL
+     * {@code SELECT COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)}.
+     * <hr>
+     * <b>English</b>: Query returning replica lag in seconds, e.g. for PostgreSQL
+     * {@code SELECT COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)}.
+     */
+    @Nullable
+    String replicationLagQuery();
+
+    /**
+     * @return <b>Русский</b>: Реплика с большим отставанием исключается до следующей проверки.
+     * <hr>
+     * <b>English</b>: Replica with greater lag is excluded until next check.
+     */
+    default Duration maxReplicationLag() {
+        return Duration.ofSeconds(10);
+    }
+
+    /**
+     * @return <b>Русский</b>: Сколько ждать соединения из пула реплики, после чего реплика исключается до следующей проверки и запрос выполняется на основной базе.
+     * Обычно меньше {@link JdbcDatabaseConfig#connectionTimeout()}, чтобы недоступная или перегруженная реплика не задерживала запросы.
+     * <hr>
+     * <b>English</b>: How long to wait for connection from replica pool, after that replica is excluded until next check and query is executed on primary database.
+     * Usually less than {@link JdbcDatabaseConfig#connectionTimeout()}, so unavailable or overloaded replica doesn't delay queries.
+     */
+    default Duration replicaAcquireTimeout() {
+        return Duration.ofMillis(500);
+    }
+
+    enum Strategy {
+        /** Replicas are used one by one */
+        ROUND_ROBIN,
+        /** Replica with the least active and pending connections is used */
+        LEAST_LOADED
+    }
+}
@@ -0,0 +1,259 @@
+package ru.tinkoff.kora.database.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.pool.HikariPool;
+import jakarta.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.tinkoff.kora.application.graph.Lifecycle;
+import ru.tinkoff.kora.common.readiness.ReadinessProbe;
+import ru.tinkoff.kora.common.readiness.ReadinessProbeFailure;
+import ru.tinkoff.kora.database.common.QueryContext;
+import ru.tinkoff.kora.database.common.telemetry.DataBaseTelemetry;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <b>Русский</b>: Фабрика соединений, которая выполняет запросы {@link ru.tinkoff.kora.database.common.annotation.Query#readOnly()} вне транзакции на репликах,
+ * а все остальные запросы и транзакции на основной базе.
+ * Реплики, которые не проходят проверку готовности или отстают больше {@link JdbcRoutingConfig#maxReplicationLag()}, исключаются до следующей проверки.
+ * Если доступных реплик нет или соединение реплики не получено за {@link JdbcRoutingConfig#replicaAcquireTimeout()}, запрос выполняется на основной базе.
+ * Запросы готовятся кешем выражений той базы, которой принадлежит соединение.
+ * <hr>
+ * <b>English</b>: Connection factory that executes {@link ru.tinkoff.kora.database.common.annotation.Query#readOnly()} queries outside of transaction on replicas,
+ * while all other queries and transactions are executed on primary database.
+ * Replicas that fail readiness probe or lag more than {@link JdbcRoutingConfig#maxReplicationLag()} are excluded until next check.
+ * When there are no available replicas or replica connection is not acquired in {@link JdbcRoutingConfig#replicaAcquireTimeout()}, query is executed on primary database.
+ * Statements are prepared by statement cache of database that owns connection.
+ * <br>
+ * <br>
+ * Пример / Example:
+ * <pre>
+ * {@code
+ * default JdbcRoutingDatabase jdbcRoutingDatabase(JdbcRoutingConfig config, JdbcDatabase primary, @Tag(Replica.class) All<JdbcDatabase> replicas) {
+ *     return new JdbcRoutingDatabase(config, primary, replicas);
+ * }
+ * }
+ * </pre>
+ *
+ * @see JdbcRepository
+ */
+public final class JdbcRoutingDatabase implements JdbcConnectionFactory, Lifecycle, ReadinessProbe {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcRoutingDatabase.class);
+
+    private final JdbcRoutingConfig config;
+    private final JdbcDatabase primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger(0);
+    @Nullable
+    private volatile ScheduledExecutorService healthCheckExecutor;
+
+    public JdbcRoutingDatabase(JdbcRoutingConfig config, JdbcDatabase primary, List<JdbcDatabase> replicas) {
+        this.config = Objects.requireNonNull(config);
+        this.primary = Objects.requireNonNull(primary);
+        this.replicas = replicas.stream().map(Replica::new).toList();
+    }
+
+    private static final class Replica {
+        private final JdbcDatabase database;
+        private volatile boolean available = true;
+
+        private Replica(JdbcDatabase database) {
+            this.database = database;
+        }
+
+        private Connection acquire(long timeoutMillis) {
+            // HikariDataSource waits for connection up to connectionTimeout
+            if (this.database.value() instanceof HikariDataSource ds && ds.getHikariPoolMXBean() instanceof HikariPool pool) {
+                try {
+                    return pool.getConnection(timeoutMillis);
+                } catch (SQLException e) {
+                    throw new RuntimeSqlException(e);
+                }
+            }
+            return this.database.newConnection();
+        }
+
+        private int load() {
+            if (this.database.value() instanceof HikariDataSource ds && ds.getHikariPoolMXBean() != null) {
+                var pool = ds.getHikariPoolMXBean();
+                return pool.getActiveConnections() + pool.getThreadsAwaitingConnection();
+            }
+            return 0;
+        }
+    }
+
+    @Override
+    public void init() {
+        if (this.replicas.isEmpty()) {
+            return;
+        }
+        this.checkReplicas();
+        var executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            var thread = new Thread(r, "jdbc-replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var interval = this.config.healthCheckInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::checkReplicas, interval, interval, TimeUnit.MILLISECONDS);
+        this.healthCheckExecutor = executor;
+    }
+
+    @Override
+    public void release() {
+        var executor = this.healthCheckExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+            this.healthCheckExecutor = null;
+        }
+    }
+
+    private void checkReplicas() {
+        for (var replica : this.replicas) {
+            var failure = this.check(replica.database);
+            if (failure == null) {
+                if (!replica.available) {
+                    logger.info("JdbcDatabase replica '{}' is available again", replica.database.poolName());
+                }
+                replica.available = true;
+            } else {
+                if (replica.available) {
+                    logger.warn("JdbcDatabase replica '{}' is excluded from routing: {}", replica.database.poolName(), failure);
+                }
+                replica.available = false;
+            }
+        }
+    }
+
+    @Nullable
+    private String check(JdbcDatabase replica) {
+        try {
+            var probeFailure = replica.probe();
+            if (probeFailure != null) {
+                return probeFailure.message();
+            }
+            var lagQuery = this.config.replicationLagQuery();
+            if (lagQuery == null) {
+                return null;
+            }
+            try (var connection = replica.newConnection(); var stmt = connection.createStatement(); var rs = stmt.executeQuery(lagQuery)) {
+                var lagSeconds = rs.next() ? rs.getDouble(1) : 0.0;
+                var maxLag = this.config.maxReplicationLag();
+                if (lagSeconds * 1000 > maxLag.toMillis()) {
+                    return "replication lag " + lagSeconds + "s is greater than " + maxLag;
+                }
+            }
+            return null;
+        } catch (Exception e) {
+            return e.toString();
+        }
+    }
+
+    @Nullable
+    private Replica selectReplica() {
+        var replicas = this.replicas;
+        if (replicas.isEmpty()) {
+            return null;
+        }
+        if (this.config.strategy() == JdbcRoutingConfig.Strategy.LEAST_LOADED) {
+            Replica selected = null;
+            var selectedLoad = Integer.MAX_VALUE;
+            for (var replica : replicas) {
+                if (replica.available) {
+                    var load = replica.load();
+                    if (load < selectedLoad) {
+                        selected = replica;
+                        selectedLoad = load;
+                    }
+                }
+            }
+            return selected;
+        }
+        var start = Math.floorMod(this.next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            var replica = replicas.get((start + i) % replicas.size());
+            if (replica.available) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    public JdbcDatabase primary() {
+        return this.primary;
+    }
+
+    /**
+     * @return <b>Русский</b>: Соединение к доступной реплике или к основной базе, если доступных реплик нет.
+     * <hr>
+     * <b>English</b>: Connection to available replica or to primary database when there are no available replicas.
+     */
+    @Override
+    public Connection newReadOnlyConnection() {
+        var replica = this.selectReplica();
+        if (replica == null) {
+            return this.primary.newConnection();
+        }
+        final Connection connection;
+        try {
+            connection = replica.acquire(this.config.replicaAcquireTimeout().toMillis());
+        } catch (RuntimeSqlException e) {
+            replica.available = false;
+            logger.warn("JdbcDatabase replica '{}' is excluded from routing until next check", replica.database.poolName(), e);
+            return this.primary.newConnection();
+        }
+        return new JdbcReplicaConnection(connection, replica.database);
+    }
+
+    @Override
+    public Connection newConnection() {
+        return this.primary.newConnection();
+    }
+
+    @Nullable
+    @Override
+    public Connection currentConnection() {
+        return this.primary.currentConnection();
+    }
+
+    @Override
+    public <T> T withConnection(JdbcHelper.SqlFunction1<Connection, T> callback) throws RuntimeSqlException {
+        return this.primary.withConnection(callback);
+    }
+
+    @Override
+    public DataBaseTelemetry telemetry() {
+        return this.primary.telemetry();
+    }
+
+    @Override
+    public Executor executor() {
+        return this.primary.executor();
+    }
+
+    /**
+     * Statement is prepared by database that owns connection, so replica statements are not cached by primary database.
+     * Replica connections carry their replica, so lookup does not depend on number of leased connections
+     */
+    @Override
+    public JdbcStatementLease prepareStatement(Connection connection, QueryContext queryContext) throws SQLException {
+        if (connection instanceof JdbcReplicaConnection replicaConnection) {
+            return replicaConnection.database().prepareStatement(replicaConnection.delegate(), queryContext);
+        }
+        return this.primary.prepareStatement(connection, queryContext);
+    }
+
+    @Override
+    public ReadinessProbeFailure probe() throws Exception {
+        return this.primary.probe();
+    }
+}
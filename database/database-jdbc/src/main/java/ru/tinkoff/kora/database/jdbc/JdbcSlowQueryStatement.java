@@ -0,0 +1,62 @@
+package ru.tinkoff.kora.database.jdbc;
+
+import ru.tinkoff.kora.database.common.QueryContext;
+import ru.tinkoff.kora.database.common.telemetry.DataBaseSlowQuerySampler;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+
+/**
+ * Remembers parameters bound to statement and passes query to {@link DataBaseSlowQuerySampler} when lease is closed after slow execution.
+ * Query time is measured from statement lease to its close, so it includes result mapping.
+ */
+final class JdbcSlowQueryStatement implements InvocationHandler {
+    private final PreparedStatement statement;
+    private final DataBaseSlowQuerySampler sampler;
+    private final QueryContext query;
+    private final ArrayList<Object> parameters = new ArrayList<>();
+    private final long started = System.nanoTime();
+
+    JdbcSlowQueryStatement(PreparedStatement statement, DataBaseSlowQuerySampler sampler, QueryContext query) {
+        this.statement = statement;
+        this.sampler = sampler;
+        this.query = query;
+    }
+
+    PreparedStatement proxy() {
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, this);
+    }
+
+    void complete() {
+        var processingTime = System.nanoTime() - this.started;
+        if (this.sampler.isSlow(processingTime)) {
+            this.sampler.record(this.query, processingTime, this.parameters);
+        }
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        var name = method.getName();
+        if (args != null && args.length >= 2 && name.startsWith("set") && method.getParameterTypes()[0] == int.class) {
+            this.bind((int) args[0], name.equals("setNull") ? null : args[1]);
+        } else if (name.equals("clearParameters")) {
+            this.parameters.clear();
+        }
+        try {
+            return method.invoke(this.statement, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void bind(int index, Object value) {
+        while (this.parameters.size() < index) {
+            this.parameters.add(null);
+        }
+        this.parameters.set(index - 1, value);
+    }
+}
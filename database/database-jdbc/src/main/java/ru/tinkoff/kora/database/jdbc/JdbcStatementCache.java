@@ -0,0 +1,210 @@
+package ru.tinkoff.kora.database.jdbc;
+
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.database.common.QueryContext;
+import ru.tinkoff.kora.database.common.telemetry.DataBaseTelemetry;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * LRU cache of prepared statements for every leased connection.
+ * Statements are prepared on connection of pool, so pool still tracks them, evicts connection after fatal errors and closes statements when connection is returned,
+ * cache entries of returned connection are dropped when next connection is leased.
+ * So statements are reused during one lease, e.g. in transaction or in cursor loop, reuse between leases is left to driver,
+ * e.g. {@code prepareThreshold} of PostgreSQL driver or {@code cachePrepStmts} of MySQL driver in {@link JdbcDatabaseConfig#dsProperties()}.
+ * Statement is leased to one caller at a time, concurrent callers of the same query get uncached statement.
+ * Generated repositories use static {@link QueryContext} constants, so sql lookup is mostly identity check.
+ */
+final class JdbcStatementCache {
+    private final int size;
+    @Nullable
+    private final DataBaseTelemetry.DataBaseStatementCacheMetrics metrics;
+    private final ConcurrentHashMap<Connection, ConnectionStatements> connections = new ConcurrentHashMap<>();
+
+    JdbcStatementCache(int size, DataBaseTelemetry telemetry) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Statement cache size must be positive, but was " + size);
+        }
+        this.size = size;
+        this.metrics = telemetry.statementCacheMetrics();
+    }
+
+    JdbcStatementLease prepare(Connection connection, QueryContext query) throws SQLException {
+        var statements = this.connections.get(connection);
+        if (statements == null) {
+            // new lease usually means that some old one was returned to pool
+            this.removeClosedConnections();
+            statements = this.connections.computeIfAbsent(connection, c -> new ConnectionStatements(this.size));
+        }
+        var cached = statements.acquire(query.sql());
+        if (cached != null) {
+            if (this.metrics != null) {
+                this.metrics.recordHit();
+            }
+            return new JdbcStatementLease(cached.statement, cached);
+        }
+        if (this.metrics != null) {
+            this.metrics.recordMiss();
+        }
+        var statement = connection.prepareStatement(query.sql());
+        return new JdbcStatementLease(statement, statements.add(query.sql(), statement));
+    }
+
+    void clear() {
+        for (var statements : this.connections.values()) {
+            statements.clear();
+        }
+        this.connections.clear();
+    }
+
+    private void removeClosedConnections() {
+        for (var it = this.connections.entrySet().iterator(); it.hasNext(); ) {
+            var entry = it.next();
+            boolean closed;
+            try {
+                closed = entry.getKey().isClosed();
+            } catch (SQLException e) {
+                closed = true;
+            }
+            if (closed) {
+                it.remove();
+            }
+        }
+    }
+
+    static final class ConnectionStatements {
+        private final LinkedHashMap<String, CachedStatement> statements;
+
+        ConnectionStatements(int size) {
+            this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                    if (this.size() <= size) {
+                        return false;
+                    }
+                    eldest.getValue().evict();
+                    return true;
+                }
+            };
+        }
+
+        @Nullable
+        synchronized CachedStatement acquire(String sql) throws SQLException {
+            var cached = this.statements.get(sql);
+            if (cached == null || cached.inUse) {
+                return null;
+            }
+            if (cached.statement.isClosed()) {
+                this.statements.remove(sql);
+                return null;
+            }
+            cached.inUse = true;
+            return cached;
+        }
+
+        /**
+         * @return cached statement or null if the same query is already cached and statement should be closed by caller
+         */
+        @Nullable
+        synchronized CachedStatement add(String sql, PreparedStatement statement) {
+            if (this.statements.containsKey(sql)) {
+                return null;
+            }
+            var cached = new CachedStatement(this, sql, statement);
+            cached.inUse = true;
+            this.statements.put(sql, cached);
+            return cached;
+        }
+
+        synchronized void clear() {
+            for (var cached : this.statements.values()) {
+                cached.evict();
+            }
+            this.statements.clear();
+        }
+    }
+
+    static final class CachedStatement {
+        private final ConnectionStatements owner;
+        private final String sql;
+        private final PreparedStatement statement;
+        private final int fetchSize;
+        private final int maxRows;
+        private final int queryTimeout;
+        // guarded by owner
+        private boolean inUse = false;
+        private boolean evicted = false;
+
+        private CachedStatement(ConnectionStatements owner, String sql, PreparedStatement statement) {
+            this.owner = owner;
+            this.sql = sql;
+            this.statement = statement;
+            int fetchSize;
+            int maxRows;
+            int queryTimeout;
+            try {
+                fetchSize = statement.getFetchSize();
+                maxRows = statement.getMaxRows();
+                queryTimeout = statement.getQueryTimeout();
+            } catch (SQLException e) {
+                fetchSize = 0;
+                maxRows = 0;
+                queryTimeout = 0;
+            }
+            this.fetchSize = fetchSize;
+            this.maxRows = maxRows;
+            this.queryTimeout = queryTimeout;
+        }
+
+        void release() throws SQLException {
+            boolean reusable;
+            try {
+                // batch is left unexecuted when caller failed in the middle of it
+                this.statement.clearBatch();
+                this.statement.clearParameters();
+                // settings of previous caller should not affect next one
+                if (this.statement.getFetchSize() != this.fetchSize) {
+                    this.statement.setFetchSize(this.fetchSize);
+                }
+                if (this.statement.getMaxRows() != this.maxRows) {
+                    this.statement.setMaxRows(this.maxRows);
+                }
+                if (this.statement.getQueryTimeout() != this.queryTimeout) {
+                    this.statement.setQueryTimeout(this.queryTimeout);
+                }
+                reusable = true;
+            } catch (SQLException e) {
+                reusable = false;
+            }
+            boolean close;
+            synchronized (this.owner) {
+                this.inUse = false;
+                if (!reusable && !this.evicted) {
+                    this.owner.statements.remove(this.sql);
+                    this.evicted = true;
+                }
+                close = this.evicted;
+            }
+            if (close) {
+                this.statement.close();
+            }
+        }
+
+        // called under owner lock
+        private void evict() {
+            this.evicted = true;
+            if (!this.inUse) {
+                try {
+                    this.statement.close();
+                } catch (SQLException ignored) {
+                    // statement is not used anymore and connection is probably broken
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package ru.tinkoff.kora.database.jdbc;
+
+import jakarta.annotation.Nullable;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * <b>Русский</b>: Подготовленное выражение, полученное из {@link JdbcConnectionFactory#prepareStatement(java.sql.Connection, ru.tinkoff.kora.database.common.QueryContext)}.
+ * Закрытие возвращает выражение в кеш соединения, если кеш включен, иначе закрывает выражение.
+ * <hr>
+ * <b>English</b>: Prepared statement obtained from {@link JdbcConnectionFactory#prepareStatement(java.sql.Connection, ru.tinkoff.kora.database.common.QueryContext)}.
+ * Closing returns statement to connection cache when cache is enabled, otherwise closes statement.
+ *
+ * @see JdbcDatabaseConfig#statementCacheEnabled()
+ */
+public final class JdbcStatementLease implements AutoCloseable {
+    private final PreparedStatement statement;
+    @Nullable
+    private final JdbcStatementCache.CachedStatement cached;
+    @Nullable
+    private final JdbcSlowQueryStatement slowQuery;
+
+    public JdbcStatementLease(PreparedStatement statement) {
+        this(statement, null);
+    }
+
+    JdbcStatementLease(PreparedStatement statement, @Nullable JdbcStatementCache.CachedStatement cached) {
+        this.statement = statement;
+        this.cached = cached;
+        this.slowQuery = null;
+    }
+
+    JdbcStatementLease(JdbcStatementLease lease, JdbcSlowQueryStatement slowQuery) {
+        this.statement = slowQuery.proxy();
+        this.cached = lease.cached;
+        this.slowQuery = slowQuery;
+    }
+
+    public PreparedStatement statement() {
+        return this.statement;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (this.slowQuery != null) {
+            this.slowQuery.complete();
+        }
+        if (this.cached == null) {
+            this.statement.close();
+        } else {
+            this.cached.release();
+        }
+    }
+}
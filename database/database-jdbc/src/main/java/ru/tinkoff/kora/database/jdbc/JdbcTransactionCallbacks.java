@@ -0,0 +1,74 @@
+package ru.tinkoff.kora.database.jdbc;
+
+import jakarta.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.tinkoff.kora.common.Context;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Callbacks registered with {@link JdbcConnectionFactory#afterCommit(Runnable)} while transaction started by {@link JdbcConnectionFactory#inTx} is active
+ */
+final class JdbcTransactionCallbacks {
+    private static final Logger logger = LoggerFactory.getLogger(JdbcTransactionCallbacks.class);
+
+    private static final Context.Key<JdbcTransactionCallbacks> KEY = new Context.Key<>() {
+        @Override
+        protected JdbcTransactionCallbacks copy(JdbcTransactionCallbacks object) {
+            return null;
+        }
+    };
+
+    private final Connection connection;
+    @Nullable
+    private final JdbcTransactionCallbacks parent;
+    private final List<Runnable> afterCommit = new ArrayList<>();
+
+    private JdbcTransactionCallbacks(Connection connection, @Nullable JdbcTransactionCallbacks parent) {
+        this.connection = connection;
+        this.parent = parent;
+    }
+
+    static JdbcTransactionCallbacks begin(Connection connection) {
+        var ctx = Context.current();
+        return ctx.set(KEY, new JdbcTransactionCallbacks(connection, ctx.get(KEY)));
+    }
+
+    /**
+     * @return false when there is no transaction of connection started by {@link JdbcConnectionFactory#inTx} in current context
+     */
+    static boolean register(Connection connection, Runnable callback) {
+        for (var tx = Context.current().get(KEY); tx != null; tx = tx.parent) {
+            if (tx.connection == connection) {
+                tx.afterCommit.add(callback);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void end() {
+        var ctx = Context.current();
+        if (this.parent == null) {
+            ctx.remove(KEY);
+        } else {
+            ctx.set(KEY, this.parent);
+        }
+    }
+
+    /**
+     * Transaction is already committed, so callback failure is only logged
+     */
+    void committed() {
+        for (var callback : this.afterCommit) {
+            try {
+                callback.run();
+            } catch (RuntimeException e) {
+                logger.warn("After commit callback failed", e);
+            }
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package ru.tinkoff.kora.database.jdbc
 
 import kotlinx.coroutines.CoroutineDispatcher
-import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.asCoroutineDispatcher
 import kotlinx.coroutines.withContext
 import ru.tinkoff.kora.common.Context
@@ -27,8 +26,7 @@ suspend fun <T> JdbcConnectionFactory.withConnectionSuspend(userDispatcher: Coro
 
     try {
         val dispatcher = userDispatcher
-            ?: factory.executor?.asCoroutineDispatcher()
-            ?: Dispatchers.IO
+            ?: factory.executor().asCoroutineDispatcher()
 
         val forkCtx = curCtx.fork()
         return withContext(dispatcher + Context.Kotlin.asCoroutineContext(forkCtx)) {
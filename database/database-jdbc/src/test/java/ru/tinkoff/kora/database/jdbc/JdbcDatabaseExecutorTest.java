@@ -0,0 +1,123 @@
+package ru.tinkoff.kora.database.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import ru.tinkoff.kora.database.common.telemetry.DataBaseTelemetry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntSupplier;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class JdbcDatabaseExecutorTest {
+    private static final int MAX_POOL_SIZE = 3;
+    private static final int TASKS = 10;
+
+    private final DataBaseTelemetry telemetry = mock(DataBaseTelemetry.class);
+    private final DataBaseTelemetry.DataBaseExecutorMetrics metrics = mock(DataBaseTelemetry.DataBaseExecutorMetrics.class);
+    private final AtomicReference<IntSupplier> queueSize = new AtomicReference<>();
+    private final List<ExecutorService> delegates = new ArrayList<>();
+
+    JdbcDatabaseExecutorTest() {
+        when(this.telemetry.executorMetrics(any())).thenAnswer(invocation -> {
+            this.queueSize.set(invocation.getArgument(0));
+            return this.metrics;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.delegates.forEach(ExecutorService::shutdownNow);
+    }
+
+    @Test
+    void testTasksOverPoolSizeAreQueued() throws Exception {
+        // unbounded delegate, so concurrency is limited by executor only
+        var delegate = this.delegate(Executors.newCachedThreadPool());
+        var executor = new JdbcDatabaseExecutor(delegate, MAX_POOL_SIZE, this.telemetry);
+
+        this.assertTasksAreLimited(executor, name -> true);
+    }
+
+    @Test
+    void testPlatformThreadPool() throws Exception {
+        var config = mock(JdbcDatabaseConfig.class);
+        when(config.maxPoolSize()).thenReturn(MAX_POOL_SIZE);
+        when(config.poolName()).thenReturn("test");
+        var delegate = this.delegate(JdbcDatabase.platformThreadExecutor(config));
+        var executor = new JdbcDatabaseExecutor(delegate, MAX_POOL_SIZE, this.telemetry);
+
+        this.assertTasksAreLimited(executor, name -> name.startsWith("jdbc-test-"));
+    }
+
+    @Test
+    void testFailedTaskDoesNotStopWorker() throws Exception {
+        var delegate = this.delegate(Executors.newCachedThreadPool());
+        var executor = new JdbcDatabaseExecutor(delegate, 1, this.telemetry);
+        var done = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            throw new IllegalStateException("test");
+        });
+        executor.execute(done::countDown);
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private void assertTasksAreLimited(JdbcDatabaseExecutor executor, Predicate<String> threadName) throws Exception {
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(MAX_POOL_SIZE);
+        var finished = new CountDownLatch(TASKS);
+        var running = new AtomicInteger();
+        var peak = new AtomicInteger();
+        var threads = ConcurrentHashMap.<String>newKeySet();
+
+        var submitStart = System.nanoTime();
+        for (int i = 0; i < TASKS; i++) {
+            executor.execute(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                threads.add(Thread.currentThread().getName());
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    running.decrementAndGet();
+                    finished.countDown();
+                }
+            });
+        }
+        // submission does not wait for busy workers
+        assertThat(Duration.ofNanos(System.nanoTime() - submitStart)).isLessThan(Duration.ofSeconds(1));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(running.get()).isEqualTo(MAX_POOL_SIZE);
+        assertThat(this.queueSize.get().getAsInt()).isEqualTo(TASKS - MAX_POOL_SIZE);
+
+        Thread.sleep(10);
+        release.countDown();
+        assertThat(finished.await(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(peak.get()).isEqualTo(MAX_POOL_SIZE);
+        assertThat(threads).allMatch(threadName);
+        assertThat(this.queueSize.get().getAsInt()).isZero();
+        var waits = ArgumentCaptor.forClass(Long.class);
+        verify(this.metrics, times(TASKS)).recordQueueWait(waits.capture());
+        // queued tasks waited at least until first ones were released
+        assertThat(waits.getAllValues()).filteredOn(wait -> wait >= TimeUnit.MILLISECONDS.toNanos(10)).hasSizeGreaterThanOrEqualTo(TASKS - MAX_POOL_SIZE);
+    }
+
+    private ExecutorService delegate(ExecutorService executor) {
+        this.delegates.add(executor);
+        return executor;
+    }
+}
@@ -6,6 +6,10 @@ import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.slf4j.LoggerFactory;
+import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.database.common.QueryContext;
+import ru.tinkoff.kora.database.common.telemetry.$DataBaseSlowQueryConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.database.common.telemetry.DataBaseSlowQueryConfig;
 import ru.tinkoff.kora.database.common.telemetry.DefaultDataBaseTelemetryFactory;
 import ru.tinkoff.kora.telemetry.common.$TelemetryConfig_ConfigValueExtractor;
 import ru.tinkoff.kora.telemetry.common.$TelemetryConfig_LogConfig_ConfigValueExtractor;
@@ -14,6 +18,7 @@ import ru.tinkoff.kora.telemetry.common.$TelemetryConfig_TracingConfig_ConfigVal
 import ru.tinkoff.kora.test.postgres.PostgresParams;
 import ru.tinkoff.kora.test.postgres.PostgresTestContainer;
 
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.time.Duration;
 import java.util.ArrayList;
@@ -33,6 +38,14 @@ class JdbcDatabaseTest {
     }
 
     private static void withDb(PostgresParams params, Consumer<JdbcDatabase> consumer) throws SQLException {
+        withDb(params, false, consumer);
+    }
+
+    private static void withDb(PostgresParams params, boolean statementCacheEnabled, Consumer<JdbcDatabase> consumer) throws SQLException {
+        withDb(params, statementCacheEnabled, $DataBaseSlowQueryConfig_ConfigValueExtractor.DEFAULTS, consumer);
+    }
+
+    private static void withDb(PostgresParams params, boolean statementCacheEnabled, DataBaseSlowQueryConfig slowQuery, Consumer<JdbcDatabase> consumer) throws SQLException {
         var config = new $JdbcDatabaseConfig_ConfigValueExtractor.JdbcDatabaseConfig_Impl(
             params.user(),
             params.password(),
@@ -49,6 +62,9 @@ class JdbcDatabaseTest {
             Duration.ofMillis(1000L),
             false,
             new Properties(),
+            statementCacheEnabled,
+            100,
+            slowQuery,
             new $TelemetryConfig_ConfigValueExtractor.TelemetryConfig_Impl(
                 new $TelemetryConfig_LogConfig_ConfigValueExtractor.LogConfig_Impl(true),
                 new $TelemetryConfig_TracingConfig_ConfigValueExtractor.TracingConfig_Impl(true),
@@ -94,6 +110,112 @@ class JdbcDatabaseTest {
         });
     }
 
+    @Test
+    void testStatementCache(PostgresParams params) throws SQLException {
+        var tableName = PostgresTestContainer.randomName("test_table");
+        params.execute("""
+            CREATE TABLE %s(id BIGSERIAL, value VARCHAR);
+            INSERT INTO %s(value) VALUES ('test1');
+            INSERT INTO %s(value) VALUES ('test2');
+            """.formatted(tableName, tableName, tableName));
+        var query = new QueryContext("SELECT value FROM %s WHERE id = :id".formatted(tableName), "SELECT value FROM %s WHERE id = ?".formatted(tableName));
+
+        withDb(params, true, db -> {
+            var statements = new ArrayList<PreparedStatement>();
+            var values = new ArrayList<String>();
+            var fetchSizes = new ArrayList<Integer>();
+            db.inTx(() -> {
+                for (var id = 1; id <= 2; id++) {
+                    var finalId = id;
+                    db.query(query, stmt -> {
+                        statements.add(stmt);
+                        fetchSizes.add(stmt.getFetchSize());
+                        stmt.setFetchSize(10);
+                        stmt.setLong(1, finalId);
+                        try (var rs = stmt.executeQuery()) {
+                            rs.next();
+                            values.add(rs.getString(1));
+                        }
+                        return null;
+                    });
+                }
+            });
+
+            Assertions.assertThat(values).containsExactly("test1", "test2");
+            Assertions.assertThat(statements.get(1)).isSameAs(statements.get(0));
+            Assertions.assertThat(fetchSizes).containsExactly(0, 0);
+            // pool closes statements of returned connection
+            Assertions.assertThat(statements.get(0).isClosed()).isTrue();
+            var next = db.withConnection(connection -> {
+                try (var lease = db.prepareStatement(connection, query)) {
+                    return lease.statement();
+                }
+            });
+            Assertions.assertThat(next).isNotSameAs(statements.get(0));
+        });
+    }
+
+    @Test
+    void testSlowQueryPlan(PostgresParams params) throws SQLException {
+        var tableName = PostgresTestContainer.randomName("test_table");
+        params.execute("""
+            CREATE TABLE %s(id BIGSERIAL, value VARCHAR);
+            INSERT INTO %s(value) VALUES ('test1');
+            """.formatted(tableName, tableName));
+        var query = new QueryContext("SELECT id FROM %s WHERE value = :value".formatted(tableName), "SELECT id FROM %s WHERE value = ?".formatted(tableName));
+        var slowQuery = new $DataBaseSlowQueryConfig_ConfigValueExtractor.DataBaseSlowQueryConfig_Impl(true, Duration.ZERO, true, 10, null);
+
+        withDb(params, false, slowQuery, db -> {
+            var id = db.query(query, stmt -> {
+                stmt.setString(1, "test1");
+                try (var rs = stmt.executeQuery()) {
+                    rs.next();
+                    return rs.getLong(1);
+                }
+            });
+            Assertions.assertThat(id).isEqualTo(1L);
+
+            var sampler = db.slowQuerySampler();
+            Assertions.assertThat(sampler).isNotNull();
+            var deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (sampler.plans().isEmpty() && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            var plan = sampler.slowestPlans().get(query.queryId());
+            Assertions.assertThat(plan).isNotNull();
+            Assertions.assertThat(plan.plan()).contains(tableName);
+        });
+    }
+
+    @Test
+    void testSlowQueryPlanWithExplainPrefix(PostgresParams params) throws SQLException {
+        var tableName = PostgresTestContainer.randomName("test_table");
+        params.execute("""
+            CREATE TABLE %s(id BIGSERIAL, value VARCHAR);
+            INSERT INTO %s(value) VALUES ('test1');
+            """.formatted(tableName, tableName));
+        var query = new QueryContext("SELECT id FROM %s".formatted(tableName), "SELECT id FROM %s".formatted(tableName));
+        var slowQuery = new $DataBaseSlowQueryConfig_ConfigValueExtractor.DataBaseSlowQueryConfig_Impl(true, Duration.ZERO, true, 10, "EXPLAIN (COSTS off)");
+
+        withDb(params, false, slowQuery, db -> {
+            db.query(query, stmt -> {
+                try (var rs = stmt.executeQuery()) {
+                    return rs.next();
+                }
+            });
+
+            var sampler = db.slowQuerySampler();
+            Assertions.assertThat(sampler).isNotNull();
+            var deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (sampler.plans().isEmpty() && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            var plan = sampler.slowestPlans().get(query.queryId());
+            Assertions.assertThat(plan).isNotNull();
+            Assertions.assertThat(plan.plan()).contains(tableName).doesNotContain("cost=");
+        });
+    }
+
     @Test
     void testTransaction(PostgresParams params) throws SQLException {
         var tableName = "test_table_" + PostgresTestContainer.randomName("test_table");
@@ -134,4 +256,48 @@ class JdbcDatabaseTest {
             Assertions.assertThat(values).hasSize(1);
         });
     }
+
+    @Test
+    void testChunkedBatchIsRolledBackOutsideOfTransaction(PostgresParams params) throws SQLException {
+        var tableName = PostgresTestContainer.randomName("test_table");
+        params.execute("CREATE TABLE %s(id BIGINT PRIMARY KEY);".formatted(tableName));
+        var query = new QueryContext("INSERT INTO %s(id) VALUES (:id)".formatted(tableName), "INSERT INTO %s(id) VALUES (?)".formatted(tableName));
+        PostgresParams.ResultSetMapper<Long, RuntimeException> count = rs -> {
+            try {
+                rs.next();
+                return rs.getLong(1);
+            } catch (SQLException sqlException) {
+                throw new RuntimeException(sqlException);
+            }
+        };
+
+        withDb(params, db -> {
+            // second chunk violates primary key, so first chunk should not be persisted as well
+            Assertions.assertThatThrownBy(() -> db.withConnection(connection -> {
+                var chunks = new JdbcBatchChunks(db.telemetry(), Context.current(), query, 2, false);
+                try (var tx = chunks.begin(connection); var stmt = connection.prepareStatement(query.sql())) {
+                    for (var id : List.of(1L, 2L, 3L, 3L)) {
+                        stmt.setLong(1, id);
+                        chunks.addBatch(stmt);
+                    }
+                    return chunks.executeBatch(stmt);
+                }
+            })).isInstanceOf(RuntimeSqlException.class);
+            Assertions.assertThat(params.query("SELECT count(*) FROM %s".formatted(tableName), count)).isZero();
+
+            var result = db.withConnection(connection -> {
+                Assertions.assertThat(connection.getAutoCommit()).isTrue();
+                var chunks = new JdbcBatchChunks(db.telemetry(), Context.current(), query, 2, false);
+                try (var tx = chunks.begin(connection); var stmt = connection.prepareStatement(query.sql())) {
+                    for (var id : List.of(1L, 2L, 3L)) {
+                        stmt.setLong(1, id);
+                        chunks.addBatch(stmt);
+                    }
+                    return chunks.executeBatch(stmt);
+                }
+            });
+            Assertions.assertThat(result).containsExactly(1, 1, 1);
+            Assertions.assertThat(params.query("SELECT count(*) FROM %s".formatted(tableName), count)).isEqualTo(3L);
+        });
+    }
 }
@@ -0,0 +1,197 @@
+package ru.tinkoff.kora.database.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.pool.HikariPool;
+import jakarta.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.kora.common.readiness.ReadinessProbeFailure;
+import ru.tinkoff.kora.database.common.QueryContext;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class JdbcRoutingDatabaseTest {
+    private final JdbcDatabase primary = database("primary");
+    private final List<JdbcRoutingDatabase> databases = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        this.databases.forEach(JdbcRoutingDatabase::release);
+    }
+
+    @Test
+    void testRoundRobin() {
+        var replica1 = database("replica1");
+        var replica2 = database("replica2");
+        var routing = this.routing(config(JdbcRoutingConfig.Strategy.ROUND_ROBIN, null), replica1, replica2);
+
+        var first = leased(routing.newReadOnlyConnection());
+        var second = leased(routing.newReadOnlyConnection());
+        var third = leased(routing.newReadOnlyConnection());
+
+        assertThat(first).isNotSameAs(second).isSameAs(third);
+        assertThat(List.of(first, second)).containsExactlyInAnyOrder(replica1.newConnection(), replica2.newConnection());
+        verify(this.primary, never()).newConnection();
+    }
+
+    @Test
+    void testLeastLoaded() {
+        var replica1 = database("replica1");
+        var replica2 = database("replica2");
+        var pool1 = pool(replica1);
+        var pool2 = pool(replica2);
+        var routing = this.routing(config(JdbcRoutingConfig.Strategy.LEAST_LOADED, null), replica1, replica2);
+
+        when(pool1.getActiveConnections()).thenReturn(3);
+        when(pool2.getActiveConnections()).thenReturn(1);
+        assertThat(leased(routing.newReadOnlyConnection())).isSameAs(replica2.newConnection());
+
+        when(pool1.getActiveConnections()).thenReturn(1);
+        when(pool2.getThreadsAwaitingConnection()).thenReturn(2);
+        assertThat(leased(routing.newReadOnlyConnection())).isSameAs(replica1.newConnection());
+    }
+
+    @Test
+    void testReplicaFailingReadinessProbeIsExcluded() throws Exception {
+        var replica1 = database("replica1");
+        var replica2 = database("replica2");
+        when(replica1.probe()).thenReturn(new ReadinessProbeFailure("test"));
+        var routing = this.routing(config(JdbcRoutingConfig.Strategy.ROUND_ROBIN, null), replica1, replica2);
+
+        assertThat(leased(routing.newReadOnlyConnection())).isSameAs(replica2.newConnection());
+        assertThat(leased(routing.newReadOnlyConnection())).isSameAs(replica2.newConnection());
+    }
+
+    @Test
+    void testLaggingReplicaIsExcluded() throws Exception {
+        var replica1 = database("replica1");
+        var replica2 = database("replica2");
+        lag(replica1, 20);
+        lag(replica2, 1);
+        var routing = this.routing(config(JdbcRoutingConfig.Strategy.ROUND_ROBIN, "SELECT lag"), replica1, replica2);
+
+        assertThat(leased(routing.newReadOnlyConnection())).isSameAs(replica2.newConnection());
+        assertThat(leased(routing.newReadOnlyConnection())).isSameAs(replica2.newConnection());
+    }
+
+    @Test
+    void testPrimaryIsUsedWhenThereAreNoAvailableReplicas() throws Exception {
+        var replica = database("replica");
+        when(replica.probe()).thenReturn(new ReadinessProbeFailure("test"));
+        var routing = this.routing(config(JdbcRoutingConfig.Strategy.ROUND_ROBIN, null), replica);
+
+        assertThat(leased(routing.newReadOnlyConnection())).isSameAs(this.primary.newConnection());
+        assertThat(leased(this.routing(config(JdbcRoutingConfig.Strategy.ROUND_ROBIN, null)).newReadOnlyConnection())).isSameAs(this.primary.newConnection());
+    }
+
+    @Test
+    void testReplicaIsExcludedWhenConnectionIsNotAcquiredInTime() throws Exception {
+        var replica = database("replica");
+        var dataSource = mock(HikariDataSource.class);
+        var pool = mock(HikariPool.class);
+        when(replica.value()).thenReturn(dataSource);
+        when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+        when(pool.getConnection(anyLong())).thenThrow(new SQLTransientConnectionException("timeout"));
+        var routing = this.routing(config(JdbcRoutingConfig.Strategy.ROUND_ROBIN, null), replica);
+
+        assertThat(leased(routing.newReadOnlyConnection())).isSameAs(this.primary.newConnection());
+        verify(pool).getConnection(250L);
+        verify(replica, never()).newConnection();
+
+        // replica is not tried again until next check
+        assertThat(leased(routing.newReadOnlyConnection())).isSameAs(this.primary.newConnection());
+        verify(pool, times(1)).getConnection(anyLong());
+    }
+
+    @Test
+    void testStatementIsPreparedByDatabaseOfConnection() throws Exception {
+        var replica = database("replica");
+        var routing = this.routing(config(JdbcRoutingConfig.Strategy.ROUND_ROBIN, null), replica);
+        var query = new QueryContext("SELECT 1", "SELECT 1");
+
+        var poolConnection = replica.newConnection();
+        var replicaConnection = routing.newReadOnlyConnection();
+        routing.prepareStatement(replicaConnection, query);
+        verify(replica).prepareStatement(poolConnection, query);
+        verify(this.primary, never()).prepareStatement(any(), any());
+
+        var primaryConnection = routing.newConnection();
+        routing.prepareStatement(primaryConnection, query);
+        verify(this.primary).prepareStatement(primaryConnection, query);
+        verify(replica, times(1)).prepareStatement(any(), any());
+    }
+
+    @Test
+    void testReplicaConnectionDelegatesToPoolConnection() throws Exception {
+        var replica = database("replica");
+        var routing = this.routing(config(JdbcRoutingConfig.Strategy.ROUND_ROBIN, null), replica);
+        var poolConnection = replica.newConnection();
+
+        var connection = routing.newReadOnlyConnection();
+        connection.setAutoCommit(false);
+        connection.close();
+
+        verify(poolConnection).setAutoCommit(false);
+        verify(poolConnection).close();
+        assertThat(connection.unwrap(Connection.class)).isSameAs(poolConnection);
+        assertThat(connection.isWrapperFor(Connection.class)).isTrue();
+    }
+
+    private JdbcRoutingDatabase routing(JdbcRoutingConfig config, JdbcDatabase... replicas) {
+        var routing = new JdbcRoutingDatabase(config, this.primary, List.of(replicas));
+        routing.init();
+        this.databases.add(routing);
+        return routing;
+    }
+
+    private static Connection leased(Connection connection) {
+        return connection instanceof JdbcReplicaConnection replicaConnection ? replicaConnection.delegate() : connection;
+    }
+
+    private static JdbcRoutingConfig config(JdbcRoutingConfig.Strategy strategy, @Nullable String replicationLagQuery) {
+        return new $JdbcRoutingConfig_ConfigValueExtractor.JdbcRoutingConfig_Impl(strategy, Duration.ofHours(1), replicationLagQuery, Duration.ofSeconds(10), Duration.ofMillis(250));
+    }
+
+    private static JdbcDatabase database(String name) {
+        var database = mock(JdbcDatabase.class);
+        var connection = mock(Connection.class, name);
+        when(database.poolName()).thenReturn(name);
+        when(database.newConnection()).thenReturn(connection);
+        try {
+            when(database.prepareStatement(any(), any())).thenAnswer(invocation -> new JdbcStatementLease(mock(PreparedStatement.class)));
+        } catch (SQLException e) {
+            throw new RuntimeSqlException(e);
+        }
+        return database;
+    }
+
+    private static HikariPoolMXBean pool(JdbcDatabase database) {
+        var dataSource = mock(HikariDataSource.class);
+        var pool = mock(HikariPoolMXBean.class);
+        when(database.value()).thenReturn(dataSource);
+        when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+        return pool;
+    }
+
+    private static void lag(JdbcDatabase database, double lagSeconds) throws SQLException {
+        var connection = database.newConnection();
+        var statement = mock(Statement.class);
+        var resultSet = mock(ResultSet.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery("SELECT lag")).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(lagSeconds);
+    }
+}
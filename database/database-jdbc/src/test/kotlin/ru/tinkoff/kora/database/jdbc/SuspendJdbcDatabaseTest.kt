@@ -10,6 +10,7 @@ import org.junit.jupiter.api.extension.ExtendWith
 import org.slf4j.LoggerFactory
 import ru.tinkoff.kora.common.Context
 import ru.tinkoff.kora.database.common.telemetry.DefaultDataBaseTelemetryFactory
+import ru.tinkoff.kora.database.common.telemetry.`$DataBaseSlowQueryConfig_ConfigValueExtractor`
 import ru.tinkoff.kora.database.jdbc.`$JdbcDatabaseConfig_ConfigValueExtractor`.*
 import ru.tinkoff.kora.database.jdbc.JdbcHelper.SqlRunnable
 import ru.tinkoff.kora.telemetry.common.`$TelemetryConfig_ConfigValueExtractor`.*
@@ -152,6 +153,9 @@ internal class SuspendJdbcDatabaseTest {
                 Duration.ofMillis(1000L),
                 false,
                 Properties(),
+                false,
+                100,
+                `$DataBaseSlowQueryConfig_ConfigValueExtractor`.DEFAULTS,
                 TelemetryConfig_Impl(
                     LogConfig_Impl(true),
                     TracingConfig_Impl(true),
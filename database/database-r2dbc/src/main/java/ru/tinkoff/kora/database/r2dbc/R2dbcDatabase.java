@@ -2,6 +2,7 @@ package ru.tinkoff.kora.database.r2dbc;
 
 import io.r2dbc.pool.ConnectionPool;
 import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.pool.PoolMetrics;
 import io.r2dbc.spi.*;
 import jakarta.annotation.Nullable;
 import org.slf4j.Logger;
@@ -19,6 +20,7 @@ import ru.tinkoff.kora.database.common.telemetry.DataBaseTelemetryFactory;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
 public class R2dbcDatabase implements R2dbcConnectionFactory, Lifecycle, ReadinessProbe {
@@ -43,6 +45,8 @@ public class R2dbcDatabase implements R2dbcConnectionFactory, Lifecycle, Readine
     private final ConnectionPool connectionFactory;
     private final DataBaseTelemetry telemetry;
     private final R2dbcDatabaseConfig config;
+    @Nullable
+    private final DataBaseTelemetry.DataBasePoolMetrics poolMetrics;
 
     public R2dbcDatabase(R2dbcDatabaseConfig config, List<Function<ConnectionFactoryOptions.Builder, ConnectionFactoryOptions.Builder>> customizers, DataBaseTelemetryFactory telemetryFactory) {
         this.config = config;
@@ -54,6 +58,9 @@ public class R2dbcDatabase implements R2dbcConnectionFactory, Lifecycle, Readine
             config.r2dbcUrl().substring(5, config.r2dbcUrl().indexOf(":", 6)),
             config.username()
         ), DataBaseTelemetryFactory.EMPTY);
+        this.poolMetrics = this.connectionFactory.getMetrics()
+            .map(metrics -> this.telemetry.poolMetrics(new PoolState(metrics)))
+            .orElse(null);
     }
 
     @Override
@@ -66,7 +73,7 @@ public class R2dbcDatabase implements R2dbcConnectionFactory, Lifecycle, Readine
 
     @Override
     public Mono<Connection> newConnection() {
-        return this.connectionFactory.create();
+        return this.acquire();
     }
 
     @Override
@@ -127,7 +134,7 @@ public class R2dbcDatabase implements R2dbcConnectionFactory, Lifecycle, Readine
                 return callback.apply(connection);
             }
             return Mono.usingWhen(
-                this.connectionFactory.create(),
+                this.acquire(),
                 c -> {
                     ctx.set(this.connectionKey, c);
                     return callback.apply(c);
@@ -151,7 +158,7 @@ public class R2dbcDatabase implements R2dbcConnectionFactory, Lifecycle, Readine
                 return callback.apply(connection);
             }
             return Flux.usingWhen(
-                this.connectionFactory.create(),
+                this.acquire(),
                 c -> {
                     ctx.set(this.connectionKey, c);
                     return callback.apply(c);
@@ -168,6 +175,27 @@ public class R2dbcDatabase implements R2dbcConnectionFactory, Lifecycle, Readine
         });
     }
 
+    private Mono<Connection> acquire() {
+        var metrics = this.poolMetrics;
+        if (metrics == null) {
+            return this.connectionFactory.create();
+        }
+        return Mono.defer(() -> {
+            var started = System.nanoTime();
+            // failed and timed out acquisitions are recorded too, they are the slowest ones
+            var recorded = new AtomicBoolean(false);
+            Runnable record = () -> {
+                if (recorded.compareAndSet(false, true)) {
+                    metrics.recordAcquire(System.nanoTime() - started);
+                }
+            };
+            return this.connectionFactory.create()
+                .doOnNext(c -> record.run())
+                .doOnError(e -> record.run())
+                .doOnCancel(record);
+        });
+    }
+
     private static ConnectionPool r2dbcConnectionFactory(R2dbcDatabaseConfig config, List<Function<ConnectionFactoryOptions.Builder, ConnectionFactoryOptions.Builder>> customizers) {
         var connectionFactoryOptions = ConnectionFactoryOptions.parse(config.r2dbcUrl())
             .mutate()
@@ -192,6 +220,8 @@ public class R2dbcDatabase implements R2dbcConnectionFactory, Lifecycle, Readine
             .maxIdleTime(config.idleTimeout())
             .maxAcquireTime(config.connectionTimeout())
             .maxCreateConnectionTime(config.connectionCreateTimeout())
+            .initialSize(minIdle(config))
+            .minIdle(minIdle(config))
             .maxSize(config.maxPoolSize())
             .acquireRetry(config.acquireRetry())
             .validationQuery("SELECT 1")
@@ -200,13 +230,29 @@ public class R2dbcDatabase implements R2dbcConnectionFactory, Lifecycle, Readine
             .build());
     }
 
+    private static int minIdle(R2dbcDatabaseConfig config) {
+        return Math.min(config.minIdle(), config.maxPoolSize());
+    }
+
     @Override
     public void init() {
         logger.debug("R2dbcDatabase pool '{}' starting...", config.poolName());
         var started = System.nanoTime();
-        try {
-            this.connectionFactory.warmup().block();
-        } catch (Exception ignore) {
+        var minIdle = minIdle(this.config);
+        if (minIdle > 0) {
+            // connections are acquired concurrently and then released, so pool holds minIdle ready connections before first query
+            var warmed = Flux.range(0, minIdle)
+                .flatMap(i -> this.connectionFactory.create()
+                    .onErrorResume(e -> {
+                        logger.warn("R2dbcDatabase pool '{}' failed to open connection on warm-up", config.poolName(), e);
+                        return Mono.empty();
+                    }), minIdle)
+                .collectList()
+                .flatMap(connections -> Flux.fromIterable(connections)
+                    .flatMap(Connection::close)
+                    .then(Mono.just(connections.size())))
+                .block();
+            logger.debug("R2dbcDatabase pool '{}' warmed up {} of {} connections", config.poolName(), warmed, minIdle);
         }
 
         logger.info("R2dbcDatabase pool '{}' started in {}", config.poolName(), TimeUtils.tookForLogging(started));
@@ -222,6 +268,28 @@ public class R2dbcDatabase implements R2dbcConnectionFactory, Lifecycle, Readine
         logger.info("R2dbcDatabase pool '{}' stopped in {}", config.poolName(), TimeUtils.tookForLogging(started));
     }
 
+    private record PoolState(PoolMetrics metrics) implements DataBaseTelemetry.DataBasePoolState {
+        @Override
+        public int acquired() {
+            return this.metrics.acquiredSize();
+        }
+
+        @Override
+        public int idle() {
+            return this.metrics.idleSize();
+        }
+
+        @Override
+        public int pending() {
+            return this.metrics.pendingAcquireSize();
+        }
+
+        @Override
+        public int max() {
+            return this.metrics.getMaxAllocatedSize();
+        }
+    }
+
     @Nullable
     @Override
     public ReadinessProbeFailure probe() {
@@ -52,8 +52,12 @@ public interface R2dbcDatabaseConfig {
         return 10;
     }
 
+    /**
+     * Connections opened concurrently on init and kept idle in pool, at most {@link #maxPoolSize()}.
+     * Default 10 matches default initial size of r2dbc-pool
+     */
     default int minIdle() {
-        return 0;
+        return 10;
     }
 
     default boolean readinessProbe() {
@@ -1,15 +1,21 @@
 package ru.tinkoff.kora.database.r2dbc;
 
 import io.r2dbc.spi.Result;
+import jakarta.annotation.Nullable;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import ru.tinkoff.kora.common.Context;
 import ru.tinkoff.kora.database.common.QueryContext;
+import ru.tinkoff.kora.database.common.telemetry.DataBaseTelemetry;
+import ru.tinkoff.kora.database.common.telemetry.DataBaseTelemetryFactory;
 import ru.tinkoff.kora.database.common.telemetry.DefaultDataBaseTelemetryFactory;
 import ru.tinkoff.kora.telemetry.common.$TelemetryConfig_ConfigValueExtractor;
 import ru.tinkoff.kora.telemetry.common.$TelemetryConfig_LogConfig_ConfigValueExtractor;
 import ru.tinkoff.kora.telemetry.common.$TelemetryConfig_MetricsConfig_ConfigValueExtractor;
 import ru.tinkoff.kora.telemetry.common.$TelemetryConfig_TracingConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.telemetry.common.TelemetryConfig;
 import ru.tinkoff.kora.test.postgres.PostgresParams;
 import ru.tinkoff.kora.test.postgres.PostgresTestContainer;
 
@@ -18,27 +24,34 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @ExtendWith(PostgresTestContainer.class)
 class R2dbcDatabaseTest {
     private static void withDb(PostgresParams params, Consumer<R2dbcDatabase> consumer) {
+        withDb(params, Duration.ofMillis(1000L), 3, 2, 0, new DefaultDataBaseTelemetryFactory(null, null, null), consumer);
+    }
+
+    private static void withDb(PostgresParams params, Duration connectionTimeout, int acquireRetry, int maxPoolSize, int minIdle, DataBaseTelemetryFactory telemetryFactory, Consumer<R2dbcDatabase> consumer) {
         var config = new $R2dbcDatabaseConfig_ConfigValueExtractor.R2dbcDatabaseConfig_Impl(
             "r2dbc:postgres://%s:%d/%s".formatted(params.host(), params.port(), params.db()),
             params.user(),
             params.password(),
             "test",
-            Duration.ofMillis(1000L),
+            connectionTimeout,
             Duration.ofMillis(1000L),
             Duration.ofMillis(1000L),
             Duration.ofMillis(10000L),
             Duration.ofMillis(10000L),
-            3,
-            2,
-            0,
+            acquireRetry,
+            maxPoolSize,
+            minIdle,
             false,
             Collections.emptyMap(),
             new $TelemetryConfig_ConfigValueExtractor.TelemetryConfig_Impl(
@@ -47,7 +60,7 @@ class R2dbcDatabaseTest {
                 new $TelemetryConfig_MetricsConfig_ConfigValueExtractor.MetricsConfig_Impl(null, null)
             )
         );
-        var db = new R2dbcDatabase(config, List.of(), new DefaultDataBaseTelemetryFactory(null, null, null));
+        var db = new R2dbcDatabase(config, List.of(), telemetryFactory);
         db.init();
         try {
             consumer.accept(db);
@@ -112,4 +125,73 @@ class R2dbcDatabaseTest {
         });
 
     }
+
+    @Test
+    void testPoolIsWarmedUpToMinIdle(PostgresParams params) {
+        var telemetry = new PoolTelemetry();
+        withDb(params, Duration.ofMillis(1000L), 0, 3, 2, telemetry, db -> {
+            assertThat(telemetry.state.idle()).isEqualTo(2);
+            assertThat(telemetry.state.acquired()).isZero();
+            // warm-up connections are not acquired by queries
+            assertThat(telemetry.acquires).isEmpty();
+        });
+    }
+
+    @Test
+    void testMinIdleIsLimitedByMaxPoolSize(PostgresParams params) {
+        var telemetry = new PoolTelemetry();
+        withDb(params, Duration.ofMillis(1000L), 0, 2, 10, telemetry, db -> {
+            assertThat(telemetry.state.idle()).isEqualTo(2);
+            assertThat(telemetry.state.max()).isEqualTo(2);
+        });
+    }
+
+    @Test
+    void testAcquireIsRecordedOnSuccessAndTimeout(PostgresParams params) {
+        var telemetry = new PoolTelemetry();
+        withDb(params, Duration.ofMillis(500L), 0, 1, 0, telemetry, db -> {
+            var connection = db.newConnection().block();
+            assertThat(telemetry.acquires).hasSize(1);
+            try {
+                // pool is exhausted, so acquisition fails after connection timeout
+                assertThatThrownBy(() -> db.newConnection().block()).isNotNull();
+                assertThat(telemetry.acquires).hasSize(2);
+                assertThat(telemetry.acquires.get(1)).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(400));
+            } finally {
+                Mono.from(connection.close()).block();
+            }
+        });
+    }
+
+    private static final class PoolTelemetry implements DataBaseTelemetryFactory, DataBaseTelemetry, DataBaseTelemetry.DataBasePoolMetrics {
+        private final List<Long> acquires = new CopyOnWriteArrayList<>();
+        private DataBasePoolState state;
+
+        @Override
+        public DataBaseTelemetry get(TelemetryConfig config, String name, String driverType, String dbType, String username) {
+            return this;
+        }
+
+        @Nullable
+        @Override
+        public Object getMetricRegistry() {
+            return null;
+        }
+
+        @Override
+        public DataBaseTelemetryContext createContext(Context context, QueryContext query) {
+            return DataBaseTelemetryFactory.EMPTY_CTX;
+        }
+
+        @Override
+        public DataBasePoolMetrics poolMetrics(DataBasePoolState state) {
+            this.state = state;
+            return this;
+        }
+
+        @Override
+        public void recordAcquire(long acquireNanos) {
+            this.acquires.add(acquireNanos);
+        }
+    }
 }
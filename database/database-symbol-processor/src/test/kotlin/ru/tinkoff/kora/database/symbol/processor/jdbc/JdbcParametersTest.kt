@@ -6,6 +6,7 @@ import org.mockito.ArgumentMatchers
 import org.mockito.Mockito
 import org.mockito.kotlin.verify
 import ru.tinkoff.kora.common.Tag
+import ru.tinkoff.kora.database.common.telemetry.`$DataBaseSlowQueryConfig_ConfigValueExtractor`
 import ru.tinkoff.kora.database.jdbc.`$JdbcDatabaseConfig_ConfigValueExtractor`.JdbcDatabaseConfig_Impl
 import ru.tinkoff.kora.database.jdbc.mapper.parameter.JdbcParameterColumnMapper
 import ru.tinkoff.kora.database.symbol.processor.entity.TestEntity
@@ -54,6 +55,9 @@ class JdbcParametersTest : AbstractJdbcRepositoryTest() {
             Duration.ofMillis(1000L),
             false,
             Properties(),
+            false,
+            100,
+            `$DataBaseSlowQueryConfig_ConfigValueExtractor`.DEFAULTS,
             `$TelemetryConfig_ConfigValueExtractor`.TelemetryConfig_Impl(
                 `$TelemetryConfig_LogConfig_ConfigValueExtractor`.LogConfig_Impl(true),
                 `$TelemetryConfig_TracingConfig_ConfigValueExtractor`.TracingConfig_Impl(true),
@@ -5,6 +5,7 @@ import io.vertx.core.Promise;
 import io.vertx.sqlclient.Pool;
 import io.vertx.sqlclient.SqlConnection;
 import io.vertx.sqlclient.Transaction;
+import io.vertx.sqlclient.Tuple;
 import jakarta.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,12 +15,18 @@ import ru.tinkoff.kora.common.Context;
 import ru.tinkoff.kora.common.readiness.ReadinessProbe;
 import ru.tinkoff.kora.common.readiness.ReadinessProbeFailure;
 import ru.tinkoff.kora.common.util.TimeUtils;
+import ru.tinkoff.kora.database.common.QueryContext;
+import ru.tinkoff.kora.database.common.telemetry.DataBaseSlowQuerySampler;
+import ru.tinkoff.kora.database.common.telemetry.DataBaseSlowQueryTelemetry;
 import ru.tinkoff.kora.database.common.telemetry.DataBaseTelemetry;
 import ru.tinkoff.kora.database.common.telemetry.DataBaseTelemetryFactory;
 import ru.tinkoff.kora.netty.common.NettyChannelFactory;
 import ru.tinkoff.kora.vertx.common.VertxUtil;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.StringJoiner;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
@@ -44,6 +51,8 @@ public class VertxDatabase implements Lifecycle, Wrapped<Pool>, VertxConnectionF
     private final Pool pool;
     private final DataBaseTelemetry telemetry;
     private final VertxDatabaseConfig config;
+    @Nullable
+    private final DataBaseSlowQuerySampler slowQuerySampler;
 
     public VertxDatabase(VertxDatabaseConfig vertxDatabaseConfig,
                          EventLoopGroup eventLoopGroup,
@@ -55,10 +64,36 @@ public class VertxDatabase implements Lifecycle, Wrapped<Pool>, VertxConnectionF
             VertxDatabaseConfig.toPgConnectOptions(vertxDatabaseConfig),
             VertxDatabaseConfig.toPgPoolOptions(vertxDatabaseConfig)
         );
-        this.telemetry = Objects.requireNonNullElse(
+        var telemetry = Objects.requireNonNullElse(
             telemetryFactory.get(vertxDatabaseConfig.telemetry(), vertxDatabaseConfig.poolName(), "vertx", "postgres", vertxDatabaseConfig.username()),
             DataBaseTelemetryFactory.EMPTY
         );
+        // pool is always PostgreSQL one
+        var explainPrefix = Objects.requireNonNull(DataBaseSlowQuerySampler.explainPrefix(vertxDatabaseConfig.slowQuery(), true));
+        this.slowQuerySampler = DataBaseSlowQuerySampler.create(vertxDatabaseConfig.slowQuery(), vertxDatabaseConfig.poolName(), (query, parameters) -> this.explain(explainPrefix, query, parameters));
+        this.telemetry = this.slowQuerySampler == null
+            ? telemetry
+            : new DataBaseSlowQueryTelemetry(telemetry, this.slowQuerySampler);
+    }
+
+    /**
+     * @return sampler of slow queries and their plans or null when {@link VertxDatabaseConfig#slowQuery()} is disabled
+     */
+    @Nullable
+    public DataBaseSlowQuerySampler slowQuerySampler() {
+        return this.slowQuerySampler;
+    }
+
+    private CompletionStage<String> explain(String explainPrefix, QueryContext query, List<?> parameters) {
+        return this.pool.withConnection(connection -> connection.preparedQuery(explainPrefix + query.sql()).execute(Tuple.wrap(new ArrayList<>(parameters))))
+            .map(rows -> {
+                var plan = new StringJoiner("\n");
+                for (var row : rows) {
+                    plan.add(row.getString(0));
+                }
+                return plan.toString();
+            })
+            .toCompletionStage();
     }
 
     @Override
@@ -4,6 +4,8 @@ import io.vertx.sqlclient.PoolOptions;
 import io.vertx.sqlclient.SqlConnectOptions;
 import jakarta.annotation.Nullable;
 import ru.tinkoff.kora.config.common.annotation.ConfigValueExtractor;
+import ru.tinkoff.kora.database.common.telemetry.$DataBaseSlowQueryConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.database.common.telemetry.DataBaseSlowQueryConfig;
 import ru.tinkoff.kora.telemetry.common.TelemetryConfig;
 
 import java.time.Duration;
@@ -74,5 +76,14 @@ public interface VertxDatabaseConfig {
                 .setMaxSize(config.maxPoolSize());
     }
 
+    /**
+     * @return <b>Русский</b>: Логирование медленных запросов и снятие их планов выполнения.
+     * <hr>
+     * <b>English</b>: Logging of slow queries and capture of their execution plans.
+     */
+    default DataBaseSlowQueryConfig slowQuery() {
+        return $DataBaseSlowQueryConfig_ConfigValueExtractor.DEFAULTS;
+    }
+
     TelemetryConfig telemetry();
 }
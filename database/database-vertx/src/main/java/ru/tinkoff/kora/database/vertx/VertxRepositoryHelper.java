@@ -1,6 +1,8 @@
 package ru.tinkoff.kora.database.vertx;
 
+import io.vertx.core.Future;
 import io.vertx.sqlclient.*;
+import reactor.adapter.JdkFlowAdapter;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import ru.tinkoff.kora.common.Context;
@@ -10,8 +12,11 @@ import ru.tinkoff.kora.database.common.telemetry.DataBaseTelemetry;
 import ru.tinkoff.kora.database.vertx.mapper.result.VertxRowMapper;
 import ru.tinkoff.kora.database.vertx.mapper.result.VertxRowSetMapper;
 
+import java.util.AbstractList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 
 public final class VertxRepositoryHelper {
 
@@ -31,6 +36,7 @@ public final class VertxRepositoryHelper {
         var ctxCurrent = Context.current();
         var ctxFork = ctxCurrent.fork();
         var telemetry = dataBaseTelemetry.createContext(ctxFork, query);
+        telemetry.parameters(parameters(params));
         var future = new CompletableFuture<T>();
         connection.preparedQuery(query.sql()).execute(params, rowSetEvent -> {
             ctxFork.inject();
@@ -98,6 +104,93 @@ public final class VertxRepositoryHelper {
         return future;
     }
 
+    /**
+     * Executes batch in chunks of {@code chunkSize} parameters one after another on the same connection, every chunk is reported to telemetry separately.
+     * Outside of transaction chunks are executed in single transaction, so failed chunk doesn't leave previous chunks committed
+     */
+    public static CompletableFuture<UpdateCount> batchCompletionStage(VertxConnectionFactory connectionFactory, QueryContext query, List<Tuple> params, int chunkSize) {
+        if (chunkSize <= 0 || params.size() <= chunkSize) {
+            return batchCompletionStage(connectionFactory, query, params);
+        }
+        var connection = connectionFactory.currentConnection();
+        if (connection != null) {
+            return batchCompletionStage(connection, connectionFactory.telemetry(), query, params, chunkSize);
+        }
+        return connectionFactory.inTx(c -> batchCompletionStage(c, connectionFactory.telemetry(), query, params, chunkSize)).toCompletableFuture();
+    }
+
+    public static CompletableFuture<UpdateCount> batchCompletionStage(SqlClient connection, DataBaseTelemetry dataBaseTelemetry, QueryContext query, List<Tuple> params, int chunkSize) {
+        if (chunkSize <= 0 || params.size() <= chunkSize) {
+            return batchCompletionStage(connection, dataBaseTelemetry, query, params);
+        }
+        return inTransaction(connection, client -> {
+            var result = CompletableFuture.completedFuture(0L);
+            for (int i = 0; i < params.size(); i += chunkSize) {
+                var chunk = params.subList(i, Math.min(i + chunkSize, params.size()));
+                result = result.thenCompose(counter -> batchCompletionStage(client, dataBaseTelemetry, query, chunk)
+                    .thenApply(updateCount -> counter + updateCount.value()));
+            }
+            return result.thenApply(UpdateCount::new);
+        });
+    }
+
+    /**
+     * Runs callback in transaction unless connection already takes part in one, pool runs callback on single connection in transaction
+     */
+    static <T> CompletableFuture<T> inTransaction(SqlClient client, Function<SqlClient, CompletableFuture<T>> callback) {
+        if (client instanceof Pool pool) {
+            return pool.withTransaction(connection -> Future.fromCompletionStage(callback.apply(connection))).toCompletionStage().toCompletableFuture();
+        }
+        if (!(client instanceof SqlConnection connection) || connection.transaction() != null) {
+            return callback.apply(client);
+        }
+        var future = new CompletableFuture<T>();
+        connection.begin(txEvent -> {
+            if (txEvent.failed()) {
+                future.completeExceptionally(txEvent.cause());
+                return;
+            }
+            var tx = txEvent.result();
+            callback.apply(connection).whenComplete((result, error) -> {
+                if (error != null) {
+                    var cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    tx.rollback(v -> {
+                        if (v.failed()) {
+                            cause.addSuppressed(v.cause());
+                        }
+                        future.completeExceptionally(cause);
+                    });
+                } else {
+                    tx.commit(v -> {
+                        if (v.succeeded()) {
+                            future.complete(result);
+                        } else {
+                            future.completeExceptionally(v.cause());
+                        }
+                    });
+                }
+            });
+        });
+        return future;
+    }
+
+    /**
+     * Lazy view of tuple values, values are read only by slow query sampling
+     */
+    static List<Object> parameters(Tuple params) {
+        return new AbstractList<>() {
+            @Override
+            public Object get(int index) {
+                return params.getValue(index);
+            }
+
+            @Override
+            public int size() {
+                return params.size();
+            }
+        };
+    }
+
     public static class Reactor {
         private Reactor() {}
 
@@ -117,6 +210,7 @@ public final class VertxRepositoryHelper {
                 var ctxCurrent = Context.Reactor.current(sink.contextView());
                 var ctxFork = ctxCurrent.fork();
                 var telemetry = dataBaseTelemetry.createContext(ctxFork, query);
+                telemetry.parameters(parameters(params));
                 connection.preparedQuery(query.sql()).execute(params, rowSetEvent -> {
                     ctxFork.inject();
                     if (rowSetEvent.failed()) {
@@ -183,49 +277,64 @@ public final class VertxRepositoryHelper {
             });
         }
 
-        public static <T> Flux<T> flux(VertxConnectionFactory connectionFactory, QueryContext query, Tuple params, VertxRowMapper<T> mapper) {
-            return Flux.deferContextual(contextView -> {
+        /**
+         * Executes batch in chunks of {@code chunkSize} parameters one after another on the same connection, every chunk is reported to telemetry separately.
+         * Outside of transaction chunks are executed in single transaction, so failed chunk doesn't leave previous chunks committed
+         */
+        public static Mono<UpdateCount> batchMono(VertxConnectionFactory connectionFactory, QueryContext query, List<Tuple> params, int chunkSize) {
+            if (chunkSize <= 0 || params.size() <= chunkSize) {
+                return batchMono(connectionFactory, query, params);
+            }
+            return Mono.defer(() -> {
                 var connection = connectionFactory.currentConnection();
                 if (connection != null) {
-                    return flux(connection, connectionFactory.telemetry(), query, params, mapper);
+                    return batchMono(connection, connectionFactory.telemetry(), query, params, chunkSize);
                 }
-                return Flux.usingWhen(Mono.fromCompletionStage(connectionFactory.newConnection()), c -> flux(c, connectionFactory.telemetry(), query, params, mapper), $connection -> Mono.fromRunnable($connection::close));
+                return Mono.fromCompletionStage(() -> connectionFactory.inTx(c -> batchMono(c, connectionFactory.telemetry(), query, params, chunkSize).toFuture()));
+            });
+        }
+
+        public static Mono<UpdateCount> batchMono(SqlClient connection, DataBaseTelemetry dataBaseTelemetry, QueryContext query, List<Tuple> params, int chunkSize) {
+            if (chunkSize <= 0 || params.size() <= chunkSize) {
+                return batchMono(connection, dataBaseTelemetry, query, params);
+            }
+            return Mono.fromCompletionStage(() -> inTransaction(connection, client -> Flux.fromIterable(params)
+                .buffer(chunkSize)
+                .concatMap(chunk -> batchMono(client, dataBaseTelemetry, query, chunk))
+                .reduce(0L, (counter, updateCount) -> counter + updateCount.value())
+                .map(UpdateCount::new)
+                .toFuture()));
+        }
+
+        public static <T> Flux<T> flux(VertxConnectionFactory connectionFactory, QueryContext query, Tuple params, VertxRowMapper<T> mapper) {
+            return flux(connectionFactory, query, params, VertxRowStreamPublisher.DEFAULT_FETCH_SIZE, mapper);
+        }
+
+        /**
+         * Rows are fetched with cursor by {@code fetchSize} rows on subscriber demand, see {@link VertxRowStreamPublisher}.
+         * Unlike {@link VertxRowStreamPublisher} created by public constructors, transaction is not opened when connection is not in transaction.
+         */
+        public static <T> Flux<T> flux(VertxConnectionFactory connectionFactory, QueryContext query, Tuple params, int fetchSize, VertxRowMapper<T> mapper) {
+            return Flux.deferContextual(contextView -> {
+                var ctxCurrent = Context.Reactor.current(contextView);
+                var publisher = new VertxRowStreamPublisher<>(connectionFactory.telemetry(), connectionFactory, null, ctxCurrent, query, params, fetchSize, mapper, false);
+                return JdkFlowAdapter.flowPublisherToFlux(publisher);
             });
         }
 
         public static <T> Flux<T> flux(SqlConnection connection, DataBaseTelemetry dataBaseTelemetry, QueryContext query, Tuple params, VertxRowMapper<T> mapper) {
-            return Flux.create(sink -> {
-                var ctxCurrent = Context.Reactor.current(sink.contextView());
-                var ctxFork = ctxCurrent.fork();
-                var telemetry = dataBaseTelemetry.createContext(ctxFork, query);
-                connection.prepare(query.sql(), statementEvent -> {
-                    ctxFork.inject();
-                    if (statementEvent.failed()) {
-                        telemetry.close(statementEvent.cause());
-                        sink.error(statementEvent.cause());
-                        return;
-                    }
-                    var stmt = statementEvent.result();
-                    var stream = stmt.createStream(50, params).pause();
-                    sink.onDispose(stream::close);
-                    sink.onRequest(stream::fetch);
-                    stream.exceptionHandler(e -> {
-                        stmt.close();
-                        telemetry.close(e);
-                        sink.error(e);
-                        ctxCurrent.inject();
-                    });
-                    stream.endHandler(v -> {
-                        stmt.close();
-                        telemetry.close(null);
-                        sink.complete();
-                        ctxCurrent.inject();
-                    });
-                    stream.handler(row -> {
-                        var mappedRow = mapper.apply(row);
-                        sink.next(mappedRow);
-                    });
-                });
+            return flux(connection, dataBaseTelemetry, query, params, VertxRowStreamPublisher.DEFAULT_FETCH_SIZE, mapper);
+        }
+
+        /**
+         * Rows are fetched with cursor by {@code fetchSize} rows on subscriber demand, see {@link VertxRowStreamPublisher}.
+         * Unlike {@link VertxRowStreamPublisher} created by public constructors, transaction is not opened when connection is not in transaction.
+         */
+        public static <T> Flux<T> flux(SqlConnection connection, DataBaseTelemetry dataBaseTelemetry, QueryContext query, Tuple params, int fetchSize, VertxRowMapper<T> mapper) {
+            return Flux.deferContextual(contextView -> {
+                var ctxCurrent = Context.Reactor.current(contextView);
+                var publisher = new VertxRowStreamPublisher<>(dataBaseTelemetry, null, connection, ctxCurrent, query, params, fetchSize, mapper, false);
+                return JdkFlowAdapter.flowPublisherToFlux(publisher);
             });
         }
     }
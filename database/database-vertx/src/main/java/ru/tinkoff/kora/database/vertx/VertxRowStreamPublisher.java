@@ -0,0 +1,283 @@
+package ru.tinkoff.kora.database.vertx;
+
+import io.vertx.core.Future;
+import io.vertx.sqlclient.PreparedStatement;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowStream;
+import io.vertx.sqlclient.SqlConnection;
+import io.vertx.sqlclient.Transaction;
+import io.vertx.sqlclient.Tuple;
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.database.common.QueryContext;
+import ru.tinkoff.kora.database.common.telemetry.DataBaseTelemetry;
+import ru.tinkoff.kora.database.vertx.mapper.result.VertxRowMapper;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <b>Русский</b>: Публикует строки запроса через {@link RowStream}, строки читаются из базы курсором по {@code fetchSize} штук только по запросу подписчика.
+ * Курсор требует транзакции, поэтому если соединение не в транзакции, то на время чтения открывается транзакция, которая фиксируется после чтения всех строк и откатывается при ошибке или отмене.
+ * Так делают только методы, возвращающие {@link Flow.Publisher}, Flux методы {@link VertxRepositoryHelper.Reactor} транзакцию не открывают.
+ * <hr>
+ * <b>English</b>: Publishes query rows using {@link RowStream}, rows are fetched from database with cursor by {@code fetchSize} rows only when subscriber requests them.
+ * Cursor requires transaction, so when connection is not in transaction, transaction is opened for the time of reading, it is committed after all rows are read and rolled back on error or cancel.
+ * Only methods returning {@link Flow.Publisher} do that, Flux methods of {@link VertxRepositoryHelper.Reactor} don't open transaction.
+ */
+public final class VertxRowStreamPublisher<T> implements Flow.Publisher<T> {
+    public static final int DEFAULT_FETCH_SIZE = 50;
+
+    private final DataBaseTelemetry telemetry;
+    @Nullable
+    private final VertxConnectionFactory connectionFactory;
+    @Nullable
+    private final SqlConnection connection;
+    @Nullable
+    private final Context context;
+    private final QueryContext query;
+    private final Tuple params;
+    private final int fetchSize;
+    private final VertxRowMapper<T> mapper;
+    private final boolean beginTransaction;
+
+    /**
+     * @param fetchSize rows fetched at once, 0 means {@link #DEFAULT_FETCH_SIZE}
+     */
+    public VertxRowStreamPublisher(VertxConnectionFactory connectionFactory, QueryContext query, Tuple params, int fetchSize, VertxRowMapper<T> mapper) {
+        this(connectionFactory.telemetry(), connectionFactory, null, null, query, params, fetchSize, mapper, true);
+    }
+
+    /**
+     * @param fetchSize rows fetched at once, 0 means {@link #DEFAULT_FETCH_SIZE}
+     */
+    public VertxRowStreamPublisher(SqlConnection connection, DataBaseTelemetry telemetry, QueryContext query, Tuple params, int fetchSize, VertxRowMapper<T> mapper) {
+        this(telemetry, null, connection, null, query, params, fetchSize, mapper, true);
+    }
+
+    /**
+     * @param beginTransaction open transaction for the time of reading when connection is not in transaction
+     */
+    VertxRowStreamPublisher(DataBaseTelemetry telemetry, @Nullable VertxConnectionFactory connectionFactory, @Nullable SqlConnection connection, @Nullable Context context,
+                            QueryContext query, Tuple params, int fetchSize, VertxRowMapper<T> mapper, boolean beginTransaction) {
+        this.telemetry = telemetry;
+        this.connectionFactory = connectionFactory;
+        this.connection = connection;
+        this.context = context;
+        this.query = query;
+        this.params = params;
+        this.fetchSize = fetchSize > 0 ? fetchSize : DEFAULT_FETCH_SIZE;
+        this.mapper = mapper;
+        this.beginTransaction = beginTransaction;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        var ctxCurrent = this.context != null ? this.context : Context.current();
+        var subscription = new RowStreamSubscription<>(this, subscriber, ctxCurrent);
+        subscriber.onSubscribe(subscription);
+        subscription.start();
+    }
+
+    private static final class RowStreamSubscription<T> implements Flow.Subscription {
+        private final VertxRowStreamPublisher<T> publisher;
+        private final Flow.Subscriber<? super T> subscriber;
+        private final Context ctxCurrent;
+        private final Context ctxFork;
+        private final DataBaseTelemetry.DataBaseTelemetryContext telemetry;
+        private final AtomicBoolean done = new AtomicBoolean(false);
+
+        // guarded by this
+        private long pendingDemand = 0;
+        private boolean cancelled = false;
+        @Nullable
+        private Throwable cancelError;
+        @Nullable
+        private RowStream<Row> stream;
+
+        // accessed only from connection event loop
+        @Nullable
+        private SqlConnection connectionToClose;
+        @Nullable
+        private Transaction transaction;
+        @Nullable
+        private PreparedStatement statement;
+
+        private RowStreamSubscription(VertxRowStreamPublisher<T> publisher, Flow.Subscriber<? super T> subscriber, Context ctxCurrent) {
+            this.publisher = publisher;
+            this.subscriber = subscriber;
+            this.ctxCurrent = ctxCurrent;
+            this.ctxFork = ctxCurrent.fork();
+            this.telemetry = publisher.telemetry.createContext(this.ctxFork, publisher.query);
+            this.telemetry.parameters(VertxRepositoryHelper.parameters(publisher.params));
+        }
+
+        private void start() {
+            var connection = this.publisher.connection;
+            if (connection == null && this.publisher.connectionFactory != null) {
+                connection = this.publisher.connectionFactory.currentConnection();
+            }
+            if (connection != null) {
+                this.begin(connection);
+                return;
+            }
+            this.publisher.connectionFactory.newConnection().whenComplete((newConnection, error) -> {
+                if (error != null) {
+                    this.finish(error);
+                    return;
+                }
+                this.connectionToClose = newConnection;
+                this.begin(newConnection);
+            });
+        }
+
+        private void begin(SqlConnection connection) {
+            if (!this.publisher.beginTransaction || connection.transaction() != null) {
+                this.prepare(connection);
+                return;
+            }
+            connection.begin(txEvent -> {
+                if (txEvent.failed()) {
+                    this.finish(txEvent.cause());
+                    return;
+                }
+                this.transaction = txEvent.result();
+                this.prepare(connection);
+            });
+        }
+
+        private void prepare(SqlConnection connection) {
+            connection.prepare(this.publisher.query.sql(), statementEvent -> {
+                this.ctxFork.inject();
+                if (statementEvent.failed()) {
+                    this.finish(statementEvent.cause());
+                    return;
+                }
+                this.statement = statementEvent.result();
+                var stream = this.statement.createStream(this.publisher.fetchSize, this.publisher.params).pause();
+                stream.exceptionHandler(this::finish);
+                stream.endHandler(v -> this.finish(null));
+                stream.handler(row -> {
+                    if (this.done.get()) {
+                        return;
+                    }
+                    T mappedRow;
+                    try {
+                        mappedRow = this.publisher.mapper.apply(row);
+                    } catch (Exception e) {
+                        stream.close();
+                        this.finish(e);
+                        return;
+                    }
+                    this.subscriber.onNext(mappedRow);
+                });
+                long demand;
+                synchronized (this) {
+                    if (this.cancelled) {
+                        demand = -1;
+                    } else {
+                        this.stream = stream;
+                        demand = this.pendingDemand;
+                        this.pendingDemand = 0;
+                    }
+                }
+                if (demand < 0) {
+                    stream.close().onComplete(v -> this.finish(null));
+                } else if (demand > 0) {
+                    stream.fetch(demand);
+                }
+            });
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                // rule 3.9 of reactive streams specification
+                this.cancel(new IllegalArgumentException("Requested " + n + " items"));
+                return;
+            }
+            RowStream<Row> stream;
+            synchronized (this) {
+                if (this.cancelled) {
+                    return;
+                }
+                stream = this.stream;
+                if (stream == null) {
+                    this.pendingDemand = this.pendingDemand + n < 0 ? Long.MAX_VALUE : this.pendingDemand + n;
+                    return;
+                }
+            }
+            stream.fetch(n);
+        }
+
+        @Override
+        public void cancel() {
+            this.cancel(null);
+        }
+
+        private void cancel(@Nullable Throwable error) {
+            RowStream<Row> stream;
+            synchronized (this) {
+                if (this.cancelled) {
+                    return;
+                }
+                this.cancelled = true;
+                this.cancelError = error;
+                stream = this.stream;
+            }
+            if (stream != null) {
+                stream.close().onComplete(v -> this.finish(null));
+            }
+        }
+
+        private void finish(@Nullable Throwable error) {
+            if (!this.done.compareAndSet(false, true)) {
+                return;
+            }
+            var statement = this.statement;
+            var closeStatement = statement == null ? Future.<Void>succeededFuture() : statement.close();
+            closeStatement.onComplete(closed -> {
+                var transaction = this.transaction;
+                Future<Void> endTransaction;
+                if (transaction == null) {
+                    endTransaction = Future.succeededFuture();
+                } else if (error == null && !this.isCancelled()) {
+                    endTransaction = transaction.commit();
+                } else {
+                    endTransaction = transaction.rollback();
+                }
+                endTransaction.onComplete(ended -> {
+                    var connection = this.connectionToClose;
+                    if (connection != null) {
+                        connection.close();
+                    }
+                    var resultError = error;
+                    if (resultError == null && ended.failed()) {
+                        resultError = ended.cause();
+                    }
+                    Throwable cancelError;
+                    boolean cancelled;
+                    synchronized (this) {
+                        cancelError = this.cancelError;
+                        cancelled = this.cancelled;
+                    }
+                    this.telemetry.close(resultError);
+                    if (cancelError != null) {
+                        this.subscriber.onError(cancelError);
+                    } else if (!cancelled) {
+                        if (resultError == null) {
+                            this.subscriber.onComplete();
+                        } else {
+                            this.subscriber.onError(resultError);
+                        }
+                    }
+                    this.ctxCurrent.inject();
+                });
+            });
+        }
+
+        private synchronized boolean isCancelled() {
+            return this.cancelled;
+        }
+    }
+}
@@ -7,13 +7,18 @@ import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import io.vertx.sqlclient.Tuple;
+import jakarta.annotation.Nullable;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import ru.tinkoff.kora.common.Context;
 import ru.tinkoff.kora.database.common.QueryContext;
+import ru.tinkoff.kora.database.common.telemetry.$DataBaseSlowQueryConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.database.common.telemetry.DataBaseTelemetry;
 import ru.tinkoff.kora.database.common.telemetry.DefaultDataBaseTelemetryFactory;
+import ru.tinkoff.kora.database.vertx.mapper.result.VertxRowMapper;
 import ru.tinkoff.kora.netty.common.NettyChannelFactory;
 import ru.tinkoff.kora.telemetry.common.$TelemetryConfig_ConfigValueExtractor;
 import ru.tinkoff.kora.telemetry.common.$TelemetryConfig_LogConfig_ConfigValueExtractor;
@@ -27,6 +32,12 @@ import java.sql.SQLException;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -71,6 +82,7 @@ class VertxConnectionFactoryTest {
             true,
             false,
             Duration.ofMillis(1000),
+            $DataBaseSlowQueryConfig_ConfigValueExtractor.DEFAULTS,
             new $TelemetryConfig_ConfigValueExtractor.TelemetryConfig_Impl(
                 new $TelemetryConfig_LogConfig_ConfigValueExtractor.LogConfig_Impl(true),
                 new $TelemetryConfig_TracingConfig_ConfigValueExtractor.TracingConfig_Impl(true),
@@ -152,4 +164,175 @@ class VertxConnectionFactoryTest {
             assertThat(values).hasSize(1);
         });
     }
+
+    @Test
+    void testRowStreamPublisherFetchesRowsOnDemand(PostgresParams params) {
+        params.execute("CREATE SEQUENCE test_seq;");
+        var sql = "SELECT nextval('test_seq') FROM generate_series(1, 100)";
+
+        withDb(params, db -> {
+            var telemetry = new TestTelemetry();
+            var subscriber = new TestSubscriber<Long>();
+            publisher(db, telemetry, sql, 5, row -> row.getLong(0)).subscribe(subscriber);
+
+            subscriber.request(1);
+            subscriber.awaitItems(1);
+            // rows are evaluated by cursor only when they are fetched
+            assertThat(lastValue(params)).isLessThanOrEqualTo(10);
+            assertThat(subscriber.items).hasSize(1);
+
+            subscriber.request(Long.MAX_VALUE);
+            Assertions.assertThat(subscriber.done).succeedsWithin(Duration.ofMinutes(1));
+            assertThat(subscriber.items).hasSize(100);
+            assertThat(lastValue(params)).isEqualTo(100);
+            Assertions.assertThat(telemetry.closed).succeedsWithin(Duration.ofMinutes(1)).isNull();
+        });
+    }
+
+    @Test
+    void testRowStreamPublisherCommitsTransactionWhenRowsAreRead(PostgresParams params) {
+        params.execute("CREATE TABLE test_table(id BIGSERIAL, value VARCHAR);");
+
+        withDb(params, db -> {
+            var telemetry = new TestTelemetry();
+            var subscriber = new TestSubscriber<String>();
+            publisher(db, telemetry, "INSERT INTO test_table(value) VALUES ('a'), ('b'), ('c') RETURNING value", 1, row -> row.getString(0)).subscribe(subscriber);
+
+            subscriber.request(Long.MAX_VALUE);
+            Assertions.assertThat(subscriber.done).succeedsWithin(Duration.ofMinutes(1));
+            Assertions.assertThat(telemetry.closed).succeedsWithin(Duration.ofMinutes(1)).isNull();
+
+            assertThat(subscriber.items).containsExactly("a", "b", "c");
+            assertThat(values(params)).containsExactlyInAnyOrder("a", "b", "c");
+        });
+    }
+
+    @Test
+    void testRowStreamPublisherRollsBackTransactionOnCancel(PostgresParams params) {
+        params.execute("CREATE TABLE test_table(id BIGSERIAL, value VARCHAR);");
+
+        withDb(params, db -> {
+            var telemetry = new TestTelemetry();
+            var subscriber = new TestSubscriber<String>();
+            publisher(db, telemetry, "INSERT INTO test_table(value) VALUES ('a'), ('b'), ('c') RETURNING value", 1, row -> row.getString(0)).subscribe(subscriber);
+
+            subscriber.request(1);
+            subscriber.awaitItems(1);
+            subscriber.subscription.join().cancel();
+            Assertions.assertThat(telemetry.closed).succeedsWithin(Duration.ofMinutes(1)).isNull();
+
+            assertThat(subscriber.items).containsExactly("a");
+            assertThat(subscriber.done).isNotDone();
+            assertThat(values(params)).isEmpty();
+        });
+    }
+
+    @Test
+    void testRowStreamPublisherRollsBackTransactionOnError(PostgresParams params) {
+        params.execute("CREATE TABLE test_table(id BIGSERIAL, value VARCHAR);");
+        var error = new IllegalStateException("test");
+
+        withDb(params, db -> {
+            var telemetry = new TestTelemetry();
+            var subscriber = new TestSubscriber<String>();
+            publisher(db, telemetry, "INSERT INTO test_table(value) VALUES ('a'), ('b'), ('c') RETURNING value", 1, row -> {
+                if (row.getString(0).equals("b")) {
+                    throw error;
+                }
+                return row.getString(0);
+            }).subscribe(subscriber);
+
+            subscriber.request(Long.MAX_VALUE);
+            Assertions.assertThat(subscriber.done).failsWithin(Duration.ofMinutes(1)).withThrowableOfType(ExecutionException.class).withCause(error);
+            Assertions.assertThat(telemetry.closed).succeedsWithin(Duration.ofMinutes(1)).isSameAs(error);
+
+            assertThat(subscriber.items).containsExactly("a");
+            assertThat(values(params)).isEmpty();
+        });
+    }
+
+    private static <T> VertxRowStreamPublisher<T> publisher(VertxDatabase db, DataBaseTelemetry telemetry, String sql, int fetchSize, VertxRowMapper<T> mapper) {
+        return new VertxRowStreamPublisher<>(telemetry, db, null, null, new QueryContext(sql, sql), Tuple.tuple(), fetchSize, mapper, true);
+    }
+
+    private static long lastValue(PostgresParams params) {
+        return params.query("SELECT last_value FROM test_seq", rs -> {
+            try {
+                rs.next();
+                return rs.getLong(1);
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    private static List<String> values(PostgresParams params) {
+        return params.query("SELECT value FROM test_table", rs -> {
+            var result = new ArrayList<String>();
+            try {
+                while (rs.next()) {
+                    result.add(rs.getString(1));
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+            return result;
+        });
+    }
+
+    private static final class TestTelemetry implements DataBaseTelemetry {
+        // completed with error of query or null
+        private final CompletableFuture<Throwable> closed = new CompletableFuture<>();
+
+        @Nullable
+        @Override
+        public Object getMetricRegistry() {
+            return null;
+        }
+
+        @Override
+        public DataBaseTelemetryContext createContext(Context context, QueryContext query) {
+            return this.closed::complete;
+        }
+    }
+
+    private static final class TestSubscriber<T> implements Flow.Subscriber<T> {
+        private final CompletableFuture<Flow.Subscription> subscription = new CompletableFuture<>();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private final List<T> items = new CopyOnWriteArrayList<>();
+        private final Semaphore received = new Semaphore(0);
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription.complete(subscription);
+        }
+
+        @Override
+        public void onNext(T item) {
+            this.items.add(item);
+            this.received.release();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            this.done.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            this.done.complete(null);
+        }
+
+        private void request(long n) {
+            this.subscription.join().request(n);
+        }
+
+        private void awaitItems(int count) {
+            try {
+                assertThat(this.received.tryAcquire(count, 1, TimeUnit.MINUTES)).isTrue();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
 }
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import ru.tinkoff.kora.application.graph.All;
 import ru.tinkoff.kora.camunda.engine.bpmn.transaction.CamundaTransactionManager;
 import ru.tinkoff.kora.camunda.engine.bpmn.transaction.JdbcCamundaTransactionManager;
+import ru.tinkoff.kora.database.common.telemetry.$DataBaseSlowQueryConfig_ConfigValueExtractor;
 import ru.tinkoff.kora.database.common.telemetry.DefaultDataBaseTelemetryFactory;
 import ru.tinkoff.kora.database.jdbc.$JdbcDatabaseConfig_ConfigValueExtractor;
 import ru.tinkoff.kora.database.jdbc.JdbcDatabase;
@@ -171,6 +172,9 @@ public class KoraProcessEngineTests implements CamundaEngineBpmnModule {
             Duration.ofMillis(5000L),
             false,
             new Properties(),
+            false,
+            100,
+            $DataBaseSlowQueryConfig_ConfigValueExtractor.DEFAULTS,
             new $TelemetryConfig_ConfigValueExtractor.TelemetryConfig_Impl(
                 new $TelemetryConfig_LogConfig_ConfigValueExtractor.LogConfig_Impl(true),
                 new $TelemetryConfig_TracingConfig_ConfigValueExtractor.TracingConfig_Impl(true),
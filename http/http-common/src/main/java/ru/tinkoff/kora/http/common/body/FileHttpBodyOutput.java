@@ -0,0 +1,223 @@
+package ru.tinkoff.kora.http.common.body;
+
+import jakarta.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <b>Русский</b>: Тело HTTP ответа из региона файла, сервер может отправить его без копирования в память приложения (sendfile)
+ * <hr>
+ * <b>English</b>: HTTP response body backed by file region, server may send it without copying into application memory (sendfile)
+ * <br>
+ * <br>
+ * Пример / Example:
+ * <pre>
+ * {@code
+ * HttpBodyOutput.file("application/pdf", Path.of("/data/report.pdf"))
+ * }
+ * </pre>
+ */
+public final class FileHttpBodyOutput implements HttpBodyOutput {
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final String contentType;
+    private final Path path;
+    private final long fileSize;
+    private final FileTime lastModified;
+    private final long position;
+    private final long count;
+
+    private FileHttpBodyOutput(@Nullable String contentType, Path path, long fileSize, FileTime lastModified, long position, long count) {
+        this.contentType = contentType;
+        this.path = path;
+        this.fileSize = fileSize;
+        this.lastModified = lastModified;
+        this.position = position;
+        this.count = count;
+    }
+
+    public static FileHttpBodyOutput of(@Nullable String contentType, Path path) throws IOException {
+        var attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        if (!attributes.isRegularFile()) {
+            throw new IOException("Not a regular file: " + path);
+        }
+        return new FileHttpBodyOutput(contentType, path, attributes.size(), attributes.lastModifiedTime(), 0, attributes.size());
+    }
+
+    /**
+     * @return body with the region of the same file, position is relative to the file start
+     */
+    public FileHttpBodyOutput region(long position, long count) {
+        if (position < 0 || count < 0 || position + count > this.fileSize) {
+            throw new IndexOutOfBoundsException("Region [%d, %d) is out of file size %d".formatted(position, position + count, this.fileSize));
+        }
+        return new FileHttpBodyOutput(this.contentType, this.path, this.fileSize, this.lastModified, position, count);
+    }
+
+    public Path path() {
+        return this.path;
+    }
+
+    public long position() {
+        return this.position;
+    }
+
+    public long fileSize() {
+        return this.fileSize;
+    }
+
+    public FileTime lastModified() {
+        return this.lastModified;
+    }
+
+    /**
+     * @return entity tag built from file size and modification time
+     */
+    public String etag() {
+        return "\"" + Long.toHexString(this.fileSize) + "-" + Long.toHexString(this.lastModified.toMillis()) + "\"";
+    }
+
+    public FileChannel openChannel() throws IOException {
+        return FileChannel.open(this.path, StandardOpenOption.READ);
+    }
+
+    @Override
+    public long contentLength() {
+        return this.count;
+    }
+
+    @Nullable
+    @Override
+    public String contentType() {
+        return this.contentType;
+    }
+
+    @Override
+    public void write(OutputStream os) throws IOException {
+        try (var channel = this.openChannel()) {
+            var target = Channels.newChannel(os);
+            var position = this.position;
+            var remaining = this.count;
+            while (remaining > 0) {
+                var transferred = channel.transferTo(position, remaining, target);
+                if (transferred <= 0) {
+                    throw new IOException("File %s was truncated while being sent".formatted(this.path));
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+        os.flush();
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        final FileChannel channel;
+        try {
+            channel = this.openChannel();
+        } catch (IOException e) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {}
+
+                @Override
+                public void cancel() {}
+            });
+            subscriber.onError(e);
+            return;
+        }
+        subscriber.onSubscribe(new FileSubscription(subscriber, channel, this.position, this.count));
+    }
+
+    @Override
+    public void close() {
+
+    }
+
+    private static final class FileSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+        private final FileChannel channel;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private long position;
+        private long remaining;
+        private volatile boolean done;
+
+        private FileSubscription(Flow.Subscriber<? super ByteBuffer> subscriber, FileChannel channel, long position, long count) {
+            this.subscriber = subscriber;
+            this.channel = channel;
+            this.position = position;
+            this.remaining = count;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                this.cancel();
+                this.subscriber.onError(new IllegalArgumentException("Requested " + n + " items"));
+                return;
+            }
+            this.demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            if (this.wip.getAndIncrement() != 0) {
+                return;
+            }
+            // drain loop, reentrant requests from onNext only increment wip
+            do {
+                while (!this.done && this.demand.get() > 0) {
+                    if (this.remaining == 0) {
+                        this.finish();
+                        this.subscriber.onComplete();
+                        return;
+                    }
+                    var buffer = ByteBuffer.allocate((int) Math.min(CHUNK_SIZE, this.remaining));
+                    try {
+                        while (buffer.hasRemaining()) {
+                            var read = this.channel.read(buffer, this.position + buffer.position());
+                            if (read < 0) {
+                                throw new IOException("Unexpected end of file");
+                            }
+                        }
+                    } catch (IOException e) {
+                        this.finish();
+                        this.subscriber.onError(e);
+                        return;
+                    }
+                    this.position += buffer.position();
+                    this.remaining -= buffer.position();
+                    this.demand.decrementAndGet();
+                    this.subscriber.onNext(buffer.flip());
+                }
+                if (!this.done && this.remaining == 0) {
+                    this.finish();
+                    this.subscriber.onComplete();
+                    return;
+                }
+            } while (this.wip.decrementAndGet() != 0);
+        }
+
+        @Override
+        public void cancel() {
+            this.finish();
+        }
+
+        private void finish() {
+            this.done = true;
+            try {
+                this.channel.close();
+            } catch (IOException ignore) {
+            }
+        }
+    }
+}
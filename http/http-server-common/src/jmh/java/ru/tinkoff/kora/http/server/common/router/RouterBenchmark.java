@@ -0,0 +1,109 @@
+package ru.tinkoff.kora.http.server.common.router;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link RouteTrie} with the per method {@link PathTemplateMatcher} lookup plus all methods fallback previously used by {@link PublicApiHandler}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Measurement(time = 5, iterations = 5)
+@Warmup(time = 5, iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class RouterBenchmark {
+    private static final String[] METHODS = {"GET", "POST", "PUT", "DELETE"};
+
+    @Param({"300"})
+    int routes;
+
+    private final Map<String, PathTemplateMatcher<String>> methodMatchers = new HashMap<>();
+    private final PathTemplateMatcher<String> allMethodsMatcher = new PathTemplateMatcher<>();
+    private final RouteTrie<String> trie = new RouteTrie<>();
+
+    private String[] hitMethods;
+    private String[] hitPaths;
+    private String[] notFoundPaths;
+
+    @Setup
+    public void setup() {
+        var hitMethods = new ArrayList<String>();
+        var hitPaths = new ArrayList<String>();
+        var notFoundPaths = new ArrayList<String>();
+        for (int i = 0; i < this.routes; i++) {
+            var method = METHODS[i % METHODS.length];
+            var template = switch (i % 3) {
+                case 0 -> "/api/v1/service" + i + "/items";
+                case 1 -> "/api/v1/service" + i + "/items/{itemId}";
+                default -> "/api/v1/service" + i + "/items/{itemId}/details/{detailId}";
+            };
+            var path = template.replace("{itemId}", "12345").replace("{detailId}", "abc");
+            this.methodMatchers.computeIfAbsent(method, k -> new PathTemplateMatcher<>()).add(template, template);
+            this.allMethodsMatcher.add(template, method);
+            this.trie.add(method, template, template);
+            hitMethods.add(method);
+            hitPaths.add(path);
+            notFoundPaths.add(path + "/unknown");
+        }
+        this.hitMethods = hitMethods.toArray(String[]::new);
+        this.hitPaths = hitPaths.toArray(String[]::new);
+        this.notFoundPaths = notFoundPaths.toArray(String[]::new);
+    }
+
+    @Benchmark
+    public void matcherHit(Blackhole blackhole) {
+        for (int i = 0; i < this.hitPaths.length; i++) {
+            blackhole.consume(this.matcherMatch(this.hitMethods[i], this.hitPaths[i]));
+        }
+    }
+
+    @Benchmark
+    public void trieHit(Blackhole blackhole) {
+        for (int i = 0; i < this.hitPaths.length; i++) {
+            blackhole.consume(this.trie.match(this.hitMethods[i], this.hitPaths[i]));
+        }
+    }
+
+    @Benchmark
+    public void matcherMethodNotAllowed(Blackhole blackhole) {
+        for (var path : this.hitPaths) {
+            blackhole.consume(this.matcherMatch("PATCH", path));
+        }
+    }
+
+    @Benchmark
+    public void trieMethodNotAllowed(Blackhole blackhole) {
+        for (var path : this.hitPaths) {
+            blackhole.consume(this.trie.match("PATCH", path));
+        }
+    }
+
+    @Benchmark
+    public void matcherNotFound(Blackhole blackhole) {
+        for (var path : this.notFoundPaths) {
+            blackhole.consume(this.matcherMatch("GET", path));
+        }
+    }
+
+    @Benchmark
+    public void trieNotFound(Blackhole blackhole) {
+        for (var path : this.notFoundPaths) {
+            blackhole.consume(this.trie.match("GET", path));
+        }
+    }
+
+    private Object matcherMatch(String method, String path) {
+        var matcher = this.methodMatchers.get(method);
+        var match = matcher == null ? null : matcher.match(path);
+        if (match != null) {
+            return match;
+        }
+        return this.allMethodsMatcher.match(path);
+    }
+}
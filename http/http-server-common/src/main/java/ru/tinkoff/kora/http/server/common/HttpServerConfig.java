@@ -4,6 +4,8 @@ import ru.tinkoff.kora.config.common.annotation.ConfigValueExtractor;
 import ru.tinkoff.kora.http.server.common.telemetry.HttpServerTelemetryConfig;
 
 import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
 
 @ConfigValueExtractor
 public interface HttpServerConfig {
@@ -61,4 +63,185 @@ public interface HttpServerConfig {
     }
 
     HttpServerTelemetryConfig telemetry();
+
+    Http2Config http2();
+
+    CompressionConfig compression();
+
+    BlockingExecutorConfig blockingExecutor();
+
+    ConcurrencyLimitConfig concurrencyLimit();
+
+    MetricsScrapeConfig privateApiHttpMetricsScrape();
+
+    @ConfigValueExtractor
+    interface Http2Config {
+
+        /**
+         * Enables HTTP/2 on public api listener: h2c with prior knowledge and HTTP/1.1 upgrade for plaintext connections, ALPN h2 for TLS connections
+         */
+        default boolean enabled() {
+            return false;
+        }
+
+        default int maxConcurrentStreams() {
+            return 100;
+        }
+
+        default int initialWindowSize() {
+            return 65535;
+        }
+
+        default int maxFrameSize() {
+            return 16384;
+        }
+
+        default int maxHeaderListSize() {
+            return 8192;
+        }
+    }
+
+    @ConfigValueExtractor
+    interface CompressionConfig {
+
+        /**
+         * Enables gzip/deflate compression of public api responses negotiated by Accept-Encoding and decompression of request bodies sent with Content-Encoding
+         */
+        default boolean enabled() {
+            return false;
+        }
+
+        default int minSize() {
+            return 1024;
+        }
+
+        default Set<String> contentTypes() {
+            return Set.of("application/json", "application/xml", "application/javascript", "text/plain", "text/html", "text/css", "text/xml", "text/csv");
+        }
+
+        /**
+         * Deflate compression level from 0 to 9, or -1 for zlib default
+         */
+        default int level() {
+            return 6;
+        }
+    }
+
+    @ConfigValueExtractor
+    interface BlockingExecutorConfig {
+
+        enum Type {
+            /**
+             * Blocking requests are executed on server worker pool limited by {@link HttpServerConfig#blockingThreads()}
+             */
+            WORKER,
+            /**
+             * Every blocking request is executed on its own virtual thread, concurrency is limited by {@link #maxConcurrency()}
+             */
+            VIRTUAL
+        }
+
+        default Type type() {
+            return Type.WORKER;
+        }
+
+        default int maxConcurrency() {
+            return 1000;
+        }
+
+        /**
+         * How long request waits for execution permit when {@link #maxConcurrency()} is reached before being rejected with 503
+         */
+        default Duration queueTimeout() {
+            return Duration.ZERO;
+        }
+    }
+
+    @ConfigValueExtractor
+    interface ConcurrencyLimitConfig {
+
+        enum Priority {
+            /**
+             * Route may use whole concurrency limit
+             */
+            CRITICAL(1.0),
+            NORMAL(0.9),
+            /**
+             * Route is shed first, when half of concurrency limit is used
+             */
+            SHEDDABLE(0.5);
+
+            private final double limitShare;
+
+            Priority(double limitShare) {
+                this.limitShare = limitShare;
+            }
+
+            public double limitShare() {
+                return this.limitShare;
+            }
+        }
+
+        /**
+         * Enables adaptive limit of concurrently processed public api requests, limit is adjusted by gradient of observed request latency
+         */
+        default boolean enabled() {
+            return false;
+        }
+
+        default int initialLimit() {
+            return 100;
+        }
+
+        default int minLimit() {
+            return 10;
+        }
+
+        default int maxLimit() {
+            return 1000;
+        }
+
+        /**
+         * Latency increase relative to long term average latency that is not considered as overload
+         */
+        default double rttTolerance() {
+            return 1.5;
+        }
+
+        default double smoothing() {
+            return 0.2;
+        }
+
+        /**
+         * Response code for rejected requests, 503 or 429
+         */
+        default int rejectionStatusCode() {
+            return 503;
+        }
+
+        /**
+         * Priorities by route template, routes without priority are {@link Priority#NORMAL}
+         */
+        default Map<String, Priority> routePriorities() {
+            return Map.of();
+        }
+    }
+
+    @ConfigValueExtractor
+    interface MetricsScrapeConfig {
+
+        /**
+         * Scrape result is reused for requests received within this time after previous scrape, zero disables caching
+         */
+        default Duration cacheTtl() {
+            return Duration.ZERO;
+        }
+
+        /**
+         * Scrape result is gzip encoded when scraper sends Accept-Encoding: gzip
+         */
+        default boolean gzipEnabled() {
+            return true;
+        }
+    }
 }
@@ -32,8 +32,9 @@ public interface HttpServerModule extends StringParameterReadersModule, HttpServ
     default PublicApiHandler publicApiHandler(All<HttpServerRequestHandler> handlers,
                                               @Tag(HttpServerModule.class) All<HttpServerInterceptor> interceptors,
                                               HttpServerTelemetryFactory telemetry,
-                                              HttpServerConfig config) {
-        return new PublicApiHandler(handlers, interceptors, telemetry, config);
+                                              HttpServerConfig config,
+                                              @Nullable HttpServerMetricsFactory metricsFactory) {
+        return new PublicApiHandler(handlers, interceptors, telemetry, config, metricsFactory);
     }
 
     @DefaultComponent
@@ -1,5 +1,6 @@
 package ru.tinkoff.kora.http.server.common;
 
+import jakarta.annotation.Nullable;
 import ru.tinkoff.kora.application.graph.All;
 import ru.tinkoff.kora.application.graph.PromiseOf;
 import ru.tinkoff.kora.application.graph.ValueOf;
@@ -12,23 +13,32 @@ import ru.tinkoff.kora.http.common.body.HttpBody;
 import ru.tinkoff.kora.http.common.header.HttpHeaders;
 import ru.tinkoff.kora.http.server.common.telemetry.PrivateApiMetrics;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.*;
 import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
 
 public class PrivateApiHandler {
 
     private static final String PROBE_FAILURE_MDC_KEY = "probeFailureMessage";
     private static final HttpServerResponse NOT_FOUND = HttpServerResponse.of(404, HttpBody.plaintext("Private API path not found"));
+    // Prometheus text exposition format
+    private static final String METRICS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final int MIN_SCRAPE_SIZE_HINT = 8 * 1024;
 
     private final Executor executor;
     private final ValueOf<HttpServerConfig> config;
     private final ValueOf<Optional<PrivateApiMetrics>> meterRegistry;
     private final All<PromiseOf<ReadinessProbe>> readinessProbes;
     private final All<PromiseOf<LivenessProbe>> livenessProbes;
+    private final Object scrapeLock = new Object();
+    @Nullable
+    private volatile MetricsScrape lastScrape;
+    private volatile int scrapeSizeHint = MIN_SCRAPE_SIZE_HINT;
 
     public PrivateApiHandler(ValueOf<HttpServerConfig> config,
                              ValueOf<Optional<PrivateApiMetrics>> meterRegistry,
@@ -42,6 +52,13 @@ public class PrivateApiHandler {
     }
 
     public CompletionStage<? extends HttpServerResponse> handle(String path) {
+        return this.handle(path, null);
+    }
+
+    /**
+     * @param acceptEncoding value of Accept-Encoding request header, used to gzip metrics response
+     */
+    public CompletionStage<? extends HttpServerResponse> handle(String path, @Nullable String acceptEncoding) {
         var metricsPath = config.get().privateApiHttpMetricsPath();
         var livenessPath = config.get().privateApiHttpLivenessPath();
         var readinessPath = config.get().privateApiHttpReadinessPath();
@@ -54,7 +71,7 @@ public class PrivateApiHandler {
             ? metricsPath.substring(0, metricsPath.length() - 1)
             : metricsPath;
         if (pathWithoutSlash.equals(metricPathWithoutSlash) || pathWithoutSlash.startsWith(metricPathWithoutSlash + "?")) {
-            return this.metrics();
+            return this.metrics(acceptEncoding);
         }
 
         var readinessPathWithoutSlash = (readinessPath.endsWith("/"))
@@ -74,12 +91,142 @@ public class PrivateApiHandler {
         return CompletableFuture.completedFuture(NOT_FOUND);
     }
 
-    private CompletionStage<HttpServerResponse> metrics() {
-        var response = this.meterRegistry.get()
-            .map(PrivateApiMetrics::scrape)
-            .orElse("");
-        var body = ByteBuffer.wrap(response.getBytes(StandardCharsets.UTF_8));
-        return CompletableFuture.completedFuture(HttpServerResponse.of(200, HttpBody.plaintext(body)));
+    private CompletionStage<HttpServerResponse> metrics(@Nullable String acceptEncoding) {
+        var metrics = this.meterRegistry.get();
+        if (metrics.isEmpty()) {
+            return CompletableFuture.completedFuture(HttpServerResponse.of(200, HttpBody.plaintext("")));
+        }
+        var scrapeConfig = this.config.get().privateApiHttpMetricsScrape();
+        final MetricsScrape scrape;
+        try {
+            scrape = this.scrape(metrics.get(), scrapeConfig.cacheTtl().toNanos());
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (!scrapeConfig.gzipEnabled()) {
+            return CompletableFuture.completedFuture(HttpServerResponse.of(200, HttpBody.of(METRICS_CONTENT_TYPE, scrape.plain())));
+        }
+        // response depends on Accept-Encoding, so caches should not mix plain and gzipped responses
+        if (acceptsGzip(acceptEncoding)) {
+            final ByteBuffer gzipped;
+            try {
+                gzipped = scrape.gzipped();
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            var headers = HttpHeaders.of("content-encoding", "gzip", "vary", "accept-encoding");
+            return CompletableFuture.completedFuture(HttpServerResponse.of(200, headers, HttpBody.of(METRICS_CONTENT_TYPE, gzipped)));
+        }
+        var headers = HttpHeaders.of("vary", "accept-encoding");
+        return CompletableFuture.completedFuture(HttpServerResponse.of(200, headers, HttpBody.of(METRICS_CONTENT_TYPE, scrape.plain())));
+    }
+
+    /**
+     * @return true if gzip has non-zero quality in Accept-Encoding header, either by name or by wildcard
+     */
+    static boolean acceptsGzip(@Nullable String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        var gzipQuality = -1.0;
+        var wildcardQuality = -1.0;
+        for (var coding : acceptEncoding.split(",")) {
+            var paramsStart = coding.indexOf(';');
+            var name = (paramsStart < 0 ? coding : coding.substring(0, paramsStart)).trim();
+            var quality = paramsStart < 0 ? 1.0 : quality(coding.substring(paramsStart + 1));
+            if (name.equalsIgnoreCase("gzip") || name.equalsIgnoreCase("x-gzip")) {
+                gzipQuality = Math.max(gzipQuality, quality);
+            } else if (name.equals("*")) {
+                wildcardQuality = Math.max(wildcardQuality, quality);
+            }
+        }
+        return (gzipQuality >= 0 ? gzipQuality : wildcardQuality) > 0;
+    }
+
+    private static double quality(String params) {
+        for (var param : params.split(";")) {
+            var trimmed = param.trim();
+            if (trimmed.length() > 2 && (trimmed.charAt(0) == 'q' || trimmed.charAt(0) == 'Q') && trimmed.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(trimmed.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0.0;
+                }
+            }
+        }
+        return 1.0;
+    }
+
+    private MetricsScrape scrape(PrivateApiMetrics metrics, long cacheTtlNanos) throws IOException {
+        if (cacheTtlNanos <= 0) {
+            return this.doScrape(metrics);
+        }
+        var lastScrape = this.lastScrape;
+        if (lastScrape != null && System.nanoTime() - lastScrape.timestamp < cacheTtlNanos) {
+            return lastScrape;
+        }
+        // concurrent scrapers wait for single registry walk instead of doing their own
+        synchronized (this.scrapeLock) {
+            lastScrape = this.lastScrape;
+            if (lastScrape != null && System.nanoTime() - lastScrape.timestamp < cacheTtlNanos) {
+                return lastScrape;
+            }
+            lastScrape = this.doScrape(metrics);
+            this.lastScrape = lastScrape;
+            return lastScrape;
+        }
+    }
+
+    private MetricsScrape doScrape(PrivateApiMetrics metrics) throws IOException {
+        // buffer is presized from previous scrape, so the result is written straight into its final array without regrowth
+        var buffer = new ScrapeBuffer(this.scrapeSizeHint);
+        metrics.scrape(buffer);
+        var size = buffer.size();
+        this.scrapeSizeHint = Math.max(MIN_SCRAPE_SIZE_HINT, size + (size >> 4));
+        return new MetricsScrape(System.nanoTime(), buffer);
+    }
+
+    private static final class ScrapeBuffer extends ByteArrayOutputStream {
+        private ScrapeBuffer(int size) {
+            super(size);
+        }
+
+        private ByteBuffer toByteBuffer() {
+            return ByteBuffer.wrap(this.buf, 0, this.count);
+        }
+    }
+
+    private static final class MetricsScrape {
+        private final long timestamp;
+        private final ScrapeBuffer plain;
+        @Nullable
+        private volatile ScrapeBuffer gzipped;
+
+        private MetricsScrape(long timestamp, ScrapeBuffer plain) {
+            this.timestamp = timestamp;
+            this.plain = plain;
+        }
+
+        private ByteBuffer plain() {
+            return this.plain.toByteBuffer();
+        }
+
+        private ByteBuffer gzipped() throws IOException {
+            var gzipped = this.gzipped;
+            if (gzipped == null) {
+                synchronized (this) {
+                    gzipped = this.gzipped;
+                    if (gzipped == null) {
+                        gzipped = new ScrapeBuffer(Math.max(this.plain.size() / 8, 512));
+                        try (var gzip = new GZIPOutputStream(gzipped, 8192)) {
+                            this.plain.writeTo(gzip);
+                        }
+                        this.gzipped = gzipped;
+                    }
+                }
+            }
+            return gzipped.toByteBuffer();
+        }
     }
 
     private CompletionStage<HttpServerResponse> readiness() {
@@ -0,0 +1,22 @@
+package ru.tinkoff.kora.http.server.common;
+
+import jakarta.annotation.Nullable;
+
+import java.util.AbstractMap;
+import java.util.List;
+
+/**
+ * <b>Русский</b>: Представление параметров запроса поверх структуры HTTP сервера, без копирования всех параметров на каждый запрос
+ * <hr>
+ * <b>English</b>: Query parameters view over HTTP server structure that does not copy all parameters for every request
+ */
+public abstract class QueryParameters extends AbstractMap<String, List<String>> {
+
+    /**
+     * @return <b>Русский</b>: Первое непустое значение параметра без аллокаций либо <i>null</i> если такого нет
+     * <hr>
+     * <b>English</b>: First non-empty parameter value without allocation or <i>null</i> if there is none
+     */
+    @Nullable
+    public abstract String getFirst(String name);
+}
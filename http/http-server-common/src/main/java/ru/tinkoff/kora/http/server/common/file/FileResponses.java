@@ -0,0 +1,164 @@
+package ru.tinkoff.kora.http.server.common.file;
+
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.http.common.body.FileHttpBodyOutput;
+import ru.tinkoff.kora.http.common.body.HttpBody;
+import ru.tinkoff.kora.http.common.body.HttpBodyOutput;
+import ru.tinkoff.kora.http.common.header.HttpHeaders;
+import ru.tinkoff.kora.http.server.common.HttpServerRequest;
+import ru.tinkoff.kora.http.server.common.HttpServerResponse;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Builds file responses with conditional (ETag, Last-Modified) and single range request handling.
+ * File bodies are sent by server with zero copy transfer, files that fit into {@link MappedFileCache} are served from mapped memory.
+ */
+public final class FileResponses {
+    private FileResponses() {}
+
+    public static HttpServerResponse of(HttpServerRequest request, FileHttpBodyOutput file) throws IOException {
+        return of(request, file, null);
+    }
+
+    public static HttpServerResponse of(HttpServerRequest request, FileHttpBodyOutput file, @Nullable MappedFileCache cache) throws IOException {
+        var etag = file.etag();
+        var lastModified = file.lastModified().toInstant().getEpochSecond();
+        var headers = HttpHeaders.of(
+            "etag", etag,
+            "last-modified", DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochSecond(lastModified).atOffset(ZoneOffset.UTC)),
+            "accept-ranges", "bytes"
+        );
+        var requestHeaders = request.headers();
+        var method = request.method();
+        var isGet = method.equals("GET") || method.equals("HEAD");
+        if (isGet && notModified(requestHeaders, etag, lastModified)) {
+            return HttpServerResponse.of(304, headers);
+        }
+
+        var range = requestHeaders.getFirst("range");
+        if (range != null && method.equals("GET") && ifRangeMatches(requestHeaders.getFirst("if-range"), etag, lastModified)) {
+            var size = file.fileSize();
+            var bounds = parseRange(range, size);
+            if (bounds == UNSATISFIABLE) {
+                headers.set("content-range", "bytes */" + size);
+                return HttpServerResponse.of(416, headers);
+            }
+            if (bounds != null) {
+                var start = bounds[0];
+                var end = bounds[1];
+                headers.set("content-range", "bytes " + start + "-" + end + "/" + size);
+                return HttpServerResponse.of(206, headers, body(file.region(start, end - start + 1), cache));
+            }
+        }
+        return HttpServerResponse.of(200, headers, body(file, cache));
+    }
+
+    private static HttpBodyOutput body(FileHttpBodyOutput file, @Nullable MappedFileCache cache) throws IOException {
+        if (cache == null) {
+            return file;
+        }
+        var mapped = cache.get(file);
+        if (mapped == null) {
+            return file;
+        }
+        return HttpBody.of(file.contentType(), mapped.slice((int) file.position(), (int) file.contentLength()));
+    }
+
+    private static boolean notModified(HttpHeaders headers, String etag, long lastModified) {
+        var ifNoneMatch = headers.getFirst("if-none-match");
+        if (ifNoneMatch != null) {
+            // If-Modified-Since is ignored when If-None-Match is present
+            return etagMatches(ifNoneMatch, etag);
+        }
+        var ifModifiedSince = headers.getFirst("if-modified-since");
+        if (ifModifiedSince != null) {
+            var since = parseDate(ifModifiedSince);
+            return since != null && lastModified <= since;
+        }
+        return false;
+    }
+
+    private static boolean ifRangeMatches(@Nullable String ifRange, String etag, long lastModified) {
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // If-Range requires strong comparison, weak validators never match
+            return ifRange.equals(etag);
+        }
+        var date = parseDate(ifRange);
+        return date != null && date == lastModified;
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        var opaque = opaqueTag(etag);
+        for (var candidate : ifNoneMatch.split(",")) {
+            var tag = candidate.trim();
+            if (tag.equals("*") || opaqueTag(tag).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    @Nullable
+    private static Long parseDate(String value) {
+        try {
+            return DateTimeFormatter.RFC_1123_DATE_TIME.parse(value.trim(), Instant::from).getEpochSecond();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static final long[] UNSATISFIABLE = new long[0];
+
+    /**
+     * @return inclusive range bounds, {@link #UNSATISFIABLE} or null if header should be ignored
+     */
+    @Nullable
+    static long[] parseRange(String range, long size) {
+        if (!range.startsWith("bytes=")) {
+            return null;
+        }
+        var spec = range.substring("bytes=".length()).trim();
+        if (spec.indexOf(',') >= 0) {
+            // multipart byteranges are not supported, full content is a valid answer
+            return null;
+        }
+        var dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            var startString = spec.substring(0, dash).trim();
+            var endString = spec.substring(dash + 1).trim();
+            if (startString.isEmpty()) {
+                if (endString.isEmpty()) {
+                    return null;
+                }
+                var suffix = Long.parseLong(endString);
+                if (suffix <= 0 || size == 0) {
+                    return UNSATISFIABLE;
+                }
+                return new long[]{Math.max(size - suffix, 0), size - 1};
+            }
+            var start = Long.parseLong(startString);
+            var end = endString.isEmpty() ? size - 1 : Math.min(Long.parseLong(endString), size - 1);
+            if (start < 0 || start >= size || end < start) {
+                return UNSATISFIABLE;
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package ru.tinkoff.kora.http.server.common.file;
+
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.http.common.body.FileHttpBodyOutput;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+
+/**
+ * Memory mapped contents of small frequently served files, least recently used files are evicted when total size exceeds the limit.
+ * Files are revalidated by size and modification time from {@link FileHttpBodyOutput}, so cached files should only be replaced, never modified in place.
+ */
+public final class MappedFileCache {
+    private final long maxFileSize;
+    private final long maxTotalSize;
+    private final LinkedHashMap<Path, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalSize;
+
+    private record Entry(MappedByteBuffer buffer, long size, FileTime lastModified) {}
+
+    public MappedFileCache(long maxFileSize, long maxTotalSize) {
+        this.maxFileSize = maxFileSize;
+        this.maxTotalSize = maxTotalSize;
+    }
+
+    /**
+     * @return mapped content of the whole file or null if the file is too large to be cached
+     */
+    @Nullable
+    public ByteBuffer get(FileHttpBodyOutput file) throws IOException {
+        var size = file.fileSize();
+        if (size == 0 || size > this.maxFileSize || size > this.maxTotalSize) {
+            return null;
+        }
+        var path = file.path();
+        synchronized (this.entries) {
+            var entry = this.entries.get(path);
+            if (entry != null) {
+                if (entry.size == size && entry.lastModified.equals(file.lastModified())) {
+                    return entry.buffer.slice();
+                }
+                this.remove(path);
+            }
+        }
+        final MappedByteBuffer buffer;
+        try (var channel = file.openChannel()) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        synchronized (this.entries) {
+            var entry = new Entry(buffer, size, file.lastModified());
+            var old = this.entries.put(path, entry);
+            if (old != null) {
+                this.totalSize -= old.size;
+            }
+            this.totalSize += size;
+            var iterator = this.entries.entrySet().iterator();
+            while (this.totalSize > this.maxTotalSize && iterator.hasNext()) {
+                var eldest = iterator.next();
+                if (eldest.getValue() == entry) {
+                    continue;
+                }
+                this.totalSize -= eldest.getValue().size;
+                iterator.remove();
+            }
+        }
+        return buffer.slice();
+    }
+
+    private void remove(Path path) {
+        var removed = this.entries.remove(path);
+        if (removed != null) {
+            this.totalSize -= removed.size;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.annotation.Nullable;
 import ru.tinkoff.kora.http.common.cookie.Cookie;
 import ru.tinkoff.kora.http.server.common.HttpServerRequest;
 import ru.tinkoff.kora.http.server.common.HttpServerResponseException;
+import ru.tinkoff.kora.http.server.common.QueryParameters;
 
 import java.util.*;
 
@@ -203,31 +204,24 @@ public final class RequestHandlerUtils {
     }
 
     public static int parseIntegerHeaderParameter(HttpServerRequest request, String name) throws HttpServerResponseException {
-        var result = request.headers().getAll(name);
-        if (result == null || result.isEmpty()) {
+        var first = request.headers().getFirst(name);
+        if (first == null) {
             throw HttpServerResponseException.of(400, "Header '%s' is required".formatted(name));
         }
-
-        var first = result.iterator().next().strip();
-        if (first.isEmpty()) {
-            throw HttpServerResponseException.of(400, "Header '%s' has invalid blank string value".formatted(name));
-        }
-
-        try {
-            return Integer.parseInt(first);
-        } catch (NumberFormatException e) {
-            throw HttpServerResponseException.of(400, "Header '%s' has invalid value: %s".formatted(name, first));
-        }
+        return parseIntegerHeaderValue(name, first);
     }
 
     @Nullable
     public static Integer parseOptionalIntegerHeaderParameter(HttpServerRequest request, String name) throws HttpServerResponseException {
-        var result = request.headers().getAll(name);
-        if (result == null || result.isEmpty()) {
+        var first = request.headers().getFirst(name);
+        if (first == null) {
             return null;
         }
+        return parseIntegerHeaderValue(name, first);
+    }
 
-        var first = result.iterator().next().strip();
+    private static int parseIntegerHeaderValue(String name, String value) throws HttpServerResponseException {
+        var first = value.strip();
         if (first.isEmpty()) {
             throw HttpServerResponseException.of(400, "Header '%s' has invalid blank string value".formatted(name));
         }
@@ -320,31 +314,24 @@ public final class RequestHandlerUtils {
     }
 
     public static long parseLongHeaderParameter(HttpServerRequest request, String name) throws HttpServerResponseException {
-        var param = request.headers().getAll(name);
-        if (param == null || param.isEmpty()) {
+        var first = request.headers().getFirst(name);
+        if (first == null) {
             throw HttpServerResponseException.of(400, "Header '%s' is required".formatted(name));
         }
-
-        var first = param.iterator().next().strip();
-        if (first.isEmpty()) {
-            throw HttpServerResponseException.of(400, "Header '%s' has invalid blank string value".formatted(name));
-        }
-
-        try {
-            return Long.parseLong(first);
-        } catch (NumberFormatException e) {
-            throw HttpServerResponseException.of(400, "Header '%s' has invalid value: %s".formatted(name, first));
-        }
+        return parseLongHeaderValue(name, first);
     }
 
     @Nullable
     public static Long parseOptionalLongHeaderParameter(HttpServerRequest request, String name) throws HttpServerResponseException {
-        var param = request.headers().getAll(name);
-        if (param == null || param.isEmpty()) {
+        var first = request.headers().getFirst(name);
+        if (first == null) {
             return null;
         }
+        return parseLongHeaderValue(name, first);
+    }
 
-        var first = param.iterator().next().strip();
+    private static long parseLongHeaderValue(String name, String value) throws HttpServerResponseException {
+        var first = value.strip();
         if (first.isEmpty()) {
             throw HttpServerResponseException.of(400, "Header '%s' has invalid blank string value".formatted(name));
         }
@@ -437,31 +424,24 @@ public final class RequestHandlerUtils {
     }
 
     public static double parseDoubleHeaderParameter(HttpServerRequest request, String name) throws HttpServerResponseException {
-        var param = request.headers().getAll(name);
-        if (param == null || param.isEmpty()) {
+        var first = request.headers().getFirst(name);
+        if (first == null) {
             throw HttpServerResponseException.of(400, "Header '%s' is required".formatted(name));
         }
-
-        var first = param.iterator().next().strip();
-        if (first.isEmpty()) {
-            throw HttpServerResponseException.of(400, "Header '%s' has invalid blank string value".formatted(name));
-        }
-
-        try {
-            return Double.parseDouble(first);
-        } catch (NumberFormatException e) {
-            throw HttpServerResponseException.of(400, "Header '%s' has invalid value: %s".formatted(name, first));
-        }
+        return parseDoubleHeaderValue(name, first);
     }
 
     @Nullable
     public static Double parseOptionalDoubleHeaderParameter(HttpServerRequest request, String name) throws HttpServerResponseException {
-        var param = request.headers().getAll(name);
-        if (param == null || param.isEmpty()) {
+        var first = request.headers().getFirst(name);
+        if (first == null) {
             return null;
         }
+        return parseDoubleHeaderValue(name, first);
+    }
 
-        var first = param.iterator().next().strip();
+    private static double parseDoubleHeaderValue(String name, String value) throws HttpServerResponseException {
+        var first = value.strip();
         if (first.isEmpty()) {
             throw HttpServerResponseException.of(400, "Header '%s' has invalid blank string value".formatted(name));
         }
@@ -742,22 +722,24 @@ public final class RequestHandlerUtils {
      */
     @Nonnull
     public static UUID parseUuidQueryParameter(HttpServerRequest request, String name) throws HttpServerResponseException {
-        var result = parseOptionalUuidQueryParameter(request, name);
-        if (result == null) {
+        var first = firstQueryParameter(request, name);
+        if (first == null) {
             throw HttpServerResponseException.of(400, "Query parameter '%s' is required".formatted(name));
         }
-
-        return result;
+        return parseUuidQueryValue(name, first);
     }
 
     @Nullable
     public static UUID parseOptionalUuidQueryParameter(HttpServerRequest request, String name) throws HttpServerResponseException {
-        var param = request.queryParams().get(name);
-        if (param == null || param.isEmpty()) {
+        var first = firstQueryParameter(request, name);
+        if (first == null) {
             return null;
         }
+        return parseUuidQueryValue(name, first);
+    }
 
-        var first = param.iterator().next().strip();
+    private static UUID parseUuidQueryValue(String name, String value) throws HttpServerResponseException {
+        var first = value.strip();
         if (first.isEmpty()) {
             throw HttpServerResponseException.of(400, "Query parameter '%s' has invalid blank string value".formatted(name));
         }
@@ -765,7 +747,7 @@ public final class RequestHandlerUtils {
         try {
             return UUID.fromString(first);
         } catch (IllegalArgumentException e) {
-            throw HttpServerResponseException.of(400, "Query parameter '%s' has invalid value '%s'".formatted(name, param));
+            throw HttpServerResponseException.of(400, "Query parameter '%s' has invalid value '%s'".formatted(name, value));
         }
     }
 
@@ -781,30 +763,44 @@ public final class RequestHandlerUtils {
 
     @Nullable
     public static String parseOptionalStringQueryParameter(HttpServerRequest request, String name) throws HttpServerResponseException {
-        var param = request.queryParams().get(name);
+        return firstQueryParameter(request, name);
+    }
+
+    /**
+     * Reads first non-empty value without copying parameter values when request provides {@link QueryParameters} view
+     */
+    @Nullable
+    private static String firstQueryParameter(HttpServerRequest request, String name) {
+        var queryParams = request.queryParams();
+        if (queryParams instanceof QueryParameters view) {
+            return view.getFirst(name);
+        }
+        var param = queryParams.get(name);
         if (param == null || param.isEmpty()) {
             return null;
         }
-
         return param.iterator().next();
     }
 
     public static int parseIntegerQueryParameter(HttpServerRequest request, String name) throws HttpServerResponseException {
-        var result = parseOptionalIntegerQueryParameter(request, name);
-        if (result == null) {
+        var first = firstQueryParameter(request, name);
+        if (first == null) {
             throw HttpServerResponseException.of(400, "Query parameter '%s' is required".formatted(name));
         }
-        return result;
+        return parseIntegerQueryValue(name, first);
     }
 
     @Nullable
     public static Integer parseOptionalIntegerQueryParameter(HttpServerRequest request, String name) throws HttpServerResponseException {
-        var param = request.queryParams().get(name);
-        if (param == null || param.isEmpty()) {
+        var first = firstQueryParameter(request, name);
+        if (first == null) {
             return null;
         }
+        return parseIntegerQueryValue(name, first);
+    }
 
-        var first = param.iterator().next().strip();
+    private static int parseIntegerQueryValue(String name, String value) throws HttpServerResponseException {
+        var first = value.strip();
         if (first.isEmpty()) {
             throw HttpServerResponseException.of(400, "Query parameter '%s' has invalid blank string value".formatted(name));
         }
@@ -817,21 +813,24 @@ public final class RequestHandlerUtils {
     }
 
     public static long parseLongQueryParameter(HttpServerRequest request, String name) throws HttpServerResponseException {
-        var result = parseOptionalLongQueryParameter(request, name);
-        if (result == null) {
+        var first = firstQueryParameter(request, name);
+        if (first == null) {
             throw HttpServerResponseException.of(400, "Query parameter '%s' is required".formatted(name));
         }
-        return result;
+        return parseLongQueryValue(name, first);
     }
 
     @Nullable
     public static Long parseOptionalLongQueryParameter(HttpServerRequest request, String name) throws HttpServerResponseException {
-        var param = request.queryParams().get(name);
-        if (param == null || param.isEmpty()) {
+        var first = firstQueryParameter(request, name);
+        if (first == null) {
             return null;
         }
+        return parseLongQueryValue(name, first);
+    }
 
-        var first = param.iterator().next().strip();
+    private static long parseLongQueryValue(String name, String value) throws HttpServerResponseException {
+        var first = value.strip();
         if (first.isEmpty()) {
             throw HttpServerResponseException.of(400, "Query parameter '%s' has invalid blank string value".formatted(name));
         }
@@ -844,21 +843,24 @@ public final class RequestHandlerUtils {
     }
 
     public static boolean parseBooleanQueryParameter(HttpServerRequest request, String name) throws HttpServerResponseException {
-        var result = parseOptionalBooleanQueryParameter(request, name);
-        if (result == null) {
+        var first = firstQueryParameter(request, name);
+        if (first == null) {
             throw HttpServerResponseException.of(400, "Query parameter '%s' is required".formatted(name));
         }
-        return result;
+        return parseBooleanQueryValue(name, first);
     }
 
     @Nullable
     public static Boolean parseOptionalBooleanQueryParameter(HttpServerRequest request, String name) throws HttpServerResponseException {
-        var param = request.queryParams().get(name);
-        if (param == null || param.isEmpty()) {
+        var first = firstQueryParameter(request, name);
+        if (first == null) {
             return null;
         }
+        return parseBooleanQueryValue(name, first);
+    }
 
-        var first = param.iterator().next().strip();
+    private static boolean parseBooleanQueryValue(String name, String value) throws HttpServerResponseException {
+        var first = value.strip();
         if (first.isEmpty()) {
             throw HttpServerResponseException.of(400, "Query parameter '%s' has invalid blank string value".formatted(name));
         }
@@ -868,26 +870,29 @@ public final class RequestHandlerUtils {
         } else if ("false".equalsIgnoreCase(first)) {
             return false;
         } else {
-            throw HttpServerResponseException.of(400, "Query parameter '%s' has invalid value: %s".formatted(name, param));
+            throw HttpServerResponseException.of(400, "Query parameter '%s' has invalid value: %s".formatted(name, value));
         }
     }
 
     public static double parseDoubleQueryParameter(HttpServerRequest request, String name) throws HttpServerResponseException {
-        var result = parseOptionalDoubleQueryParameter(request, name);
-        if (result == null) {
+        var first = firstQueryParameter(request, name);
+        if (first == null) {
             throw HttpServerResponseException.of(400, "Query parameter '%s' is required".formatted(name));
         }
-        return result;
+        return parseDoubleQueryValue(name, first);
     }
 
     @Nullable
     public static Double parseOptionalDoubleQueryParameter(HttpServerRequest request, String name) throws HttpServerResponseException {
-        var param = request.queryParams().get(name);
-        if (param == null || param.isEmpty()) {
+        var first = firstQueryParameter(request, name);
+        if (first == null) {
             return null;
         }
+        return parseDoubleQueryValue(name, first);
+    }
 
-        var first = param.iterator().next().strip();
+    private static double parseDoubleQueryValue(String name, String value) throws HttpServerResponseException {
+        var first = value.strip();
         if (first.isEmpty()) {
             throw HttpServerResponseException.of(400, "Query parameter '%s' has invalid blank string value".formatted(name));
         }
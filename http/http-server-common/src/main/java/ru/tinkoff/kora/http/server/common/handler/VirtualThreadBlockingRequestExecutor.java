@@ -0,0 +1,90 @@
+package ru.tinkoff.kora.http.server.common.handler;
+
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.http.server.common.HttpServerResponseException;
+import ru.tinkoff.kora.http.server.common.telemetry.BlockingRequestExecutorMetrics;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+
+/**
+ * Runs every blocking request on its own virtual thread.
+ * Number of concurrently executing requests is limited by semaphore: request that could not get a permit within queue timeout is rejected with 503.
+ * With zero queue timeout permit is acquired on the calling thread, so overload is shed without starting a thread at all.
+ */
+public final class VirtualThreadBlockingRequestExecutor implements BlockingRequestExecutor {
+    private final Executor executor;
+    private final Semaphore semaphore;
+    private final long queueTimeoutNanos;
+    @Nullable
+    private final BlockingRequestExecutorMetrics metrics;
+
+    public VirtualThreadBlockingRequestExecutor(Executor virtualThreadExecutor, int maxConcurrency, Duration queueTimeout, @Nullable BlockingRequestExecutorMetrics metrics) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive, got " + maxConcurrency);
+        }
+        this.executor = virtualThreadExecutor;
+        this.semaphore = new Semaphore(maxConcurrency);
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+        this.metrics = metrics;
+    }
+
+    @Override
+    public <T> CompletionStage<T> execute(Context context, Callable<T> handler) {
+        var submitted = System.nanoTime();
+        var acquired = this.semaphore.tryAcquire();
+        if (!acquired && this.queueTimeoutNanos <= 0) {
+            return CompletableFuture.failedFuture(this.rejected(submitted));
+        }
+        var future = new CompletableFuture<T>();
+        try {
+            this.executor.execute(() -> {
+                if (!acquired) {
+                    try {
+                        if (!this.semaphore.tryAcquire(this.queueTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                            future.completeExceptionally(this.rejected(submitted));
+                            return;
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        future.completeExceptionally(e);
+                        return;
+                    }
+                }
+                var metrics = this.metrics;
+                if (metrics != null) {
+                    metrics.requestStarted(System.nanoTime() - submitted);
+                }
+                try {
+                    BlockingRequestExecutor.defaultExecute(context, Runnable::run, handler).whenComplete((r, e) -> {
+                        if (e != null) {
+                            future.completeExceptionally(e);
+                        } else {
+                            future.complete(r);
+                        }
+                    });
+                } finally {
+                    this.semaphore.release();
+                    if (metrics != null) {
+                        metrics.requestFinished();
+                    }
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            if (acquired) {
+                this.semaphore.release();
+            }
+            throw e;
+        }
+        return future;
+    }
+
+    private HttpServerResponseException rejected(long submitted) {
+        var metrics = this.metrics;
+        if (metrics != null) {
+            metrics.requestRejected(System.nanoTime() - submitted);
+        }
+        return HttpServerResponseException.of(503, "Server is overloaded");
+    }
+}
@@ -0,0 +1,103 @@
+package ru.tinkoff.kora.http.server.common.router;
+
+import ru.tinkoff.kora.http.server.common.HttpServerConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gradient based adaptive concurrency limit: limit grows while request latency stays close to its long term average
+ * and shrinks proportionally when latency increases, which means that requests started to queue somewhere.
+ * <p>
+ * Every completed request is a latency sample, limit is recalculated as
+ * {@code limit * gradient + sqrt(limit)} where {@code gradient = clamp(rttTolerance * longRtt / rtt, 0.5, 1)}
+ * and smoothed with previous value. Samples taken while less than half of the limit is used do not change it,
+ * so the limit does not grow without actual demand.
+ */
+final class ConcurrencyLimiter {
+    private static final int LONG_WINDOW = 600;
+    private static final double LONG_WINDOW_FACTOR = 2.0 / (LONG_WINDOW + 1);
+
+    private final AtomicInteger inFlight = new AtomicInteger(0);
+    private final Map<String, HttpServerConfig.ConcurrencyLimitConfig.Priority> routePriorities;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+    private volatile int limit;
+
+    // guarded by this
+    private double estimatedLimit;
+    private double longRtt;
+
+    ConcurrencyLimiter(HttpServerConfig.ConcurrencyLimitConfig config) {
+        if (config.minLimit() <= 0 || config.minLimit() > config.maxLimit()) {
+            throw new IllegalArgumentException("Invalid concurrency limit bounds: minLimit=%d, maxLimit=%d".formatted(config.minLimit(), config.maxLimit()));
+        }
+        if (config.rejectionStatusCode() != 503 && config.rejectionStatusCode() != 429) {
+            throw new IllegalArgumentException("Invalid concurrency limit rejectionStatusCode: %d, expected 503 or 429".formatted(config.rejectionStatusCode()));
+        }
+        this.routePriorities = new HashMap<>(config.routePriorities());
+        this.minLimit = config.minLimit();
+        this.maxLimit = config.maxLimit();
+        this.rttTolerance = config.rttTolerance();
+        this.smoothing = config.smoothing();
+        this.estimatedLimit = Math.min(Math.max(config.initialLimit(), this.minLimit), this.maxLimit);
+        this.limit = (int) this.estimatedLimit;
+    }
+
+    int limit() {
+        return this.limit;
+    }
+
+    int inFlight() {
+        return this.inFlight.get();
+    }
+
+    boolean tryAcquire(String routeTemplate) {
+        var priority = this.routePriorities.get(routeTemplate);
+        var limit = this.limit;
+        var max = priority == null
+            ? (int) (limit * HttpServerConfig.ConcurrencyLimitConfig.Priority.NORMAL.limitShare())
+            : (int) (limit * priority.limitShare());
+        max = Math.max(max, 1);
+        while (true) {
+            var current = this.inFlight.get();
+            if (current >= max) {
+                return false;
+            }
+            if (this.inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release(long rttNanos) {
+        var inFlight = this.inFlight.getAndDecrement();
+        if (rttNanos > 0) {
+            this.onSample(rttNanos, inFlight);
+        }
+    }
+
+    private synchronized void onSample(long rtt, int inFlight) {
+        if (this.longRtt == 0) {
+            this.longRtt = rtt;
+        } else {
+            this.longRtt += (rtt - this.longRtt) * LONG_WINDOW_FACTOR;
+        }
+        if (this.longRtt / rtt > 2) {
+            // latency dropped after overload, let long term average recover faster
+            this.longRtt *= 0.95;
+        }
+        if (inFlight < this.estimatedLimit / 2) {
+            return;
+        }
+        var gradient = Math.max(0.5, Math.min(1.0, this.rttTolerance * this.longRtt / rtt));
+        var newLimit = this.estimatedLimit * gradient + Math.sqrt(this.estimatedLimit);
+        newLimit = this.estimatedLimit * (1 - this.smoothing) + newLimit * this.smoothing;
+        newLimit = Math.max(this.minLimit, Math.min(this.maxLimit, newLimit));
+        this.estimatedLimit = newLimit;
+        this.limit = (int) newLimit;
+    }
+}
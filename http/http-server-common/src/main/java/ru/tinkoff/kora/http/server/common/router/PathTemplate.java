@@ -297,5 +297,5 @@ public record PathTemplate(String templateString, boolean template, String base,
         }
     }
 
-    private record Part(boolean template, String part) {}
+    record Part(boolean template, String part) {}
 }
@@ -9,6 +9,8 @@ import ru.tinkoff.kora.http.common.body.HttpBody;
 import ru.tinkoff.kora.http.common.header.HttpHeaders;
 import ru.tinkoff.kora.http.server.common.*;
 import ru.tinkoff.kora.http.server.common.handler.HttpServerRequestHandler;
+import ru.tinkoff.kora.http.server.common.telemetry.HttpServerMetrics;
+import ru.tinkoff.kora.http.server.common.telemetry.HttpServerMetricsFactory;
 import ru.tinkoff.kora.http.server.common.telemetry.HttpServerTelemetry;
 import ru.tinkoff.kora.http.server.common.telemetry.HttpServerTelemetryFactory;
 
@@ -19,14 +21,11 @@ import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * Utility class that provides fast path matching of path templates. Templates are stored in a map based on the stem of the template,
- * and matches longest stem first.
- * <p>
- * TODO: we can probably do this faster using a trie type structure, but I think the current impl should perform ok most of the time
- *
- * @author Stuart Douglas
+ * Routes public api requests to handlers. All route templates are compiled at startup into {@link RouteTrie},
+ * so that both handler lookup and 404/405 resolution are done in a single path walk.
+ * When {@link HttpServerConfig.ConcurrencyLimitConfig} is enabled, matched requests pass {@link ConcurrencyLimiter} before interceptors,
+ * requests over the limit are answered right away without reaching interceptors and handlers.
  */
-
 public class PublicApiHandler {
 
     private static final CompletionStage<HttpServerResponse> NOT_FOUND_RESPONSE = CompletableFuture.completedFuture(
@@ -34,21 +33,41 @@ public class PublicApiHandler {
     );
     private static final HttpServerRequestHandler.HandlerFunction NOT_FOUND_HANDLER = (ctx, request) -> NOT_FOUND_RESPONSE;
 
-    private final Map<String, PathTemplateMatcher<HttpServerRequestHandler>> pathTemplateMatcher;
-    private final PathTemplateMatcher<List<String>> allMethodMatchers;
+    private final RouteTrie<Route> router;
     private final AtomicReference<RequestHandler> requestHandler = new AtomicReference<>();
     private final HttpServerTelemetry telemetry;
+    @Nullable
+    private final ConcurrencyLimiter limiter;
+    @Nullable
+    private final HttpServerMetrics limiterMetrics;
+    private final int rejectionStatusCode;
 
     public PublicApiHandler(List<HttpServerRequestHandler> handlers, List<HttpServerInterceptor> interceptors, HttpServerTelemetryFactory httpServerTelemetry, HttpServerConfig config) {
+        this(handlers, interceptors, httpServerTelemetry, config, null);
+    }
+
+    public PublicApiHandler(List<HttpServerRequestHandler> handlers, List<HttpServerInterceptor> interceptors, HttpServerTelemetryFactory httpServerTelemetry, HttpServerConfig config, @Nullable HttpServerMetricsFactory metricsFactory) {
         this.telemetry = Objects.requireNonNullElse(httpServerTelemetry.get(config.telemetry()), HttpServerTelemetry.EMPTY);
-        this.pathTemplateMatcher = new HashMap<>();
-        this.allMethodMatchers = new PathTemplateMatcher<>();
+        var concurrencyLimit = config.concurrencyLimit();
+        if (concurrencyLimit.enabled()) {
+            var limiter = new ConcurrencyLimiter(concurrencyLimit);
+            var metrics = metricsFactory == null ? null : metricsFactory.get(config.telemetry().metrics());
+            if (metrics != null) {
+                metrics.concurrencyLimiterCreated(limiter::limit, limiter::inFlight);
+            }
+            this.limiter = limiter;
+            this.limiterMetrics = metrics;
+        } else {
+            this.limiter = null;
+            this.limiterMetrics = null;
+        }
+        this.rejectionStatusCode = concurrencyLimit.rejectionStatusCode();
+        this.router = new RouteTrie<>();
         for (var h : handlers) {
             var route = h.routeTemplate();
-            var methodMatchers = this.pathTemplateMatcher.computeIfAbsent(h.method(), k -> new PathTemplateMatcher<>());
-            var oldValue = methodMatchers.add(route, h);
+            var oldValue = this.router.add(h.method(), route, new Route(h, this.telemetry.route(h.method(), route)));
             if (oldValue != null) {
-                throw new IllegalStateException("Cannot add path template %s, matcher already contains an equivalent pattern %s".formatted(route, oldValue.getKey().templateString()));
+                throw new IllegalStateException("Cannot add path template %s, matcher already contains an equivalent pattern %s".formatted(route, oldValue));
             }
             if (config.ignoreTrailingSlash()) {
                 if (!route.endsWith("*")) {
@@ -57,17 +76,12 @@ public class PublicApiHandler {
                     } else {
                         route = route + '/';
                     }
-                    oldValue = methodMatchers.add(route, h);
+                    oldValue = this.router.add(h.method(), route, new Route(h, this.telemetry.route(h.method(), route)));
                     if (oldValue != null) {
-                        throw new IllegalStateException("Cannot add path template %s, matcher already contains an equivalent pattern %s".formatted(route, oldValue.getKey().templateString()));
+                        throw new IllegalStateException("Cannot add path template %s, matcher already contains an equivalent pattern %s".formatted(route, oldValue));
                     }
                 }
             }
-            var otherMethods = new ArrayList<>(List.of(h.method()));
-            var oldAllMethodValue = this.allMethodMatchers.add(route, otherMethods);
-            if (oldAllMethodValue != null) {
-                otherMethods.addAll(oldAllMethodValue.getValue());
-            }
         }
         if (interceptors.isEmpty()) {
             this.requestHandler.set(new SimpleRequestHandler());
@@ -80,41 +94,60 @@ public class PublicApiHandler {
         final HttpServerRequestHandler.HandlerFunction handlerFunction;
         final Map<String, String> templateParameters;
         final @Nullable String routeTemplate;
-
-        var methodMatchers = this.pathTemplateMatcher.get(publicApiRequest.method());
-        var pathTemplateMatch = methodMatchers == null ? null : methodMatchers.match(publicApiRequest.path());
-        if (pathTemplateMatch == null) {
-            var allMethodMatch = this.allMethodMatchers.match(publicApiRequest.path());
-            if (allMethodMatch != null) {
-                var allowed = String.join(", ", allMethodMatch.value());
-                handlerFunction = (ctx, request) -> CompletableFuture.failedFuture(HttpServerResponseException.of(405, "Method Not Allowed", HttpHeaders.of("allow", allowed)));
-                routeTemplate = allMethodMatch.matchedTemplate();
-                templateParameters = Map.of();
-            } else {
-                handlerFunction = NOT_FOUND_HANDLER;
-                routeTemplate = null;
-                templateParameters = Map.of();
-            }
+        final HttpServerTelemetry.HttpServerTelemetryContext tctx;
+
+        var routeMatch = this.router.match(publicApiRequest.method(), publicApiRequest.path());
+        if (routeMatch == null) {
+            handlerFunction = NOT_FOUND_HANDLER;
+            routeTemplate = null;
+            templateParameters = Map.of();
+            tctx = this.telemetry.get(publicApiRequest, routeTemplate);
+        } else if (routeMatch.value() == null) {
+            var allowed = routeMatch.allowedMethods();
+            handlerFunction = (ctx, request) -> CompletableFuture.failedFuture(HttpServerResponseException.of(405, "Method Not Allowed", HttpHeaders.of("allow", allowed)));
+            routeTemplate = routeMatch.routeTemplate();
+            templateParameters = Map.of();
+            tctx = this.telemetry.get(publicApiRequest, routeTemplate);
         } else {
-            templateParameters = pathTemplateMatch.parameters();
-            routeTemplate = pathTemplateMatch.matchedTemplate();
-            handlerFunction = pathTemplateMatch.value()::handle;
+            var route = routeMatch.value();
+            templateParameters = routeMatch.parameters();
+            routeTemplate = routeMatch.routeTemplate();
+            handlerFunction = route.handler()::handle;
+            tctx = this.telemetry.get(publicApiRequest, route.telemetry());
         }
 
         var request = new LazyRequest(publicApiRequest, templateParameters, routeTemplate);
-        var tctx = this.telemetry.get(publicApiRequest, routeTemplate);
 
+        var limiter = this.limiter;
+        if (limiter == null || routeMatch == null || routeMatch.value() == null) {
+            return new PublicApiResponseImpl(tctx, this.handle(context, request, handlerFunction));
+        }
+        if (!limiter.tryAcquire(routeTemplate)) {
+            var metrics = this.limiterMetrics;
+            if (metrics != null) {
+                metrics.requestRejected(publicApiRequest.method(), routeTemplate, this.rejectionStatusCode);
+            }
+            return new PublicApiResponseImpl(tctx, CompletableFuture.completedFuture(HttpServerResponse.of(this.rejectionStatusCode)));
+        }
+        var start = System.nanoTime();
+        var future = this.handle(context, request, handlerFunction);
+        future.whenComplete((rs, error) -> limiter.release(System.nanoTime() - start));
+        return new PublicApiResponseImpl(tctx, future);
+    }
+
+    private CompletableFuture<HttpServerResponse> handle(Context context, HttpServerRequest request, HttpServerRequestHandler.HandlerFunction handlerFunction) {
         try {
-            var future = this.requestHandler.get().apply(context, request, handlerFunction);
-            return new PublicApiResponseImpl(tctx, future.toCompletableFuture());
+            return this.requestHandler.get().apply(context, request, handlerFunction).toCompletableFuture();
         } catch (CompletionException error) {
-            return new PublicApiResponseImpl(tctx, CompletableFuture.failedFuture(Objects.requireNonNullElse(error.getCause(), error)));
+            return CompletableFuture.failedFuture(Objects.requireNonNullElse(error.getCause(), error));
         } catch (Throwable error) {
-            return new PublicApiResponseImpl(tctx, CompletableFuture.failedFuture(error));
+            return CompletableFuture.failedFuture(error);
         }
     }
 
 
+    private record Route(HttpServerRequestHandler handler, HttpServerTelemetry.Route telemetry) {}
+
     private interface RequestHandler {
         CompletionStage<HttpServerResponse> apply(Context context, HttpServerRequest request, HttpServerRequestHandler.HandlerFunction lastHandlerInChain) throws Exception;
     }
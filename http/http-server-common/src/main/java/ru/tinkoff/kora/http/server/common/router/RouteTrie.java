@@ -0,0 +1,399 @@
+package ru.tinkoff.kora.http.server.common.router;
+
+import jakarta.annotation.Nullable;
+
+import java.util.*;
+
+/**
+ * Segment trie of route templates compiled once at startup.
+ * <p>
+ * Request path is matched in a single walk over its characters: static segments are looked up by a hash computed in place,
+ * so no intermediate substrings are created, and both handler for the request method and the set of methods allowed for the
+ * matched path are resolved by the same walk.
+ * <p>
+ * Priority of the nodes is static segment, then path parameter, then wildcard, longest wildcard prefix first.
+ */
+public final class RouteTrie<T> {
+
+    /**
+     * The result of a route match.
+     *
+     * @param value          matched value or null if path matches some route, but request method is not allowed for it
+     * @param routeTemplate  matched route template
+     * @param parameters     path parameters of matched route
+     * @param allowedMethods comma separated methods allowed for the matched path
+     */
+    public record RouteMatch<T>(@Nullable T value, String routeTemplate, Map<String, String> parameters, String allowedMethods) {}
+
+    private final Node<T> root = new Node<>();
+    private int maxParameters = 0;
+
+    /**
+     * @return template of previously added equivalent route for the same method, or null if there was none
+     */
+    @Nullable
+    public String add(String method, String template, T value) {
+        var pathTemplate = PathTemplate.create(template);
+        var parameterNames = new ArrayList<String>();
+        var node = this.root;
+
+        var base = pathTemplate.base();
+        var wildcardIdx = base.indexOf('*');
+        var literal = wildcardIdx >= 0 ? base.substring(0, wildcardIdx) : base;
+        // every template starts with '/', base segments are separated by '/' and the tail after last '/' is either segment or wildcard fragment
+        var lastSlash = literal.lastIndexOf('/');
+        var segmentStart = 1;
+        while (segmentStart <= lastSlash) {
+            var segmentEnd = literal.indexOf('/', segmentStart);
+            node = node.staticChild(literal.substring(segmentStart, segmentEnd));
+            segmentStart = segmentEnd + 1;
+        }
+        var tail = literal.substring(lastSlash + 1);
+
+        final Terminal<T> terminal;
+        if (wildcardIdx >= 0) {
+            parameterNames.add("*");
+            terminal = node.wildcard(tail);
+        } else if (!pathTemplate.template()) {
+            if (tail.isEmpty()) {
+                terminal = node.slashTerminal();
+            } else {
+                terminal = node.staticChild(tail).terminal();
+            }
+        } else {
+            // template base always ends with '/', so tail is empty and parts go next
+            var parts = pathTemplate.parts();
+            var lastPart = parts.size() - 1;
+            Terminal<T> partsTerminal = null;
+            for (int i = 0; i < parts.size(); i++) {
+                var part = parts.get(i);
+                var partTemplate = part.template();
+                var partValue = part.part();
+                if (i == lastPart && !partTemplate && partValue.equals("*")) {
+                    parameterNames.add("*");
+                    partsTerminal = node.wildcard("");
+                    break;
+                }
+                if (partTemplate) {
+                    parameterNames.add(partValue);
+                    node = node.paramChild();
+                } else {
+                    node = node.staticChild(partValue);
+                }
+            }
+            if (partsTerminal == null) {
+                partsTerminal = pathTemplate.trailingSlash()
+                    ? node.slashTerminal()
+                    : node.terminal();
+            }
+            terminal = partsTerminal;
+        }
+
+        var existing = terminal.routes.get(method);
+        if (existing != null) {
+            return existing.template;
+        }
+        terminal.add(method, new Route<>(pathTemplate.templateString(), value, parameterNames.toArray(new String[0])));
+        this.maxParameters = Math.max(this.maxParameters, parameterNames.size());
+        return null;
+    }
+
+    /**
+     * @return match for the given method and path, {@link RouteMatch#value()} is null if path matches some route, but method is not allowed; null if no route matches the path
+     */
+    @Nullable
+    public RouteMatch<T> match(String method, String path) {
+        var normalizedPath = path.isEmpty() ? "/" : path;
+        if (normalizedPath.charAt(0) != '/') {
+            return null;
+        }
+        var search = new Search<T>(method, normalizedPath, this.maxParameters);
+        var route = search.walk(this.root, 0, 0);
+        if (route != null) {
+            return new RouteMatch<>(route.value, route.template, search.parameters(route), search.terminal.allowedMethods);
+        }
+        var fallback = search.fallback;
+        if (fallback != null) {
+            return new RouteMatch<>(null, fallback.template, Map.of(), fallback.allowedMethods);
+        }
+        return null;
+    }
+
+    private record Route<T>(String template, T value, String[] parameterNames) {}
+
+    private static final class Terminal<T> {
+        private final Map<String, Route<T>> routes = new LinkedHashMap<>();
+        private String template;
+        private String allowedMethods;
+
+        private void add(String method, Route<T> route) {
+            if (this.routes.isEmpty()) {
+                this.template = route.template;
+            }
+            this.routes.put(method, route);
+            this.allowedMethods = String.join(", ", this.routes.keySet());
+        }
+    }
+
+    private record Wildcard<T>(String fragment, Terminal<T> terminal) {}
+
+    private static final class Node<T> {
+        private final Map<String, Node<T>> statics = new LinkedHashMap<>();
+        private String[] staticKeys = new String[0];
+        private Node<T>[] staticNodes = newNodes(0);
+        private int staticMask = -1;
+        @Nullable
+        private Node<T> param;
+        @Nullable
+        private Terminal<T> terminal;
+        @Nullable
+        private Terminal<T> slashTerminal;
+        @SuppressWarnings("unchecked")
+        private Wildcard<T>[] wildcards = new Wildcard[0];
+
+        private Node<T> staticChild(String segment) {
+            var child = this.statics.get(segment);
+            if (child == null) {
+                child = new Node<>();
+                this.statics.put(segment, child);
+                this.rebuildStatics();
+            }
+            return child;
+        }
+
+        private Node<T> paramChild() {
+            var param = this.param;
+            if (param == null) {
+                this.param = param = new Node<>();
+            }
+            return param;
+        }
+
+        private Terminal<T> terminal() {
+            var terminal = this.terminal;
+            if (terminal == null) {
+                this.terminal = terminal = new Terminal<>();
+            }
+            return terminal;
+        }
+
+        private Terminal<T> slashTerminal() {
+            var terminal = this.slashTerminal;
+            if (terminal == null) {
+                this.slashTerminal = terminal = new Terminal<>();
+            }
+            return terminal;
+        }
+
+        private Terminal<T> wildcard(String fragment) {
+            for (var wildcard : this.wildcards) {
+                if (wildcard.fragment.equals(fragment)) {
+                    return wildcard.terminal;
+                }
+            }
+            var terminal = new Terminal<T>();
+            var wildcards = Arrays.copyOf(this.wildcards, this.wildcards.length + 1);
+            wildcards[wildcards.length - 1] = new Wildcard<>(fragment, terminal);
+            Arrays.sort(wildcards, Comparator.comparingInt((Wildcard<T> w) -> w.fragment.length()).reversed());
+            this.wildcards = wildcards;
+            return terminal;
+        }
+
+        private void rebuildStatics() {
+            var size = Integer.highestOneBit(Math.max(this.statics.size() * 2 - 1, 1)) << 1;
+            var keys = new String[size];
+            var nodes = Node.<T>newNodes(size);
+            var mask = size - 1;
+            for (var entry : this.statics.entrySet()) {
+                var idx = spread(entry.getKey().hashCode()) & mask;
+                while (keys[idx] != null) {
+                    idx = (idx + 1) & mask;
+                }
+                keys[idx] = entry.getKey();
+                nodes[idx] = entry.getValue();
+            }
+            this.staticKeys = keys;
+            this.staticNodes = nodes;
+            this.staticMask = mask;
+        }
+
+        @Nullable
+        private Node<T> findStatic(String path, int start, int end, int hash) {
+            var keys = this.staticKeys;
+            var mask = this.staticMask;
+            if (mask < 0) {
+                return null;
+            }
+            var length = end - start;
+            var idx = spread(hash) & mask;
+            for (var key = keys[idx]; key != null; idx = (idx + 1) & mask, key = keys[idx]) {
+                if (key.length() == length && key.hashCode() == hash && path.regionMatches(start, key, 0, length)) {
+                    return this.staticNodes[idx];
+                }
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> Node<T>[] newNodes(int size) {
+            return new Node[size];
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+
+    private static final class Search<T> {
+        private final String method;
+        private final String path;
+        private final int maxParameters;
+        private int[] captures;
+        private Terminal<T> terminal;
+        @Nullable
+        private Terminal<T> fallback;
+
+        private Search(String method, String path, int maxParameters) {
+            this.method = method;
+            this.path = path;
+            this.maxParameters = maxParameters;
+        }
+
+        /**
+         * @param node  current node
+         * @param pos   position of '/' that precedes next segment or path length if path is over
+         * @param depth count of captured parameters
+         */
+        @Nullable
+        private Route<T> walk(Node<T> node, int pos, int depth) {
+            var path = this.path;
+            var length = path.length();
+            if (pos == length) {
+                return this.checkTerminal(node.terminal);
+            }
+            var segmentStart = pos + 1;
+            if (segmentStart == length) {
+                var route = this.checkTerminal(node.slashTerminal);
+                if (route != null) {
+                    return route;
+                }
+                return this.checkWildcards(node, segmentStart, depth);
+            }
+
+            var hash = 0;
+            var segmentEnd = segmentStart;
+            for (; segmentEnd < length; segmentEnd++) {
+                var c = path.charAt(segmentEnd);
+                if (c == '/') {
+                    break;
+                }
+                hash = 31 * hash + c;
+            }
+
+            var staticChild = node.findStatic(path, segmentStart, segmentEnd, hash);
+            if (staticChild != null) {
+                var route = this.walk(staticChild, segmentEnd, depth);
+                if (route != null) {
+                    return route;
+                }
+            }
+            var param = node.param;
+            // empty parameter value is allowed everywhere except the last segment
+            if (param != null && (segmentEnd > segmentStart || segmentEnd < length)) {
+                this.capture(depth, segmentStart, segmentEnd);
+                var route = this.walk(param, segmentEnd, depth + 1);
+                if (route != null) {
+                    return route;
+                }
+            }
+            return this.checkWildcards(node, segmentStart, depth);
+        }
+
+        @Nullable
+        private Route<T> checkWildcards(Node<T> node, int segmentStart, int depth) {
+            for (var wildcard : node.wildcards) {
+                var fragment = wildcard.fragment;
+                if (this.path.startsWith(fragment, segmentStart)) {
+                    this.capture(depth, segmentStart + fragment.length(), this.path.length());
+                    var route = this.checkTerminal(wildcard.terminal);
+                    if (route != null) {
+                        return route;
+                    }
+                }
+            }
+            return null;
+        }
+
+        @Nullable
+        private Route<T> checkTerminal(@Nullable Terminal<T> terminal) {
+            if (terminal == null) {
+                return null;
+            }
+            var route = terminal.routes.get(this.method);
+            if (route != null) {
+                this.terminal = terminal;
+                return route;
+            }
+            if (this.fallback == null) {
+                this.fallback = terminal;
+            }
+            return null;
+        }
+
+        private void capture(int depth, int start, int end) {
+            var captures = this.captures;
+            if (captures == null) {
+                this.captures = captures = new int[this.maxParameters * 2];
+            }
+            captures[depth * 2] = start;
+            captures[depth * 2 + 1] = end;
+        }
+
+        private Map<String, String> parameters(Route<T> route) {
+            var names = route.parameterNames;
+            if (names.length == 0) {
+                return Map.of();
+            }
+            var values = new String[names.length];
+            for (int i = 0; i < names.length; i++) {
+                values[i] = this.path.substring(this.captures[i * 2], this.captures[i * 2 + 1]);
+            }
+            return new PathParameters(names, values);
+        }
+    }
+
+    private static final class PathParameters extends AbstractMap<String, String> {
+        private final String[] names;
+        private final String[] values;
+
+        private PathParameters(String[] names, String[] values) {
+            this.names = names;
+            this.values = values;
+        }
+
+        @Override
+        public String get(Object key) {
+            // later parameters with the same name override previous ones
+            for (int i = this.names.length - 1; i >= 0; i--) {
+                if (this.names[i].equals(key)) {
+                    return this.values[i];
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return this.get(key) != null;
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            var map = new LinkedHashMap<String, String>(this.names.length * 2);
+            for (int i = 0; i < this.names.length; i++) {
+                map.put(this.names[i], this.values[i]);
+            }
+            return Collections.unmodifiableMap(map).entrySet();
+        }
+    }
+}
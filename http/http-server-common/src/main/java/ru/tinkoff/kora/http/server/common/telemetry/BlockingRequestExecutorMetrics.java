@@ -0,0 +1,16 @@
+package ru.tinkoff.kora.http.server.common.telemetry;
+
+public interface BlockingRequestExecutorMetrics {
+
+    /**
+     * @param queueWaitNanos time between request submission and start of handler execution
+     */
+    void requestStarted(long queueWaitNanos);
+
+    void requestFinished();
+
+    /**
+     * Request was rejected because concurrency limit was reached and no permit became available in time
+     */
+    void requestRejected(long queueWaitNanos);
+}
@@ -19,8 +19,28 @@ public final class DefaultHttpServerTelemetry implements HttpServerTelemetry {
         this.tracer = tracer;
     }
 
+    private record DefaultRoute(String method, String template, @Nullable HttpServerMetrics.RouteMetrics metrics) implements Route {}
+
+    @Override
+    public Route route(String method, String routeTemplate) {
+        var metrics = this.metrics;
+        return new DefaultRoute(method, routeTemplate, metrics == null ? null : metrics.route(method, routeTemplate));
+    }
+
+    @Override
+    public HttpServerTelemetryContext get(PublicApiRequest request, Route route) {
+        if (route instanceof DefaultRoute defaultRoute) {
+            return this.get(request, route.template(), defaultRoute.metrics());
+        }
+        return this.get(request, route.template(), null);
+    }
+
     @Override
     public HttpServerTelemetryContext get(PublicApiRequest request, @Nullable String routeTemplate) {
+        return this.get(request, routeTemplate, null);
+    }
+
+    private HttpServerTelemetryContext get(PublicApiRequest request, @Nullable String routeTemplate, @Nullable HttpServerMetrics.RouteMetrics routeMetrics) {
         var metrics = this.metrics;
         var logger = this.logger;
         var tracer = this.tracer;
@@ -32,7 +52,9 @@ public final class DefaultHttpServerTelemetry implements HttpServerTelemetry {
         var method = request.method();
         var scheme = request.scheme();
         var host = request.hostName();
-        if (metrics != null) {
+        if (routeMetrics != null) {
+            routeMetrics.requestStarted(host, scheme);
+        } else if (metrics != null) {
             var pathTemplate = routeTemplate != null ? routeTemplate : UNMATCHED_ROUTE_TEMPLATE;
             metrics.requestStarted(method, pathTemplate, host, scheme);
         }
@@ -54,7 +76,9 @@ public final class DefaultHttpServerTelemetry implements HttpServerTelemetry {
         return (statusCode, resultCode, httpHeaders, exception) -> {
             var end = System.nanoTime();
             var processingTime = end - start;
-            if (metrics != null) {
+            if (routeMetrics != null) {
+                routeMetrics.requestFinished(statusCode, resultCode, scheme, host, httpHeaders, processingTime, exception);
+            } else if (metrics != null) {
                 var pathTemplate = routeTemplate != null ? routeTemplate : UNMATCHED_ROUTE_TEMPLATE;
                 metrics.requestFinished(statusCode, resultCode, scheme, host, method, pathTemplate, httpHeaders, processingTime, exception);
             }
@@ -4,8 +4,43 @@ import jakarta.annotation.Nullable;
 import ru.tinkoff.kora.http.common.HttpResultCode;
 import ru.tinkoff.kora.http.common.header.HttpHeaders;
 
+import java.util.function.IntSupplier;
+
 public interface HttpServerMetrics {
 
+    /**
+     * Meters of a single route, see {@link #route(String, String)}
+     */
+    interface RouteMetrics {
+        void requestStarted(String host, String scheme);
+
+        void requestFinished(int statusCode,
+                             HttpResultCode resultCode,
+                             String scheme,
+                             String host,
+                             HttpHeaders headers,
+                             long processingTimeNanos,
+                             @Nullable Throwable exception);
+    }
+
+    /**
+     * Called once for every route of public api at startup, implementation may resolve meters of the route here
+     * so that requests matched to the route do not look them up by method and route on every call
+     */
+    default RouteMetrics route(String method, String pathTemplate) {
+        return new RouteMetrics() {
+            @Override
+            public void requestStarted(String host, String scheme) {
+                HttpServerMetrics.this.requestStarted(method, pathTemplate, host, scheme);
+            }
+
+            @Override
+            public void requestFinished(int statusCode, HttpResultCode resultCode, String scheme, String host, HttpHeaders headers, long processingTimeNanos, @Nullable Throwable exception) {
+                HttpServerMetrics.this.requestFinished(statusCode, resultCode, scheme, host, method, pathTemplate, headers, processingTimeNanos, exception);
+            }
+        };
+    }
+
     void requestStarted(String method, String pathTemplate, String host, String scheme);
 
     /**
@@ -45,4 +80,21 @@ public interface HttpServerMetrics {
             requestFinished(method, pathTemplate, host, scheme, statusCode, processingTimeNanos, exception);
         }
     }
+
+    /**
+     * Called once when adaptive concurrency limiter of public api is created
+     *
+     * @param limit    current concurrency limit
+     * @param inFlight number of requests currently holding limiter permit
+     */
+    default void concurrencyLimiterCreated(IntSupplier limit, IntSupplier inFlight) {
+
+    }
+
+    /**
+     * Called when request is rejected by adaptive concurrency limiter
+     */
+    default void requestRejected(String method, String pathTemplate, int statusCode) {
+
+    }
 }
@@ -13,5 +13,30 @@ public interface HttpServerTelemetry {
         void close(int statusCode, HttpResultCode resultCode, HttpHeaders headers, @Nullable Throwable exception);
     }
 
+    /**
+     * Handle of a known route, created once at startup for every route of public api
+     */
+    interface Route {
+        String method();
+
+        String template();
+    }
+
+    record SimpleRoute(String method, String template) implements Route {}
+
     HttpServerTelemetryContext get(PublicApiRequest request, @Nullable String routeTemplate);
+
+    /**
+     * Called once for every route at startup, so implementation can prepare everything that does not depend on request
+     */
+    default Route route(String method, String routeTemplate) {
+        return new SimpleRoute(method, routeTemplate);
+    }
+
+    /**
+     * Called for requests matched to the route previously created by {@link #route(String, String)}
+     */
+    default HttpServerTelemetryContext get(PublicApiRequest request, Route route) {
+        return this.get(request, route.template());
+    }
 }
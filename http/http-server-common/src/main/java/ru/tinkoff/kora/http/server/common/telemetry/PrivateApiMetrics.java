@@ -1,5 +1,16 @@
 package ru.tinkoff.kora.http.server.common.telemetry;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
 public interface PrivateApiMetrics {
     String scrape();
+
+    /**
+     * Writes scrape result in UTF-8 directly to output stream, implementations should override it to avoid building intermediate string
+     */
+    default void scrape(OutputStream os) throws IOException {
+        os.write(this.scrape().getBytes(StandardCharsets.UTF_8));
+    }
 }
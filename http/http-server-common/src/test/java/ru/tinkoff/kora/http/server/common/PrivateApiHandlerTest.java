@@ -0,0 +1,173 @@
+package ru.tinkoff.kora.http.server.common;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import ru.tinkoff.kora.application.graph.All;
+import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.http.server.common.telemetry.PrivateApiMetrics;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class PrivateApiHandlerTest {
+    private static final String SCRAPE = "# TYPE test counter\ntest_total 1.0\n".repeat(100);
+
+    @Test
+    void metricsAreWrittenFromStreamingScrape() throws Exception {
+        // given
+        var metrics = metrics();
+        var handler = handler(metrics, Duration.ZERO);
+
+        // when
+        var response = handler.handle("/metrics").toCompletableFuture().get();
+
+        // then
+        assertThat(response.code()).isEqualTo(200);
+        assertThat(response.headers().getFirst("content-encoding")).isNull();
+        assertThat(StandardCharsets.UTF_8.decode(response.body().getFullContentIfAvailable()).toString()).isEqualTo(SCRAPE);
+        verify(metrics, times(1)).scrape(any(OutputStream.class));
+    }
+
+    @Test
+    void metricsAreGzippedWhenRequested() throws Exception {
+        // given
+        var handler = handler(metrics(), Duration.ZERO);
+
+        // when
+        var response = handler.handle("/metrics", "gzip, deflate").toCompletableFuture().get();
+
+        // then
+        assertThat(response.headers().getFirst("content-encoding")).isEqualTo("gzip");
+        var body = bytes(response.body().getFullContentIfAvailable());
+        assertThat(body.length).isLessThan(SCRAPE.length());
+        assertThat(new String(new GZIPInputStream(new ByteArrayInputStream(body)).readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(SCRAPE);
+    }
+
+    @Test
+    void metricsAreNotGzippedWhenGzipIsRefused() throws Exception {
+        // given
+        var handler = handler(metrics(), Duration.ZERO);
+
+        // when
+        var response = handler.handle("/metrics", "gzip;q=0, deflate").toCompletableFuture().get();
+
+        // then
+        assertThat(response.headers().getFirst("content-encoding")).isNull();
+        assertThat(StandardCharsets.UTF_8.decode(response.body().getFullContentIfAvailable()).toString()).isEqualTo(SCRAPE);
+    }
+
+    @Test
+    void metricsResponseVariesByAcceptEncoding() throws Exception {
+        // given
+        var handler = handler(metrics(), Duration.ofMinutes(1));
+
+        // when
+        var plain = handler.handle("/metrics").toCompletableFuture().get();
+        var gzipped = handler.handle("/metrics", "gzip").toCompletableFuture().get();
+
+        // then
+        assertThat(plain.headers().getFirst("vary")).isEqualTo("accept-encoding");
+        assertThat(gzipped.headers().getFirst("vary")).isEqualTo("accept-encoding");
+        assertThat(plain.body().contentType()).isEqualTo("text/plain; version=0.0.4; charset=utf-8");
+        assertThat(gzipped.body().contentType()).isEqualTo("text/plain; version=0.0.4; charset=utf-8");
+    }
+
+    @Test
+    void acceptEncodingQualityIsParsed() {
+        assertThat(PrivateApiHandler.acceptsGzip(null)).isFalse();
+        assertThat(PrivateApiHandler.acceptsGzip("identity")).isFalse();
+        assertThat(PrivateApiHandler.acceptsGzip("gzip")).isTrue();
+        assertThat(PrivateApiHandler.acceptsGzip("deflate, GZIP;q=0.5")).isTrue();
+        assertThat(PrivateApiHandler.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(PrivateApiHandler.acceptsGzip("gzip; q=0.0, deflate")).isFalse();
+        assertThat(PrivateApiHandler.acceptsGzip("x-gzip")).isTrue();
+        assertThat(PrivateApiHandler.acceptsGzip("*")).isTrue();
+        assertThat(PrivateApiHandler.acceptsGzip("*;q=0.1, gzip;q=0")).isFalse();
+        assertThat(PrivateApiHandler.acceptsGzip("gzipped")).isFalse();
+    }
+
+    @Test
+    void scrapeIsCachedWithinTtl() throws Exception {
+        // given
+        var metrics = metrics();
+        var handler = handler(metrics, Duration.ofMinutes(1));
+
+        // when
+        var first = handler.handle("/metrics").toCompletableFuture().get();
+        var second = handler.handle("/metrics", "gzip").toCompletableFuture().get();
+        var third = handler.handle("/metrics").toCompletableFuture().get();
+
+        // then
+        verify(metrics, times(1)).scrape(any(OutputStream.class));
+        assertThat(StandardCharsets.UTF_8.decode(first.body().getFullContentIfAvailable()).toString()).isEqualTo(SCRAPE);
+        assertThat(second.headers().getFirst("content-encoding")).isEqualTo("gzip");
+        assertThat(StandardCharsets.UTF_8.decode(third.body().getFullContentIfAvailable()).toString()).isEqualTo(SCRAPE);
+    }
+
+    @Test
+    void scrapeIsNotCachedWithoutTtl() throws Exception {
+        // given
+        var metrics = metrics();
+        var handler = handler(metrics, Duration.ZERO);
+
+        // when
+        handler.handle("/metrics").toCompletableFuture().get();
+        handler.handle("/metrics").toCompletableFuture().get();
+
+        // then
+        verify(metrics, times(2)).scrape(any(OutputStream.class));
+    }
+
+    private static PrivateApiMetrics metrics() throws IOException {
+        var metrics = Mockito.mock(PrivateApiMetrics.class);
+        Mockito.doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write(SCRAPE.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(metrics).scrape(any(OutputStream.class));
+        return metrics;
+    }
+
+    private static PrivateApiHandler handler(PrivateApiMetrics metrics, Duration cacheTtl) {
+        var config = Mockito.mock(HttpServerConfig.class);
+        Mockito.when(config.privateApiHttpMetricsPath()).thenReturn("/metrics");
+        Mockito.when(config.privateApiHttpReadinessPath()).thenReturn("/system/readiness");
+        Mockito.when(config.privateApiHttpLivenessPath()).thenReturn("/system/liveness");
+        Mockito.when(config.privateApiHttpMetricsScrape()).thenReturn(new HttpServerConfig.MetricsScrapeConfig() {
+            @Override
+            public Duration cacheTtl() {
+                return cacheTtl;
+            }
+        });
+        return new PrivateApiHandler(valueOf(config), valueOf(Optional.of(metrics)), All.of(), All.of());
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        var bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static <T> ValueOf<T> valueOf(T value) {
+        return new ValueOf<>() {
+            @Override
+            public T get() {
+                return value;
+            }
+
+            @Override
+            public void refresh() {
+            }
+        };
+    }
+}
@@ -0,0 +1,141 @@
+package ru.tinkoff.kora.http.server.common.file;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import ru.tinkoff.kora.http.common.body.FileHttpBodyOutput;
+import ru.tinkoff.kora.http.common.body.HttpBodyOutput;
+import ru.tinkoff.kora.http.common.header.HttpHeaders;
+import ru.tinkoff.kora.http.server.common.HttpServerRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileResponsesTest {
+    private static final String CONTENT = "0123456789abcdefghij";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void fullFileIsSentWithValidators() throws IOException {
+        // given
+        var file = file();
+
+        // when
+        var response = FileResponses.of(request("GET", HttpHeaders.of()), file);
+
+        // then
+        assertThat(response.code()).isEqualTo(200);
+        assertThat(response.headers().getFirst("etag")).isEqualTo(file.etag());
+        assertThat(response.headers().getFirst("last-modified")).isNotNull();
+        assertThat(response.headers().getFirst("accept-ranges")).isEqualTo("bytes");
+        assertThat(response.body()).isSameAs(file);
+        assertThat(content(response.body())).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void notModifiedWhenEtagMatches() throws IOException {
+        // given
+        var file = file();
+
+        // when
+        var response = FileResponses.of(request("GET", HttpHeaders.of("if-none-match", "W/" + file.etag())), file);
+
+        // then
+        assertThat(response.code()).isEqualTo(304);
+        assertThat(response.body().contentLength()).isZero();
+    }
+
+    @Test
+    void rangeIsSentAsPartialContent() throws IOException {
+        // given
+        var file = file();
+
+        // when
+        var response = FileResponses.of(request("GET", HttpHeaders.of("range", "bytes=5-9")), file);
+
+        // then
+        assertThat(response.code()).isEqualTo(206);
+        assertThat(response.headers().getFirst("content-range")).isEqualTo("bytes 5-9/20");
+        assertThat(response.body().contentLength()).isEqualTo(5);
+        assertThat(content(response.body())).isEqualTo("56789");
+    }
+
+    @Test
+    void rangeIsIgnoredWhenIfRangeDoesNotMatch() throws IOException {
+        // given
+        var file = file();
+
+        // when
+        var response = FileResponses.of(request("GET", HttpHeaders.of("range", "bytes=5-9", "if-range", "\"other\"")), file);
+
+        // then
+        assertThat(response.code()).isEqualTo(200);
+        assertThat(response.body().contentLength()).isEqualTo(CONTENT.length());
+    }
+
+    @Test
+    void unsatisfiableRange() throws IOException {
+        // given
+        var file = file();
+
+        // when
+        var response = FileResponses.of(request("GET", HttpHeaders.of("range", "bytes=50-")), file);
+
+        // then
+        assertThat(response.code()).isEqualTo(416);
+        assertThat(response.headers().getFirst("content-range")).isEqualTo("bytes */20");
+    }
+
+    @Test
+    void mappedFileIsServedFromCache() throws IOException {
+        // given
+        var file = file();
+        var cache = new MappedFileCache(1024, 4096);
+
+        // when
+        var response = FileResponses.of(request("GET", HttpHeaders.of("range", "bytes=-4")), file, cache);
+
+        // then
+        assertThat(response.code()).isEqualTo(206);
+        assertThat(response.body()).isNotInstanceOf(FileHttpBodyOutput.class);
+        assertThat(StandardCharsets.UTF_8.decode(response.body().getFullContentIfAvailable()).toString()).isEqualTo("ghij");
+    }
+
+    @Test
+    void parseRange() {
+        assertThat(FileResponses.parseRange("bytes=0-", 10)).containsExactly(0, 9);
+        assertThat(FileResponses.parseRange("bytes=2-100", 10)).containsExactly(2, 9);
+        assertThat(FileResponses.parseRange("bytes=-3", 10)).containsExactly(7, 9);
+        assertThat(FileResponses.parseRange("bytes=-30", 10)).containsExactly(0, 9);
+        assertThat(FileResponses.parseRange("bytes=0-1,4-5", 10)).isNull();
+        assertThat(FileResponses.parseRange("items=0-1", 10)).isNull();
+        assertThat(FileResponses.parseRange("bytes=a-b", 10)).isNull();
+        assertThat(FileResponses.parseRange("bytes=10-", 10)).isEmpty();
+        assertThat(FileResponses.parseRange("bytes=5-2", 10)).isEmpty();
+    }
+
+    private FileHttpBodyOutput file() throws IOException {
+        var path = Files.writeString(this.dir.resolve("test.txt"), CONTENT);
+        return HttpBodyOutput.file("text/plain", path);
+    }
+
+    private static String content(HttpBodyOutput body) throws IOException {
+        var out = new ByteArrayOutputStream();
+        body.write(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static HttpServerRequest request(String method, HttpHeaders headers) {
+        var request = Mockito.mock(HttpServerRequest.class);
+        Mockito.when(request.method()).thenReturn(method);
+        Mockito.when(request.headers()).thenReturn(headers);
+        return request;
+    }
+}
@@ -0,0 +1,100 @@
+package ru.tinkoff.kora.http.server.common.handler;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.http.server.common.HttpServerResponseException;
+import ru.tinkoff.kora.http.server.common.telemetry.BlockingRequestExecutorMetrics;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+
+class VirtualThreadBlockingRequestExecutorTests {
+    // virtual threads may be unavailable on test jdk, platform thread per task behaves the same way for executor
+    private final Executor threadPerTask = r -> new Thread(r).start();
+
+    @Test
+    void executesHandlerOnSeparateThread() {
+        // given
+        var metrics = Mockito.mock(BlockingRequestExecutorMetrics.class);
+        var executor = new VirtualThreadBlockingRequestExecutor(this.threadPerTask, 1, Duration.ZERO, metrics);
+        var caller = Thread.currentThread();
+
+        // when
+        var result = executor.execute(Context.clear(), () -> Thread.currentThread() != caller).toCompletableFuture().join();
+
+        // then
+        assertThat(result).isTrue();
+        Mockito.verify(metrics).requestStarted(anyLong());
+        Mockito.verify(metrics, Mockito.timeout(1000)).requestFinished();
+    }
+
+    @Test
+    void rejectsWhenLimitReached() throws InterruptedException {
+        // given
+        var metrics = Mockito.mock(BlockingRequestExecutorMetrics.class);
+        var executor = new VirtualThreadBlockingRequestExecutor(this.threadPerTask, 1, Duration.ZERO, metrics);
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var first = executor.execute(Context.clear(), () -> {
+            started.countDown();
+            return release.await(10, TimeUnit.SECONDS);
+        });
+        started.await();
+
+        // when
+        var second = executor.execute(Context.clear(), () -> true);
+
+        // then
+        assertThatThrownBy(() -> second.toCompletableFuture().join())
+            .isInstanceOf(CompletionException.class)
+            .cause()
+            .isInstanceOfSatisfying(HttpServerResponseException.class, e -> assertThat(e.code()).isEqualTo(503));
+        Mockito.verify(metrics).requestRejected(anyLong());
+        release.countDown();
+        assertThat(first.toCompletableFuture().join()).isTrue();
+    }
+
+    @Test
+    void waitsForPermitWithinQueueTimeout() throws InterruptedException {
+        // given
+        var executor = new VirtualThreadBlockingRequestExecutor(this.threadPerTask, 1, Duration.ofSeconds(10), null);
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var first = executor.execute(Context.clear(), () -> {
+            started.countDown();
+            return release.await(10, TimeUnit.SECONDS);
+        });
+        started.await();
+
+        // when
+        var second = executor.execute(Context.clear(), () -> "second");
+        release.countDown();
+
+        // then
+        assertThat(first.toCompletableFuture().join()).isTrue();
+        assertThat(second.toCompletableFuture().join()).isEqualTo("second");
+    }
+
+    @Test
+    void handlerExceptionCompletesFuture() {
+        // given
+        var executor = new VirtualThreadBlockingRequestExecutor(this.threadPerTask, 1, Duration.ZERO, null);
+        var error = new IllegalStateException("test");
+
+        // when
+        var result = executor.execute(Context.clear(), () -> {
+            throw error;
+        });
+
+        // then
+        assertThatThrownBy(() -> result.toCompletableFuture().join()).hasCause(error);
+    }
+}
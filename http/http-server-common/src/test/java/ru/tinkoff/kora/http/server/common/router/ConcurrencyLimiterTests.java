@@ -0,0 +1,134 @@
+package ru.tinkoff.kora.http.server.common.router;
+
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.kora.http.server.common.HttpServerConfig;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrencyLimiterTests {
+
+    @Test
+    void normalRoutesAreLimitedBeforeCriticalRoutes() {
+        // given
+        var limiter = new ConcurrencyLimiter(config(10, Map.of(
+            "/critical", HttpServerConfig.ConcurrencyLimitConfig.Priority.CRITICAL,
+            "/sheddable", HttpServerConfig.ConcurrencyLimitConfig.Priority.SHEDDABLE
+        )));
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("/sheddable")).isTrue();
+        }
+
+        // then
+        assertThat(limiter.tryAcquire("/sheddable")).isFalse();
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire("/normal")).isTrue();
+        }
+        assertThat(limiter.tryAcquire("/normal")).isFalse();
+        assertThat(limiter.tryAcquire("/critical")).isTrue();
+        assertThat(limiter.tryAcquire("/critical")).isFalse();
+        assertThat(limiter.inFlight()).isEqualTo(10);
+    }
+
+    @Test
+    void limitDecreasesWhenLatencyGrows() {
+        // given
+        var limiter = new ConcurrencyLimiter(config(100, Map.of()));
+        saturate(limiter, 1_000_000, 1000);
+        var stableLimit = limiter.limit();
+
+        // when
+        saturate(limiter, 20_000_000, 1);
+
+        // then
+        assertThat(limiter.limit()).isLessThan(stableLimit);
+    }
+
+    @Test
+    void limitGrowsWhileLatencyIsStable() {
+        // given
+        var limiter = new ConcurrencyLimiter(config(20, Map.of()));
+
+        // when
+        saturate(limiter, 1_000_000, 1000);
+
+        // then
+        assertThat(limiter.limit()).isGreaterThan(20);
+    }
+
+    @Test
+    void limitDoesNotGrowWithoutDemand() {
+        // given
+        var limiter = new ConcurrencyLimiter(config(20, Map.of()));
+
+        // when
+        for (int i = 0; i < 1000; i++) {
+            assertThat(limiter.tryAcquire("/test")).isTrue();
+            limiter.release(1_000_000);
+        }
+
+        // then
+        assertThat(limiter.limit()).isEqualTo(20);
+    }
+
+    @Test
+    void invalidRejectionStatusCodeFails() {
+        var config = new HttpServerConfig.ConcurrencyLimitConfig() {
+            @Override
+            public int rejectionStatusCode() {
+                return 500;
+            }
+        };
+
+        assertThatThrownBy(() -> new ConcurrencyLimiter(config))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("rejectionStatusCode");
+    }
+
+    @Test
+    void tooManyRequestsRejectionStatusCodeIsAllowed() {
+        var config = new HttpServerConfig.ConcurrencyLimitConfig() {
+            @Override
+            public int rejectionStatusCode() {
+                return 429;
+            }
+        };
+
+        assertThat(new ConcurrencyLimiter(config).limit()).isEqualTo(config.initialLimit());
+    }
+
+    private static void saturate(ConcurrencyLimiter limiter, long rttNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            var acquired = 0;
+            while (limiter.tryAcquire("/test")) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.release(rttNanos);
+            }
+        }
+    }
+
+    private static HttpServerConfig.ConcurrencyLimitConfig config(int initialLimit, Map<String, HttpServerConfig.ConcurrencyLimitConfig.Priority> priorities) {
+        return new HttpServerConfig.ConcurrencyLimitConfig() {
+            @Override
+            public boolean enabled() {
+                return true;
+            }
+
+            @Override
+            public int initialLimit() {
+                return initialLimit;
+            }
+
+            @Override
+            public Map<String, Priority> routePriorities() {
+                return priorities;
+            }
+        };
+    }
+}
@@ -11,6 +11,11 @@ import ru.tinkoff.kora.http.common.body.HttpBody;
 import ru.tinkoff.kora.http.common.body.HttpBodyInput;
 import ru.tinkoff.kora.http.common.header.HttpHeaders;
 import ru.tinkoff.kora.http.server.common.$HttpServerConfig_ConfigValueExtractor.HttpServerConfig_Impl;
+import ru.tinkoff.kora.http.server.common.$HttpServerConfig_BlockingExecutorConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.http.server.common.$HttpServerConfig_CompressionConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.http.server.common.$HttpServerConfig_ConcurrencyLimitConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.http.server.common.$HttpServerConfig_MetricsScrapeConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.http.server.common.$HttpServerConfig_Http2Config_ConfigValueExtractor;
 import ru.tinkoff.kora.http.server.common.HttpServerConfig;
 import ru.tinkoff.kora.http.server.common.HttpServerResponse;
 import ru.tinkoff.kora.http.server.common.handler.HttpServerRequestHandler;
@@ -72,6 +77,7 @@ class PublicApiHandlerProcessTests {
         var handlers = List.of(handler(method, route));
         var telemetry = Mockito.mock(HttpServerTelemetry.class);
         when(telemetry.get(any(), anyString())).thenReturn(mock(HttpServerTelemetry.HttpServerTelemetryContext.class));
+        when(telemetry.get(any(), Mockito.<HttpServerTelemetry.Route>any())).thenReturn(mock(HttpServerTelemetry.HttpServerTelemetryContext.class));
         var telemetryFactory = Mockito.mock(HttpServerTelemetryFactory.class);
         when(telemetryFactory.get(any())).thenReturn(telemetry);
         var config = config(false);
@@ -121,6 +127,7 @@ class PublicApiHandlerProcessTests {
         var handlers = List.of(handler(method, route));
         var telemetry = Mockito.mock(HttpServerTelemetry.class);
         when(telemetry.get(any(), anyString())).thenReturn(mock(HttpServerTelemetry.HttpServerTelemetryContext.class));
+        when(telemetry.get(any(), Mockito.<HttpServerTelemetry.Route>any())).thenReturn(mock(HttpServerTelemetry.HttpServerTelemetryContext.class));
         var telemetryFactory = Mockito.mock(HttpServerTelemetryFactory.class);
         when(telemetryFactory.get(any())).thenReturn(telemetry);
         var config = config(true);
@@ -143,6 +150,7 @@ class PublicApiHandlerProcessTests {
         );
         var telemetry = Mockito.mock(HttpServerTelemetry.class);
         when(telemetry.get(any(), anyString())).thenReturn(mock(HttpServerTelemetry.HttpServerTelemetryContext.class));
+        when(telemetry.get(any(), Mockito.<HttpServerTelemetry.Route>any())).thenReturn(mock(HttpServerTelemetry.HttpServerTelemetryContext.class));
         var config = config(false);
         var telemetryFactory = Mockito.mock(HttpServerTelemetryFactory.class);
         when(telemetryFactory.get(any())).thenReturn(telemetry);
@@ -174,7 +182,12 @@ class PublicApiHandlerProcessTests {
                 new $HttpServerLoggerConfig_ConfigValueExtractor.HttpServerLoggerConfig_Defaults(),
                 new $TelemetryConfig_TracingConfig_ConfigValueExtractor.TracingConfig_Impl(true),
                 new $TelemetryConfig_MetricsConfig_ConfigValueExtractor.MetricsConfig_Impl(null, null)
-            )
+            ),
+            $HttpServerConfig_Http2Config_ConfigValueExtractor.DEFAULTS,
+            $HttpServerConfig_CompressionConfig_ConfigValueExtractor.DEFAULTS,
+            $HttpServerConfig_BlockingExecutorConfig_ConfigValueExtractor.DEFAULTS,
+            $HttpServerConfig_ConcurrencyLimitConfig_ConfigValueExtractor.DEFAULTS,
+            $HttpServerConfig_MetricsScrapeConfig_ConfigValueExtractor.DEFAULTS
         );
     }
 
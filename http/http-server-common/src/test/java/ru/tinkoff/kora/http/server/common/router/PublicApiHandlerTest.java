@@ -4,6 +4,11 @@ import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import ru.tinkoff.kora.http.server.common.$HttpServerConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.http.server.common.$HttpServerConfig_BlockingExecutorConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.http.server.common.$HttpServerConfig_CompressionConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.http.server.common.$HttpServerConfig_ConcurrencyLimitConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.http.server.common.$HttpServerConfig_MetricsScrapeConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.http.server.common.$HttpServerConfig_Http2Config_ConfigValueExtractor;
 import ru.tinkoff.kora.http.server.common.HttpServerConfig;
 import ru.tinkoff.kora.http.server.common.HttpServerResponse;
 import ru.tinkoff.kora.http.server.common.handler.HttpServerRequestHandler;
@@ -165,7 +170,13 @@ class PublicApiHandlerTest {
                 new $HttpServerLoggerConfig_ConfigValueExtractor.HttpServerLoggerConfig_Impl(true, true, Collections.emptySet(), Collections.emptySet(), "***", false),
                 new $TelemetryConfig_TracingConfig_ConfigValueExtractor.TracingConfig_Impl(true),
                 new $TelemetryConfig_MetricsConfig_ConfigValueExtractor.MetricsConfig_Impl(true, TelemetryConfig.MetricsConfig.DEFAULT_SLO)
-            ));
+            ),
+            $HttpServerConfig_Http2Config_ConfigValueExtractor.DEFAULTS,
+            $HttpServerConfig_CompressionConfig_ConfigValueExtractor.DEFAULTS,
+            $HttpServerConfig_BlockingExecutorConfig_ConfigValueExtractor.DEFAULTS,
+            $HttpServerConfig_ConcurrencyLimitConfig_ConfigValueExtractor.DEFAULTS,
+            $HttpServerConfig_MetricsScrapeConfig_ConfigValueExtractor.DEFAULTS
+        );
     }
 
     private HttpServerRequestHandler handler(String method, String route) {
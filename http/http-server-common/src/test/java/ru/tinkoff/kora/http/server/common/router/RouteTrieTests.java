@@ -0,0 +1,150 @@
+package ru.tinkoff.kora.http.server.common.router;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteTrieTests {
+
+    @ParameterizedTest
+    @CsvSource({
+        "/, /, true",
+        "/foo, /foo, true",
+        "/foo, /foo/, false",
+        "/foo, /bar, false",
+        "/foo/, /foo/, true",
+        "/foo/, /foo, false",
+        "/foo/{bar}, /foo/bar, true",
+        "/foo/{bar}, /foo/bar/, false",
+        "/foo/{bar}, /foo/, false",
+        "/foo/{bar}, /foo, false",
+        "/foo/{bar}/, /foo/bar/, true",
+        "/foo/{bar}/, /foo/bar, false",
+        "/foo/{bar}/baz, /foo/bar/baz, true",
+        "/foo/{bar}/baz, /foo/bar/baz/, false",
+        "/foo/{bar}/baz, /foo/bar/bar, false",
+        "/foo/{bar}/baz/, /foo/bar/baz/, true",
+        "/foo/{bar}/baz/, /foo/bar/baz, false",
+        "/foo/*, /foo/bar/baz, true",
+        "/foo/*, /foo/, true",
+        "/foo/*, /foo, false",
+        "/foo*, /foobar, true",
+        "/*, /, true",
+        "/*, /foo/bar, true",
+        "/foo/{bar}/*, /foo/bar/baz/baz, true",
+        "/foo/{bar}/*, /foo/bar, false",
+    })
+    void matchesLikePathTemplateMatcher(String template, String path, boolean expected) {
+        // given
+        var trie = new RouteTrie<String>();
+        var matcher = new PathTemplateMatcher<String>();
+
+        // when
+        trie.add("GET", template, "value");
+        matcher.add(template, "value");
+
+        // then
+        var trieMatch = trie.match("GET", path);
+        var matcherMatch = matcher.match(path);
+        assertThat(trieMatch != null).isEqualTo(expected);
+        assertThat(matcherMatch != null).isEqualTo(expected);
+        if (expected) {
+            assertThat(trieMatch.value()).isEqualTo("value");
+            assertThat(trieMatch.routeTemplate()).isEqualTo(matcherMatch.matchedTemplate());
+            assertThat(trieMatch.parameters()).isEqualTo(matcherMatch.parameters());
+        }
+    }
+
+    @Test
+    void staticSegmentHasPriorityOverParameter() {
+        // given
+        var trie = new RouteTrie<String>();
+
+        // when
+        trie.add("GET", "/foo/{bar}", "param");
+        trie.add("GET", "/foo/bar", "static");
+
+        // then
+        assertThat(trie.match("GET", "/foo/bar").value()).isEqualTo("static");
+        assertThat(trie.match("GET", "/foo/baz").value()).isEqualTo("param");
+        assertThat(trie.match("GET", "/foo/baz").parameters()).isEqualTo(Map.of("bar", "baz"));
+    }
+
+    @Test
+    void backtracksToParameterWhenStaticSegmentHasOtherMethod() {
+        // given
+        var trie = new RouteTrie<String>();
+
+        // when
+        trie.add("GET", "/foo/bar", "static");
+        trie.add("POST", "/foo/{bar}", "param");
+
+        // then
+        var match = trie.match("POST", "/foo/bar");
+        assertThat(match.value()).isEqualTo("param");
+        assertThat(match.routeTemplate()).isEqualTo("/foo/{bar}");
+        assertThat(match.parameters()).isEqualTo(Map.of("bar", "bar"));
+    }
+
+    @Test
+    void parameterNamesAreResolvedPerMethod() {
+        // given
+        var trie = new RouteTrie<String>();
+
+        // when
+        trie.add("GET", "/foo/{first}/baz", "get");
+        trie.add("POST", "/foo/{second}/baz", "post");
+
+        // then
+        assertThat(trie.match("GET", "/foo/1/baz").parameters()).isEqualTo(Map.of("first", "1"));
+        assertThat(trie.match("POST", "/foo/1/baz").parameters()).isEqualTo(Map.of("second", "1"));
+    }
+
+    @Test
+    void methodNotAllowedContainsAllMethods() {
+        // given
+        var trie = new RouteTrie<String>();
+
+        // when
+        trie.add("GET", "/foo/{bar}", "get");
+        trie.add("POST", "/foo/{baz}", "post");
+
+        // then
+        var match = trie.match("PUT", "/foo/bar");
+        assertThat(match).isNotNull();
+        assertThat(match.value()).isNull();
+        assertThat(match.routeTemplate()).isEqualTo("/foo/{bar}");
+        assertThat(match.allowedMethods()).isEqualTo("GET, POST");
+    }
+
+    @Test
+    void notFoundWhenNoPathMatches() {
+        // given
+        var trie = new RouteTrie<String>();
+
+        // when
+        trie.add("GET", "/foo/{bar}", "get");
+
+        // then
+        assertThat(trie.match("GET", "/bar/foo")).isNull();
+        assertThat(trie.match("PUT", "/bar/foo")).isNull();
+    }
+
+    @Test
+    void equivalentTemplateIsReported() {
+        // given
+        var trie = new RouteTrie<String>();
+
+        // when
+        trie.add("GET", "/foo/{bar}", "first");
+
+        // then
+        assertThat(trie.add("GET", "/foo/{baz}", "second")).isEqualTo("/foo/{bar}");
+        assertThat(trie.add("POST", "/foo/{baz}", "second")).isNull();
+        assertThat(trie.add("GET", "/foo/{baz}/", "second")).isNull();
+    }
+}
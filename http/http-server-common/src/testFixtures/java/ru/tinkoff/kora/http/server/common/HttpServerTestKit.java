@@ -1142,7 +1142,12 @@ public abstract class HttpServerTestKit {
                 new $HttpServerLoggerConfig_ConfigValueExtractor.HttpServerLoggerConfig_Impl(true, true, Collections.emptySet(), Collections.emptySet(), "***", false),
                 new $TelemetryConfig_TracingConfig_ConfigValueExtractor.TracingConfig_Impl(true),
                 new $TelemetryConfig_MetricsConfig_ConfigValueExtractor.MetricsConfig_Impl(true, TelemetryConfig.MetricsConfig.DEFAULT_SLO)
-            )
+            ),
+            $HttpServerConfig_Http2Config_ConfigValueExtractor.DEFAULTS,
+            $HttpServerConfig_CompressionConfig_ConfigValueExtractor.DEFAULTS,
+            $HttpServerConfig_BlockingExecutorConfig_ConfigValueExtractor.DEFAULTS,
+            $HttpServerConfig_ConcurrencyLimitConfig_ConfigValueExtractor.DEFAULTS,
+            $HttpServerConfig_MetricsScrapeConfig_ConfigValueExtractor.DEFAULTS
         );
         var publicApiHandler = new PublicApiHandler(List.of(handlers), interceptors, new DefaultHttpServerTelemetryFactory(this.loggerFactory, this.metricsFactory, null), config);
         this.httpServer = this.httpServer(valueOf(config), publicApiHandler);
@@ -0,0 +1,137 @@
+package ru.tinkoff.kora.http.server.undertow.request;
+
+import io.undertow.util.HeaderMap;
+import io.undertow.util.Headers;
+import io.undertow.util.HttpString;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.tinkoff.kora.http.common.body.HttpBodyInput;
+import ru.tinkoff.kora.http.common.cookie.Cookie;
+import ru.tinkoff.kora.http.common.header.HttpHeaders;
+import ru.tinkoff.kora.http.server.common.HttpServerRequest;
+import ru.tinkoff.kora.http.server.common.handler.RequestHandlerUtils;
+import ru.tinkoff.kora.http.server.undertow.UndertowHttpHeaders;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parameter parsing as generated controllers do it: view over Undertow structures vs query parameters copied into a new map
+ * and header values read through {@link HttpHeaders#getAll(String)}, which is how requests were handled before.
+ * <p>
+ * Allocation rate is reported by gc profiler configured in build script, look at {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Measurement(time = 5, iterations = 5)
+@Warmup(time = 5, iterations = 5)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+public class RequestParametersBenchmark {
+    private HeaderMap headerMap;
+    private Map<String, Deque<String>> undertowQueryParams;
+
+    @Setup
+    public void setup() {
+        this.headerMap = new HeaderMap();
+        this.headerMap.put(Headers.HOST, "localhost:8080");
+        this.headerMap.put(Headers.ACCEPT, "application/json");
+        this.headerMap.put(Headers.ACCEPT_ENCODING, "gzip, deflate");
+        this.headerMap.put(Headers.USER_AGENT, "benchmark");
+        this.headerMap.put(Headers.CONTENT_LENGTH, "0");
+        this.headerMap.put(new HttpString("X-Request-Id"), "123456789");
+        this.headerMap.put(new HttpString("X-Tenant-Id"), "42");
+
+        this.undertowQueryParams = new TreeMap<>();
+        this.undertowQueryParams.computeIfAbsent("page", k -> new ArrayDeque<>()).add("3");
+        this.undertowQueryParams.computeIfAbsent("size", k -> new ArrayDeque<>()).add("50");
+        this.undertowQueryParams.computeIfAbsent("active", k -> new ArrayDeque<>()).add("true");
+        this.undertowQueryParams.computeIfAbsent("from", k -> new ArrayDeque<>()).add("1700000000000");
+        this.undertowQueryParams.computeIfAbsent("sort", k -> new ArrayDeque<>()).add("name");
+    }
+
+    @Benchmark
+    public void view(Blackhole blackhole) {
+        var request = new Request(new UndertowHttpHeaders(this.headerMap), new UndertowQueryParameters(this.undertowQueryParams));
+        this.parse(request, blackhole);
+    }
+
+    @Benchmark
+    public void copy(Blackhole blackhole) {
+        var request = new Request(new UndertowHttpHeaders(this.headerMap), copy(this.undertowQueryParams));
+        this.parseCopy(request, blackhole);
+    }
+
+    @Benchmark
+    public void headerNames(Blackhole blackhole) {
+        for (var entry : new UndertowHttpHeaders(this.headerMap)) {
+            blackhole.consume(entry.getKey());
+        }
+    }
+
+    private void parse(HttpServerRequest request, Blackhole blackhole) {
+        blackhole.consume(RequestHandlerUtils.parseLongHeaderParameter(request, "X-Request-Id"));
+        blackhole.consume(RequestHandlerUtils.parseIntegerHeaderParameter(request, "X-Tenant-Id"));
+        blackhole.consume(RequestHandlerUtils.parseIntegerQueryParameter(request, "page"));
+        blackhole.consume(RequestHandlerUtils.parseIntegerQueryParameter(request, "size"));
+        blackhole.consume(RequestHandlerUtils.parseBooleanQueryParameter(request, "active"));
+        blackhole.consume(RequestHandlerUtils.parseLongQueryParameter(request, "from"));
+        blackhole.consume(RequestHandlerUtils.parseOptionalStringQueryParameter(request, "sort"));
+    }
+
+    private void parseCopy(HttpServerRequest request, Blackhole blackhole) {
+        blackhole.consume(Long.parseLong(request.headers().getAll("X-Request-Id").iterator().next().strip()));
+        blackhole.consume(Integer.parseInt(request.headers().getAll("X-Tenant-Id").iterator().next().strip()));
+        blackhole.consume(Integer.valueOf(request.queryParams().get("page").iterator().next().strip()).intValue());
+        blackhole.consume(Integer.valueOf(request.queryParams().get("size").iterator().next().strip()).intValue());
+        blackhole.consume(Boolean.valueOf(request.queryParams().get("active").iterator().next().strip()).booleanValue());
+        blackhole.consume(Long.valueOf(request.queryParams().get("from").iterator().next().strip()).longValue());
+        blackhole.consume(request.queryParams().get("sort").iterator().next());
+    }
+
+    private static Map<String, List<String>> copy(Map<String, Deque<String>> undertowQueryParams) {
+        var queryParams = new LinkedHashMap<String, List<String>>(undertowQueryParams.size());
+        for (var entry : undertowQueryParams.entrySet()) {
+            var value = new ArrayList<String>(entry.getValue().size());
+            for (var it : entry.getValue()) {
+                if (!it.isEmpty()) {
+                    value.add(it);
+                }
+            }
+            queryParams.put(entry.getKey(), value);
+        }
+        return Collections.unmodifiableMap(queryParams);
+    }
+
+    private record Request(HttpHeaders headers, Map<String, ? extends Collection<String>> queryParams) implements HttpServerRequest {
+        @Override
+        public String method() {
+            return "GET";
+        }
+
+        @Override
+        public String path() {
+            return "/items";
+        }
+
+        @Override
+        public String route() {
+            return "/items";
+        }
+
+        @Override
+        public List<Cookie> cookies() {
+            return List.of();
+        }
+
+        @Override
+        public Map<String, String> pathParams() {
+            return Map.of();
+        }
+
+        @Override
+        public HttpBodyInput body() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package ru.tinkoff.kora.http.server.undertow;
+
+import io.undertow.util.Headers;
+import io.undertow.util.HttpString;
+
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Interned lower case names of well known headers, so iterating over request headers does not lowercase every name
+ */
+final class HeaderNames {
+    private HeaderNames() {}
+
+    private static final Map<HttpString, String> LOWER_CASE_NAMES = new HashMap<>();
+
+    static {
+        for (var field : Headers.class.getFields()) {
+            if (field.getType() == HttpString.class && Modifier.isStatic(field.getModifiers())) {
+                try {
+                    var name = (HttpString) field.get(null);
+                    // HttpString equality is case insensitive
+                    LOWER_CASE_NAMES.put(name, name.toString().toLowerCase(Locale.ROOT).intern());
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+    }
+
+    static String lowerCase(HttpString name) {
+        var result = LOWER_CASE_NAMES.get(name);
+        if (result != null) {
+            return result;
+        }
+        return name.toString().toLowerCase(Locale.ROOT);
+    }
+}
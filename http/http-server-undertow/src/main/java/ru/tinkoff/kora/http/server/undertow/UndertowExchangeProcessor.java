@@ -7,13 +7,17 @@ import io.undertow.server.HttpServerExchange;
 import io.undertow.util.HeaderMap;
 import io.undertow.util.Headers;
 import io.undertow.util.HttpString;
+import io.undertow.util.Protocols;
 import jakarta.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.xnio.ChannelListener;
 import org.xnio.IoUtils;
+import org.xnio.channels.StreamSinkChannel;
 import ru.tinkoff.kora.common.Context;
 import ru.tinkoff.kora.common.util.flow.LazySingleSubscription;
 import ru.tinkoff.kora.common.util.flow.SingleSubscription;
+import ru.tinkoff.kora.http.common.body.FileHttpBodyOutput;
 import ru.tinkoff.kora.http.common.body.HttpBodyOutput;
 import ru.tinkoff.kora.http.common.header.HttpHeaders;
 import ru.tinkoff.kora.http.server.common.HttpServer;
@@ -21,10 +25,13 @@ import ru.tinkoff.kora.http.server.common.HttpServerResponse;
 import ru.tinkoff.kora.http.server.common.router.PublicApiHandler;
 import ru.tinkoff.kora.http.server.common.router.PublicApiResponse;
 import ru.tinkoff.kora.http.server.common.telemetry.HttpServerTracer;
+import ru.tinkoff.kora.http.server.undertow.compression.ResponseCompression;
+import ru.tinkoff.kora.http.server.undertow.compression.ResponseEncoder;
 import ru.tinkoff.kora.http.server.undertow.request.UndertowPublicApiRequest;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 import java.util.concurrent.CompletionException;
@@ -59,12 +66,19 @@ public class UndertowExchangeProcessor implements Runnable {
     private final Context context;
     @Nullable
     private final HttpServerTracer tracer;
+    @Nullable
+    private final ResponseCompression compression;
 
     public UndertowExchangeProcessor(HttpServerExchange exchange, PublicApiHandler publicApiHandler, Context context, @Nullable HttpServerTracer tracer) {
+        this(exchange, publicApiHandler, context, tracer, null);
+    }
+
+    public UndertowExchangeProcessor(HttpServerExchange exchange, PublicApiHandler publicApiHandler, Context context, @Nullable HttpServerTracer tracer, @Nullable ResponseCompression compression) {
         this.exchange = exchange;
         this.publicApiHandler = publicApiHandler;
         this.context = context;
         this.tracer = tracer;
+        this.compression = compression;
     }
 
     @Override
@@ -139,21 +153,31 @@ public class UndertowExchangeProcessor implements Runnable {
         if (contentType != null) {
             exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, contentType);
         }
+        if (body instanceof FileHttpBodyOutput file) {
+            this.sendFileBody(response, httpResponse, file, error);
+            return;
+        }
         var full = body.getFullContentIfAvailable();
+        var compression = this.compression;
         if (full != null) {
+            var encoder = compression == null || full.remaining() == 0 ? null : compression.encoder(exchange, contentType, full.remaining());
+            if (encoder != null) {
+                full = encoder.encodeFull(full);
+            }
             this.sendFullBody(response, httpResponse, full, error);
             return;
         }
 
         var contentLength = body.contentLength();
-        if (contentLength >= 0) {
+        var encoder = compression == null ? null : compression.encoder(exchange, contentType, contentLength);
+        if (contentLength >= 0 && encoder == null) {
             exchange.setResponseContentLength(contentLength);
         }
         if (this.isInBlockingThread()) {
             if (!exchange.isBlocking()) {
                 exchange.startBlocking();
             }
-            try (var os = exchange.getOutputStream()) {
+            try (var os = encoder == null ? exchange.getOutputStream() : encoder.outputStream(exchange.getOutputStream())) {
                 body.write(os);
             } catch (IOException e) {
                 response.closeConnectionError(exchange.getStatusCode(), e);
@@ -174,7 +198,7 @@ public class UndertowExchangeProcessor implements Runnable {
                 response.closeSendResponseSuccess(exchange.getStatusCode(), httpResponse.headers(), error);
             }
         } else {
-            sendStreamingBody(response, headers, body, error);
+            sendStreamingBody(response, headers, body, error, encoder);
         }
     }
 
@@ -244,7 +268,9 @@ public class UndertowExchangeProcessor implements Runnable {
                     try {
                         exchange.endExchange();
                     } finally {
-                        IoUtils.safeClose(exchange.getConnection());
+                        if (!isHttp2(exchange)) {
+                            IoUtils.safeClose(exchange.getConnection());
+                        }
                         response.closeConnectionError(exchange.getStatusCode(), error == null ? error : exception);
                     }
                 }
@@ -305,7 +331,7 @@ public class UndertowExchangeProcessor implements Runnable {
             } catch (IOException e) {
                 if (!exchange.isResponseStarted()) {
                     exchange.setStatusCode(500);
-                } else {
+                } else if (!isHttp2(exchange)) {
                     try {
                         exchange.getConnection().close();
                     } catch (IOException ex) {
@@ -319,7 +345,12 @@ public class UndertowExchangeProcessor implements Runnable {
             response.closeSendResponseSuccess(exchange.getStatusCode(), rs.headers(), error);
             return;
         }
-        sendStreamingBody(response, HttpHeaders.empty(), body, error);
+        sendStreamingBody(response, HttpHeaders.empty(), body, error, null);
+    }
+
+    private static boolean isHttp2(HttpServerExchange exchange) {
+        // HTTP/2 connection is shared by concurrent streams, so failed stream is reset by ending exchange instead of closing connection
+        return exchange.getProtocol().equals(Protocols.HTTP_2_0);
     }
 
     private boolean isInBlockingThread() {
@@ -340,8 +371,89 @@ public class UndertowExchangeProcessor implements Runnable {
         return false;
     }
 
-    private void sendStreamingBody(PublicApiResponse response, HttpHeaders headers, HttpBodyOutput body, @Nullable Throwable error) {
-        body.subscribe(new HttpResponseBodySubscriber(exchange, response, headers, error));
+    private void sendFileBody(PublicApiResponse response, HttpServerResponse httpResponse, FileHttpBodyOutput file, @Nullable Throwable error) {
+        var exchange = this.exchange;
+        var headers = httpResponse.headers();
+        final FileChannel channel;
+        try {
+            channel = file.openChannel();
+        } catch (IOException e) {
+            exchange.setStatusCode(500);
+            exchange.getResponseHeaders().remove(Headers.CONTENT_TYPE);
+            exchange.setResponseContentLength(0);
+            response.closeBodyError(500, e);
+            exchange.endExchange();
+            return;
+        }
+        exchange.setResponseContentLength(file.contentLength());
+        exchange.addExchangeCompleteListener((e, nextListener) -> {
+            IoUtils.safeClose(channel);
+            nextListener.proceed();
+        });
+        new FileRegionTransfer(exchange, response, headers, error, channel, file.position(), file.contentLength()).handleEvent(exchange.getResponseChannel());
+    }
+
+    /**
+     * Sends file region with {@link StreamSinkChannel#transferFrom(FileChannel, long, long)}, which ends up in sendfile for plain HTTP/1.1 connections
+     */
+    private static final class FileRegionTransfer implements ChannelListener<StreamSinkChannel> {
+        private final HttpServerExchange exchange;
+        private final PublicApiResponse response;
+        private final HttpHeaders headers;
+        @Nullable
+        private final Throwable error;
+        private final FileChannel file;
+        private long position;
+        private long remaining;
+
+        private FileRegionTransfer(HttpServerExchange exchange, PublicApiResponse response, HttpHeaders headers, @Nullable Throwable error, FileChannel file, long position, long count) {
+            this.exchange = exchange;
+            this.response = response;
+            this.headers = headers;
+            this.error = error;
+            this.file = file;
+            this.position = position;
+            this.remaining = count;
+        }
+
+        @Override
+        public void handleEvent(StreamSinkChannel channel) {
+            try {
+                while (this.remaining > 0) {
+                    var transferred = channel.transferFrom(this.file, this.position, this.remaining);
+                    if (transferred == 0) {
+                        if (this.position >= this.file.size()) {
+                            throw new IOException("File was truncated while being sent");
+                        }
+                        channel.getWriteSetter().set(this);
+                        channel.resumeWrites();
+                        return;
+                    }
+                    this.position += transferred;
+                    this.remaining -= transferred;
+                }
+            } catch (IOException e) {
+                channel.suspendWrites();
+                channel.getWriteSetter().set(null);
+                if (!isHttp2(this.exchange)) {
+                    IoUtils.safeClose(this.exchange.getConnection());
+                }
+                this.response.closeConnectionError(this.exchange.getStatusCode(), this.error == null ? e : this.error);
+                this.exchange.endExchange();
+                return;
+            }
+            channel.suspendWrites();
+            channel.getWriteSetter().set(null);
+            this.exchange.addExchangeCompleteListener((e, nextListener) -> {
+                this.response.closeSendResponseSuccess(e.getStatusCode(), this.headers, this.error);
+                nextListener.proceed();
+            });
+            this.exchange.endExchange();
+        }
+    }
+
+    private void sendStreamingBody(PublicApiResponse response, HttpHeaders headers, HttpBodyOutput body, @Nullable Throwable error, @Nullable ResponseEncoder encoder) {
+        body.subscribe(new HttpResponseBodySubscriber(exchange, response, headers, error, encoder));
     }
 
     private static class HttpResponseBodySubscriber implements Flow.Subscriber<ByteBuffer> {
@@ -349,14 +461,17 @@ public class UndertowExchangeProcessor implements Runnable {
         private final PublicApiResponse response;
         private final HttpHeaders headers;
         private final Throwable error;
+        @Nullable
+        private final ResponseEncoder encoder;
         private volatile Subscription subscription;
         private final AtomicInteger state = new AtomicInteger(0);
 
-        private HttpResponseBodySubscriber(HttpServerExchange exchange, PublicApiResponse response, HttpHeaders headers, @Nullable Throwable error) {
+        private HttpResponseBodySubscriber(HttpServerExchange exchange, PublicApiResponse response, HttpHeaders headers, @Nullable Throwable error, @Nullable ResponseEncoder encoder) {
             this.exchange = exchange;
             this.response = response;
             this.headers = headers;
             this.error = error;
+            this.encoder = encoder;
         }
 
         @Override
@@ -375,8 +490,9 @@ public class UndertowExchangeProcessor implements Runnable {
             }
 
             if (subscription instanceof SingleSubscription<?> || subscription instanceof LazySingleSubscription<?>) {
-                this.exchange.setResponseContentLength(byteBuffer.remaining());
-                this.exchange.getResponseSender().send(byteBuffer, new IoCallback() {
+                var single = this.encoder == null ? byteBuffer : this.encoder.encodeFull(byteBuffer);
+                this.exchange.setResponseContentLength(single.remaining());
+                this.exchange.getResponseSender().send(single, new IoCallback() {
                     @Override
                     public void onComplete(HttpServerExchange exchange, Sender sender) {
                         if (exchange.isComplete()) {
@@ -398,17 +514,14 @@ public class UndertowExchangeProcessor implements Runnable {
                 return;
             }
 
-            this.exchange.getResponseSender().send(byteBuffer, new IoCallback() {
+            var chunk = this.encoder == null ? byteBuffer : this.encoder.encodeChunk(byteBuffer);
+            this.exchange.getResponseSender().send(chunk, new IoCallback() {
                 @Override
                 public void onComplete(HttpServerExchange exchange, Sender sender) {
                     var newState = HttpResponseBodySubscriber.this.state.decrementAndGet();
                     DirectByteBufferDeallocator.free(byteBuffer);
                     if ((newState & (0x1 << 24)) != 0) {
-                        exchange.addExchangeCompleteListener((ex, nextListener) -> {
-                            HttpResponseBodySubscriber.this.response.closeSendResponseSuccess(ex.getStatusCode(), headers, null);
-                            nextListener.proceed();
-                        });
-                        exchange.endExchange();
+                        HttpResponseBodySubscriber.this.endExchange(headers, null);
                     } else {
                         HttpResponseBodySubscriber.this.subscription.request(1);
                     }
@@ -434,6 +547,7 @@ public class UndertowExchangeProcessor implements Runnable {
             } else {
                 exchange.setStatusCode(500);
                 exchange.getResponseHeaders().remove(Headers.CONTENT_LENGTH);
+                exchange.getResponseHeaders().remove(Headers.CONTENT_ENCODING);
                 exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, "text/plain");
                 exchange.getResponseSender().send(t.getMessage());
                 exchange.endExchange();
@@ -450,12 +564,37 @@ public class UndertowExchangeProcessor implements Runnable {
             var newState = this.state.updateAndGet(oldState -> oldState | (0x1 << 24));
             if (newState == (0x1 << 24)) {
                 // no chunks if flight
+                this.endExchange(null, error);
+            }
+        }
+
+        private void endExchange(@Nullable HttpHeaders headers, @Nullable Throwable error) {
+            var encoder = this.encoder;
+            if (encoder == null) {
                 this.exchange.addExchangeCompleteListener((exchange, nextListener) -> {
-                    HttpResponseBodySubscriber.this.response.closeSendResponseSuccess(exchange.getStatusCode(), null, error);
+                    HttpResponseBodySubscriber.this.response.closeSendResponseSuccess(exchange.getStatusCode(), headers, error);
                     nextListener.proceed();
                 });
                 this.exchange.endExchange();
+                return;
             }
+            // encoded stream trailer is sent after the last chunk
+            this.exchange.getResponseSender().send(encoder.finish(), new IoCallback() {
+                @Override
+                public void onComplete(HttpServerExchange exchange, Sender sender) {
+                    exchange.addExchangeCompleteListener((ex, nextListener) -> {
+                        HttpResponseBodySubscriber.this.response.closeSendResponseSuccess(ex.getStatusCode(), headers, error);
+                        nextListener.proceed();
+                    });
+                    exchange.endExchange();
+                }
+
+                @Override
+                public void onException(HttpServerExchange exchange, Sender sender, IOException exception) {
+                    exchange.getResponseSender().close();
+                    HttpResponseBodySubscriber.this.response.closeConnectionError(exchange.getStatusCode(), error == null ? exception : error);
+                }
+            });
         }
     }
 
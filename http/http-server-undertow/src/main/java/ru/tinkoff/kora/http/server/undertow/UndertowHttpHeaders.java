@@ -8,6 +8,9 @@ import ru.tinkoff.kora.http.common.header.HttpHeaders;
 
 import java.util.*;
 
+/**
+ * View over Undertow {@link HeaderMap}, lookups by name are case insensitive and do not allocate
+ */
 public class UndertowHttpHeaders extends AbstractHttpHeaders implements HttpHeaders {
     private final HeaderMap headerMap;
 
@@ -49,7 +52,7 @@ public class UndertowHttpHeaders extends AbstractHttpHeaders implements HttpHead
     public Set<String> names() {
         var names = new HashSet<String>();
         for (var headerName : this.headerMap.getHeaderNames()) {
-            names.add(headerName.toString().toLowerCase());
+            names.add(HeaderNames.lowerCase(headerName));
         }
         return names;
     }
@@ -67,7 +70,7 @@ public class UndertowHttpHeaders extends AbstractHttpHeaders implements HttpHead
             @Override
             public Map.Entry<String, List<String>> next() {
                 var next = i.next();
-                return Map.entry(next.getHeaderName().toString().toLowerCase(), next);
+                return Map.entry(HeaderNames.lowerCase(next.getHeaderName()), next);
             }
         };
     }
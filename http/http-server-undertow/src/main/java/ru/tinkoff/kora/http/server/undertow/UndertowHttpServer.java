@@ -1,8 +1,14 @@
 package ru.tinkoff.kora.http.server.undertow;
 
 import io.undertow.Undertow;
+import io.undertow.UndertowOptions;
 import io.undertow.connector.ByteBufferPool;
+import io.undertow.server.HttpHandler;
 import io.undertow.server.handlers.GracefulShutdownHandler;
+import io.undertow.server.handlers.encoding.GzipStreamSourceConduit;
+import io.undertow.server.handlers.encoding.InflatingStreamSourceConduit;
+import io.undertow.server.handlers.encoding.RequestEncodingHandler;
+import io.undertow.util.Headers;
 import jakarta.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -79,14 +85,43 @@ public class UndertowHttpServer implements HttpServer, ReadinessProbe {
 
     private Undertow createServer() {
         var config = this.config.get();
-        return Undertow.builder()
-            .addHttpListener(config.publicApiHttpPort(), "0.0.0.0", this.gracefulShutdown)
+        HttpHandler handler = this.gracefulShutdown;
+        if (config.compression().enabled()) {
+            handler = requestDecodingHandler(handler);
+        }
+        var builder = Undertow.builder()
+            .addHttpListener(config.publicApiHttpPort(), "0.0.0.0", handler)
             .setWorker(this.xnioWorker)
             .setByteBufferPool(this.byteBufferPool)
             .setServerOption(Options.READ_TIMEOUT, ((int) config.socketReadTimeout().toMillis()))
             .setServerOption(Options.WRITE_TIMEOUT, ((int) config.socketWriteTimeout().toMillis()))
-            .setServerOption(Options.KEEP_ALIVE, config.socketKeepAliveEnabled())
-            .build();
+            .setServerOption(Options.KEEP_ALIVE, config.socketKeepAliveEnabled());
+        var http2 = config.http2();
+        if (http2.enabled()) {
+            // plaintext listener accepts both prior knowledge h2c and HTTP/1.1 upgrade, TLS listener negotiates h2 via ALPN
+            builder
+                .setServerOption(UndertowOptions.ENABLE_HTTP2, true)
+                .setServerOption(UndertowOptions.HTTP2_SETTINGS_ENABLE_PUSH, false)
+                .setServerOption(UndertowOptions.HTTP2_SETTINGS_MAX_CONCURRENT_STREAMS, http2.maxConcurrentStreams())
+                .setServerOption(UndertowOptions.HTTP2_SETTINGS_INITIAL_WINDOW_SIZE, http2.initialWindowSize())
+                .setServerOption(UndertowOptions.HTTP2_SETTINGS_MAX_FRAME_SIZE, http2.maxFrameSize())
+                .setServerOption(UndertowOptions.HTTP2_SETTINGS_MAX_HEADER_LIST_SIZE, http2.maxHeaderListSize());
+        }
+        return builder.build();
+    }
+
+    private static HttpHandler requestDecodingHandler(HttpHandler next) {
+        var decodingHandler = new RequestEncodingHandler(next)
+            .addEncoding("gzip", GzipStreamSourceConduit.WRAPPER)
+            .addEncoding("deflate", InflatingStreamSourceConduit.WRAPPER);
+        return exchange -> {
+            var encoding = exchange.getRequestHeaders().getFirst(Headers.CONTENT_ENCODING);
+            if (encoding != null && (encoding.equalsIgnoreCase("gzip") || encoding.equalsIgnoreCase("deflate"))) {
+                // content length describes encoded body, decoded body length is unknown
+                exchange.getRequestHeaders().remove(Headers.CONTENT_LENGTH);
+            }
+            decodingHandler.handleRequest(exchange);
+        };
     }
 
     @Override
@@ -6,13 +6,17 @@ import io.undertow.server.DefaultByteBufferPool;
 import jakarta.annotation.Nullable;
 import org.xnio.XnioWorker;
 import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.application.graph.internal.loom.VirtualThreadExecutorHolder;
 import ru.tinkoff.kora.common.DefaultComponent;
 import ru.tinkoff.kora.common.Tag;
 import ru.tinkoff.kora.common.annotation.Root;
 import ru.tinkoff.kora.http.server.common.HttpServerConfig;
 import ru.tinkoff.kora.http.server.common.handler.BlockingRequestExecutor;
+import ru.tinkoff.kora.http.server.common.handler.VirtualThreadBlockingRequestExecutor;
 import ru.tinkoff.kora.http.server.common.router.PublicApiHandler;
+import ru.tinkoff.kora.http.server.common.telemetry.BlockingRequestExecutorMetrics;
 import ru.tinkoff.kora.http.server.common.telemetry.HttpServerTracerFactory;
+import ru.tinkoff.kora.http.server.undertow.compression.ResponseCompression;
 
 public interface UndertowHttpServerModule extends UndertowModule {
 
@@ -20,7 +24,10 @@ public interface UndertowHttpServerModule extends UndertowModule {
                                                               @Nullable HttpServerTracerFactory tracerFactory,
                                                               HttpServerConfig config) {
         var tracer = tracerFactory == null ? null : tracerFactory.get(config.telemetry().tracing());
-        return new UndertowPublicApiHandler(publicApiHandler, tracer);
+        var compression = config.compression().enabled()
+            ? new ResponseCompression(config.compression(), Math.max(config.ioThreads(), 1) + config.blockingThreads())
+            : null;
+        return new UndertowPublicApiHandler(publicApiHandler, tracer, compression);
     }
 
     @Root
@@ -32,8 +39,20 @@ public interface UndertowHttpServerModule extends UndertowModule {
     }
 
     @DefaultComponent
-    default BlockingRequestExecutor undertowBlockingRequestExecutor(@Tag(Undertow.class) XnioWorker xnioWorker) {
-        return new BlockingRequestExecutor.Default(xnioWorker);
+    default BlockingRequestExecutor undertowBlockingRequestExecutor(@Tag(Undertow.class) XnioWorker xnioWorker,
+                                                                    HttpServerConfig config,
+                                                                    @Nullable BlockingRequestExecutorMetrics metrics) {
+        var executorConfig = config.blockingExecutor();
+        return switch (executorConfig.type()) {
+            case WORKER -> new BlockingRequestExecutor.Default(xnioWorker);
+            case VIRTUAL -> {
+                var virtualThreadExecutor = VirtualThreadExecutorHolder.executor();
+                if (virtualThreadExecutor == null) {
+                    throw new IllegalStateException("Virtual thread blocking request executor is configured, but virtual threads are " + VirtualThreadExecutorHolder.status());
+                }
+                yield new VirtualThreadBlockingRequestExecutor(virtualThreadExecutor, executorConfig.maxConcurrency(), executorConfig.queueTimeout(), metrics);
+            }
+        };
     }
 
     @Tag(Undertow.class)
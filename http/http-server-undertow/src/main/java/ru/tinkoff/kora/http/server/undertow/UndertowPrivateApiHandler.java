@@ -3,6 +3,8 @@ package ru.tinkoff.kora.http.server.undertow;
 import io.undertow.io.IoCallback;
 import io.undertow.io.Sender;
 import io.undertow.server.HttpServerExchange;
+import io.undertow.util.Headers;
+import io.undertow.util.HttpString;
 import io.undertow.util.SameThreadExecutor;
 import ru.tinkoff.kora.http.server.common.PrivateApiHandler;
 
@@ -24,8 +26,11 @@ public class UndertowPrivateApiHandler {
 
     public void handleRequest(HttpServerExchange exchange) {
         var path = exchange.getRequestPath() + "?" + exchange.getQueryString();
+        // codings of repeated Accept-Encoding headers are combined, so refused gzip is not missed
+        var acceptEncodingValues = exchange.getRequestHeaders().get(Headers.ACCEPT_ENCODING);
+        var acceptEncoding = acceptEncodingValues == null ? null : String.join(",", acceptEncodingValues);
 
-        exchange.dispatch(SameThreadExecutor.INSTANCE, () -> this.privateApiHandler.handle(path)
+        exchange.dispatch(SameThreadExecutor.INSTANCE, () -> this.privateApiHandler.handle(path, acceptEncoding)
             .whenCompleteAsync((response, error) -> {
                 if (error != null) {
                     exchange.setStatusCode(500);
@@ -38,11 +43,18 @@ public class UndertowPrivateApiHandler {
                     return;
                 }
                 exchange.setStatusCode(response.code());
+                for (var header : response.headers()) {
+                    exchange.getResponseHeaders().putAll(HttpString.tryFromString(header.getKey()), header.getValue());
+                }
                 var body = response.body();
                 if (body == null) {
                     exchange.endExchange();
                     return;
                 }
+                var contentType = body.contentType();
+                if (contentType != null) {
+                    exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, contentType);
+                }
                 exchange.setResponseContentLength(body.contentLength());
                 var full = body.getFullContentIfAvailable();
                 if (full != null) {
@@ -6,21 +6,29 @@ import jakarta.annotation.Nullable;
 import ru.tinkoff.kora.common.Context;
 import ru.tinkoff.kora.http.server.common.router.PublicApiHandler;
 import ru.tinkoff.kora.http.server.common.telemetry.HttpServerTracer;
+import ru.tinkoff.kora.http.server.undertow.compression.ResponseCompression;
 
 public final class UndertowPublicApiHandler {
 
     private final PublicApiHandler publicApiHandler;
     @Nullable
     private final HttpServerTracer tracer;
+    @Nullable
+    private final ResponseCompression compression;
 
     public UndertowPublicApiHandler(PublicApiHandler publicApiHandler, @Nullable HttpServerTracer tracer) {
+        this(publicApiHandler, tracer, null);
+    }
+
+    public UndertowPublicApiHandler(PublicApiHandler publicApiHandler, @Nullable HttpServerTracer tracer, @Nullable ResponseCompression compression) {
         this.publicApiHandler = publicApiHandler;
         this.tracer = tracer;
+        this.compression = compression;
     }
 
     public void handleRequest(HttpServerExchange exchange) {
         var context = Context.clear();
-        var exchangeProcessor = new UndertowExchangeProcessor(exchange, this.publicApiHandler, context, this.tracer);
+        var exchangeProcessor = new UndertowExchangeProcessor(exchange, this.publicApiHandler, context, this.tracer, this.compression);
         exchange.dispatch(SameThreadExecutor.INSTANCE, exchangeProcessor);
     }
 }
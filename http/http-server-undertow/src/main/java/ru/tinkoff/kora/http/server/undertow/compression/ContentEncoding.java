@@ -0,0 +1,16 @@
+package ru.tinkoff.kora.http.server.undertow.compression;
+
+public enum ContentEncoding {
+    GZIP("gzip"),
+    DEFLATE("deflate");
+
+    private final String value;
+
+    ContentEncoding(String value) {
+        this.value = value;
+    }
+
+    public String value() {
+        return this.value;
+    }
+}
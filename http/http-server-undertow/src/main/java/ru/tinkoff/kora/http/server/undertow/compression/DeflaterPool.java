@@ -0,0 +1,70 @@
+package ru.tinkoff.kora.http.server.undertow.compression;
+
+import jakarta.annotation.Nullable;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Deflater holds native zlib memory, so instances are reused between responses instead of being created per response.
+ * Deflater is pooled together with output buffer and gzip checksum, so encoding a response does not allocate them either
+ */
+final class DeflaterPool {
+    static final int MAX_POOLED_BUFFER_SIZE = 64 * 1024;
+    private static final int MIN_BUFFER_SIZE = 512;
+
+    private final ArrayBlockingQueue<Entry> pool;
+    private final int level;
+    private final boolean nowrap;
+
+    DeflaterPool(int size, int level, boolean nowrap) {
+        this.pool = new ArrayBlockingQueue<>(size);
+        this.level = level;
+        this.nowrap = nowrap;
+    }
+
+    static final class Entry {
+        final Deflater deflater;
+        /**
+         * Checksum of gzip trailer, raw deflate streams are only used for gzip
+         */
+        @Nullable
+        final CRC32 crc;
+        byte[] buffer;
+
+        private Entry(Deflater deflater, @Nullable CRC32 crc) {
+            this.deflater = deflater;
+            this.crc = crc;
+        }
+    }
+
+    /**
+     * @param sizeHint expected encoded size, output buffer is at least that large up to {@link #MAX_POOLED_BUFFER_SIZE}
+     */
+    Entry acquire(int sizeHint) {
+        var entry = this.pool.poll();
+        if (entry == null) {
+            entry = new Entry(new Deflater(this.level, this.nowrap), this.nowrap ? new CRC32() : null);
+        }
+        var size = Math.max(Math.min(sizeHint, MAX_POOLED_BUFFER_SIZE), MIN_BUFFER_SIZE);
+        if (entry.buffer == null || entry.buffer.length < size) {
+            entry.buffer = new byte[size];
+        }
+        return entry;
+    }
+
+    void release(Entry entry) {
+        entry.deflater.reset();
+        if (entry.crc != null) {
+            entry.crc.reset();
+        }
+        if (entry.buffer.length > MAX_POOLED_BUFFER_SIZE) {
+            // buffer grown for large response is not kept around
+            entry.buffer = null;
+        }
+        if (!this.pool.offer(entry)) {
+            entry.deflater.end();
+        }
+    }
+}
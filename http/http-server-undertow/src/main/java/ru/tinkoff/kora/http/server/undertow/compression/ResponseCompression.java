@@ -0,0 +1,134 @@
+package ru.tinkoff.kora.http.server.undertow.compression;
+
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.Headers;
+import io.undertow.util.Methods;
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.http.server.common.HttpServerConfig;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.Deflater;
+
+/**
+ * Negotiates response content encoding from Accept-Encoding request header and creates encoders backed by pooled deflaters
+ */
+public final class ResponseCompression {
+    private final long minSize;
+    private final Set<String> contentTypes;
+    private final DeflaterPool gzipPool;
+    private final DeflaterPool deflatePool;
+
+    public ResponseCompression(HttpServerConfig.CompressionConfig config, int poolSize) {
+        if (config.level() < Deflater.DEFAULT_COMPRESSION || config.level() > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Compression level must be in range from -1 to 9, but was " + config.level());
+        }
+        this.minSize = config.minSize();
+        this.contentTypes = new HashSet<>();
+        for (var contentType : config.contentTypes()) {
+            this.contentTypes.add(contentType.toLowerCase(Locale.ROOT));
+        }
+        this.gzipPool = new DeflaterPool(poolSize, config.level(), true);
+        this.deflatePool = new DeflaterPool(poolSize, config.level(), false);
+    }
+
+    /**
+     * Sets Content-Encoding and Vary response headers if response should be compressed
+     *
+     * @param contentLength response body length or -1 if unknown
+     * @return encoder that is released on exchange completion, or null if response should be sent as is
+     */
+    @Nullable
+    public ResponseEncoder encoder(HttpServerExchange exchange, @Nullable String contentType, long contentLength) {
+        if (contentType == null || contentLength >= 0 && contentLength < this.minSize) {
+            return null;
+        }
+        var code = exchange.getStatusCode();
+        if (code == 204 || code == 206 || code == 304 || exchange.getRequestMethod().equals(Methods.HEAD)) {
+            return null;
+        }
+        var responseHeaders = exchange.getResponseHeaders();
+        // Content-Range describes bytes of unencoded representation, so range responses are sent as is
+        if (responseHeaders.contains(Headers.CONTENT_ENCODING) || responseHeaders.contains(Headers.CONTENT_RANGE) || !this.isCompressible(contentType)) {
+            return null;
+        }
+        var encoding = negotiate(exchange.getRequestHeaders().get(Headers.ACCEPT_ENCODING));
+        if (encoding == null) {
+            return null;
+        }
+        var pool = encoding == ContentEncoding.GZIP ? this.gzipPool : this.deflatePool;
+        var encoder = new ResponseEncoder(pool, encoding, contentLength < 0 ? 8 * 1024 : (int) Math.min(contentLength, Integer.MAX_VALUE));
+        exchange.addExchangeCompleteListener((ex, nextListener) -> {
+            encoder.close();
+            nextListener.proceed();
+        });
+        responseHeaders.put(Headers.CONTENT_ENCODING, encoding.value());
+        responseHeaders.add(Headers.VARY, Headers.ACCEPT_ENCODING_STRING);
+        return encoder;
+    }
+
+    private boolean isCompressible(String contentType) {
+        var end = contentType.indexOf(';');
+        var mediaType = (end < 0 ? contentType : contentType.substring(0, end)).trim().toLowerCase(Locale.ROOT);
+        return this.contentTypes.contains(mediaType);
+    }
+
+    @Nullable
+    static ContentEncoding negotiate(@Nullable Iterable<String> acceptEncodingHeaders) {
+        if (acceptEncodingHeaders == null) {
+            return null;
+        }
+        var gzipQuality = -1.0;
+        var deflateQuality = -1.0;
+        var wildcardQuality = -1.0;
+        for (var header : acceptEncodingHeaders) {
+            var start = 0;
+            while (start < header.length()) {
+                var end = header.indexOf(',', start);
+                if (end < 0) {
+                    end = header.length();
+                }
+                var paramsStart = header.indexOf(';', start);
+                var tokenEnd = paramsStart >= 0 && paramsStart < end ? paramsStart : end;
+                var token = header.substring(start, tokenEnd).trim();
+                var quality = tokenEnd < end ? parseQuality(header.substring(tokenEnd + 1, end)) : 1.0;
+                if (token.equalsIgnoreCase("gzip") || token.equalsIgnoreCase("x-gzip")) {
+                    gzipQuality = Math.max(gzipQuality, quality);
+                } else if (token.equalsIgnoreCase("deflate")) {
+                    deflateQuality = Math.max(deflateQuality, quality);
+                } else if (token.equals("*")) {
+                    wildcardQuality = Math.max(wildcardQuality, quality);
+                }
+                start = end + 1;
+            }
+        }
+        if (gzipQuality < 0) {
+            gzipQuality = wildcardQuality;
+        }
+        if (deflateQuality < 0) {
+            deflateQuality = wildcardQuality;
+        }
+        if (gzipQuality > 0 && gzipQuality >= deflateQuality) {
+            return ContentEncoding.GZIP;
+        }
+        if (deflateQuality > 0) {
+            return ContentEncoding.DEFLATE;
+        }
+        return null;
+    }
+
+    private static double parseQuality(String params) {
+        for (var param : params.split(";")) {
+            var trimmed = param.trim();
+            if (trimmed.length() > 2 && (trimmed.charAt(0) == 'q' || trimmed.charAt(0) == 'Q') && trimmed.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(trimmed.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0.0;
+                }
+            }
+        }
+        return 1.0;
+    }
+}
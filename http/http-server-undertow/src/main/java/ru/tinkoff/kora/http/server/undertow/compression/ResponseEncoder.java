@@ -0,0 +1,247 @@
+package ru.tinkoff.kora.http.server.undertow.compression;
+
+import jakarta.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Encodes single response body with pooled {@link Deflater}, output buffer and checksum, they are returned to the pool on {@link #close()}.
+ * Encoder is closed on exchange completion, that could happen while blocking writer still writes to {@link #outputStream(OutputStream)},
+ * so output stream holds its own reference and pooled resources are returned only after both are closed
+ */
+public final class ResponseEncoder implements AutoCloseable {
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final DeflaterPool pool;
+    private final ContentEncoding encoding;
+    @Nullable
+    private DeflaterPool.Entry entry;
+    private Deflater deflater;
+    @Nullable
+    private final CRC32 crc;
+    private byte[] out;
+    private int outPos;
+    private boolean headerWritten;
+    private boolean closed;
+    private int references = 1;
+
+    ResponseEncoder(DeflaterPool pool, ContentEncoding encoding, int sizeHint) {
+        this.pool = pool;
+        this.encoding = encoding;
+        this.entry = pool.acquire(sizeHint);
+        this.deflater = this.entry.deflater;
+        this.crc = encoding == ContentEncoding.GZIP ? this.entry.crc : null;
+        this.out = this.entry.buffer;
+    }
+
+    public ContentEncoding encoding() {
+        return this.encoding;
+    }
+
+    /**
+     * Encodes whole body, returned buffer is owned by encoder and valid until next encoder call
+     */
+    public synchronized ByteBuffer encodeFull(ByteBuffer body) {
+        this.ensureOpen();
+        this.outPos = 0;
+        this.writeHeader();
+        this.input(body);
+        this.finishDeflate();
+        this.writeTrailer();
+        return ByteBuffer.wrap(this.out, 0, this.outPos);
+    }
+
+    /**
+     * Encodes next chunk of streaming body and flushes it, so the chunk can be decoded by client as soon as it is received.
+     * Returned buffer is owned by encoder and valid until next encoder call
+     */
+    public synchronized ByteBuffer encodeChunk(ByteBuffer chunk) {
+        this.ensureOpen();
+        this.outPos = 0;
+        this.writeHeader();
+        this.input(chunk);
+        this.deflate(Deflater.SYNC_FLUSH);
+        return ByteBuffer.wrap(this.out, 0, this.outPos);
+    }
+
+    /**
+     * Finishes streaming body, returned buffer is owned by encoder and valid until next encoder call
+     */
+    public synchronized ByteBuffer finish() {
+        this.ensureOpen();
+        this.outPos = 0;
+        this.writeHeader();
+        this.finishDeflate();
+        this.writeTrailer();
+        return ByteBuffer.wrap(this.out, 0, this.outPos);
+    }
+
+    private synchronized ByteBuffer encodeNoFlush(byte[] bytes, int off, int len) {
+        this.ensureOpen();
+        this.outPos = 0;
+        this.writeHeader();
+        if (this.crc != null) {
+            this.crc.update(bytes, off, len);
+        }
+        this.deflater.setInput(bytes, off, len);
+        this.deflate(Deflater.NO_FLUSH);
+        return ByteBuffer.wrap(this.out, 0, this.outPos);
+    }
+
+    public synchronized OutputStream outputStream(OutputStream delegate) {
+        this.ensureOpen();
+        this.references++;
+        return new EncodingOutputStream(delegate);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!this.closed) {
+            this.closed = true;
+            this.release();
+        }
+    }
+
+    private synchronized void release() {
+        var entry = this.entry;
+        if (entry != null && --this.references == 0) {
+            this.entry = null;
+            this.deflater = null;
+            // buffer could be grown while encoding
+            entry.buffer = this.out;
+            this.pool.release(entry);
+        }
+    }
+
+    private void ensureOpen() {
+        if (this.entry == null) {
+            throw new IllegalStateException("Response encoder is already released");
+        }
+    }
+
+    private void input(ByteBuffer buffer) {
+        if (this.crc != null) {
+            this.crc.update(buffer.duplicate());
+        }
+        this.deflater.setInput(buffer);
+    }
+
+    private void deflate(int flush) {
+        var deflater = this.deflater;
+        while (true) {
+            this.ensureCapacity(1);
+            var n = deflater.deflate(this.out, this.outPos, this.out.length - this.outPos, flush);
+            this.outPos += n;
+            if (this.outPos < this.out.length && deflater.needsInput()) {
+                // output was not filled up, so everything was flushed
+                return;
+            }
+        }
+    }
+
+    private void finishDeflate() {
+        var deflater = this.deflater;
+        deflater.finish();
+        while (!deflater.finished()) {
+            this.ensureCapacity(1);
+            this.outPos += deflater.deflate(this.out, this.outPos, this.out.length - this.outPos);
+        }
+    }
+
+    private void writeHeader() {
+        if (this.headerWritten) {
+            return;
+        }
+        this.headerWritten = true;
+        if (this.crc != null) {
+            this.write(GZIP_HEADER, 0, GZIP_HEADER.length);
+        }
+    }
+
+    private void writeTrailer() {
+        if (this.crc == null) {
+            return;
+        }
+        this.writeIntLE((int) this.crc.getValue());
+        this.writeIntLE((int) this.deflater.getBytesRead());
+    }
+
+    private void writeIntLE(int value) {
+        this.ensureCapacity(4);
+        this.out[this.outPos++] = (byte) value;
+        this.out[this.outPos++] = (byte) (value >> 8);
+        this.out[this.outPos++] = (byte) (value >> 16);
+        this.out[this.outPos++] = (byte) (value >> 24);
+    }
+
+    private void write(byte[] bytes, int off, int len) {
+        this.ensureCapacity(len);
+        System.arraycopy(bytes, off, this.out, this.outPos, len);
+        this.outPos += len;
+    }
+
+    private void ensureCapacity(int required) {
+        if (this.out.length - this.outPos < required) {
+            this.out = Arrays.copyOf(this.out, Math.max(this.out.length * 2, this.outPos + required));
+        }
+    }
+
+    private final class EncodingOutputStream extends OutputStream {
+        private final OutputStream delegate;
+        private final byte[] single = new byte[1];
+        private boolean closed;
+
+        private EncodingOutputStream(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            this.single[0] = (byte) b;
+            this.write(this.single, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return;
+            }
+            this.drain(ResponseEncoder.this.encodeNoFlush(b, off, len));
+        }
+
+        @Override
+        public void flush() throws IOException {
+            this.drain(ResponseEncoder.this.encodeChunk(EMPTY));
+            this.delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            try {
+                this.drain(ResponseEncoder.this.finish());
+            } finally {
+                try {
+                    this.delegate.close();
+                } finally {
+                    ResponseEncoder.this.release();
+                }
+            }
+        }
+
+        private void drain(ByteBuffer buffer) throws IOException {
+            if (buffer.hasRemaining()) {
+                this.delegate.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            }
+        }
+    }
+}
@@ -57,7 +57,11 @@ public class UndertowPublicApiRequest implements PublicApiRequest {
 
     @Override
     public Map<String, ? extends Collection<String>> queryParams() {
-        return queryParams(this.exchange);
+        var undertowQueryParams = this.exchange.getQueryParameters();
+        if (undertowQueryParams.isEmpty()) {
+            return Map.of();
+        }
+        return new UndertowQueryParameters(undertowQueryParams);
     }
 
     @Override
@@ -74,26 +78,6 @@ public class UndertowPublicApiRequest implements PublicApiRequest {
         return this.body = b;
     }
 
-    private static Map<String, List<String>> queryParams(HttpServerExchange httpServerExchange) {
-        var undertowQueryParams = httpServerExchange.getQueryParameters();
-        if (undertowQueryParams.isEmpty()) {
-            return Map.of();
-        }
-
-        var queryParams = new LinkedHashMap<String, List<String>>(undertowQueryParams.size());
-        for (var entry : undertowQueryParams.entrySet()) {
-            var key = entry.getKey();
-            var value = new ArrayList<String>(entry.getValue().size());
-            for (var it : entry.getValue()) {
-                if (!it.isEmpty()) {
-                    value.add(it);
-                }
-            }
-            queryParams.put(key, value);
-        }
-        return Collections.unmodifiableMap(queryParams);
-    }
-
     private HttpBodyInput getContent(HttpServerExchange exchange) throws IOException {
         if (exchange.isRequestComplete()) {
             // request body is empty
@@ -0,0 +1,90 @@
+package ru.tinkoff.kora.http.server.undertow.request;
+
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.http.server.common.QueryParameters;
+
+import java.util.*;
+
+/**
+ * Read only view over {@link io.undertow.server.HttpServerExchange#getQueryParameters()}, empty values are skipped.
+ * Values are copied only for the parameters that are accessed through {@link Map} methods.
+ */
+final class UndertowQueryParameters extends QueryParameters {
+    private final Map<String, Deque<String>> parameters;
+    private Set<Map.Entry<String, List<String>>> entrySet;
+
+    UndertowQueryParameters(Map<String, Deque<String>> parameters) {
+        this.parameters = parameters;
+    }
+
+    @Nullable
+    @Override
+    public String getFirst(String name) {
+        var values = this.parameters.get(name);
+        if (values == null) {
+            return null;
+        }
+        var first = values.peekFirst();
+        if (first == null || !first.isEmpty()) {
+            return first;
+        }
+        for (var value : values) {
+            if (!value.isEmpty()) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public List<String> get(Object key) {
+        var values = this.parameters.get(key);
+        if (values == null) {
+            return null;
+        }
+        return nonEmpty(values);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return this.parameters.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return this.parameters.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.parameters.isEmpty();
+    }
+
+    @Override
+    public Set<Map.Entry<String, List<String>>> entrySet() {
+        var entrySet = this.entrySet;
+        if (entrySet == null) {
+            var entries = new LinkedHashMap<String, List<String>>(this.parameters.size() * 4 / 3 + 1);
+            for (var entry : this.parameters.entrySet()) {
+                entries.put(entry.getKey(), nonEmpty(entry.getValue()));
+            }
+            this.entrySet = entrySet = Collections.unmodifiableMap(entries).entrySet();
+        }
+        return entrySet;
+    }
+
+    private static List<String> nonEmpty(Deque<String> values) {
+        if (values.size() == 1) {
+            var value = values.peekFirst();
+            return value.isEmpty() ? List.of() : List.of(value);
+        }
+        var result = new ArrayList<String>(values.size());
+        for (var value : values) {
+            if (!value.isEmpty()) {
+                result.add(value);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+}
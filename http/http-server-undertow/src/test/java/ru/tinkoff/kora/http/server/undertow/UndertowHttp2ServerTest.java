@@ -0,0 +1,137 @@
+package ru.tinkoff.kora.http.server.undertow;
+
+import io.undertow.server.DefaultByteBufferPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.http.common.body.HttpBody;
+import ru.tinkoff.kora.http.server.common.HttpServerConfig;
+import ru.tinkoff.kora.http.server.common.HttpServerResponse;
+import ru.tinkoff.kora.http.server.common.handler.HttpServerRequestHandlerImpl;
+import ru.tinkoff.kora.http.server.common.router.PublicApiHandler;
+import ru.tinkoff.kora.http.server.common.telemetry.HttpServerTelemetryConfig;
+import ru.tinkoff.kora.http.server.common.telemetry.HttpServerTelemetryFactory;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UndertowHttp2ServerTest {
+    private UndertowHttpServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (this.server != null) {
+            this.server.release();
+        }
+    }
+
+    @Test
+    void priorKnowledgeH2cRequestIsHandled() throws Exception {
+        startServer();
+        var client = new OkHttpClient.Builder()
+            .protocols(List.of(Protocol.H2_PRIOR_KNOWLEDGE))
+            .build();
+
+        try (var response = client.newCall(request()).execute()) {
+            assertThat(response.protocol()).isEqualTo(Protocol.H2_PRIOR_KNOWLEDGE);
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.body().string()).isEqualTo("hello");
+        }
+    }
+
+    @Test
+    void http11RequestIsHandledWhenHttp2Enabled() throws Exception {
+        startServer();
+        var client = new OkHttpClient.Builder()
+            .protocols(List.of(Protocol.HTTP_1_1))
+            .build();
+
+        try (var response = client.newCall(request()).execute()) {
+            assertThat(response.protocol()).isEqualTo(Protocol.HTTP_1_1);
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.body().string()).isEqualTo("hello");
+        }
+    }
+
+    private Request request() {
+        return new Request.Builder()
+            .url("http://localhost:" + this.server.port() + "/hello")
+            .get()
+            .build();
+    }
+
+    private void startServer() {
+        var http2 = new HttpServerConfig.Http2Config() {
+            @Override
+            public boolean enabled() {
+                return true;
+            }
+        };
+        var config = new HttpServerConfig() {
+            @Override
+            public int publicApiHttpPort() {
+                return 0;
+            }
+
+            @Override
+            public HttpServerTelemetryConfig telemetry() {
+                return Mockito.mock(HttpServerTelemetryConfig.class);
+            }
+
+            @Override
+            public Http2Config http2() {
+                return http2;
+            }
+
+            @Override
+            public CompressionConfig compression() {
+                return new CompressionConfig() {};
+            }
+
+            @Override
+            public BlockingExecutorConfig blockingExecutor() {
+                return new BlockingExecutorConfig() {};
+            }
+
+            @Override
+            public ConcurrencyLimitConfig concurrencyLimit() {
+                return new ConcurrencyLimitConfig() {};
+            }
+
+            @Override
+            public MetricsScrapeConfig privateApiHttpMetricsScrape() {
+                return new MetricsScrapeConfig() {};
+            }
+        };
+        var handler = new HttpServerRequestHandlerImpl("GET", "/hello", (ctx, request) -> CompletableFuture.completedFuture(HttpServerResponse.of(200, HttpBody.plaintext("hello"))));
+        var publicApiHandler = new PublicApiHandler(List.of(handler), List.of(), Mockito.mock(HttpServerTelemetryFactory.class), config);
+        ValueOf<HttpServerConfig> configValue = new ValueOf<>() {
+            @Override
+            public HttpServerConfig get() {
+                return config;
+            }
+
+            @Override
+            public void refresh() {
+            }
+        };
+        ValueOf<UndertowPublicApiHandler> handlerValue = new ValueOf<>() {
+            @Override
+            public UndertowPublicApiHandler get() {
+                return new UndertowPublicApiHandler(publicApiHandler, null);
+            }
+
+            @Override
+            public void refresh() {
+            }
+        };
+        this.server = new UndertowHttpServer(configValue, handlerValue, null, new DefaultByteBufferPool(false, 1024));
+        this.server.init();
+    }
+}
@@ -1,17 +1,42 @@
 package ru.tinkoff.kora.http.server.undertow;
 
 import io.undertow.server.DefaultByteBufferPool;
+import jakarta.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import reactor.adapter.JdkFlowAdapter;
+import reactor.core.publisher.Flux;
 import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.http.common.body.HttpBody;
+import ru.tinkoff.kora.http.common.body.HttpBodyOutput;
 import ru.tinkoff.kora.http.server.common.*;
+import ru.tinkoff.kora.http.server.common.handler.HttpServerRequestHandler;
+import ru.tinkoff.kora.http.server.common.handler.HttpServerRequestHandlerImpl;
 import ru.tinkoff.kora.http.server.common.router.PublicApiHandler;
+import ru.tinkoff.kora.http.server.undertow.compression.ResponseCompression;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 class UndertowHttpServerTest extends HttpServerTestKit {
+    private static final String CHUNK = "{\"hello\":\"world\"}".repeat(100);
+
+    @Nullable
+    private ResponseCompression compression;
 
     @Override
     protected HttpServer httpServer(ValueOf<HttpServerConfig> config, PublicApiHandler publicApiHandler) {
         return new UndertowHttpServer(
             config,
-            valueOf(new UndertowPublicApiHandler(publicApiHandler, null)),
+            valueOf(new UndertowPublicApiHandler(publicApiHandler, null, this.compression)),
             null,
             new DefaultByteBufferPool(false, 1024)
         );
@@ -21,4 +46,78 @@ class UndertowHttpServerTest extends HttpServerTestKit {
     protected PrivateHttpServer privateHttpServer(ValueOf<HttpServerConfig> config, PrivateApiHandler privateApiHandler) {
         return new UndertowPrivateHttpServer(config, valueOf(new UndertowPrivateApiHandler(privateApiHandler)), null, new DefaultByteBufferPool(false, 1024));
     }
+
+    @Test
+    void testCompressedFullResponseBody() throws IOException {
+        this.assertCompressed(HttpServerRequestHandlerImpl.get("/", (ctx, request) -> {
+            return CompletableFuture.completedFuture(HttpServerResponse.of(200, HttpBody.json(CHUNK)));
+        }), CHUNK);
+    }
+
+    @Test
+    void testCompressedStreamingResponseBody() throws IOException {
+        this.assertCompressed(HttpServerRequestHandlerImpl.get("/", (ctx, request) -> {
+            var chunks = Flux.range(0, 10).map(i -> ByteBuffer.wrap(CHUNK.getBytes(StandardCharsets.UTF_8)));
+            var body = HttpBodyOutput.of("application/json", JdkFlowAdapter.publisherToFlowPublisher(chunks));
+            return CompletableFuture.completedFuture(HttpServerResponse.of(200, body));
+        }), CHUNK.repeat(10));
+    }
+
+    @Test
+    void testCompressedBlockingWriterResponseBody() throws IOException {
+        var body = new HttpBodyOutput() {
+            @Override
+            public long contentLength() {
+                return -1;
+            }
+
+            @Override
+            public String contentType() {
+                return "application/json";
+            }
+
+            @Override
+            public void write(OutputStream os) throws IOException {
+                for (int i = 0; i < 10; i++) {
+                    os.write(CHUNK.getBytes(StandardCharsets.UTF_8));
+                    os.flush();
+                }
+            }
+
+            @Override
+            public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+                throw new IllegalStateException();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        // response is completed outside of io thread, so body is written by blocking writer
+        this.assertCompressed(HttpServerRequestHandlerImpl.get("/", (ctx, request) -> {
+            return CompletableFuture.supplyAsync(() -> HttpServerResponse.of(200, body), ForkJoinPool.commonPool());
+        }), CHUNK.repeat(10));
+    }
+
+    private void assertCompressed(HttpServerRequestHandler handler, String expected) throws IOException {
+        this.compression = new ResponseCompression(new HttpServerConfig.CompressionConfig() {}, 4);
+        this.startServer(handler);
+
+        // explicit header disables transparent decompression of client
+        var request = request("/")
+            .header("Accept-Encoding", "gzip")
+            .get()
+            .build();
+
+        for (int i = 0; i < 3; i++) {
+            try (var response = client.newCall(request).execute()) {
+                assertThat(response.code()).isEqualTo(200);
+                assertThat(response.header("Content-Encoding")).isEqualTo("gzip");
+                assertThat(response.header("Vary")).isEqualTo("Accept-Encoding");
+                var body = response.body().bytes();
+                assertThat(body.length).isLessThan(expected.length());
+                assertThat(new String(new GZIPInputStream(new ByteArrayInputStream(body)).readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(expected);
+            }
+        }
+    }
 }
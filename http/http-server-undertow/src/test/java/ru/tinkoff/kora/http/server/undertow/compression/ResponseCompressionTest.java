@@ -0,0 +1,87 @@
+package ru.tinkoff.kora.http.server.undertow.compression;
+
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.Headers;
+import io.undertow.util.Methods;
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.kora.http.server.common.HttpServerConfig;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResponseCompressionTest {
+    private final ResponseCompression compression = new ResponseCompression(new HttpServerConfig.CompressionConfig() {}, 1);
+
+    @Test
+    void compressesFullResponse() {
+        var exchange = exchange(200);
+
+        var encoder = this.compression.encoder(exchange, "text/html; charset=utf-8", 4096);
+
+        assertThat(encoder).isNotNull();
+        assertThat(exchange.getResponseHeaders().getFirst(Headers.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(exchange.getResponseHeaders().getFirst(Headers.VARY)).isEqualTo(Headers.ACCEPT_ENCODING_STRING);
+        encoder.close();
+    }
+
+    @Test
+    void doesNotCompressPartialContent() {
+        var exchange = exchange(206);
+        exchange.getResponseHeaders().put(Headers.CONTENT_RANGE, "bytes 0-4095/10000");
+
+        assertThat(this.compression.encoder(exchange, "text/html", 4096)).isNull();
+        assertThat(exchange.getResponseHeaders().contains(Headers.CONTENT_ENCODING)).isFalse();
+    }
+
+    @Test
+    void doesNotCompressResponseWithContentRange() {
+        var exchange = exchange(200);
+        exchange.getResponseHeaders().put(Headers.CONTENT_RANGE, "bytes 0-4095/4096");
+
+        assertThat(this.compression.encoder(exchange, "text/css", 4096)).isNull();
+        assertThat(exchange.getResponseHeaders().contains(Headers.CONTENT_ENCODING)).isFalse();
+    }
+
+    @Test
+    void rejectsInvalidLevel() {
+        assertThatThrownBy(() -> new ResponseCompression(new HttpServerConfig.CompressionConfig() {
+            @Override
+            public int level() {
+                return 10;
+            }
+        }, 1))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("10");
+    }
+
+    @Test
+    void encoderIsReleasedAfterBlockingWriterIsClosed() throws IOException {
+        var encoder = this.compression.encoder(exchange(200), "text/plain", -1);
+        var out = new ByteArrayOutputStream();
+        var os = encoder.outputStream(out);
+        os.write("hello ".getBytes(StandardCharsets.UTF_8));
+
+        // exchange is completed while writer still holds encoder
+        encoder.close();
+        os.write("world".getBytes(StandardCharsets.UTF_8));
+        os.close();
+
+        assertThat(new String(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("hello world");
+        assertThatThrownBy(() -> encoder.encodeChunk(ByteBuffer.allocate(0))).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static HttpServerExchange exchange(int statusCode) {
+        var exchange = new HttpServerExchange(null);
+        exchange.setRequestMethod(Methods.GET);
+        exchange.getRequestHeaders().put(Headers.ACCEPT_ENCODING, "gzip, deflate");
+        exchange.setStatusCode(statusCode);
+        return exchange;
+    }
+}
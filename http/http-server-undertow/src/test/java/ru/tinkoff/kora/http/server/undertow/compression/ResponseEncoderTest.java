@@ -0,0 +1,131 @@
+package ru.tinkoff.kora.http.server.undertow.compression;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseEncoderTest {
+    private static final byte[] BODY = "{\"field\":\"value\"}".repeat(200).getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void negotiatesPreferredEncoding() {
+        assertThat(ResponseCompression.negotiate(null)).isNull();
+        assertThat(ResponseCompression.negotiate(List.of("identity"))).isNull();
+        assertThat(ResponseCompression.negotiate(List.of("gzip, deflate, br"))).isEqualTo(ContentEncoding.GZIP);
+        assertThat(ResponseCompression.negotiate(List.of("gzip;q=0.5, deflate"))).isEqualTo(ContentEncoding.DEFLATE);
+        assertThat(ResponseCompression.negotiate(List.of("gzip;q=0", "deflate;q=0"))).isNull();
+        assertThat(ResponseCompression.negotiate(List.of("*"))).isEqualTo(ContentEncoding.GZIP);
+        assertThat(ResponseCompression.negotiate(List.of("*;q=0.1, gzip;q=0"))).isEqualTo(ContentEncoding.DEFLATE);
+    }
+
+    @Test
+    void gzipFullBody() throws IOException {
+        var pool = new DeflaterPool(1, 6, true);
+        try (var encoder = new ResponseEncoder(pool, ContentEncoding.GZIP, BODY.length)) {
+            var encoded = copy(encoder.encodeFull(ByteBuffer.wrap(BODY)));
+
+            assertThat(encoded.length).isLessThan(BODY.length);
+            assertThat(new GZIPInputStream(new ByteArrayInputStream(encoded)).readAllBytes()).isEqualTo(BODY);
+        }
+    }
+
+    @Test
+    void deflateChunkedBody() throws IOException {
+        var pool = new DeflaterPool(1, 6, false);
+        var out = new ByteArrayOutputStream();
+        try (var encoder = new ResponseEncoder(pool, ContentEncoding.DEFLATE, -1)) {
+            for (int i = 0; i < BODY.length; i += 1000) {
+                out.write(copy(encoder.encodeChunk(ByteBuffer.wrap(BODY, i, Math.min(1000, BODY.length - i)))));
+            }
+            out.write(copy(encoder.finish()));
+        }
+
+        assertThat(readAll(new InflaterInputStream(new ByteArrayInputStream(out.toByteArray())))).isEqualTo(BODY);
+    }
+
+    @Test
+    void gzipOutputStream() throws IOException {
+        var pool = new DeflaterPool(1, 6, true);
+        var out = new ByteArrayOutputStream();
+        try (var encoder = new ResponseEncoder(pool, ContentEncoding.GZIP, -1)) {
+            try (var os = encoder.outputStream(out)) {
+                os.write(BODY, 0, 100);
+                os.flush();
+                os.write(BODY, 100, BODY.length - 100);
+            }
+        }
+
+        assertThat(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).readAllBytes()).isEqualTo(BODY);
+    }
+
+    @Test
+    void encoderReusesPooledDeflater() throws IOException {
+        var pool = new DeflaterPool(1, 6, true);
+        try (var encoder = new ResponseEncoder(pool, ContentEncoding.GZIP, BODY.length)) {
+            encoder.encodeFull(ByteBuffer.wrap(BODY));
+        }
+        try (var encoder = new ResponseEncoder(pool, ContentEncoding.GZIP, BODY.length)) {
+            var encoded = copy(encoder.encodeFull(ByteBuffer.wrap(BODY)));
+
+            assertThat(new GZIPInputStream(new ByteArrayInputStream(encoded)).readAllBytes()).isEqualTo(BODY);
+        }
+    }
+
+    @Test
+    void poolReusesBufferAndChecksumWithDeflater() {
+        var pool = new DeflaterPool(1, 6, true);
+        var entry = pool.acquire(BODY.length);
+        var buffer = entry.buffer;
+        entry.crc.update(BODY);
+        pool.release(entry);
+
+        var reused = pool.acquire(1024);
+        assertThat(reused).isSameAs(entry);
+        assertThat(reused.buffer).isSameAs(buffer);
+        assertThat(reused.crc.getValue()).isZero();
+
+        reused.buffer = new byte[DeflaterPool.MAX_POOLED_BUFFER_SIZE * 2];
+        pool.release(reused);
+        assertThat(pool.acquire(1024).buffer).hasSize(1024);
+    }
+
+    @Test
+    void encoderGrowsPooledBuffer() throws IOException {
+        // random bytes are not compressible, so encoded body does not fit into minimal buffer
+        var body = new byte[4096];
+        new Random(42).nextBytes(body);
+        var pool = new DeflaterPool(1, 6, false);
+        try (var encoder = new ResponseEncoder(pool, ContentEncoding.DEFLATE, 1)) {
+            var encoded = copy(encoder.encodeFull(ByteBuffer.wrap(body)));
+
+            assertThat(encoded.length).isGreaterThan(512);
+            assertThat(readAll(new InflaterInputStream(new ByteArrayInputStream(encoded)))).isEqualTo(body);
+        }
+        var entry = pool.acquire(1);
+        assertThat(entry.buffer.length).isGreaterThan(512);
+        assertThat(entry.crc).isNull();
+    }
+
+    private static byte[] copy(ByteBuffer buffer) {
+        var bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static byte[] readAll(InputStream is) throws IOException {
+        try (is) {
+            return is.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package ru.tinkoff.kora.http.server.undertow.request;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import ru.tinkoff.kora.http.server.common.HttpServerRequest;
+import ru.tinkoff.kora.http.server.common.handler.RequestHandlerUtils;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UndertowQueryParametersTest {
+
+    @Test
+    void emptyValuesAreSkipped() {
+        // given
+        var parameters = new UndertowQueryParameters(undertowParameters());
+
+        // then
+        assertThat(parameters.getFirst("a")).isEqualTo("1");
+        assertThat(parameters.getFirst("b")).isEqualTo("2");
+        assertThat(parameters.getFirst("c")).isNull();
+        assertThat(parameters.getFirst("d")).isNull();
+        assertThat(parameters.get("b")).containsExactly("2", "3");
+        assertThat(parameters.get("c")).isEmpty();
+        assertThat(parameters.containsKey("c")).isTrue();
+        assertThat(parameters).containsOnlyKeys("a", "b", "c");
+        assertThat(parameters).isEqualTo(Map.of("a", List.of("1"), "b", List.of("2", "3"), "c", List.of()));
+    }
+
+    @Test
+    void primitiveParametersAreReadFromView() {
+        // given
+        var request = Mockito.mock(HttpServerRequest.class);
+        Mockito.<Map<String, ? extends Collection<String>>>when(request.queryParams()).thenReturn(new UndertowQueryParameters(undertowParameters()));
+
+        // then
+        assertThat(RequestHandlerUtils.parseIntegerQueryParameter(request, "a")).isEqualTo(1);
+        assertThat(RequestHandlerUtils.parseLongQueryParameter(request, "b")).isEqualTo(2L);
+        assertThat(RequestHandlerUtils.parseOptionalIntegerQueryParameter(request, "c")).isNull();
+        assertThat(RequestHandlerUtils.parseOptionalStringQueryParameter(request, "d")).isNull();
+    }
+
+    private static Map<String, Deque<String>> undertowParameters() {
+        var parameters = new TreeMap<String, Deque<String>>();
+        parameters.put("a", new ArrayDeque<>(List.of("1")));
+        parameters.put("b", new ArrayDeque<>(List.of("", "2", "3")));
+        parameters.put("c", new ArrayDeque<>(List.of("")));
+        return parameters;
+    }
+}
@@ -1,12 +1,14 @@
 package ru.tinkoff.kora.json.common;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
 
 import jakarta.annotation.Nullable;
 import ru.tinkoff.kora.json.common.annotation.JsonDiscriminatorField;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 /**
  * <b>Русский</b>: Контракт читателя JSON со всеми методами чтения
@@ -34,6 +36,25 @@ public interface JsonReader<T> {
         }
     }
 
+    /**
+     * <b>Русский</b>: Читает содержимое буфера без копирования, позиция буфера не меняется
+     * <hr>
+     * <b>English</b>: Reads buffer content without copying it, buffer position is not changed
+     */
+    @Nullable
+    default T read(ByteBuffer buffer) throws IOException {
+        if (buffer.hasArray()) {
+            return this.read(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+        try (var parser = JsonCommonModule.JSON_FACTORY.createNonBlockingByteBufferParser()) {
+            var feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+            feeder.feedInput(buffer.duplicate());
+            feeder.endOfInput();
+            parser.nextToken();
+            return this.read(parser);
+        }
+    }
+
     @Nullable
     default T read(String str) throws IOException {
         try (var parser = JsonCommonModule.JSON_FACTORY.createParser(str)) {
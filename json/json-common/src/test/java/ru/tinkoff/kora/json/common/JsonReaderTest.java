@@ -0,0 +1,33 @@
+package ru.tinkoff.kora.json.common;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+class JsonReaderTest {
+    private final JsonReader<Object> reader = JsonObjectCodec::parse;
+
+    @Test
+    void testReadHeapBufferSlice() throws IOException {
+        var bytes = "xx{\"key\":[\"a\",\"value\"]}yy".getBytes(StandardCharsets.UTF_8);
+        var buffer = ByteBuffer.wrap(bytes, 2, bytes.length - 4).slice();
+
+        Assertions.assertThat(reader.read(buffer)).isEqualTo(Map.of("key", List.of("a", "value")));
+        Assertions.assertThat(buffer.position()).isZero();
+    }
+
+    @Test
+    void testReadDirectBuffer() throws IOException {
+        var bytes = "{\"key\":[\"a\",\"value\"]}".getBytes(StandardCharsets.UTF_8);
+        var buffer = ByteBuffer.allocateDirect(bytes.length + 2);
+        buffer.put((byte) ' ').put(bytes).flip().position(1);
+
+        Assertions.assertThat(reader.read(buffer)).isEqualTo(Map.of("key", List.of("a", "value")));
+        Assertions.assertThat(buffer.position()).isEqualTo(1);
+    }
+}
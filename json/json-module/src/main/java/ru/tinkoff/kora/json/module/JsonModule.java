@@ -20,6 +20,21 @@ public interface JsonModule extends JsonCommonModule {
         return new JsonReaderAsyncHttpServerRequestMapper<>(reader);
     }
 
+    @Json
+    default <T> JsonReaderPublisherHttpServerRequestMapper<T> jsonReaderPublisherHttpServerRequestMapper(JsonReader<T> reader) {
+        return new JsonReaderPublisherHttpServerRequestMapper<>(reader);
+    }
+
+    @Json
+    default <T> JsonReaderAsyncPublisherHttpServerRequestMapper<T> jsonReaderAsyncPublisherHttpServerRequestMapper(JsonReader<T> reader) {
+        return new JsonReaderAsyncPublisherHttpServerRequestMapper<>(reader);
+    }
+
+    @Json
+    default <T> JsonReaderIteratorHttpServerRequestMapper<T> jsonReaderIteratorHttpServerRequestMapper(JsonReader<T> reader) {
+        return new JsonReaderIteratorHttpServerRequestMapper<>(reader);
+    }
+
     @Json
     default <T> JsonWriterHttpServerResponseMapper<T> jsonResponseMapper(JsonWriter<T> writer) {
         return new JsonWriterHttpServerResponseMapper<>(writer);
@@ -0,0 +1,105 @@
+package ru.tinkoff.kora.json.module.http.server;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.http.server.common.HttpServerResponseException;
+import ru.tinkoff.kora.json.common.JsonReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads elements of JSON array or whitespace/newline delimited JSON values (NDJSON) one by one from blocking parser.
+ * Parser and request body are closed when the last element is read or when parsing fails.
+ */
+final class JsonElementIterator<T> implements Iterator<T> {
+    private final JsonReader<T> reader;
+    private final JsonParser parser;
+    private final Closeable body;
+    private boolean started = false;
+    private boolean array = false;
+    private boolean finished = false;
+    @Nullable
+    private T next;
+
+    JsonElementIterator(JsonReader<T> reader, JsonParser parser, Closeable body) {
+        this.reader = reader;
+        this.parser = parser;
+        this.body = body;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.next != null) {
+            return true;
+        }
+        if (this.finished) {
+            return false;
+        }
+        try {
+            this.next = this.readNext();
+            return this.next != null;
+        } catch (JsonProcessingException e) {
+            this.close();
+            throw HttpServerResponseException.of(400, e.getMessage());
+        } catch (IOException e) {
+            this.close();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        var next = this.next;
+        this.next = null;
+        return next;
+    }
+
+    @Nullable
+    private T readNext() throws IOException {
+        var token = this.parser.nextToken();
+        if (!this.started) {
+            this.started = true;
+            if (token == JsonToken.START_ARRAY) {
+                this.array = true;
+                token = this.parser.nextToken();
+            }
+        }
+        if (token == null) {
+            if (this.array) {
+                throw new JsonParseException(this.parser, "Unexpected end of input");
+            }
+            this.close();
+            return null;
+        }
+        if (this.array && token == JsonToken.END_ARRAY) {
+            var trailing = this.parser.nextToken();
+            if (trailing != null) {
+                throw new JsonParseException(this.parser, "Unexpected content after top level array: " + trailing);
+            }
+            this.close();
+            return null;
+        }
+        var value = this.reader.read(this.parser);
+        if (value == null) {
+            throw new JsonParseException(this.parser, "Null elements are not supported");
+        }
+        return value;
+    }
+
+    private void close() {
+        this.finished = true;
+        try (this.body; this.parser) {
+        } catch (IOException ignore) {
+        }
+    }
+}
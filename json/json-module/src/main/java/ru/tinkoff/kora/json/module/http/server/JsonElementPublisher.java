@@ -0,0 +1,198 @@
+package ru.tinkoff.kora.json.module.http.server;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.common.util.flow.ErrorSubscription;
+import ru.tinkoff.kora.http.server.common.HttpServerResponseException;
+import ru.tinkoff.kora.json.common.JsonReader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes elements of JSON array or NDJSON request body as body chunks arrive.
+ * Next chunk is requested from the body only when all elements decoded from previous chunks are consumed.
+ */
+final class JsonElementPublisher<T> implements Flow.Publisher<T> {
+    private final JsonReader<T> reader;
+    private final Flow.Publisher<ByteBuffer> body;
+    private final AtomicBoolean subscribed = new AtomicBoolean(false);
+
+    JsonElementPublisher(JsonReader<T> reader, Flow.Publisher<ByteBuffer> body) {
+        this.reader = reader;
+        this.body = body;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        if (!this.subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new ErrorSubscription<>(subscriber, Context.current(), new IllegalStateException("Request body publisher allows only one subscriber")));
+            return;
+        }
+        final JsonElementStreamDecoder<T> decoder;
+        try {
+            decoder = new JsonElementStreamDecoder<>(this.reader);
+        } catch (IOException e) {
+            subscriber.onSubscribe(new ErrorSubscription<>(subscriber, Context.current(), e));
+            return;
+        }
+        this.body.subscribe(new ElementSubscription<>(subscriber, decoder));
+    }
+
+    private static final class ElementSubscription<T> implements Flow.Subscriber<ByteBuffer>, Flow.Subscription {
+        private final Flow.Subscriber<? super T> downstream;
+        private final JsonElementStreamDecoder<T> decoder;
+        private final ConcurrentLinkedQueue<ByteBuffer> chunks = new ConcurrentLinkedQueue<>();
+        private final AtomicLong demand = new AtomicLong(0);
+        private final AtomicInteger wip = new AtomicInteger(0);
+        private volatile Flow.Subscription upstream;
+        private volatile boolean upstreamDone;
+        private volatile Throwable upstreamError;
+        private volatile boolean cancelled;
+
+        // accessed only from drain loop
+        private final ArrayDeque<T> elements = new ArrayDeque<>();
+        private boolean chunkRequested;
+        private boolean decoderEnded;
+        private boolean done;
+
+        private ElementSubscription(Flow.Subscriber<? super T> downstream, JsonElementStreamDecoder<T> decoder) {
+            this.downstream = downstream;
+            this.decoder = decoder;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.upstream = subscription;
+            this.downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(ByteBuffer item) {
+            this.chunks.add(item);
+            this.drain();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            this.upstreamError = throwable;
+            this.upstreamDone = true;
+            this.drain();
+        }
+
+        @Override
+        public void onComplete() {
+            this.upstreamDone = true;
+            this.drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                this.cancel();
+                this.downstream.onError(new IllegalArgumentException("Requested " + n + " items"));
+                return;
+            }
+            this.demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            this.drain();
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+            var upstream = this.upstream;
+            if (upstream != null) {
+                upstream.cancel();
+            }
+            this.drain();
+        }
+
+        private void drain() {
+            if (this.wip.getAndIncrement() != 0) {
+                return;
+            }
+            var missed = 1;
+            do {
+                this.drainLoop();
+                missed = this.wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drainLoop() {
+            while (!this.done) {
+                if (this.cancelled) {
+                    this.done = true;
+                    this.elements.clear();
+                    this.chunks.clear();
+                    this.decoder.close();
+                    return;
+                }
+                if (!this.elements.isEmpty()) {
+                    if (this.demand.get() == 0) {
+                        return;
+                    }
+                    this.demand.decrementAndGet();
+                    this.downstream.onNext(this.elements.poll());
+                    continue;
+                }
+                var chunk = this.chunks.poll();
+                if (chunk != null) {
+                    this.chunkRequested = false;
+                    try {
+                        this.decoder.feed(chunk, this.elements);
+                    } catch (Throwable e) {
+                        this.fail(e);
+                        return;
+                    }
+                    continue;
+                }
+                if (this.upstreamDone) {
+                    var error = this.upstreamError;
+                    if (error != null) {
+                        this.fail(error);
+                        return;
+                    }
+                    if (!this.decoderEnded) {
+                        this.decoderEnded = true;
+                        try {
+                            this.decoder.end(this.elements);
+                        } catch (Throwable e) {
+                            this.fail(e);
+                            return;
+                        }
+                        continue;
+                    }
+                    this.done = true;
+                    this.downstream.onComplete();
+                    return;
+                }
+                if (this.demand.get() > 0 && !this.chunkRequested) {
+                    this.chunkRequested = true;
+                    this.upstream.request(1);
+                    continue;
+                }
+                return;
+            }
+        }
+
+        private void fail(Throwable error) {
+            this.done = true;
+            this.elements.clear();
+            this.decoder.close();
+            if (!this.upstreamDone) {
+                this.upstream.cancel();
+            }
+            if (error instanceof JsonProcessingException) {
+                this.downstream.onError(HttpServerResponseException.of(400, error.getMessage()));
+            } else {
+                this.downstream.onError(error);
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package ru.tinkoff.kora.json.module.http.server;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import ru.tinkoff.kora.json.common.JsonCommonModule;
+import ru.tinkoff.kora.json.common.JsonReader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Queue;
+
+/**
+ * Incremental decoder of top level JSON array elements or whitespace/newline delimited JSON values (NDJSON).
+ * <p>
+ * Chunks are fed into non-blocking parser that only finds element boundaries, bytes of every complete element are decoded with {@link JsonReader}.
+ * Only bytes of the element that is not complete yet are retained, so memory does not depend on the body size.
+ */
+final class JsonElementStreamDecoder<T> {
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+
+    private final JsonReader<T> reader;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+
+    private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+    // absolute stream offset of buffer[0]
+    private long bufferOffset = 0;
+    private int bufferEnd = 0;
+    // absolute stream offset of current element start or -1 if there is no element in progress
+    private long elementStart = -1;
+    // absolute stream offset right after the last token on element level, bytes after it may belong to token that is not complete yet
+    private long lastEnd = 0;
+    private int depth = 0;
+    private boolean started = false;
+    private boolean array = false;
+    private boolean arrayEnded = false;
+
+    JsonElementStreamDecoder(JsonReader<T> reader) throws IOException {
+        this.reader = reader;
+        this.parser = JsonCommonModule.JSON_FACTORY.createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) this.parser.getNonBlockingInputFeeder();
+    }
+
+    void feed(ByteBuffer chunk, Queue<T> out) throws IOException {
+        var length = chunk.remaining();
+        if (length == 0) {
+            return;
+        }
+        this.ensureCapacity(length);
+        var start = this.bufferEnd;
+        chunk.get(this.buffer, start, length);
+        this.bufferEnd += length;
+        this.feeder.feedInput(this.buffer, start, this.bufferEnd);
+        this.parse(out);
+        this.compact();
+    }
+
+    void end(Queue<T> out) throws IOException {
+        this.feeder.endOfInput();
+        this.parse(out);
+        if (this.elementStart >= 0 || (this.array && !this.arrayEnded)) {
+            throw new JsonParseException(this.parser, "Unexpected end of input");
+        }
+        this.parser.close();
+    }
+
+    void close() {
+        try {
+            this.parser.close();
+        } catch (IOException ignore) {
+        }
+    }
+
+    private void parse(Queue<T> out) throws IOException {
+        JsonToken token;
+        while ((token = this.parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (!this.started) {
+                this.started = true;
+                if (token == JsonToken.START_ARRAY) {
+                    this.array = true;
+                    this.depth = 1;
+                    this.lastEnd = this.parser.currentLocation().getByteOffset();
+                    continue;
+                }
+            }
+            if (this.arrayEnded) {
+                throw new JsonParseException(this.parser, "Unexpected content after top level array: " + token);
+            }
+            var elementLevel = this.array ? 1 : 0;
+            if (this.depth == elementLevel) {
+                if (this.array && token == JsonToken.END_ARRAY) {
+                    this.arrayEnded = true;
+                    continue;
+                }
+                // token start location is not reliable for non-blocking parser, so element start is found after previous token
+                this.elementStart = this.skipSeparators(Math.max(this.lastEnd, this.bufferOffset));
+            }
+            if (token.isStructStart()) {
+                this.depth++;
+                continue;
+            }
+            if (token.isStructEnd()) {
+                this.depth--;
+            }
+            if (this.depth == elementLevel) {
+                var elementEnd = this.parser.currentLocation().getByteOffset();
+                var offset = (int) (this.elementStart - this.bufferOffset);
+                var value = this.reader.read(this.buffer, offset, (int) (elementEnd - this.elementStart));
+                if (value == null) {
+                    throw new JsonParseException(this.parser, "Null elements are not supported");
+                }
+                out.add(value);
+                this.elementStart = -1;
+                this.lastEnd = elementEnd;
+            }
+        }
+    }
+
+    private long skipSeparators(long from) {
+        var i = (int) (from - this.bufferOffset);
+        while (i < this.bufferEnd) {
+            var b = this.buffer[i];
+            if (b != ' ' && b != '\t' && b != '\r' && b != '\n' && b != ',') {
+                break;
+            }
+            i++;
+        }
+        return this.bufferOffset + i;
+    }
+
+    private void ensureCapacity(int length) {
+        if (this.buffer.length - this.bufferEnd >= length) {
+            return;
+        }
+        var required = (long) this.bufferEnd + length;
+        if (required > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("JSON element is too large");
+        }
+        this.buffer = Arrays.copyOf(this.buffer, (int) Math.max(required, Math.min(this.buffer.length * 2L, Integer.MAX_VALUE - 8)));
+    }
+
+    /**
+     * Drops bytes of already decoded elements, parser consumed all fed input at this point
+     */
+    private void compact() {
+        var keepFrom = this.elementStart < 0
+            ? (int) (Math.max(this.lastEnd, this.bufferOffset) - this.bufferOffset)
+            : (int) (this.elementStart - this.bufferOffset);
+        if (keepFrom == 0) {
+            return;
+        }
+        var remaining = this.bufferEnd - keepFrom;
+        if (remaining > 0) {
+            System.arraycopy(this.buffer, keepFrom, this.buffer, 0, remaining);
+        }
+        this.bufferOffset += keepFrom;
+        this.bufferEnd = remaining;
+        if (remaining == 0 && this.buffer.length > INITIAL_BUFFER_SIZE * 16) {
+            this.buffer = new byte[INITIAL_BUFFER_SIZE];
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package ru.tinkoff.kora.json.module.http.server;
+
+import ru.tinkoff.kora.http.server.common.HttpServerRequest;
+import ru.tinkoff.kora.http.server.common.handler.HttpServerRequestMapper;
+import ru.tinkoff.kora.json.common.JsonReader;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+public final class JsonReaderAsyncPublisherHttpServerRequestMapper<T> implements HttpServerRequestMapper<CompletionStage<Flow.Publisher<T>>> {
+    private final JsonReader<T> reader;
+
+    public JsonReaderAsyncPublisherHttpServerRequestMapper(JsonReader<T> reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public CompletionStage<Flow.Publisher<T>> apply(HttpServerRequest request) {
+        return CompletableFuture.completedFuture(new JsonElementPublisher<>(this.reader, request.body()));
+    }
+}
@@ -0,0 +1,53 @@
+package ru.tinkoff.kora.json.module.http.server;
+
+import ru.tinkoff.kora.http.server.common.HttpServerRequest;
+import ru.tinkoff.kora.http.server.common.HttpServerResponseException;
+import ru.tinkoff.kora.http.server.common.handler.HttpServerRequestMapper;
+import ru.tinkoff.kora.json.common.JsonCommonModule;
+import ru.tinkoff.kora.json.common.JsonReader;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Maps JSON array or NDJSON request body to iterator of its elements for blocking handlers.
+ * Elements are read from body input stream on demand, body is closed when iteration is finished.
+ */
+public final class JsonReaderIteratorHttpServerRequestMapper<T> implements HttpServerRequestMapper<Iterator<T>> {
+    private final JsonReader<T> reader;
+
+    public JsonReaderIteratorHttpServerRequestMapper(JsonReader<T> reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public Iterator<T> apply(HttpServerRequest request) throws IOException {
+        var body = request.body();
+        try {
+            var fullContent = body.getFullContentIfAvailable();
+            if (fullContent != null && fullContent.hasArray()) {
+                var parser = JsonCommonModule.JSON_FACTORY.createParser(fullContent.array(), fullContent.arrayOffset() + fullContent.position(), fullContent.remaining());
+                return new JsonElementIterator<>(this.reader, parser, body);
+            }
+            var is = body.asInputStream();
+            if (is != null) {
+                var parser = JsonCommonModule.JSON_FACTORY.createParser(is);
+                return new JsonElementIterator<>(this.reader, parser, () -> {
+                    try (body; is) {}
+                });
+            }
+            try {
+                var bytes = body.asArrayStage().toCompletableFuture().get();
+                return new JsonElementIterator<>(this.reader, JsonCommonModule.JSON_FACTORY.createParser(bytes), body);
+            } catch (InterruptedException e) {
+                throw HttpServerResponseException.of(500, e);
+            } catch (ExecutionException e) {
+                throw HttpServerResponseException.of(500, e.getCause());
+            }
+        } catch (Throwable e) {
+            body.close();
+            throw e;
+        }
+    }
+}
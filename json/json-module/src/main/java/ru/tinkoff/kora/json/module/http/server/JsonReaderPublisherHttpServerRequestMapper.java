@@ -0,0 +1,24 @@
+package ru.tinkoff.kora.json.module.http.server;
+
+import ru.tinkoff.kora.http.server.common.HttpServerRequest;
+import ru.tinkoff.kora.http.server.common.handler.HttpServerRequestMapper;
+import ru.tinkoff.kora.json.common.JsonReader;
+
+import java.util.concurrent.Flow;
+
+/**
+ * Maps JSON array or NDJSON request body to publisher of its elements.
+ * Elements are decoded as body chunks arrive, so the whole body is never buffered.
+ */
+public final class JsonReaderPublisherHttpServerRequestMapper<T> implements HttpServerRequestMapper<Flow.Publisher<T>> {
+    private final JsonReader<T> reader;
+
+    public JsonReaderPublisherHttpServerRequestMapper(JsonReader<T> reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public Flow.Publisher<T> apply(HttpServerRequest request) {
+        return new JsonElementPublisher<>(this.reader, request.body());
+    }
+}
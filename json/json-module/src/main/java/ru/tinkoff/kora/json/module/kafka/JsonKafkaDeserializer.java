@@ -3,7 +3,6 @@ package ru.tinkoff.kora.json.module.kafka;
 import org.apache.kafka.common.errors.SerializationException;
 import org.apache.kafka.common.header.Headers;
 import org.apache.kafka.common.serialization.Deserializer;
-import ru.tinkoff.kora.common.util.ByteBufferInputStream;
 import ru.tinkoff.kora.json.common.JsonReader;
 
 import java.io.IOException;
@@ -28,25 +27,18 @@ public final class JsonKafkaDeserializer<T> implements Deserializer<T> {
         }
     }
 
+    /**
+     * Reads record data directly from buffer without copying it to byte array, including direct buffers
+     */
     @Override
     public T deserialize(String topic, Headers headers, ByteBuffer data) {
         if (data == null) {
             return null;
         }
-        if (data.hasArray()) {
-            try {
-                return this.reader.read(data.array(), data.arrayOffset() + data.position(), data.remaining());
-            } catch (IOException e) {
-                throw new SerializationException("Unable to deserialize from json", e);
-            }
-        }
-        var position = data.position();
-        try (var is = new ByteBufferInputStream(data)) {
-            return this.reader.read(is);
+        try {
+            return this.reader.read(data);
         } catch (IOException e) {
             throw new SerializationException("Unable to deserialize from json", e);
-        } finally {
-            data.position(position);
         }
     }
 }
@@ -0,0 +1,233 @@
+package ru.tinkoff.kora.json.module.http.server;
+
+import com.fasterxml.jackson.core.JsonToken;
+import jakarta.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.kora.http.server.common.HttpServerResponseException;
+import ru.tinkoff.kora.json.common.JsonReader;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonElementPublisherTest {
+    // returns value of "v" field of object or text of scalar value
+    static final JsonReader<String> READER = parser -> {
+        var token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            return parser.getText();
+        }
+        String value = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var field = parser.currentName();
+            if (parser.nextToken().isStructStart()) {
+                parser.skipChildren();
+            } else if (field.equals("v")) {
+                value = parser.getText();
+            }
+        }
+        return value;
+    };
+
+    @Test
+    void testArrayElementsSplitAcrossChunks() {
+        var json = "[{\"v\":\"a\"}, {\"v\":\"b\",\"n\":{\"x\":[1,2]}},\n\"c\", 42 ]";
+        for (var chunkSize = 1; chunkSize <= json.length(); chunkSize++) {
+            var subscriber = subscribe(ChunkedBody.split(json, chunkSize));
+            subscriber.subscription.request(Long.MAX_VALUE);
+
+            assertThat(subscriber.items).as("chunk size %d", chunkSize).containsExactly("a", "b", "c", "42");
+            assertThat(subscriber.completed).isTrue();
+            assertThat(subscriber.error).isNull();
+        }
+    }
+
+    @Test
+    void testNdjsonElementsSplitAcrossChunks() {
+        var json = "{\"v\":\"a\"}\n{\"v\":\"b\",\"n\":[{}]}\r\n\"c\"\n\n";
+        for (var chunkSize = 1; chunkSize <= json.length(); chunkSize++) {
+            var subscriber = subscribe(ChunkedBody.split(json, chunkSize));
+            subscriber.subscription.request(Long.MAX_VALUE);
+
+            assertThat(subscriber.items).as("chunk size %d", chunkSize).containsExactly("a", "b", "c");
+            assertThat(subscriber.completed).isTrue();
+            assertThat(subscriber.error).isNull();
+        }
+    }
+
+    @Test
+    void testEmptyBody() {
+        var subscriber = subscribe(new ChunkedBody(List.of()));
+        subscriber.subscription.request(1);
+
+        assertThat(subscriber.items).isEmpty();
+        assertThat(subscriber.completed).isTrue();
+    }
+
+    @Test
+    void testMalformedElementIsBadRequest() {
+        // error is found before the last chunk, so body is cancelled
+        var body = ChunkedBody.split("[{\"v\":\"a\"},{\"v\":]},{\"v\":\"c\"}]", 4);
+        var subscriber = subscribe(body);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.items).containsExactly("a");
+        assertThat(subscriber.completed).isFalse();
+        assertThat(subscriber.error).isInstanceOfSatisfying(HttpServerResponseException.class, e -> assertThat(e.code()).isEqualTo(400));
+        assertThat(body.cancelled).isTrue();
+    }
+
+    @Test
+    void testUnterminatedArrayIsBadRequest() {
+        var subscriber = subscribe(ChunkedBody.split("[{\"v\":\"a\"}", 100));
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.items).containsExactly("a");
+        assertThat(subscriber.error).isInstanceOfSatisfying(HttpServerResponseException.class, e -> assertThat(e.code()).isEqualTo(400));
+    }
+
+    @Test
+    void testNullElementIsBadRequest() {
+        var subscriber = subscribe(ChunkedBody.split("[\"a\", null]", 100));
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.items).isEmpty();
+        assertThat(subscriber.error).isInstanceOfSatisfying(HttpServerResponseException.class, e -> assertThat(e.code()).isEqualTo(400));
+    }
+
+    @Test
+    void testNextChunkIsRequestedWhenElementsAreConsumed() {
+        var body = new ChunkedBody(List.of("[{\"v\":\"a\"},{\"v\":\"b\"},", "{\"v\":\"c\"}]"));
+        var subscriber = subscribe(body);
+        assertThat(body.requested).isZero();
+
+        subscriber.subscription.request(1);
+        assertThat(subscriber.items).containsExactly("a");
+        assertThat(body.requested).isEqualTo(1);
+
+        subscriber.subscription.request(1);
+        assertThat(subscriber.items).containsExactly("a", "b");
+        assertThat(body.requested).isEqualTo(1);
+
+        subscriber.subscription.request(1);
+        assertThat(subscriber.items).containsExactly("a", "b", "c");
+        assertThat(body.requested).isEqualTo(2);
+        assertThat(subscriber.completed).isTrue();
+    }
+
+    @Test
+    void testCancel() {
+        var body = new ChunkedBody(List.of("[{\"v\":\"a\"},{\"v\":\"b\"},", "{\"v\":\"c\"}]"));
+        var subscriber = subscribe(body);
+
+        subscriber.subscription.request(1);
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(10);
+
+        assertThat(subscriber.items).containsExactly("a");
+        assertThat(body.cancelled).isTrue();
+        assertThat(body.requested).isEqualTo(1);
+        assertThat(subscriber.completed).isFalse();
+        assertThat(subscriber.error).isNull();
+    }
+
+    @Test
+    void testSecondSubscriberFails() {
+        var publisher = new JsonElementPublisher<>(READER, new ChunkedBody(List.of("[]")));
+        publisher.subscribe(new RecordingSubscriber());
+        var second = new RecordingSubscriber();
+        publisher.subscribe(second);
+        second.subscription.request(1);
+
+        assertThat(second.error).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static RecordingSubscriber subscribe(ChunkedBody body) {
+        var subscriber = new RecordingSubscriber();
+        new JsonElementPublisher<>(READER, body).subscribe(subscriber);
+        return subscriber;
+    }
+
+    private static final class RecordingSubscriber implements Flow.Subscriber<String> {
+        private final List<String> items = new ArrayList<>();
+        private Flow.Subscription subscription;
+        @Nullable
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(String item) {
+            this.items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            this.error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            this.completed = true;
+        }
+    }
+
+    /**
+     * Emits one chunk per requested item and completes right after the last one
+     */
+    private static final class ChunkedBody implements Flow.Publisher<ByteBuffer> {
+        private final List<String> chunks;
+        private int next;
+        private long requested;
+        private boolean cancelled;
+
+        private ChunkedBody(List<String> chunks) {
+            this.chunks = chunks;
+        }
+
+        static ChunkedBody split(String json, int chunkSize) {
+            var chunks = new ArrayList<String>();
+            var bytes = json.getBytes(StandardCharsets.UTF_8);
+            for (var i = 0; i < bytes.length; i += chunkSize) {
+                chunks.add(new String(Arrays.copyOfRange(bytes, i, Math.min(i + chunkSize, bytes.length)), StandardCharsets.UTF_8));
+            }
+            return new ChunkedBody(chunks);
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    requested += n;
+                    for (var i = 0; i < n && !cancelled && next < chunks.size(); i++) {
+                        subscriber.onNext(ByteBuffer.wrap(chunks.get(next++).getBytes(StandardCharsets.UTF_8)));
+                        if (next == chunks.size()) {
+                            subscriber.onComplete();
+                        }
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+            if (this.chunks.isEmpty()) {
+                subscriber.onComplete();
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package ru.tinkoff.kora.json.module.http.server;
+
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.kora.http.common.body.HttpBodyInput;
+import ru.tinkoff.kora.http.server.common.HttpServerRequest;
+import ru.tinkoff.kora.http.server.common.HttpServerResponseException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class JsonReaderIteratorHttpServerRequestMapperTest {
+    private final HttpBodyInput body = mock(HttpBodyInput.class);
+    private final HttpServerRequest request = mock(HttpServerRequest.class);
+    private final JsonReaderIteratorHttpServerRequestMapper<String> mapper = new JsonReaderIteratorHttpServerRequestMapper<>(JsonElementPublisherTest.READER);
+
+    {
+        when(this.request.body()).thenReturn(this.body);
+    }
+
+    @Test
+    void testArray() throws IOException {
+        var iterator = this.map("[{\"v\":\"a\"}, {\"v\":\"b\",\"n\":[1]}, \"c\"]");
+
+        verify(this.body, never()).close();
+        assertThat(toList(iterator)).containsExactly("a", "b", "c");
+        assertThat(iterator.hasNext()).isFalse();
+        assertThatThrownBy(iterator::next).isInstanceOf(NoSuchElementException.class);
+        verify(this.body).close();
+    }
+
+    @Test
+    void testNdjson() throws IOException {
+        var iterator = this.map("{\"v\":\"a\"}\n{\"v\":\"b\"}\r\n\"c\"\n");
+
+        assertThat(toList(iterator)).containsExactly("a", "b", "c");
+        verify(this.body).close();
+    }
+
+    @Test
+    void testEmptyArray() throws IOException {
+        var iterator = this.map("[]");
+
+        assertThat(iterator.hasNext()).isFalse();
+        verify(this.body).close();
+    }
+
+    @Test
+    void testMalformedElementIsBadRequest() throws IOException {
+        var iterator = this.map("[{\"v\":\"a\"},{\"v\":]");
+
+        assertThat(iterator.next()).isEqualTo("a");
+        assertThatThrownBy(iterator::hasNext)
+            .isInstanceOfSatisfying(HttpServerResponseException.class, e -> assertThat(e.code()).isEqualTo(400));
+        verify(this.body).close();
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    void testTrailingContentIsBadRequest() throws IOException {
+        var iterator = this.map("[\"a\"] \"b\"");
+
+        assertThat(iterator.next()).isEqualTo("a");
+        assertThatThrownBy(iterator::hasNext)
+            .isInstanceOfSatisfying(HttpServerResponseException.class, e -> assertThat(e.code()).isEqualTo(400));
+        verify(this.body).close();
+    }
+
+    @Test
+    void testNullElementIsBadRequest() throws IOException {
+        var iterator = this.map("[null]");
+
+        assertThatThrownBy(iterator::hasNext)
+            .isInstanceOfSatisfying(HttpServerResponseException.class, e -> assertThat(e.code()).isEqualTo(400));
+        verify(this.body).close();
+    }
+
+    private Iterator<String> map(String json) throws IOException {
+        when(this.body.getFullContentIfAvailable()).thenReturn(ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8)));
+        return this.mapper.apply(this.request);
+    }
+
+    private static ArrayList<String> toList(Iterator<String> iterator) {
+        var result = new ArrayList<String>();
+        iterator.forEachRemaining(result::add);
+        return result;
+    }
+}
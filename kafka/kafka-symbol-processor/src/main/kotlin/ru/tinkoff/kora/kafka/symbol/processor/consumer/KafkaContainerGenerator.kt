@@ -43,9 +43,9 @@ class KafkaContainerGenerator {
         val configPath = listenerAnnotation.findValueNoDefault<String>("value")!!
         funBuilder.addStatement("val telemetry = telemetryFactory.get(%S, config.driverProperties(), config.telemetry())", configPath)
         if (handlerType.rawType == KafkaClassNames.recordHandler) {
-            funBuilder.addStatement("val wrappedHandler = %T.wrapHandlerRecord(telemetry, %L, handler)", KafkaClassNames.handlerWrapper, consumerParameter == null)
+            funBuilder.addStatement("val wrappedHandler = %T.wrapHandlerRecord(telemetry, %L, handler, config)", KafkaClassNames.handlerWrapper, consumerParameter == null)
         } else {
-            funBuilder.addStatement("val wrappedHandler = %T.wrapHandlerRecords(telemetry, %L, handler, config.allowEmptyRecords())", KafkaClassNames.handlerWrapper, consumerParameter == null)
+            funBuilder.addStatement("val wrappedHandler = %T.wrapHandlerRecords(telemetry, %L, handler, config)", KafkaClassNames.handlerWrapper, consumerParameter == null)
         }
         funBuilder.controlFlow("if (config.driverProperties().getProperty(%T.GROUP_ID_CONFIG) == null)", KafkaClassNames.commonClientConfigs) {
             addStatement("val topics = config.topics()")
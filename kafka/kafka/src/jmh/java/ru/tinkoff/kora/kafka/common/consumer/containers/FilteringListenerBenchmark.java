@@ -0,0 +1,86 @@
+package ru.tinkoff.kora.kafka.common.consumer.containers;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records per second of listener that handles only records with matching header, compares reading header before value with reading value of every record.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Measurement(time = 5, iterations = 5)
+@Warmup(time = 5, iterations = 5)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(FilteringListenerBenchmark.RECORDS)
+@Fork(1)
+public class FilteringListenerBenchmark {
+    static final int RECORDS = 500;
+    private static final byte[] WANTED = "wanted".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SKIPPED = "skipped".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"1", "10", "100"})
+    int matchingPercent;
+
+    @Param({"1024"})
+    int valueSize;
+
+    private final StringDeserializer deserializer = new StringDeserializer();
+    private ConsumerRecords<byte[], byte[]> records;
+
+    @Setup
+    public void setup() {
+        var value = new byte[this.valueSize];
+        for (int i = 0; i < value.length; i++) {
+            value[i] = (byte) ('a' + i % 26);
+        }
+        var partition = new TopicPartition("test", 0);
+        var list = new ArrayList<ConsumerRecord<byte[], byte[]>>(RECORDS);
+        for (int i = 0; i < RECORDS; i++) {
+            var headers = new RecordHeaders();
+            headers.add("type", i % 100 < this.matchingPercent ? WANTED : SKIPPED);
+            var key = Integer.toString(i).getBytes(StandardCharsets.UTF_8);
+            list.add(new ConsumerRecord<>("test", 0, i, 0L, TimestampType.CREATE_TIME, key.length, value.length, key, value, headers, Optional.empty()));
+        }
+        this.records = new ConsumerRecords<>(Map.of(partition, List.copyOf(list)));
+    }
+
+    @Benchmark
+    public void valueOfEveryRecord(Blackhole blackhole) {
+        var wrapped = new ConsumerRecordsWrapper<>(this.records, this.deserializer, this.deserializer);
+        for (var record : wrapped) {
+            var value = record.value();
+            if (isWanted(record)) {
+                blackhole.consume(value);
+            }
+        }
+    }
+
+    @Benchmark
+    public void valueOfMatchingRecord(Blackhole blackhole) {
+        var wrapped = new ConsumerRecordsWrapper<>(this.records, this.deserializer, this.deserializer);
+        for (var record : wrapped) {
+            if (isWanted(record)) {
+                blackhole.consume(record.value());
+            }
+        }
+    }
+
+    private static boolean isWanted(ConsumerRecord<?, ?> record) {
+        var header = record.headers().lastHeader("type");
+        return header != null && Arrays.equals(header.value(), WANTED);
+    }
+}
@@ -53,6 +53,12 @@ public interface KafkaListenerConfig {
         return false;
     }
 
+    ParallelConfig parallel();
+
+    CommitConfig commit();
+
+    TransactionConfig transaction();
+
     TelemetryConfig telemetry();
 
     default KafkaListenerConfig withDriverPropertiesOverrides(Map<String, Object> overrides) {
@@ -71,7 +77,129 @@ public interface KafkaListenerConfig {
             partitionRefreshInterval(),
             shutdownWait(),
             allowEmptyRecords(),
+            parallel(),
+            commit(),
+            transaction(),
             telemetry()
         );
     }
+
+    /**
+     * Parallel processing of records polled by single consumer, supported only for listeners that handle single record without {@link org.apache.kafka.clients.consumer.Consumer} parameter
+     *
+     * @see ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl.ParallelRecordHandler
+     */
+    @ConfigValueExtractor
+    interface ParallelConfig {
+        enum Ordering {
+            /**
+             * Records with the same key are processed one after another, records without key are ordered by partition
+             */
+            KEY,
+            /**
+             * Records of the same partition are processed one after another
+             */
+            PARTITION
+        }
+
+        default boolean enabled() {
+            return false;
+        }
+
+        default Ordering ordering() {
+            return Ordering.KEY;
+        }
+
+        /**
+         * Max number of records processed at once
+         */
+        default int maxConcurrency() {
+            return 16;
+        }
+
+        /**
+         * Max number of polled but not yet processed records, partitions are paused when it is reached
+         */
+        default int maxInFlight() {
+            return 1000;
+        }
+
+        /**
+         * Process records on virtual threads when available
+         */
+        default boolean virtualThreads() {
+            return false;
+        }
+    }
+
+    /**
+     * Commit of offsets of processed records, used only when {@link org.apache.kafka.clients.consumer.ConsumerConfig#ENABLE_AUTO_COMMIT_CONFIG} is disabled
+     *
+     * @see ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl.OffsetCommitter
+     */
+    @ConfigValueExtractor
+    interface CommitConfig {
+        enum Strategy {
+            /**
+             * Offsets are committed synchronously after every handled record or batch
+             */
+            SYNC,
+            /**
+             * Offsets are committed asynchronously after every handled record or batch, failed commits are retried with next commit
+             */
+            ASYNC,
+            /**
+             * Offsets are committed synchronously once per {@link #interval()} or after {@link #records()} handled records
+             */
+            PERIODIC
+        }
+
+        default Strategy strategy() {
+            return Strategy.SYNC;
+        }
+
+        /**
+         * Max time between periodic commits
+         */
+        default Duration interval() {
+            return Duration.ofSeconds(5);
+        }
+
+        /**
+         * Number of handled records after which periodic commit is done before interval passes, 0 disables it
+         */
+        default int records() {
+            return 0;
+        }
+    }
+
+    /**
+     * Consume-transform-produce processing, when records are handled and their offsets are committed in single Kafka transaction
+     *
+     * @see ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl.TransactionalRecordsHandler
+     */
+    @ConfigValueExtractor
+    interface TransactionConfig {
+
+        /**
+         * Number of handled records after which transaction is committed, 0 commits transaction after every poll
+         */
+        default int records() {
+            return 0;
+        }
+
+        /**
+         * Max time transaction is kept open to collect {@link #records()}, must be less than producer {@code transaction.timeout.ms}
+         */
+        default Duration interval() {
+            return Duration.ofSeconds(1);
+        }
+
+        /**
+         * Number of times records of aborted transaction are handled again in new transaction before failure is thrown to container
+         */
+        default int retries() {
+            return 2;
+        }
+    }
 }
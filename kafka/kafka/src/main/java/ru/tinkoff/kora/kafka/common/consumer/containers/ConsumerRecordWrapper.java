@@ -8,18 +8,26 @@ import ru.tinkoff.kora.kafka.common.exceptions.RecordKeyDeserializationException
 import ru.tinkoff.kora.kafka.common.exceptions.RecordValueDeserializationException;
 
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Key and value are deserialized on first access and then remembered together with null result or deserialization error,
+ * so handler that filters records by headers never pays for deserialization of skipped records.
+ */
 public final class ConsumerRecordWrapper<K, V> extends ConsumerRecord<K, V> {
+    private static final Object NOT_DESERIALIZED = new Object();
+
+    private record Failure(RuntimeException error) {}
+
     private final ConsumerRecord<byte[], byte[]> realRecord;
     private final Deserializer<K> keyDeserializer;
     private final Deserializer<V> valueDeserializer;
 
-    private final AtomicReference<K> deserializedKey = new AtomicReference<>(null);
-    private final AtomicReference<V> deserializedValue = new AtomicReference<>(null);
+    private volatile Object deserializedKey = NOT_DESERIALIZED;
+    private volatile Object deserializedValue = NOT_DESERIALIZED;
 
     public ConsumerRecordWrapper(ConsumerRecord<byte[], byte[]> realRecord, Deserializer<K> keyDeserializer, Deserializer<V> valueDeserializer) {
-        super(realRecord.topic(), realRecord.partition(), realRecord.offset(), null, null);
+        super(realRecord.topic(), realRecord.partition(), realRecord.offset(), realRecord.timestamp(), realRecord.timestampType(),
+            realRecord.serializedKeySize(), realRecord.serializedValueSize(), null, null, realRecord.headers(), realRecord.leaderEpoch());
         this.realRecord = realRecord;
         this.keyDeserializer = keyDeserializer;
         this.valueDeserializer = valueDeserializer;
@@ -41,31 +49,39 @@ public final class ConsumerRecordWrapper<K, V> extends ConsumerRecord<K, V> {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public K key() {
-        var value = deserializedKey.get();
-        if (value == null) {
+        var key = deserializedKey;
+        if (key == NOT_DESERIALIZED) {
             try {
-                value = keyDeserializer.deserialize(realRecord.topic(), realRecord.headers(), realRecord.key());
+                key = keyDeserializer.deserialize(realRecord.topic(), realRecord.headers(), realRecord.key());
             } catch (Exception e) {
-                throw new RecordKeyDeserializationException(e, realRecord);
+                key = new Failure(new RecordKeyDeserializationException(e, realRecord));
             }
-            deserializedKey.set(value);
+            deserializedKey = key;
         }
-        return value;
+        if (key instanceof Failure failure) {
+            throw failure.error();
+        }
+        return (K) key;
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public V value() {
-        var value = deserializedValue.get();
-        if (value == null) {
+        var value = deserializedValue;
+        if (value == NOT_DESERIALIZED) {
             try {
                 value = valueDeserializer.deserialize(realRecord.topic(), realRecord.headers(), realRecord.value());
             } catch (Exception e) {
-                throw new RecordValueDeserializationException(e, realRecord);
+                value = new Failure(new RecordValueDeserializationException(e, realRecord));
             }
-            deserializedValue.set(value);
+            deserializedValue = value;
+        }
+        if (value instanceof Failure failure) {
+            throw failure.error();
         }
-        return value;
+        return (V) value;
     }
 
     @Override
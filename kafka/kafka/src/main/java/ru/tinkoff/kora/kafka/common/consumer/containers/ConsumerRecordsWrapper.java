@@ -8,13 +8,16 @@ import org.apache.kafka.common.serialization.Deserializer;
 
 import java.util.*;
 
+/**
+ * Records are wrapped once on first access, so every iteration returns the same {@link ConsumerRecordWrapper} with already deserialized key and value
+ */
 final class ConsumerRecordsWrapper<K, V> extends ConsumerRecords<K, V> {
 
     private final ConsumerRecords<byte[], byte[]> realRecords;
     private final Deserializer<K> keyDeserializer;
     private final Deserializer<V> valueDeserializer;
 
-    private final Map<ConsumerRecord<byte[], byte[]>, ConsumerRecordWrapper<K, V>> records = new IdentityHashMap<>();
+    private Map<TopicPartition, List<ConsumerRecord<K, V>>> records;
 
     public ConsumerRecordsWrapper(ConsumerRecords<byte[], byte[]> realRecords, Deserializer<K> keyDeserializer, Deserializer<V> valueDeserializer) {
         super(Map.of());
@@ -25,7 +28,7 @@ final class ConsumerRecordsWrapper<K, V> extends ConsumerRecords<K, V> {
 
     @Override
     public List<ConsumerRecord<K, V>> records(TopicPartition partition) {
-        return realRecords.records(partition).stream().map(this::wrapRecord).toList();
+        return wrapRecords().getOrDefault(partition, List.of());
     }
 
     @Override
@@ -36,16 +39,27 @@ final class ConsumerRecordsWrapper<K, V> extends ConsumerRecords<K, V> {
     @Nonnull
     @Override
     public Iterator<ConsumerRecord<K, V>> iterator() {
-        var real = realRecords.iterator();
+        var partitions = wrapRecords().values().iterator();
         return new Iterator<>() {
+            private Iterator<ConsumerRecord<K, V>> current = Collections.emptyIterator();
+
             @Override
             public boolean hasNext() {
-                return real.hasNext();
+                while (!current.hasNext()) {
+                    if (!partitions.hasNext()) {
+                        return false;
+                    }
+                    current = partitions.next().iterator();
+                }
+                return true;
             }
 
             @Override
             public ConsumerRecord<K, V> next() {
-                return wrapRecord(real.next());
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
             }
         };
     }
@@ -60,9 +74,21 @@ final class ConsumerRecordsWrapper<K, V> extends ConsumerRecords<K, V> {
         return realRecords.isEmpty();
     }
 
-    private ConsumerRecord<K, V> wrapRecord(ConsumerRecord<byte[], byte[]> record) {
-        return records.computeIfAbsent(record, (r) -> new ConsumerRecordWrapper<>(r, keyDeserializer, valueDeserializer));
+    private Map<TopicPartition, List<ConsumerRecord<K, V>>> wrapRecords() {
+        var records = this.records;
+        if (records == null) {
+            var partitions = realRecords.partitions();
+            records = new LinkedHashMap<>(partitions.size() * 2);
+            for (var partition : partitions) {
+                var realPartitionRecords = realRecords.records(partition);
+                var partitionRecords = new ArrayList<ConsumerRecord<K, V>>(realPartitionRecords.size());
+                for (var record : realPartitionRecords) {
+                    partitionRecords.add(new ConsumerRecordWrapper<>(record, keyDeserializer, valueDeserializer));
+                }
+                records.put(partition, Collections.unmodifiableList(partitionRecords));
+            }
+            this.records = records;
+        }
+        return records;
     }
-
-
 }
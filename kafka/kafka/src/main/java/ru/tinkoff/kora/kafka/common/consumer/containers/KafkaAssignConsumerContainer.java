@@ -303,6 +303,13 @@ public final class KafkaAssignConsumerContainer<K, V> implements Lifecycle {
                     logger.warn("Kafka Consumer '{}' failed completing graceful shutdown in {}", consumerPrefix, config.shutdownWait());
                 }
             }
+            if (handler instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    logger.warn("Kafka Consumer '{}' failed closing handler", consumerPrefix, e);
+                }
+            }
 
             logger.info("Kafka Consumer '{}' stopped in {}", consumerPrefix, TimeUtils.tookForLogging(started));
         }
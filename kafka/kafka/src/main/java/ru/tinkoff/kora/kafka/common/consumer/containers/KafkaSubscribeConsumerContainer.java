@@ -144,11 +144,25 @@ public final class KafkaSubscribeConsumerContainer<K, V> implements Lifecycle {
                 }
             }
             Thread.interrupted();
+            flush(consumer);
         } finally {
             consumers.remove(consumer);
         }
     }
 
+    /**
+     * Handler is notified that all partitions are revoked before consumer is closed, so it can synchronously commit offsets it has not committed yet
+     */
+    private void flush(Consumer<K, V> consumer) {
+        if (handler instanceof ConsumerAwareRebalanceListener listener && this.commitAllowed) {
+            try {
+                listener.onPartitionsRevoked(consumer, consumer.assignment());
+            } catch (Exception e) {
+                logger.warn("Kafka Consumer '{}' failed to commit offsets before close", consumerPrefix, e);
+            }
+        }
+    }
+
     @Override
     public void init() {
         if (config.threads() > 0 && this.isActive.compareAndSet(false, true)) {
@@ -184,6 +198,13 @@ public final class KafkaSubscribeConsumerContainer<K, V> implements Lifecycle {
                     logger.warn("Kafka Consumer '{}' failed completing graceful shutdown in {}", consumerPrefix, config.shutdownWait());
                 }
             }
+            if (handler instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    logger.warn("Kafka Consumer '{}' failed closing handler", consumerPrefix, e);
+                }
+            }
 
             logger.info("Kafka Consumer '{}' stopped in {}", consumerPrefix, TimeUtils.tookForLogging(started));
         }
@@ -227,45 +248,16 @@ public final class KafkaSubscribeConsumerContainer<K, V> implements Lifecycle {
     private Consumer<K, V> buildConsumer() {
         var consumer = new KafkaConsumer<>(this.config.driverProperties(), new ByteArrayDeserializer(), new ByteArrayDeserializer());
         try {
+            var listener = this.rebalanceListener(consumer);
             if (config.topicsPattern() != null) {
-                if (rebalanceListener != null) {
-                    consumer.subscribe(config.topicsPattern(), new ConsumerRebalanceListener() {
-                        @Override
-                        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
-                            rebalanceListener.onPartitionsRevoked(consumer, partitions);
-                        }
-
-                        @Override
-                        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
-                            rebalanceListener.onPartitionsAssigned(consumer, partitions);
-                        }
-
-                        @Override
-                        public void onPartitionsLost(Collection<TopicPartition> partitions) {
-                            rebalanceListener.onPartitionsLost(consumer, partitions);
-                        }
-                    });
+                if (listener != null) {
+                    consumer.subscribe(config.topicsPattern(), listener);
                 } else {
                     consumer.subscribe(config.topicsPattern());
                 }
             } else if (config.topics() != null) {
-                if (rebalanceListener != null) {
-                    consumer.subscribe(config.topics(), new ConsumerRebalanceListener() {
-                        @Override
-                        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
-                            rebalanceListener.onPartitionsRevoked(consumer, partitions);
-                        }
-
-                        @Override
-                        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
-                            rebalanceListener.onPartitionsAssigned(consumer, partitions);
-                        }
-
-                        @Override
-                        public void onPartitionsLost(Collection<TopicPartition> partitions) {
-                            rebalanceListener.onPartitionsLost(consumer, partitions);
-                        }
-                    });
+                if (listener != null) {
+                    consumer.subscribe(config.topics(), listener);
                 } else {
                     consumer.subscribe(config.topics());
                 }
@@ -281,4 +273,47 @@ public final class KafkaSubscribeConsumerContainer<K, V> implements Lifecycle {
 
         return new ConsumerWrapper<>(consumer, keyDeserializer, valueDeserializer);
     }
+
+    /**
+     * Handler that processes records asynchronously is notified first, so it can complete and commit records of revoked partitions
+     */
+    @Nullable
+    private ConsumerRebalanceListener rebalanceListener(Consumer<?, ?> consumer) {
+        var handlerListener = handler instanceof ConsumerAwareRebalanceListener l ? l : null;
+        if (handlerListener == null && rebalanceListener == null) {
+            return null;
+        }
+
+        return new ConsumerRebalanceListener() {
+            @Override
+            public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+                if (handlerListener != null) {
+                    handlerListener.onPartitionsRevoked(consumer, partitions);
+                }
+                if (rebalanceListener != null) {
+                    rebalanceListener.onPartitionsRevoked(consumer, partitions);
+                }
+            }
+
+            @Override
+            public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+                if (handlerListener != null) {
+                    handlerListener.onPartitionsAssigned(consumer, partitions);
+                }
+                if (rebalanceListener != null) {
+                    rebalanceListener.onPartitionsAssigned(consumer, partitions);
+                }
+            }
+
+            @Override
+            public void onPartitionsLost(Collection<TopicPartition> partitions) {
+                if (handlerListener != null) {
+                    handlerListener.onPartitionsLost(consumer, partitions);
+                }
+                if (rebalanceListener != null) {
+                    rebalanceListener.onPartitionsLost(consumer, partitions);
+                }
+            }
+        };
+    }
 }
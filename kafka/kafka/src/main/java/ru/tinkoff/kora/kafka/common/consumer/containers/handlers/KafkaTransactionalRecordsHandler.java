@@ -0,0 +1,18 @@
+package ru.tinkoff.kora.kafka.common.consumer.containers.handlers;
+
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import ru.tinkoff.kora.kafka.common.producer.TransactionalPublisher;
+
+/**
+ * @param <P> publisher type that must be annotated with {@link ru.tinkoff.kora.kafka.common.annotation.KafkaPublisher}
+ * @see ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl.TransactionalRecordsHandler
+ */
+@FunctionalInterface
+public interface KafkaTransactionalRecordsHandler<K, V, P> {
+
+    /**
+     * @param records     consumed records to handle by kafka consumer
+     * @param transaction transaction to publish results in, offsets of records are committed in it after handling
+     */
+    void handle(ConsumerRecords<K, V> records, TransactionalPublisher.Transaction<? extends P> transaction);
+}
@@ -0,0 +1,249 @@
+package ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl;
+
+import jakarta.annotation.Nullable;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.requests.OffsetFetchResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.tinkoff.kora.kafka.common.consumer.$KafkaListenerConfig_CommitConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.kafka.common.consumer.KafkaListenerConfig;
+import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetry;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Commits offsets of handled records according to {@link KafkaListenerConfig.CommitConfig#strategy()}.
+ * <p>
+ * Async and periodic strategies keep not yet committed offsets per partition and commit them synchronously with {@link #flush(Consumer, Collection)},
+ * that is called on partitions revoke and before consumer is closed.
+ * Committer is shared by all consumers of container, their partitions don't overlap, so state is kept per partition and every method is called from poll thread of partition consumer.
+ */
+public final class OffsetCommitter {
+
+    private static final Logger logger = LoggerFactory.getLogger(OffsetCommitter.class);
+
+    private final KafkaConsumerTelemetry<?, ?> telemetry;
+    private final KafkaListenerConfig.CommitConfig.Strategy strategy;
+    private final long intervalNanos;
+    private final int records;
+
+    private final Map<TopicPartition, Pending> pending = new ConcurrentHashMap<>();
+    // offsets sent by async commit that are not acknowledged yet
+    private final Map<TopicPartition, OffsetAndMetadata> committing = new ConcurrentHashMap<>();
+
+    public OffsetCommitter(KafkaListenerConfig.CommitConfig config, KafkaConsumerTelemetry<?, ?> telemetry) {
+        if (config.records() < 0) {
+            throw new IllegalArgumentException("Commit records must not be negative, but was " + config.records());
+        }
+        this.telemetry = telemetry;
+        this.strategy = config.strategy();
+        this.intervalNanos = config.interval().toNanos();
+        this.records = config.records();
+    }
+
+    public static OffsetCommitter sync(KafkaConsumerTelemetry<?, ?> telemetry) {
+        return new OffsetCommitter($KafkaListenerConfig_CommitConfig_ConfigValueExtractor.DEFAULTS, telemetry);
+    }
+
+    /**
+     * Commits position of consumer after handled batch
+     */
+    public void commit(Consumer<?, ?> consumer, ConsumerRecords<?, ?> records) {
+        if (this.strategy == KafkaListenerConfig.CommitConfig.Strategy.SYNC) {
+            this.commitSync(consumer, null);
+            return;
+        }
+        var offsets = new HashMap<TopicPartition, OffsetAndMetadata>();
+        for (var partition : records.partitions()) {
+            var partitionRecords = records.records(partition);
+            var last = partitionRecords.get(partitionRecords.size() - 1);
+            offsets.put(partition, new OffsetAndMetadata(last.offset() + 1, last.leaderEpoch(), OffsetFetchResponse.NO_METADATA));
+        }
+        this.commit(consumer, offsets, records.count());
+    }
+
+    /**
+     * Commits offset after handled record
+     */
+    public void commit(Consumer<?, ?> consumer, ConsumerRecord<?, ?> record) {
+        /*
+         * The committed offset should be the next message your application will consume, i.e. lastProcessedMessageOffset + 1
+         * @see org.apache.kafka.clients.consumer.KafkaConsumer#commitSync(Map)
+         */
+        var offsets = Map.of(new TopicPartition(record.topic(), record.partition()),
+            new OffsetAndMetadata(record.offset() + 1, record.leaderEpoch(), OffsetFetchResponse.NO_METADATA));
+        this.commit(consumer, offsets, 1);
+    }
+
+    /**
+     * @param offsets next offsets to consume of partitions
+     * @param count   number of handled records that offsets cover
+     */
+    public void commit(Consumer<?, ?> consumer, Map<TopicPartition, OffsetAndMetadata> offsets, int count) {
+        switch (this.strategy) {
+            case SYNC -> this.commitSync(consumer, offsets);
+            case ASYNC -> {
+                this.add(offsets, count);
+                this.commitAsync(consumer, this.drain(consumer.assignment()));
+            }
+            case PERIODIC -> {
+                this.add(offsets, count);
+                this.commitIfDue(consumer);
+            }
+        }
+    }
+
+    /**
+     * Commits pending offsets of consumer when they are due, called on every poll so offsets are committed when there are no new records
+     */
+    public void commitIfDue(Consumer<?, ?> consumer) {
+        if (this.pending.isEmpty()) {
+            return;
+        }
+        var assignment = consumer.assignment();
+        switch (this.strategy) {
+            case SYNC -> {}
+            // retry of failed async commit
+            case ASYNC -> this.commitAsync(consumer, this.drain(assignment));
+            case PERIODIC -> {
+                var now = System.nanoTime();
+                for (var partition : assignment) {
+                    var pending = this.pending.get(partition);
+                    if (pending != null && (now - pending.since >= this.intervalNanos || this.records > 0 && pending.records >= this.records)) {
+                        this.commitSync(consumer, this.drain(assignment));
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Synchronously commits pending and not acknowledged async offsets of partitions
+     */
+    public void flush(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        if (this.strategy == KafkaListenerConfig.CommitConfig.Strategy.SYNC) {
+            return;
+        }
+        var offsets = this.drain(partitions);
+        for (var partition : partitions) {
+            var committing = this.committing.remove(partition);
+            if (committing != null) {
+                offsets.merge(partition, committing, (a, b) -> a.offset() >= b.offset() ? a : b);
+            }
+        }
+        if (!offsets.isEmpty()) {
+            this.commitSync(consumer, offsets);
+        }
+    }
+
+    /**
+     * Drops pending offsets of partitions that are lost and can't be committed or are assigned again and have to be consumed from committed offset
+     */
+    public void forget(Collection<TopicPartition> partitions) {
+        for (var partition : partitions) {
+            this.pending.remove(partition);
+            this.committing.remove(partition);
+        }
+    }
+
+    private void add(Map<TopicPartition, OffsetAndMetadata> offsets, int count) {
+        var now = System.nanoTime();
+        for (var entry : offsets.entrySet()) {
+            var pending = this.pending.get(entry.getKey());
+            if (pending == null) {
+                this.pending.put(entry.getKey(), new Pending(entry.getValue(), now, count));
+            } else if (entry.getValue().offset() >= pending.offset.offset()) {
+                pending.offset = entry.getValue();
+                pending.records += count;
+            }
+        }
+    }
+
+    private Map<TopicPartition, OffsetAndMetadata> drain(Collection<TopicPartition> partitions) {
+        var offsets = new HashMap<TopicPartition, OffsetAndMetadata>();
+        for (var partition : partitions) {
+            var pending = this.pending.remove(partition);
+            if (pending != null) {
+                offsets.put(partition, pending.offset);
+            }
+        }
+        return offsets;
+    }
+
+    private void commitSync(Consumer<?, ?> consumer, @Nullable Map<TopicPartition, OffsetAndMetadata> offsets) {
+        if (offsets != null && offsets.isEmpty()) {
+            return;
+        }
+        var started = System.nanoTime();
+        try {
+            try {
+                if (offsets == null) {
+                    consumer.commitSync();
+                } else {
+                    consumer.commitSync(offsets);
+                }
+            } catch (WakeupException e) {
+                // retry commit if thrown on consumer release
+                if (offsets == null) {
+                    consumer.commitSync();
+                } else {
+                    consumer.commitSync(offsets);
+                }
+                this.telemetry.reportCommit(System.nanoTime() - started, null);
+                throw e;
+            }
+            this.telemetry.reportCommit(System.nanoTime() - started, null);
+        } catch (WakeupException e) {
+            throw e;
+        } catch (Exception e) {
+            this.telemetry.reportCommit(System.nanoTime() - started, e);
+            throw e;
+        }
+    }
+
+    private void commitAsync(Consumer<?, ?> consumer, Map<TopicPartition, OffsetAndMetadata> offsets) {
+        if (offsets.isEmpty()) {
+            return;
+        }
+        this.committing.putAll(offsets);
+        var started = System.nanoTime();
+        consumer.commitAsync(offsets, (committed, exception) -> {
+            this.telemetry.reportCommit(System.nanoTime() - started, exception);
+            for (var entry : offsets.entrySet()) {
+                this.committing.remove(entry.getKey(), entry.getValue());
+            }
+            if (exception != null) {
+                logger.warn("Kafka Consumer failed to commit offsets {} asynchronously, commit will be retried", offsets, exception);
+                // newer offsets that are pending or being committed replace failed ones, offsets of revoked partitions are dropped
+                var assignment = consumer.assignment();
+                for (var entry : offsets.entrySet()) {
+                    var committing = this.committing.get(entry.getKey());
+                    if (assignment.contains(entry.getKey()) && (committing == null || committing.offset() < entry.getValue().offset())) {
+                        this.add(Map.of(entry.getKey(), entry.getValue()), 0);
+                    }
+                }
+            }
+        });
+    }
+
+    private static final class Pending {
+        private OffsetAndMetadata offset;
+        private final long since;
+        private int records;
+
+        private Pending(OffsetAndMetadata offset, long since, int records) {
+            this.offset = offset;
+            this.since = since;
+            this.records = records;
+        }
+    }
+}
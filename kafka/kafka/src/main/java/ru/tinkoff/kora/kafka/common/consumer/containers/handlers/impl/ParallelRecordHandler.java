@@ -0,0 +1,485 @@
+package ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl;
+
+import jakarta.annotation.Nullable;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.application.graph.internal.loom.VirtualThreadExecutorHolder;
+import ru.tinkoff.kora.common.Context;
+import ru.tinkoff.kora.kafka.common.KafkaUtils;
+import ru.tinkoff.kora.kafka.common.consumer.ConsumerAwareRebalanceListener;
+import ru.tinkoff.kora.kafka.common.consumer.KafkaListenerConfig;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.BaseKafkaRecordsHandler;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaRecordHandler;
+import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetry;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Handles records of single consumer concurrently on worker pool while keeping order of records with the same key or of the same partition.
+ * <p>
+ * Consumer is used only by poll thread: it dispatches polled records to ordered lanes, commits offsets and pauses partitions.
+ * Offset of partition is committed up to the lowest record that is not processed yet, so nothing after failed or in-flight record is committed.
+ * When {@link KafkaListenerConfig.ParallelConfig#maxInFlight()} records are in flight, poll thread waits for capacity up to poll timeout and then pauses assigned partitions,
+ * so consumer keeps polling and stays in group until workers catch up.
+ * <p>
+ * Failure of record stops processing of remaining records of its partition and is rethrown on next poll, so container recreates consumer and records are redelivered from committed offset.
+ * Revoked partitions are drained and committed before rebalance proceeds.
+ * Handler is shared by all consumers of container, their partitions don't overlap, so state is kept per partition.
+ */
+public final class ParallelRecordHandler<K, V> implements BaseKafkaRecordsHandler<K, V>, ConsumerAwareRebalanceListener, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelRecordHandler.class);
+
+    private final KafkaConsumerTelemetry<K, V> telemetry;
+    private final ValueOf<KafkaRecordHandler<K, V>> handler;
+    private final boolean shouldCommit;
+    private final OffsetCommitter committer;
+    private final KafkaListenerConfig.ParallelConfig config;
+    private final Duration pollTimeout;
+    private final Duration drainTimeout;
+    private final Executor executor;
+    @Nullable
+    private final ExecutorService ownExecutor;
+
+    private final Object lock = new Object();
+    private final HashMap<Object, Lane<K, V>> lanes = new HashMap<>();
+    private final ArrayDeque<Lane<K, V>> ready = new ArrayDeque<>();
+    private int workers = 0;
+    private int inFlight = 0;
+    private int waiters = 0;
+
+    private final Map<TopicPartition, PartitionState> partitions = new ConcurrentHashMap<>();
+    private final Set<TopicPartition> paused = ConcurrentHashMap.newKeySet();
+    private volatile boolean commitAllowed = true;
+
+    public ParallelRecordHandler(KafkaListenerConfig config, KafkaConsumerTelemetry<K, V> telemetry, boolean shouldCommit, ValueOf<KafkaRecordHandler<K, V>> handler) {
+        this(config, telemetry, shouldCommit, handler, new OffsetCommitter(config.commit(), telemetry));
+    }
+
+    public ParallelRecordHandler(KafkaListenerConfig config, KafkaConsumerTelemetry<K, V> telemetry, boolean shouldCommit, ValueOf<KafkaRecordHandler<K, V>> handler, OffsetCommitter committer) {
+        var parallel = config.parallel();
+        if (parallel.maxConcurrency() < 1) {
+            throw new IllegalArgumentException("Parallel max concurrency must be positive, but was " + parallel.maxConcurrency());
+        }
+        if (parallel.maxInFlight() < 1) {
+            throw new IllegalArgumentException("Parallel max in flight must be positive, but was " + parallel.maxInFlight());
+        }
+        this.telemetry = telemetry;
+        this.handler = handler;
+        this.shouldCommit = shouldCommit;
+        this.committer = committer;
+        this.config = parallel;
+        this.pollTimeout = config.pollTimeout();
+        this.drainTimeout = config.shutdownWait();
+        var virtualThreadExecutor = parallel.virtualThreads() ? VirtualThreadExecutorHolder.executor() : null;
+        if (virtualThreadExecutor != null) {
+            this.executor = virtualThreadExecutor;
+            this.ownExecutor = null;
+        } else {
+            this.ownExecutor = Executors.newFixedThreadPool(parallel.maxConcurrency(), new KafkaUtils.NamedThreadFactory(KafkaUtils.getConsumerPrefix(config) + "-worker-"));
+            this.executor = this.ownExecutor;
+        }
+    }
+
+    @Override
+    public void handle(ConsumerRecords<K, V> records, Consumer<K, V> consumer, boolean commitAllowed) {
+        this.commitAllowed = commitAllowed;
+        var assignment = consumer.assignment();
+        this.rethrowFailure(consumer, assignment);
+
+        if (!records.isEmpty()) {
+            var batch = new BatchTelemetry<>(this.telemetry.get(records));
+            try {
+                var handler = this.handler.get();
+                for (var record : records) {
+                    var partition = new TopicPartition(record.topic(), record.partition());
+                    var state = this.partitions.computeIfAbsent(partition, p -> new PartitionState());
+                    state.dispatched(record.offset());
+                    batch.retain();
+                    this.dispatch(new Task<>(this.laneKey(partition, record), consumer, handler, record, batch.ctx.get(record), batch, state));
+                }
+                batch.release(null);
+            } catch (Exception e) {
+                batch.release(e);
+                throw e;
+            }
+        }
+
+        this.commit(consumer, assignment);
+        this.backpressure(consumer, assignment);
+    }
+
+    @Override
+    public void onPartitionsRevoked(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        var states = new ArrayList<PartitionState>(partitions.size());
+        for (var partition : partitions) {
+            var state = this.partitions.get(partition);
+            if (state != null) {
+                states.add(state);
+            }
+        }
+        if (!this.await(() -> states.stream().allMatch(s -> s.inFlight == 0), this.drainTimeout)) {
+            logger.warn("Kafka Consumer parallel handler failed to complete records of revoked partitions {} in {}", partitions, this.drainTimeout);
+        }
+        this.commit(consumer, partitions);
+        this.committer.flush(consumer, partitions);
+        this.forget(partitions);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        this.committer.forget(partitions);
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        // partitions are already owned by other consumer, so offsets can't be committed
+        this.forget(partitions);
+        this.committer.forget(partitions);
+    }
+
+    @Override
+    public void close() {
+        if (this.ownExecutor != null) {
+            this.ownExecutor.shutdownNow();
+        }
+    }
+
+    private Object laneKey(TopicPartition partition, ConsumerRecord<K, V> record) {
+        if (this.config.ordering() == KafkaListenerConfig.ParallelConfig.Ordering.PARTITION) {
+            return partition;
+        }
+        final K key;
+        try {
+            key = record.key();
+        } catch (Exception e) {
+            // handler gets deserialization error itself, ordering by partition is enough for it
+            return partition;
+        }
+        if (key == null) {
+            return partition;
+        }
+        if (key instanceof byte[] bytes) {
+            return new LaneKey(partition, ByteBuffer.wrap(bytes));
+        }
+        return new LaneKey(partition, key);
+    }
+
+    private void dispatch(Task<K, V> task) {
+        boolean startWorker = false;
+        synchronized (this.lock) {
+            this.inFlight++;
+            task.state.inFlight++;
+            var lane = this.lanes.computeIfAbsent(task.laneKey, Lane::new);
+            lane.tasks.add(task);
+            if (!lane.scheduled) {
+                lane.scheduled = true;
+                this.ready.add(lane);
+                if (this.workers < this.config.maxConcurrency()) {
+                    this.workers++;
+                    startWorker = true;
+                }
+            }
+        }
+        if (startWorker) {
+            try {
+                this.executor.execute(this::work);
+            } catch (RejectedExecutionException e) {
+                synchronized (this.lock) {
+                    this.workers--;
+                }
+                throw e;
+            }
+        }
+    }
+
+    private void work() {
+        Lane<K, V> lane = null;
+        Task<K, V> task = null;
+        while (true) {
+            synchronized (this.lock) {
+                if (task != null) {
+                    this.inFlight--;
+                    task.state.inFlight--;
+                    if (lane.tasks.isEmpty()) {
+                        lane.scheduled = false;
+                        this.lanes.remove(lane.key);
+                    } else {
+                        this.ready.add(lane);
+                    }
+                    if (this.waiters > 0) {
+                        this.lock.notifyAll();
+                    }
+                }
+                lane = this.ready.poll();
+                if (lane == null) {
+                    this.workers--;
+                    return;
+                }
+                task = lane.tasks.poll();
+            }
+            this.process(task);
+        }
+    }
+
+    private void process(Task<K, V> task) {
+        if (task.state.failure != null || task.state.forgotten) {
+            var e = new CancellationException("Record is skipped and will be redelivered");
+            task.ctx.close(e);
+            task.batch.release(e);
+            return;
+        }
+        try {
+            task.handler.handle(task.consumer, task.ctx, task.record);
+            task.state.done(task.record.offset());
+            task.ctx.close(null);
+            task.batch.release(null);
+        } catch (Throwable e) {
+            task.ctx.close(e);
+            task.state.failed(e);
+            task.batch.release(e);
+        } finally {
+            Context.clear();
+        }
+    }
+
+    private void commit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        if (!this.shouldCommit || !this.commitAllowed) {
+            return;
+        }
+        var offsets = new HashMap<TopicPartition, OffsetAndMetadata>();
+        var count = 0L;
+        for (var partition : partitions) {
+            var state = this.partitions.get(partition);
+            if (state == null) {
+                continue;
+            }
+            /*
+             * The committed offset should be the next message your application will consume, i.e. lastProcessedMessageOffset + 1
+             * @see org.apache.kafka.clients.consumer.KafkaConsumer#commitSync(Map)
+             */
+            var offset = state.safeOffset();
+            if (offset > state.committed) {
+                offsets.put(partition, new OffsetAndMetadata(offset));
+                count += offset - (state.committed < 0 ? state.first : state.committed);
+            }
+        }
+        if (offsets.isEmpty()) {
+            this.committer.commitIfDue(consumer);
+            return;
+        }
+        try {
+            this.committer.commit(consumer, offsets, (int) Math.min(count, Integer.MAX_VALUE));
+        } catch (WakeupException e) {
+            // commit is retried by committer if thrown on consumer release
+            this.committed(offsets);
+            throw e;
+        }
+        this.committed(offsets);
+    }
+
+    private void committed(Map<TopicPartition, OffsetAndMetadata> offsets) {
+        for (var entry : offsets.entrySet()) {
+            var state = this.partitions.get(entry.getKey());
+            if (state != null) {
+                state.committed = entry.getValue().offset();
+            }
+        }
+    }
+
+    private void backpressure(Consumer<K, V> consumer, Set<TopicPartition> assignment) {
+        var max = this.config.maxInFlight();
+        var hasCapacity = this.await(() -> this.inFlight < max, this.pollTimeout);
+        var paused = new ArrayList<TopicPartition>(assignment.size());
+        for (var partition : assignment) {
+            if (this.paused.contains(partition)) {
+                paused.add(partition);
+            }
+        }
+        if (hasCapacity) {
+            if (!paused.isEmpty()) {
+                consumer.resume(paused);
+                paused.forEach(this.paused::remove);
+            }
+        } else if (paused.size() < assignment.size()) {
+            consumer.pause(assignment);
+            this.paused.addAll(assignment);
+        }
+    }
+
+    private void rethrowFailure(Consumer<K, V> consumer, Set<TopicPartition> assignment) {
+        Throwable failure = null;
+        var failed = new ArrayList<TopicPartition>();
+        var states = new ArrayList<PartitionState>();
+        for (var partition : assignment) {
+            var state = this.partitions.get(partition);
+            if (state != null && state.failure != null) {
+                if (failure == null) {
+                    failure = state.failure;
+                }
+                failed.add(partition);
+                states.add(state);
+            }
+        }
+        if (failure == null) {
+            return;
+        }
+        if (!this.await(() -> states.stream().allMatch(s -> s.inFlight == 0), this.drainTimeout)) {
+            logger.warn("Kafka Consumer parallel handler failed to complete in flight records of partitions {} in {}", failed, this.drainTimeout);
+        }
+        this.commit(consumer, failed);
+        this.committer.flush(consumer, failed);
+        this.forget(failed);
+        if (failure instanceof RuntimeException e) {
+            throw e;
+        }
+        if (failure instanceof Error e) {
+            throw e;
+        }
+        throw new CompletionException(failure);
+    }
+
+    private void forget(Collection<TopicPartition> partitions) {
+        for (var partition : partitions) {
+            var state = this.partitions.remove(partition);
+            if (state != null) {
+                state.forgotten = true;
+            }
+            this.paused.remove(partition);
+        }
+    }
+
+    /**
+     * @return true if condition is met before timeout
+     */
+    private boolean await(java.util.function.BooleanSupplier condition, Duration timeout) {
+        var deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (this.lock) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            this.waiters++;
+            try {
+                while (!condition.getAsBoolean()) {
+                    var remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    this.lock.wait(remaining);
+                }
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                this.waiters--;
+            }
+        }
+    }
+
+    private record LaneKey(TopicPartition partition, Object key) {}
+
+    private static final class Lane<K, V> {
+        private final Object key;
+        private final ArrayDeque<Task<K, V>> tasks = new ArrayDeque<>();
+        private boolean scheduled = false;
+
+        private Lane(Object key) {
+            this.key = key;
+        }
+    }
+
+    private record Task<K, V>(Object laneKey,
+                              Consumer<K, V> consumer,
+                              KafkaRecordHandler<K, V> handler,
+                              ConsumerRecord<K, V> record,
+                              KafkaConsumerTelemetry.KafkaConsumerRecordTelemetryContext<K, V> ctx,
+                              BatchTelemetry<K, V> batch,
+                              PartitionState state) {}
+
+    /**
+     * Telemetry of polled records is closed when the last of its records is processed or skipped, not when records are dispatched.
+     * Poll thread holds one reference while records are dispatched, so context is not closed before every record is dispatched.
+     */
+    private static final class BatchTelemetry<K, V> {
+        private final KafkaConsumerTelemetry.KafkaConsumerRecordsTelemetryContext<K, V> ctx;
+        private final AtomicInteger remaining = new AtomicInteger(1);
+        @Nullable
+        private volatile Throwable failure;
+
+        private BatchTelemetry(KafkaConsumerTelemetry.KafkaConsumerRecordsTelemetryContext<K, V> ctx) {
+            this.ctx = ctx;
+        }
+
+        private void retain() {
+            this.remaining.incrementAndGet();
+        }
+
+        private void release(@Nullable Throwable e) {
+            if (e != null && this.failure == null) {
+                this.failure = e;
+            }
+            if (this.remaining.decrementAndGet() == 0) {
+                this.ctx.close(this.failure);
+            }
+        }
+    }
+
+    /**
+     * Offsets of dispatched records of partition, only {@link #done(long)} and {@link #failed(Throwable)} are called by workers
+     */
+    private static final class PartitionState {
+        private final ConcurrentSkipListMap<Long, Boolean> pending = new ConcurrentSkipListMap<>();
+        private long first = -1;
+        private long next = -1;
+        private long committed = -1;
+        // guarded by handler lock
+        private int inFlight = 0;
+        private volatile boolean forgotten = false;
+        @Nullable
+        private volatile Throwable failure;
+
+        private void dispatched(long offset) {
+            this.pending.put(offset, Boolean.FALSE);
+            if (this.first < 0) {
+                this.first = offset;
+            }
+            this.next = offset + 1;
+        }
+
+        private void done(long offset) {
+            this.pending.replace(offset, Boolean.TRUE);
+        }
+
+        private synchronized void failed(Throwable e) {
+            if (this.failure == null) {
+                this.failure = e;
+            }
+        }
+
+        /**
+         * @return offset of the lowest not processed record or next offset after last dispatched record when everything is processed
+         */
+        private long safeOffset() {
+            for (var it = this.pending.entrySet().iterator(); it.hasNext(); ) {
+                var entry = it.next();
+                if (!entry.getValue()) {
+                    return entry.getKey();
+                }
+                it.remove();
+            }
+            return this.next;
+        }
+    }
+}
@@ -2,31 +2,39 @@ package ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl;
 
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
-import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.errors.WakeupException;
-import org.apache.kafka.common.requests.OffsetFetchResponse;
 import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.kafka.common.consumer.ConsumerAwareRebalanceListener;
 import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.BaseKafkaRecordsHandler;
 import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaRecordHandler;
 import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetry;
 
-import java.util.Map;
+import java.util.Collection;
 
-public class RecordHandler<K, V> implements BaseKafkaRecordsHandler<K, V> {
+public class RecordHandler<K, V> implements BaseKafkaRecordsHandler<K, V>, ConsumerAwareRebalanceListener {
     private final KafkaConsumerTelemetry<K, V> telemetry;
     private final ValueOf<KafkaRecordHandler<K, V>> handler;
     private final boolean shouldCommit;
+    private final OffsetCommitter committer;
 
     public RecordHandler(KafkaConsumerTelemetry<K, V> telemetry, boolean shouldCommit, ValueOf<KafkaRecordHandler<K, V>> handler) {
+        this(telemetry, shouldCommit, handler, OffsetCommitter.sync(telemetry));
+    }
+
+    public RecordHandler(KafkaConsumerTelemetry<K, V> telemetry, boolean shouldCommit, ValueOf<KafkaRecordHandler<K, V>> handler, OffsetCommitter committer) {
         this.telemetry = telemetry;
         this.handler = handler;
         this.shouldCommit = shouldCommit;
+        this.committer = committer;
     }
 
     @Override
     public void handle(ConsumerRecords<K, V> records, Consumer<K, V> consumer, boolean commitAllowed) {
         if (records.isEmpty()) {
+            if (this.shouldCommit && commitAllowed) {
+                this.committer.commitIfDue(consumer);
+            }
             return;
         }
 
@@ -38,19 +46,11 @@ public class RecordHandler<K, V> implements BaseKafkaRecordsHandler<K, V> {
                 try {
                     handler.handle(consumer, recordCtx, record);
                     if (this.shouldCommit && commitAllowed) {
-                        /**
-                         * The committed offset should be the next message your application will consume, i.e. lastProcessedMessageOffset + 1
-                         * @see org.apache.kafka.clients.consumer.KafkaConsumer#commitSync(Map)
-                         */
-                        var topicAndOffsetAndMeta = Map.of(new TopicPartition(record.topic(), record.partition()),
-                            new OffsetAndMetadata(record.offset() + 1, record.leaderEpoch(), OffsetFetchResponse.NO_METADATA));
-
                         try {
-                            consumer.commitSync(topicAndOffsetAndMeta);
+                            this.committer.commit(consumer, record);
                             recordCtx.close(null);
                         } catch (WakeupException e) {
-                            // retry commit if thrown on consumer release
-                            consumer.commitSync(topicAndOffsetAndMeta);
+                            // commit is retried by committer if thrown on consumer release
                             recordCtx.close(null);
                             throw e;
                         }
@@ -70,4 +70,19 @@ public class RecordHandler<K, V> implements BaseKafkaRecordsHandler<K, V> {
             throw e;
         }
     }
+
+    @Override
+    public void onPartitionsRevoked(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        this.committer.flush(consumer, partitions);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        this.committer.forget(partitions);
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        this.committer.forget(partitions);
+    }
 }
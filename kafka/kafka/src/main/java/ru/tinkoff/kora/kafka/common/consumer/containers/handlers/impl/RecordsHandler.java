@@ -2,32 +2,45 @@ package ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl;
 
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.errors.WakeupException;
 import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.kafka.common.consumer.ConsumerAwareRebalanceListener;
 import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.BaseKafkaRecordsHandler;
 import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaRecordsHandler;
 import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetry;
 
-public class RecordsHandler<K, V> implements BaseKafkaRecordsHandler<K, V> {
+import java.util.Collection;
+
+public class RecordsHandler<K, V> implements BaseKafkaRecordsHandler<K, V>, ConsumerAwareRebalanceListener {
     private final KafkaConsumerTelemetry<K, V> telemetry;
     private final ValueOf<KafkaRecordsHandler<K, V>> handler;
     private final boolean shouldCommit;
     private final boolean allowEmptyRecords;
+    private final OffsetCommitter committer;
 
     public RecordsHandler(KafkaConsumerTelemetry<K, V> telemetry, boolean shouldCommit, ValueOf<KafkaRecordsHandler<K, V>> handler) {
         this(telemetry, shouldCommit, handler, false);
     }
 
     public RecordsHandler(KafkaConsumerTelemetry<K, V> telemetry, boolean shouldCommit, ValueOf<KafkaRecordsHandler<K, V>> handler, boolean allowEmptyRecords) {
+        this(telemetry, shouldCommit, handler, allowEmptyRecords, OffsetCommitter.sync(telemetry));
+    }
+
+    public RecordsHandler(KafkaConsumerTelemetry<K, V> telemetry, boolean shouldCommit, ValueOf<KafkaRecordsHandler<K, V>> handler, boolean allowEmptyRecords, OffsetCommitter committer) {
         this.telemetry = telemetry;
         this.handler = handler;
         this.shouldCommit = shouldCommit;
         this.allowEmptyRecords = allowEmptyRecords;
+        this.committer = committer;
     }
 
     @Override
     public void handle(ConsumerRecords<K, V> records, Consumer<K, V> consumer, boolean commitAllowed) {
         if (records.isEmpty() && !allowEmptyRecords) {
+            if (this.shouldCommit && commitAllowed) {
+                this.committer.commitIfDue(consumer);
+            }
             return;
         }
 
@@ -37,10 +50,9 @@ public class RecordsHandler<K, V> implements BaseKafkaRecordsHandler<K, V> {
             handler.handle(consumer, ctx, records);
             if (this.shouldCommit && commitAllowed) {
                 try {
-                    consumer.commitSync();
-                } catch (WakeupException e) {
-                    // retry commit if thrown on consumer release
-                    consumer.commitSync();
+                    this.committer.commit(consumer, records);
+                } catch (WakeupException ignore) {
+                    // commit is retried by committer if thrown on consumer release
                 }
             }
             ctx.close(null);
@@ -49,4 +61,19 @@ public class RecordsHandler<K, V> implements BaseKafkaRecordsHandler<K, V> {
             throw e;
         }
     }
+
+    @Override
+    public void onPartitionsRevoked(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        this.committer.flush(consumer, partitions);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        this.committer.forget(partitions);
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        this.committer.forget(partitions);
+    }
 }
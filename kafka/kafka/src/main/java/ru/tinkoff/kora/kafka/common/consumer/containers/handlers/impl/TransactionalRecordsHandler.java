@@ -0,0 +1,223 @@
+package ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl;
+
+import jakarta.annotation.Nullable;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.requests.OffsetFetchResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.kafka.common.consumer.ConsumerAwareRebalanceListener;
+import ru.tinkoff.kora.kafka.common.consumer.KafkaListenerConfig;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.BaseKafkaRecordsHandler;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaTransactionalRecordsHandler;
+import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetry;
+import ru.tinkoff.kora.kafka.common.producer.TransactionalPublisher;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Handles polled records in transaction of pooled producer from {@link TransactionalPublisher} and commits their offsets in the same transaction,
+ * so records published by handler and consumed offsets are committed atomically.
+ * <p>
+ * Transaction is committed after {@link KafkaListenerConfig.TransactionConfig#records()} handled records or when {@link KafkaListenerConfig.TransactionConfig#interval()} passes,
+ * so transaction overhead is shared by several polls. When handler fails transaction is aborted and all records of transaction are handled again in new one
+ * up to {@link KafkaListenerConfig.TransactionConfig#retries()} times, then failure is thrown to container and records are consumed again from committed offsets.
+ * <p>
+ * Requires subscribed consumer with disabled {@link org.apache.kafka.clients.consumer.ConsumerConfig#ENABLE_AUTO_COMMIT_CONFIG}.
+ * Consumers of published records should use {@code isolation.level=read_committed}.
+ * Transaction is bound to consumer, handler is shared by all consumers of container and keeps open transaction per consumer.
+ */
+public final class TransactionalRecordsHandler<K, V, P> implements BaseKafkaRecordsHandler<K, V>, ConsumerAwareRebalanceListener, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionalRecordsHandler.class);
+
+    private final KafkaConsumerTelemetry<K, V> telemetry;
+    private final TransactionalPublisher<P> publisher;
+    private final ValueOf<KafkaTransactionalRecordsHandler<K, V, P>> handler;
+    private final int records;
+    private final long intervalNanos;
+    private final int retries;
+
+    private final Map<Consumer<?, ?>, Batch> batches = new ConcurrentHashMap<>();
+
+    public TransactionalRecordsHandler(KafkaListenerConfig.TransactionConfig config,
+                                       KafkaConsumerTelemetry<K, V> telemetry,
+                                       TransactionalPublisher<P> publisher,
+                                       ValueOf<KafkaTransactionalRecordsHandler<K, V, P>> handler) {
+        if (config.records() < 0) {
+            throw new IllegalArgumentException("Transaction records must not be negative, but was " + config.records());
+        }
+        if (config.retries() < 0) {
+            throw new IllegalArgumentException("Transaction retries must not be negative, but was " + config.retries());
+        }
+        this.telemetry = telemetry;
+        this.publisher = publisher;
+        this.handler = handler;
+        this.records = config.records();
+        this.intervalNanos = config.interval().toNanos();
+        this.retries = config.retries();
+    }
+
+    @Override
+    public void handle(ConsumerRecords<K, V> records, Consumer<K, V> consumer, boolean commitAllowed) {
+        if (!commitAllowed) {
+            throw new IllegalStateException("Transactional listener requires subscribed consumer with disabled 'enable.auto.commit'");
+        }
+        var batch = this.batches.get(consumer);
+        if (records.isEmpty()) {
+            if (batch != null && batch.isDue()) {
+                this.commit(consumer, batch);
+            }
+            return;
+        }
+
+        var ctx = this.telemetry.get(records);
+        try {
+            if (batch == null) {
+                batch = new Batch();
+                this.batches.put(consumer, batch);
+            }
+            batch.add(records);
+            this.process(consumer, batch, records);
+            if (batch.isDue()) {
+                this.commit(consumer, batch);
+            }
+            ctx.close(null);
+        } catch (Exception e) {
+            ctx.close(e);
+            throw e;
+        }
+    }
+
+    private void process(Consumer<K, V> consumer, Batch batch, ConsumerRecords<K, V> records) {
+        var handler = this.handler.get();
+        var pending = List.of(records);
+        for (var attempt = 1; ; attempt++) {
+            try {
+                if (batch.transaction == null) {
+                    batch.transaction = this.publisher.begin();
+                    // records of aborted transaction are handled again with current ones
+                    pending = batch.records;
+                }
+                for (var polled : pending) {
+                    handler.handle(polled, batch.transaction);
+                }
+                return;
+            } catch (RuntimeException e) {
+                this.abort(batch, e);
+                if (attempt > this.retries) {
+                    this.batches.remove(consumer);
+                    throw e;
+                }
+                logger.warn("Kafka Consumer transaction is aborted, {} records are handled again in new transaction, retry {} of {}", batch.count, attempt, this.retries, e);
+            }
+        }
+    }
+
+    private void commit(Consumer<?, ?> consumer, Batch batch) {
+        this.batches.remove(consumer, batch);
+        var transaction = batch.transaction;
+        if (transaction == null) {
+            return;
+        }
+        var started = System.nanoTime();
+        try {
+            try {
+                transaction.sendOffsetsToTransaction(batch.offsets, consumer.groupMetadata());
+            } catch (RuntimeException e) {
+                this.abort(batch, e);
+                throw e;
+            }
+            // commits transaction and returns producer to pool
+            transaction.close();
+            this.telemetry.reportCommit(System.nanoTime() - started, null);
+        } catch (RuntimeException e) {
+            this.telemetry.reportCommit(System.nanoTime() - started, e);
+            throw e;
+        }
+    }
+
+    private void abort(Batch batch, Throwable e) {
+        var transaction = batch.transaction;
+        batch.transaction = null;
+        if (transaction == null) {
+            return;
+        }
+        try {
+            transaction.abort(e);
+        } catch (Exception ex) {
+            e.addSuppressed(ex);
+        }
+        try {
+            transaction.close();
+        } catch (Exception ex) {
+            e.addSuppressed(ex);
+        }
+    }
+
+    /**
+     * Offsets of revoked partitions have to be committed by current owner, so whole transaction of consumer is committed
+     */
+    @Override
+    public void onPartitionsRevoked(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        var batch = this.batches.get(consumer);
+        if (batch != null) {
+            this.commit(consumer, batch);
+        }
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {}
+
+    /**
+     * Consumer is fenced and can't commit offsets, so transaction is aborted
+     */
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        var batch = this.batches.remove(consumer);
+        if (batch != null) {
+            this.abort(batch, new IllegalStateException("Kafka Consumer partitions are lost: " + partitions));
+        }
+    }
+
+    @Override
+    public void close() {
+        for (var batch : this.batches.values()) {
+            this.abort(batch, new IllegalStateException("Kafka Consumer is closed"));
+        }
+        this.batches.clear();
+    }
+
+    private final class Batch {
+        private final long started = System.nanoTime();
+        private final List<ConsumerRecords<K, V>> records = new ArrayList<>();
+        private final Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        private int count;
+        @Nullable
+        private TransactionalPublisher.Transaction<? extends P> transaction;
+
+        private void add(ConsumerRecords<K, V> records) {
+            this.records.add(records);
+            this.count += records.count();
+            for (var partition : records.partitions()) {
+                var partitionRecords = records.records(partition);
+                var last = partitionRecords.get(partitionRecords.size() - 1);
+                this.offsets.put(partition, new OffsetAndMetadata(last.offset() + 1, last.leaderEpoch(), OffsetFetchResponse.NO_METADATA));
+            }
+        }
+
+        private boolean isDue() {
+            return TransactionalRecordsHandler.this.records == 0
+                || this.count >= TransactionalRecordsHandler.this.records
+                || System.nanoTime() - this.started >= TransactionalRecordsHandler.this.intervalNanos;
+        }
+    }
+}
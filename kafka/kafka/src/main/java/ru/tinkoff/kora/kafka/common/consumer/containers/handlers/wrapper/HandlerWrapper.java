@@ -1,12 +1,18 @@
 package ru.tinkoff.kora.kafka.common.consumer.containers.handlers.wrapper;
 
 import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.kafka.common.consumer.KafkaListenerConfig;
 import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.BaseKafkaRecordsHandler;
 import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaRecordHandler;
 import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaRecordsHandler;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaTransactionalRecordsHandler;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl.OffsetCommitter;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl.ParallelRecordHandler;
 import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl.RecordHandler;
 import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl.RecordsHandler;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl.TransactionalRecordsHandler;
 import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetry;
+import ru.tinkoff.kora.kafka.common.producer.TransactionalPublisher;
 
 public final class HandlerWrapper {
 
@@ -16,6 +22,20 @@ public final class HandlerWrapper {
         return new RecordHandler<>(telemetry, shouldCommit, handler);
     }
 
+    /**
+     * @see KafkaListenerConfig.ParallelConfig
+     * @see KafkaListenerConfig.CommitConfig
+     */
+    public static <K, V> BaseKafkaRecordsHandler<K, V> wrapHandlerRecord(KafkaConsumerTelemetry<K, V> telemetry, boolean shouldCommit, ValueOf<KafkaRecordHandler<K, V>> handler, KafkaListenerConfig config) {
+        if (!config.parallel().enabled()) {
+            return new RecordHandler<>(telemetry, shouldCommit, handler, new OffsetCommitter(config.commit(), telemetry));
+        }
+        if (!shouldCommit) {
+            throw new IllegalArgumentException("Parallel processing can't be used by listener that accepts Consumer, cause Consumer is not thread safe and offsets are committed by parallel handler");
+        }
+        return new ParallelRecordHandler<>(config, telemetry, shouldCommit, handler);
+    }
+
     @Deprecated
     public static <K, V> BaseKafkaRecordsHandler<K, V> wrapHandlerRecords(KafkaConsumerTelemetry<K, V> telemetry, boolean shouldCommit, ValueOf<KafkaRecordsHandler<K, V>> handler) {
         return wrapHandlerRecords(telemetry, shouldCommit, handler, false);
@@ -25,6 +45,20 @@ public final class HandlerWrapper {
         return new RecordsHandler<>(telemetry, shouldCommit, handler, allowEmptyRecords);
     }
 
+    /**
+     * @see KafkaListenerConfig.CommitConfig
+     */
+    public static <K, V> BaseKafkaRecordsHandler<K, V> wrapHandlerRecords(KafkaConsumerTelemetry<K, V> telemetry, boolean shouldCommit, ValueOf<KafkaRecordsHandler<K, V>> handler, KafkaListenerConfig config) {
+        return new RecordsHandler<>(telemetry, shouldCommit, handler, config.allowEmptyRecords(), new OffsetCommitter(config.commit(), telemetry));
+    }
+
+    /**
+     * @see KafkaListenerConfig.TransactionConfig
+     */
+    public static <K, V, P> BaseKafkaRecordsHandler<K, V> wrapHandlerTransactional(KafkaConsumerTelemetry<K, V> telemetry, TransactionalPublisher<P> publisher, ValueOf<KafkaTransactionalRecordsHandler<K, V, P>> handler, KafkaListenerConfig config) {
+        return new TransactionalRecordsHandler<>(config.transaction(), telemetry, publisher, handler);
+    }
+
     @Deprecated
     public static <K, V> BaseKafkaRecordsHandler<K, V> wrapHandler(KafkaConsumerTelemetry<K, V> telemetry, ValueOf<BaseKafkaRecordsHandler<K, V>> realHandler) {
         return wrapHandler(telemetry, realHandler, false);
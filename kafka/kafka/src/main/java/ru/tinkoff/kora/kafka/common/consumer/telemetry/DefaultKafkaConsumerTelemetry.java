@@ -53,6 +53,13 @@ public class DefaultKafkaConsumerTelemetry<K, V> implements KafkaConsumerTelemet
         }
     }
 
+    @Override
+    public void reportCommit(long duration, @Nullable Throwable ex) {
+        if (this.metrics != null) {
+            this.metrics.onOffsetsCommitted(consumerName, duration, ex);
+        }
+    }
+
     private static final class DefaultKafkaConsumerRecordsTelemetryContext<K, V> implements KafkaConsumerRecordsTelemetryContext<K, V> {
         private final ConsumerRecords<K, V> records;
         @Nullable
@@ -35,4 +35,11 @@ public interface KafkaConsumerMetrics {
     default void reportLag(String consumerName, TopicPartition partition, long lag) {
         reportLag(partition, lag);
     }
+
+    /**
+     * @param duration offset commit duration in nanoseconds, for async commit it is measured until commit callback is called
+     */
+    default void onOffsetsCommitted(String consumerName, long duration, @Nullable Throwable ex) {
+
+    }
 }
@@ -25,4 +25,11 @@ public interface KafkaConsumerTelemetry<K, V> {
     KafkaConsumerRecordsTelemetryContext<K, V> get(ConsumerRecords<K, V> records);
 
     void reportLag(TopicPartition partition, long lag);
+
+    /**
+     * @param duration offset commit duration in nanoseconds
+     */
+    default void reportCommit(long duration, @Nullable Throwable ex) {
+
+    }
 }
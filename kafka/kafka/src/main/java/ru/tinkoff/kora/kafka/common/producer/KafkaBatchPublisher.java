@@ -0,0 +1,312 @@
+package ru.tinkoff.kora.kafka.common.producer;
+
+import jakarta.annotation.Nullable;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.common.Metric;
+import ru.tinkoff.kora.kafka.common.producer.telemetry.KafkaProducerTelemetry;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Sends many values with publish method of {@link ru.tinkoff.kora.kafka.common.annotation.KafkaPublisher} that returns {@link CompletionStage}
+ * and completes single future when all of them are acknowledged.
+ * <p>
+ * At most {@link KafkaPublisherConfig.BatchConfig#maxInFlight()} records are in flight, limit is shared by all batches of publisher.
+ * While other records are in flight next send also waits for producer buffer usage to fall below {@link KafkaPublisherConfig.BatchConfig#maxBufferUsage()},
+ * so sending thread waits here instead of {@link Producer#send} blocking on exhausted {@code buffer.memory} for up to {@code max.block.ms}.
+ * <p>
+ * Batch stops sending after first failed record and completes exceptionally when records already sent are completed.
+ * <pre>{@code
+ * var batchPublisher = new KafkaBatchPublisher(publisher, batchConfig);
+ * batchPublisher.send(events, publisher::send).toCompletableFuture().join();
+ * }</pre>
+ */
+public final class KafkaBatchPublisher {
+    private static final long BUFFER_RECHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final GeneratedPublisher publisher;
+    private final int maxInFlight;
+    private final double maxBufferUsage;
+    private final Semaphore permits;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition completed = this.lock.newCondition();
+    private final AtomicInteger waiting = new AtomicInteger();
+    @Nullable
+    private volatile BufferMetrics bufferMetrics;
+
+    public KafkaBatchPublisher(GeneratedPublisher publisher, KafkaPublisherConfig.BatchConfig config) {
+        if (config.maxInFlight() <= 0) {
+            throw new IllegalArgumentException("Batch max in flight must be positive, but was " + config.maxInFlight());
+        }
+        if (config.maxBufferUsage() <= 0 || config.maxBufferUsage() > 1) {
+            throw new IllegalArgumentException("Batch max buffer usage must be in (0, 1], but was " + config.maxBufferUsage());
+        }
+        this.publisher = publisher;
+        this.maxInFlight = config.maxInFlight();
+        this.maxBufferUsage = config.maxBufferUsage();
+        this.permits = new Semaphore(config.maxInFlight());
+    }
+
+    /**
+     * Sends values from calling thread, that waits while there is no capacity for next record
+     *
+     * @param send publish method, e.g. {@code publisher::send}
+     * @return results of send in order of values
+     */
+    public <T, R> CompletionStage<List<R>> send(List<? extends T> values, Function<? super T, ? extends CompletionStage<R>> send) {
+        var batch = new Batch();
+        var results = new Object[values.size()];
+        var index = 0;
+        try {
+            for (var value : values) {
+                var i = index++;
+                this.acquire();
+                if (batch.failed()) {
+                    this.release();
+                    break;
+                }
+                final CompletionStage<R> stage;
+                try {
+                    stage = send.apply(value);
+                } catch (Throwable e) {
+                    this.release();
+                    batch.fail(e);
+                    break;
+                }
+                batch.sent(stage, r -> results[i] = r);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            batch.fail(e);
+        }
+        batch.done();
+
+        @SuppressWarnings("unchecked")
+        var list = (List<R>) Collections.unmodifiableList(Arrays.asList(results));
+        return batch.result.thenApply(v -> list);
+    }
+
+    /**
+     * Requests values one by one, next value is requested after previous is sent.
+     * Values are sent from thread that calls {@link Flow.Subscriber#onNext(Object)}, it waits while there is no capacity for next record.
+     *
+     * @param send publish method, e.g. {@code publisher::send}
+     * @return number of sent records
+     */
+    public <T> CompletionStage<Long> send(Flow.Publisher<? extends T> values, Function<? super T, ? extends CompletionStage<?>> send) {
+        var subscriber = new BatchSubscriber<T>(send);
+        values.subscribe(subscriber);
+        return subscriber.batch.result.thenApply(v -> (long) subscriber.batch.sent.get());
+    }
+
+    private void acquire() throws InterruptedException {
+        this.permits.acquire();
+        try {
+            if (this.hasInFlight() && this.bufferExhausted()) {
+                this.waiting.incrementAndGet();
+                this.lock.lock();
+                try {
+                    // buffer is released by other producer users too, so recheck it periodically
+                    while (this.hasInFlight() && this.bufferExhausted()) {
+                        this.completed.awaitNanos(BUFFER_RECHECK_NANOS);
+                    }
+                } finally {
+                    this.lock.unlock();
+                    this.waiting.decrementAndGet();
+                }
+            }
+        } catch (InterruptedException e) {
+            this.permits.release();
+            throw e;
+        }
+    }
+
+    private void release() {
+        this.permits.release();
+        if (this.waiting.get() > 0) {
+            this.lock.lock();
+            try {
+                this.completed.signalAll();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    // other than permit held by current sender
+    private boolean hasInFlight() {
+        return this.permits.availablePermits() < this.maxInFlight - 1;
+    }
+
+    private boolean bufferExhausted() {
+        var metrics = this.bufferMetrics;
+        if (metrics == null) {
+            metrics = BufferMetrics.of(this.publisher.producer());
+            this.bufferMetrics = metrics;
+        }
+        return metrics.exhausted(this.maxBufferUsage);
+    }
+
+    private record BufferMetrics(@Nullable Metric available, @Nullable Metric total) {
+
+        static BufferMetrics of(Producer<?, ?> producer) {
+            Metric available = null;
+            Metric total = null;
+            for (var entry : producer.metrics().entrySet()) {
+                var name = entry.getKey();
+                if (name.group().equals("producer-metrics")) {
+                    if (name.name().equals("buffer-available-bytes")) {
+                        available = entry.getValue();
+                    } else if (name.name().equals("buffer-total-bytes")) {
+                        total = entry.getValue();
+                    }
+                }
+            }
+            return new BufferMetrics(available, total);
+        }
+
+        boolean exhausted(double maxUsage) {
+            if (this.available == null || this.total == null) {
+                return false;
+            }
+            if (this.available.metricValue() instanceof Number available && this.total.metricValue() instanceof Number total) {
+                return available.doubleValue() < total.doubleValue() * (1 - maxUsage);
+            }
+            return false;
+        }
+    }
+
+    private final class Batch {
+        private final KafkaProducerTelemetry.KafkaProducerBatchTelemetryContext telemetry = publisher.telemetry().batch();
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private final AtomicInteger sent = new AtomicInteger();
+        // one is held by sender until there are no more values
+        private final AtomicInteger pending = new AtomicInteger(1);
+
+        private boolean failed() {
+            return this.error.get() != null;
+        }
+
+        private void fail(Throwable e) {
+            if (e instanceof CompletionException && e.getCause() != null) {
+                e = e.getCause();
+            }
+            this.error.compareAndSet(null, e);
+        }
+
+        private <R> void sent(CompletionStage<R> stage, Consumer<? super R> onSuccess) {
+            this.pending.incrementAndGet();
+            stage.whenComplete((r, e) -> {
+                if (e != null) {
+                    this.fail(e);
+                } else {
+                    this.sent.incrementAndGet();
+                    onSuccess.accept(r);
+                }
+                // failure is visible to sender waiting for permit
+                release();
+                this.done();
+            });
+        }
+
+        private void done() {
+            if (this.pending.decrementAndGet() != 0) {
+                return;
+            }
+            var e = this.error.get();
+            this.telemetry.sendEnd(this.sent.get(), e);
+            if (e == null) {
+                this.result.complete(null);
+            } else {
+                this.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private final class BatchSubscriber<T> implements Flow.Subscriber<T> {
+        private final Function<? super T, ? extends CompletionStage<?>> send;
+        private final Batch batch = new Batch();
+        private final AtomicBoolean terminated = new AtomicBoolean();
+        private volatile Flow.Subscription subscription;
+
+        private BatchSubscriber(Function<? super T, ? extends CompletionStage<?>> send) {
+            this.send = send;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (this.terminated.get()) {
+                return;
+            }
+            try {
+                acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                this.cancel(e);
+                return;
+            }
+            if (this.batch.failed()) {
+                release();
+                this.cancel(null);
+                return;
+            }
+            final CompletionStage<?> stage;
+            try {
+                stage = this.send.apply(item);
+            } catch (Throwable e) {
+                release();
+                this.cancel(e);
+                return;
+            }
+            this.batch.sent(stage, r -> {});
+            this.subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (this.terminated.compareAndSet(false, true)) {
+                this.batch.fail(throwable);
+                this.batch.done();
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (this.terminated.compareAndSet(false, true)) {
+                this.batch.done();
+            }
+        }
+
+        private void cancel(@Nullable Throwable e) {
+            if (e != null) {
+                this.batch.fail(e);
+            }
+            if (this.terminated.compareAndSet(false, true)) {
+                this.subscription.cancel();
+                this.batch.done();
+            }
+        }
+    }
+}
@@ -30,6 +30,27 @@ public interface KafkaPublisherConfig {
         }
     }
 
+    /**
+     * Limits of {@link KafkaBatchPublisher}
+     */
+    @ConfigValueExtractor
+    interface BatchConfig {
+
+        /**
+         * @return maximum number of records sent and not yet acknowledged by broker
+         */
+        default int maxInFlight() {
+            return 1000;
+        }
+
+        /**
+         * @return share of producer {@code buffer.memory} that may be used before next send waits for in-flight records completion
+         */
+        default double maxBufferUsage() {
+            return 0.9;
+        }
+    }
+
     @ConfigValueExtractor
     interface TopicConfig {
 
@@ -91,6 +91,16 @@ public class DefaultKafkaProducerTelemetryFactory implements KafkaProducerTeleme
 
             return new DefaultKafkaProducerRecordTelemetryContext(record, span, this.logger, this.metrics);
         }
+
+        @Override
+        public KafkaProducerBatchTelemetryContext batch() {
+            var metrics = this.metrics;
+            if (metrics == null) {
+                return (records, e) -> {};
+            }
+            var start = System.nanoTime();
+            return (records, e) -> metrics.batchSendEnd(records, System.nanoTime() - start, e);
+        }
     }
 
     private static final class DefaultKafkaProducerTransactionTelemetryContext implements KafkaProducerTelemetry.KafkaProducerTransactionTelemetryContext {
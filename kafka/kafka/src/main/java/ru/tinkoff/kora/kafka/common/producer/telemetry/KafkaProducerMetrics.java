@@ -11,6 +11,8 @@ public interface KafkaProducerMetrics {
 
     void sendEnd(ProducerRecord<?, ?> record, long durationNanos, RecordMetadata metadata);
 
+    default void batchSendEnd(int records, long durationNanos, @Nullable Throwable e) {}
+
     interface KafkaProducerTxMetrics {
         void commit();
 
@@ -18,6 +18,10 @@ public interface KafkaProducerTelemetry extends AutoCloseable {
 
     KafkaProducerRecordTelemetryContext record(ProducerRecord<?, ?> record);
 
+    default KafkaProducerBatchTelemetryContext batch() {
+        return (records, e) -> {};
+    }
+
     interface KafkaProducerTransactionTelemetryContext {
         void sendOffsetsToTransaction(Map<TopicPartition, OffsetAndMetadata> offsets, ConsumerGroupMetadata groupMetadata);
 
@@ -26,6 +30,10 @@ public interface KafkaProducerTelemetry extends AutoCloseable {
         void rollback(@Nullable Throwable e);
     }
 
+    interface KafkaProducerBatchTelemetryContext {
+        void sendEnd(int records, @Nullable Throwable e);
+    }
+
     interface KafkaProducerRecordTelemetryContext extends Callback {
         void sendEnd(Throwable e);
 
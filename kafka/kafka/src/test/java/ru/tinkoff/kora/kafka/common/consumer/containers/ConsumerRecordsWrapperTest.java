@@ -0,0 +1,151 @@
+package ru.tinkoff.kora.kafka.common.consumer.containers;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.kora.kafka.common.exceptions.RecordKeyDeserializationException;
+import ru.tinkoff.kora.kafka.common.exceptions.RecordValueDeserializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class ConsumerRecordsWrapperTest {
+    private final TopicPartition partition0 = new TopicPartition("test", 0);
+    private final TopicPartition partition1 = new TopicPartition("test", 1);
+    private final AtomicInteger keyCalls = new AtomicInteger();
+    private final AtomicInteger valueCalls = new AtomicInteger();
+    private final Deserializer<String> keyDeserializer = (topic, data) -> {
+        this.keyCalls.incrementAndGet();
+        return data == null ? null : new String(data, StandardCharsets.UTF_8);
+    };
+    private final Deserializer<String> valueDeserializer = (topic, data) -> {
+        this.valueCalls.incrementAndGet();
+        if (data != null && data.length == 0) {
+            throw new IllegalArgumentException("empty");
+        }
+        return data == null ? null : new String(data, StandardCharsets.UTF_8);
+    };
+
+    @Test
+    void testKeyAndValueAreDeserializedOnceOnFirstAccess() {
+        var record = this.wrap(record(this.partition0, 0, "key", "value"));
+        assertThat(this.keyCalls).hasValue(0);
+        assertThat(this.valueCalls).hasValue(0);
+
+        assertThat(record.key()).isEqualTo("key");
+        assertThat(record.key()).isEqualTo("key");
+        assertThat(record.value()).isEqualTo("value");
+        assertThat(record.value()).isEqualTo("value");
+
+        assertThat(this.keyCalls).hasValue(1);
+        assertThat(this.valueCalls).hasValue(1);
+    }
+
+    @Test
+    void testTombstoneIsDeserializedOnce() {
+        var record = this.wrap(record(this.partition0, 0, null, null));
+
+        assertThat(record.key()).isNull();
+        assertThat(record.key()).isNull();
+        assertThat(record.value()).isNull();
+        assertThat(record.value()).isNull();
+
+        assertThat(this.keyCalls).hasValue(1);
+        assertThat(this.valueCalls).hasValue(1);
+    }
+
+    @Test
+    void testDeserializationFailureIsRememberedAndRethrownOnEveryAccess() {
+        var real = record(this.partition0, 0, "key", "");
+        var record = this.wrap(real);
+
+        var first = catchThrowable(record::value);
+        var second = catchThrowable(record::value);
+
+        assertThat(first).isInstanceOfSatisfying(RecordValueDeserializationException.class, e -> {
+            assertThat(e.getRecord()).isSameAs(real);
+            assertThat(e).hasCauseInstanceOf(IllegalArgumentException.class);
+        });
+        assertThat(second).isSameAs(first);
+        assertThat(this.valueCalls).hasValue(1);
+        // key is deserialized independently of failed value
+        assertThat(record.key()).isEqualTo("key");
+    }
+
+    @Test
+    void testKeyDeserializationFailureIsRememberedAndRethrownOnEveryAccess() {
+        Deserializer<String> failing = (topic, data) -> {
+            this.keyCalls.incrementAndGet();
+            throw new IllegalArgumentException("test");
+        };
+        var record = new ConsumerRecordWrapper<>(record(this.partition0, 0, "key", "value"), failing, this.valueDeserializer);
+
+        var first = catchThrowable(record::key);
+        var second = catchThrowable(record::key);
+
+        assertThat(first).isInstanceOf(RecordKeyDeserializationException.class);
+        assertThat(second).isSameAs(first);
+        assertThat(this.keyCalls).hasValue(1);
+        assertThat(record.value()).isEqualTo("value");
+    }
+
+    @Test
+    void testRecordsAreWrappedPerPartition() {
+        var real = new ConsumerRecords<>(Map.of(
+            this.partition0, List.of(record(this.partition0, 0, "k0", "v0"), record(this.partition0, 1, "k1", "v1")),
+            this.partition1, List.of(record(this.partition1, 5, "k5", "v5"))
+        ));
+        var records = new ConsumerRecordsWrapper<>(real, this.keyDeserializer, this.valueDeserializer);
+
+        assertThat(records.count()).isEqualTo(3);
+        assertThat(records.isEmpty()).isFalse();
+        assertThat(records.partitions()).containsExactlyInAnyOrder(this.partition0, this.partition1);
+
+        var partition0Records = records.records(this.partition0);
+        var partition1Records = records.records(this.partition1);
+        assertThat(partition0Records).extracting(ConsumerRecord::offset).containsExactly(0L, 1L);
+        assertThat(partition0Records).extracting(ConsumerRecord::partition).containsOnly(0);
+        assertThat(partition1Records).extracting(ConsumerRecord::offset).containsExactly(5L);
+        assertThat(partition1Records).extracting(ConsumerRecord::value).containsExactly("v5");
+        assertThat(records.records(new TopicPartition("test", 2))).isEmpty();
+
+        // iteration returns same already wrapped records, so they are not deserialized again
+        var iterated = new ArrayList<ConsumerRecord<String, String>>();
+        records.forEach(iterated::add);
+        assertThat(iterated).hasSize(3).hasOnlyElementsOfType(ConsumerRecordWrapper.class);
+        assertThat(iterated).containsAll(partition0Records).containsAll(partition1Records);
+        assertThat(records.records(this.partition0)).isSameAs(partition0Records);
+        iterated.forEach(ConsumerRecord::value);
+        assertThat(this.valueCalls).hasValue(3);
+        assertThat(this.keyCalls).hasValue(0);
+    }
+
+    @Test
+    void testEmptyRecords() {
+        var records = new ConsumerRecordsWrapper<>(ConsumerRecords.<byte[], byte[]>empty(), this.keyDeserializer, this.valueDeserializer);
+
+        assertThat(records.isEmpty()).isTrue();
+        assertThat(records.iterator().hasNext()).isFalse();
+        assertThat(records.records(this.partition0)).isEmpty();
+    }
+
+    private ConsumerRecordWrapper<String, String> wrap(ConsumerRecord<byte[], byte[]> record) {
+        return new ConsumerRecordWrapper<>(record, this.keyDeserializer, this.valueDeserializer);
+    }
+
+    private static ConsumerRecord<byte[], byte[]> record(TopicPartition partition, long offset, String key, String value) {
+        return new ConsumerRecord<>(partition.topic(), partition.partition(), offset, bytes(key), bytes(value));
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+}
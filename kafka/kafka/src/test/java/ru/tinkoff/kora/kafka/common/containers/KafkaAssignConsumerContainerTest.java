@@ -13,7 +13,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.slf4j.LoggerFactory;
 import ru.tinkoff.kora.common.util.Either;
+import ru.tinkoff.kora.kafka.common.consumer.$KafkaListenerConfig_CommitConfig_ConfigValueExtractor;
 import ru.tinkoff.kora.kafka.common.consumer.$KafkaListenerConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.kafka.common.consumer.$KafkaListenerConfig_ParallelConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.kafka.common.consumer.$KafkaListenerConfig_TransactionConfig_ConfigValueExtractor;
 import ru.tinkoff.kora.kafka.common.consumer.containers.KafkaAssignConsumerContainer;
 import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetry;
 import ru.tinkoff.kora.telemetry.common.$TelemetryConfig_ConfigValueExtractor;
@@ -60,6 +63,9 @@ class KafkaAssignConsumerContainerTest {
             Duration.ofSeconds(1),
             Duration.ofMillis(10000),
             true,
+            $KafkaListenerConfig_ParallelConfig_ConfigValueExtractor.DEFAULTS,
+            $KafkaListenerConfig_CommitConfig_ConfigValueExtractor.DEFAULTS,
+            $KafkaListenerConfig_TransactionConfig_ConfigValueExtractor.DEFAULTS,
             new $TelemetryConfig_ConfigValueExtractor.TelemetryConfig_Impl(
                 new $TelemetryConfig_LogConfig_ConfigValueExtractor.LogConfig_Impl(true),
                 new $TelemetryConfig_TracingConfig_ConfigValueExtractor.TracingConfig_Impl(true),
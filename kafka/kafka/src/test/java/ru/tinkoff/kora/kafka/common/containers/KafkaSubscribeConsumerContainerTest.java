@@ -4,14 +4,25 @@ import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import org.apache.kafka.clients.CommonClientConfigs;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.serialization.IntegerDeserializer;
+import org.apache.kafka.common.serialization.IntegerSerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
 import org.slf4j.LoggerFactory;
+import ru.tinkoff.kora.application.graph.ValueOf;
 import ru.tinkoff.kora.common.util.Either;
+import ru.tinkoff.kora.kafka.common.consumer.$KafkaListenerConfig_CommitConfig_ConfigValueExtractor;
 import ru.tinkoff.kora.kafka.common.consumer.$KafkaListenerConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.kafka.common.consumer.$KafkaListenerConfig_ParallelConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.kafka.common.consumer.$KafkaListenerConfig_TransactionConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.kafka.common.consumer.KafkaListenerConfig;
 import ru.tinkoff.kora.kafka.common.consumer.containers.KafkaSubscribeConsumerContainer;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaRecordHandler;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.wrapper.HandlerWrapper;
+import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetry;
 import ru.tinkoff.kora.kafka.common.exceptions.RecordValueDeserializationException;
 import ru.tinkoff.kora.telemetry.common.$TelemetryConfig_ConfigValueExtractor;
 import ru.tinkoff.kora.telemetry.common.$TelemetryConfig_LogConfig_ConfigValueExtractor;
@@ -21,11 +32,16 @@ import ru.tinkoff.kora.test.kafka.KafkaParams;
 import ru.tinkoff.kora.test.kafka.KafkaTestContainer;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.UUID;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -59,6 +75,9 @@ class KafkaSubscribeConsumerContainerTest {
             Duration.ofMillis(10000),
             Duration.ofMillis(10000),
             true,
+            $KafkaListenerConfig_ParallelConfig_ConfigValueExtractor.DEFAULTS,
+            $KafkaListenerConfig_CommitConfig_ConfigValueExtractor.DEFAULTS,
+            $KafkaListenerConfig_TransactionConfig_ConfigValueExtractor.DEFAULTS,
             new $TelemetryConfig_ConfigValueExtractor.TelemetryConfig_Impl(
                 new $TelemetryConfig_LogConfig_ConfigValueExtractor.LogConfig_Impl(true),
                 new $TelemetryConfig_TracingConfig_ConfigValueExtractor.TracingConfig_Impl(true),
@@ -89,4 +108,78 @@ class KafkaSubscribeConsumerContainerTest {
             container.release();
         }
     }
+
+    @Test
+    void testParallelKeyOrdering() throws InterruptedException {
+        var driverProps = new Properties();
+        driverProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, params.bootstrapServers());
+        driverProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        driverProps.put(CommonClientConfigs.GROUP_ID_CONFIG, UUID.randomUUID().toString());
+        var testTopic = params.createTopic("test-topic", 1);
+        var config = new $KafkaListenerConfig_ConfigValueExtractor.KafkaListenerConfig_Impl(
+            driverProps,
+            List.of(testTopic),
+            null,
+            null,
+            Either.right("earliest"),
+            Duration.ofMillis(100),
+            Duration.ofMillis(100),
+            Integer.valueOf(1),
+            Duration.ofMillis(10000),
+            Duration.ofMillis(10000),
+            true,
+            new $KafkaListenerConfig_ParallelConfig_ConfigValueExtractor.ParallelConfig_Impl(true, KafkaListenerConfig.ParallelConfig.Ordering.KEY, 4, 10, false),
+            $KafkaListenerConfig_CommitConfig_ConfigValueExtractor.DEFAULTS,
+            $KafkaListenerConfig_TransactionConfig_ConfigValueExtractor.DEFAULTS,
+            new $TelemetryConfig_ConfigValueExtractor.TelemetryConfig_Impl(
+                new $TelemetryConfig_LogConfig_ConfigValueExtractor.LogConfig_Impl(true),
+                new $TelemetryConfig_TracingConfig_ConfigValueExtractor.TracingConfig_Impl(true),
+                new $TelemetryConfig_MetricsConfig_ConfigValueExtractor.MetricsConfig_Impl(null, null)
+            )
+        );
+        @SuppressWarnings("unchecked")
+        var telemetry = (KafkaConsumerTelemetry<String, Integer>) Mockito.mock(KafkaConsumerTelemetry.class, Mockito.RETURNS_DEEP_STUBS);
+        var received = new ConcurrentHashMap<String, List<Integer>>();
+        var concurrent = new AtomicInteger();
+        var maxConcurrent = new AtomicInteger();
+        var latch = new CountDownLatch(40);
+        KafkaRecordHandler<String, Integer> handler = (consumer, ctx, record) -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            received.computeIfAbsent(record.key(), k -> new ArrayList<>()).add(record.value());
+            concurrent.decrementAndGet();
+            latch.countDown();
+        };
+        var wrappedHandler = HandlerWrapper.wrapHandlerRecord(telemetry, true, new ValueOf<>() {
+            @Override
+            public KafkaRecordHandler<String, Integer> get() {
+                return handler;
+            }
+
+            @Override
+            public void refresh() {}
+        }, config);
+        var container = new KafkaSubscribeConsumerContainer<>("test", config, new StringDeserializer(), new IntegerDeserializer(), wrappedHandler, null);
+        try {
+            container.init();
+            params.withProducer(new IntegerSerializer(), producer -> {
+                for (int i = 0; i < 40; i++) {
+                    producer.send(new ProducerRecord<>(testTopic, 0, String.valueOf(i % 4), i));
+                }
+                producer.flush();
+            });
+            assertThat(latch.await(20, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(maxConcurrent.get()).isGreaterThan(1).isLessThanOrEqualTo(4);
+            for (var entry : Map.copyOf(received).entrySet()) {
+                assertThat(entry.getValue()).hasSize(10).isSorted();
+            }
+        } finally {
+            container.release();
+        }
+    }
 }
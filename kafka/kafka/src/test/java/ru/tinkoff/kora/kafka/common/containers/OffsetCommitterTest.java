@@ -0,0 +1,73 @@
+package ru.tinkoff.kora.kafka.common.containers;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetCommitCallback;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.RetriableException;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import ru.tinkoff.kora.kafka.common.consumer.$KafkaListenerConfig_CommitConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.kafka.common.consumer.KafkaListenerConfig;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl.OffsetCommitter;
+import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.Mockito.*;
+
+class OffsetCommitterTest {
+    private final TopicPartition partition = new TopicPartition("test", 0);
+    private final KafkaConsumerTelemetry<?, ?> telemetry = Mockito.mock(KafkaConsumerTelemetry.class);
+    @SuppressWarnings("unchecked")
+    private final Consumer<String, String> consumer = Mockito.mock(Consumer.class);
+
+    @Test
+    void testAsyncCommitIsRetriedAndFlushed() {
+        when(consumer.assignment()).thenReturn(Set.of(partition));
+        var committer = new OffsetCommitter(config(KafkaListenerConfig.CommitConfig.Strategy.ASYNC, Duration.ofSeconds(5), 0), telemetry);
+
+        committer.commit(consumer, Map.of(partition, new OffsetAndMetadata(10)), 10);
+        var callback = ArgumentCaptor.forClass(OffsetCommitCallback.class);
+        verify(consumer).commitAsync(eq(Map.of(partition, new OffsetAndMetadata(10))), callback.capture());
+        verify(consumer, never()).commitSync(Mockito.<Map<TopicPartition, OffsetAndMetadata>>any());
+
+        callback.getValue().onComplete(Map.of(), new RetriableException("test") {});
+        verify(telemetry).reportCommit(anyLong(), any(RetriableException.class));
+
+        committer.commitIfDue(consumer);
+        verify(consumer, times(2)).commitAsync(eq(Map.of(partition, new OffsetAndMetadata(10))), any());
+
+        committer.flush(consumer, List.of(partition));
+        verify(consumer).commitSync(Map.of(partition, new OffsetAndMetadata(10)));
+    }
+
+    @Test
+    void testPeriodicCommitAfterRecords() {
+        when(consumer.assignment()).thenReturn(Set.of(partition));
+        var committer = new OffsetCommitter(config(KafkaListenerConfig.CommitConfig.Strategy.PERIODIC, Duration.ofHours(1), 3), telemetry);
+
+        committer.commit(consumer, Map.of(partition, new OffsetAndMetadata(1)), 1);
+        committer.commit(consumer, Map.of(partition, new OffsetAndMetadata(2)), 1);
+        verify(consumer, never()).commitSync(Mockito.<Map<TopicPartition, OffsetAndMetadata>>any());
+
+        committer.commit(consumer, Map.of(partition, new OffsetAndMetadata(3)), 1);
+        verify(consumer).commitSync(Map.of(partition, new OffsetAndMetadata(3)));
+        verify(telemetry).reportCommit(anyLong(), isNull());
+
+        committer.commit(consumer, Map.of(partition, new OffsetAndMetadata(4)), 1);
+        committer.flush(consumer, List.of(partition));
+        verify(consumer).commitSync(Map.of(partition, new OffsetAndMetadata(4)));
+
+        committer.flush(consumer, List.of(partition));
+        verify(consumer, times(2)).commitSync(Mockito.<Map<TopicPartition, OffsetAndMetadata>>any());
+    }
+
+    private static KafkaListenerConfig.CommitConfig config(KafkaListenerConfig.CommitConfig.Strategy strategy, Duration interval, int records) {
+        return new $KafkaListenerConfig_CommitConfig_ConfigValueExtractor.CommitConfig_Impl(strategy, interval, records);
+    }
+}
@@ -0,0 +1,232 @@
+package ru.tinkoff.kora.kafka.common.containers;
+
+import org.apache.kafka.clients.consumer.CommonClientConfigs;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.kafka.common.consumer.$KafkaListenerConfig_ParallelConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.kafka.common.consumer.KafkaListenerConfig;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaRecordHandler;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl.OffsetCommitter;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl.ParallelRecordHandler;
+import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ParallelRecordHandlerTest {
+    private final TopicPartition partition = new TopicPartition("test", 0);
+    @SuppressWarnings("unchecked")
+    private final KafkaConsumerTelemetry<String, String> telemetry = Mockito.mock(KafkaConsumerTelemetry.class);
+    @SuppressWarnings("unchecked")
+    private final KafkaConsumerTelemetry.KafkaConsumerRecordsTelemetryContext<String, String> recordsCtx = Mockito.mock(KafkaConsumerTelemetry.KafkaConsumerRecordsTelemetryContext.class);
+    @SuppressWarnings("unchecked")
+    private final KafkaConsumerTelemetry.KafkaConsumerRecordTelemetryContext<String, String> recordCtx = Mockito.mock(KafkaConsumerTelemetry.KafkaConsumerRecordTelemetryContext.class);
+    @SuppressWarnings("unchecked")
+    private final Consumer<String, String> consumer = Mockito.mock(Consumer.class);
+
+    // record offset -> gate that has to be opened before record is handled
+    private final Map<Long, CountDownLatch> gates = new ConcurrentHashMap<>();
+    private final List<Long> handled = new CopyOnWriteArrayList<>();
+    private final List<ParallelRecordHandler<String, String>> handlers = new ArrayList<>();
+
+    {
+        when(this.telemetry.get(any())).thenReturn(this.recordsCtx);
+        when(this.recordsCtx.get(any())).thenReturn(this.recordCtx);
+        when(this.consumer.assignment()).thenReturn(Set.of(this.partition));
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.gates.values().forEach(CountDownLatch::countDown);
+        this.handlers.forEach(ParallelRecordHandler::close);
+    }
+
+    @Test
+    void testOffsetIsCommittedUpToLowestUnprocessedRecord() {
+        var gate = this.gate(0);
+        var handler = this.handler(KafkaListenerConfig.ParallelConfig.Ordering.KEY, 100, (consumer, ctx, record) -> {});
+
+        handler.handle(this.records(0, 2), this.consumer, true);
+        verify(this.recordCtx, timeout(5000).times(1)).close(null);
+        handler.handle(this.records(2, 2), this.consumer, true);
+        verify(this.recordCtx, timeout(5000).times(3)).close(null);
+        handler.handle(ConsumerRecords.empty(), this.consumer, true);
+
+        assertThat(this.handled).containsExactlyInAnyOrder(1L, 2L, 3L);
+        verify(this.consumer).commitSync(Map.of(this.partition, new OffsetAndMetadata(0)));
+        verify(this.consumer, times(1)).commitSync(Mockito.<Map<TopicPartition, OffsetAndMetadata>>any());
+
+        gate.countDown();
+        verify(this.recordsCtx, timeout(5000).times(2)).close(null);
+        handler.handle(ConsumerRecords.empty(), this.consumer, true);
+
+        verify(this.consumer).commitSync(Map.of(this.partition, new OffsetAndMetadata(4)));
+        verify(this.consumer, times(2)).commitSync(Mockito.<Map<TopicPartition, OffsetAndMetadata>>any());
+    }
+
+    @Test
+    void testRecordsTelemetryIsClosedAfterRecordsAreProcessed() {
+        var gate = this.gate(1);
+        var handler = this.handler(KafkaListenerConfig.ParallelConfig.Ordering.KEY, 100, (consumer, ctx, record) -> {});
+
+        handler.handle(this.records(0, 2), this.consumer, true);
+        verify(this.recordCtx, timeout(5000)).close(null);
+        verify(this.recordsCtx, never()).close(any());
+
+        gate.countDown();
+        verify(this.recordsCtx, timeout(5000)).close(null);
+    }
+
+    @Test
+    void testFailureIsRethrownAndRecordsAreRedelivered() {
+        var gate = this.gate(0);
+        var failure = new IllegalArgumentException("test");
+        var failures = new int[]{1};
+        var handler = this.handler(KafkaListenerConfig.ParallelConfig.Ordering.PARTITION, 100, (consumer, ctx, record) -> {
+            if (record.offset() == 1 && failures[0]-- > 0) {
+                throw failure;
+            }
+        });
+
+        handler.handle(this.records(0, 3), this.consumer, true);
+        verify(this.consumer).commitSync(Map.of(this.partition, new OffsetAndMetadata(0)));
+        gate.countDown();
+        // record after failed one is skipped
+        verify(this.recordsCtx, timeout(5000)).close(failure);
+        verify(this.recordCtx).close(failure);
+        verify(this.recordCtx).close(any(CancellationException.class));
+
+        assertThatThrownBy(() -> handler.handle(ConsumerRecords.empty(), this.consumer, true)).isSameAs(failure);
+        verify(this.consumer).commitSync(Map.of(this.partition, new OffsetAndMetadata(1)));
+        assertThat(this.handled).containsExactly(0L, 1L);
+
+        // recreated consumer polls records again from committed offset
+        var redelivered = this.gate(1);
+        handler.handle(this.records(1, 2), this.consumer, true);
+        verify(this.consumer, times(2)).commitSync(Map.of(this.partition, new OffsetAndMetadata(1)));
+        redelivered.countDown();
+        verify(this.recordsCtx, timeout(5000)).close(null);
+        handler.handle(ConsumerRecords.empty(), this.consumer, true);
+
+        assertThat(this.handled).containsExactly(0L, 1L, 1L, 2L);
+        verify(this.consumer).commitSync(Map.of(this.partition, new OffsetAndMetadata(3)));
+        verify(this.consumer, never()).commitSync(Map.of(this.partition, new OffsetAndMetadata(2)));
+    }
+
+    @Test
+    void testPartitionsArePausedWhenMaxInFlightIsReachedAndResumedAfterProcessing() {
+        var gate = this.gate(0);
+        var handler = this.handler(KafkaListenerConfig.ParallelConfig.Ordering.PARTITION, 2, (consumer, ctx, record) -> {});
+
+        handler.handle(this.records(0, 1), this.consumer, true);
+        verify(this.consumer, never()).pause(any());
+
+        handler.handle(this.records(1, 2), this.consumer, true);
+        verify(this.consumer).pause(Set.of(this.partition));
+
+        // already paused partitions are not paused again
+        handler.handle(ConsumerRecords.empty(), this.consumer, true);
+        verify(this.consumer, times(1)).pause(any());
+        verify(this.consumer, never()).resume(any());
+
+        gate.countDown();
+        verify(this.recordsCtx, timeout(5000).times(2)).close(null);
+        handler.handle(ConsumerRecords.empty(), this.consumer, true);
+        verify(this.consumer).resume(List.of(this.partition));
+
+        handler.handle(ConsumerRecords.empty(), this.consumer, true);
+        verify(this.consumer, times(1)).resume(any());
+        assertThat(this.handled).containsExactly(0L, 1L, 2L);
+    }
+
+    @Test
+    void testRevokedPartitionsAreDrainedAndCommitted() throws Exception {
+        var gate = this.gate(1);
+        var handler = this.handler(KafkaListenerConfig.ParallelConfig.Ordering.PARTITION, 100, (consumer, ctx, record) -> {});
+
+        handler.handle(this.records(0, 2), this.consumer, true);
+        var revoke = CompletableFuture.runAsync(() -> handler.onPartitionsRevoked(this.consumer, List.of(this.partition)));
+        assertThatThrownBy(() -> revoke.get(200, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+        verify(this.consumer, never()).commitSync(Map.of(this.partition, new OffsetAndMetadata(2)));
+
+        gate.countDown();
+        revoke.get(5, TimeUnit.SECONDS);
+
+        assertThat(this.handled).containsExactly(0L, 1L);
+        verify(this.consumer).commitSync(Map.of(this.partition, new OffsetAndMetadata(2)));
+    }
+
+    private CountDownLatch gate(long offset) {
+        var gate = new CountDownLatch(1);
+        this.gates.put(offset, gate);
+        return gate;
+    }
+
+    private ParallelRecordHandler<String, String> handler(KafkaListenerConfig.ParallelConfig.Ordering ordering, int maxInFlight, KafkaRecordHandler<String, String> delegate) {
+        var properties = new Properties();
+        properties.put(CommonClientConfigs.GROUP_ID_CONFIG, "test");
+        var config = Mockito.mock(KafkaListenerConfig.class);
+        when(config.driverProperties()).thenReturn(properties);
+        when(config.pollTimeout()).thenReturn(Duration.ofMillis(100));
+        when(config.shutdownWait()).thenReturn(Duration.ofSeconds(10));
+        when(config.parallel()).thenReturn(new $KafkaListenerConfig_ParallelConfig_ConfigValueExtractor.ParallelConfig_Impl(true, ordering, 4, maxInFlight, false));
+
+        KafkaRecordHandler<String, String> gated = (consumer, ctx, record) -> {
+            var gate = this.gates.get(record.offset());
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            this.handled.add(record.offset());
+            delegate.handle(consumer, ctx, record);
+        };
+        var handler = new ParallelRecordHandler<>(config, this.telemetry, true, new ValueOf<>() {
+            @Override
+            public KafkaRecordHandler<String, String> get() {
+                return gated;
+            }
+
+            @Override
+            public void refresh() {}
+        }, OffsetCommitter.sync(this.telemetry));
+        this.handlers.add(handler);
+        return handler;
+    }
+
+    /**
+     * Every record has its own key, so records are processed concurrently with {@link KafkaListenerConfig.ParallelConfig.Ordering#KEY}
+     */
+    private ConsumerRecords<String, String> records(long from, int count) {
+        List<ConsumerRecord<String, String>> records = new ArrayList<>();
+        for (var offset = from; offset < from + count; offset++) {
+            records.add(new ConsumerRecord<>(this.partition.topic(), this.partition.partition(), offset, "key-" + offset, "value"));
+        }
+        return new ConsumerRecords<>(Map.of(this.partition, records));
+    }
+}
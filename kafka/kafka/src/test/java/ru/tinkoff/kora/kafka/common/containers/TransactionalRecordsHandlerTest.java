@@ -0,0 +1,137 @@
+package ru.tinkoff.kora.kafka.common.containers;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerGroupMetadata;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import ru.tinkoff.kora.application.graph.ValueOf;
+import ru.tinkoff.kora.kafka.common.consumer.$KafkaListenerConfig_TransactionConfig_ConfigValueExtractor;
+import ru.tinkoff.kora.kafka.common.consumer.KafkaListenerConfig;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.KafkaTransactionalRecordsHandler;
+import ru.tinkoff.kora.kafka.common.consumer.containers.handlers.impl.TransactionalRecordsHandler;
+import ru.tinkoff.kora.kafka.common.consumer.telemetry.KafkaConsumerTelemetry;
+import ru.tinkoff.kora.kafka.common.producer.TransactionalPublisher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TransactionalRecordsHandlerTest {
+    private final TopicPartition partition = new TopicPartition("test", 0);
+    private final ConsumerGroupMetadata groupMetadata = new ConsumerGroupMetadata("test");
+    @SuppressWarnings("unchecked")
+    private final KafkaConsumerTelemetry<String, String> telemetry = Mockito.mock(KafkaConsumerTelemetry.class);
+    @SuppressWarnings("unchecked")
+    private final Consumer<String, String> consumer = Mockito.mock(Consumer.class);
+    @SuppressWarnings("unchecked")
+    private final TransactionalPublisher<Object> publisher = Mockito.mock(TransactionalPublisher.class);
+    @SuppressWarnings("unchecked")
+    private final TransactionalPublisher.Transaction<Object> transaction = Mockito.mock(TransactionalPublisher.Transaction.class);
+
+    {
+        when(this.telemetry.get(any())).thenReturn(Mockito.mock(KafkaConsumerTelemetry.KafkaConsumerRecordsTelemetryContext.class));
+        when(this.consumer.groupMetadata()).thenReturn(this.groupMetadata);
+        Mockito.<TransactionalPublisher.Transaction<?>>when(this.publisher.begin()).thenReturn(this.transaction);
+    }
+
+    @Test
+    void testOffsetsAreCommittedInTransaction() {
+        var handled = new ArrayList<ConsumerRecords<String, String>>();
+        var handler = handler(config(0, 0), (records, tx) -> handled.add(records));
+
+        var records = records(0, 1);
+        handler.handle(records, this.consumer, true);
+
+        assertThat(handled).containsExactly(records);
+        var order = inOrder(this.publisher, this.transaction);
+        order.verify(this.publisher).begin();
+        order.verify(this.transaction).sendOffsetsToTransaction(Map.of(this.partition, new OffsetAndMetadata(2)), this.groupMetadata);
+        order.verify(this.transaction).close();
+        verify(this.consumer, never()).commitSync();
+        verify(this.consumer, never()).commitSync(Mockito.<Map<TopicPartition, OffsetAndMetadata>>any());
+    }
+
+    @Test
+    void testTransactionSpansPollsUntilRecords() {
+        var handler = handler(config(3, 0), (records, tx) -> {});
+
+        handler.handle(records(0, 1), this.consumer, true);
+        verify(this.transaction, never()).close();
+
+        handler.handle(records(2, 3), this.consumer, true);
+        verify(this.publisher, times(1)).begin();
+        verify(this.transaction).sendOffsetsToTransaction(Map.of(this.partition, new OffsetAndMetadata(4)), this.groupMetadata);
+        verify(this.transaction).close();
+    }
+
+    @Test
+    void testFailedTransactionIsRetriedWithAllRecords() {
+        var handled = new ArrayList<Long>();
+        var failures = new int[]{1};
+        var handler = handler(config(4, 1), (records, tx) -> {
+            for (var record : records) {
+                handled.add(record.offset());
+            }
+            if (records.iterator().next().offset() == 2 && failures[0]-- > 0) {
+                throw new IllegalStateException("test");
+            }
+        });
+
+        handler.handle(records(0, 1), this.consumer, true);
+        handler.handle(records(2, 3), this.consumer, true);
+
+        assertThat(handled).containsExactly(0L, 1L, 2L, 3L, 0L, 1L, 2L, 3L);
+        verify(this.transaction).abort(any(IllegalStateException.class));
+        verify(this.publisher, times(2)).begin();
+        verify(this.transaction).sendOffsetsToTransaction(Map.of(this.partition, new OffsetAndMetadata(4)), this.groupMetadata);
+        verify(this.transaction, times(2)).close();
+    }
+
+    @Test
+    void testFailureIsThrownWhenRetriesAreExhausted() {
+        var handler = handler(config(0, 1), (records, tx) -> {
+            throw new IllegalStateException("test");
+        });
+
+        assertThatThrownBy(() -> handler.handle(records(0, 1), this.consumer, true)).isInstanceOf(IllegalStateException.class);
+        verify(this.transaction, times(2)).abort(any(IllegalStateException.class));
+        verify(this.transaction, never()).sendOffsetsToTransaction(any(), any());
+
+        handler.onPartitionsRevoked(this.consumer, List.of(this.partition));
+        verify(this.transaction, never()).sendOffsetsToTransaction(any(), any());
+    }
+
+    private TransactionalRecordsHandler<String, String, Object> handler(KafkaListenerConfig.TransactionConfig config, KafkaTransactionalRecordsHandler<String, String, Object> handler) {
+        return new TransactionalRecordsHandler<>(config, this.telemetry, this.publisher, new ValueOf<>() {
+            @Override
+            public KafkaTransactionalRecordsHandler<String, String, Object> get() {
+                return handler;
+            }
+
+            @Override
+            public void refresh() {}
+        });
+    }
+
+    private ConsumerRecords<String, String> records(long from, long to) {
+        List<ConsumerRecord<String, String>> records = new ArrayList<>();
+        for (var offset = from; offset <= to; offset++) {
+            records.add(new ConsumerRecord<>(this.partition.topic(), this.partition.partition(), offset, "key", "value"));
+        }
+        return new ConsumerRecords<>(Map.of(this.partition, records));
+    }
+
+    private static KafkaListenerConfig.TransactionConfig config(int records, int retries) {
+        return new $KafkaListenerConfig_TransactionConfig_ConfigValueExtractor.TransactionConfig_Impl(records, Duration.ofHours(1), retries);
+    }
+}
@@ -0,0 +1,132 @@
+package ru.tinkoff.kora.kafka.common.producer;
+
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import ru.tinkoff.kora.kafka.common.producer.telemetry.KafkaProducerTelemetry;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KafkaBatchPublisherTest {
+    private final MockProducer<byte[], byte[]> producer = new MockProducer<>(false, new ByteArraySerializer(), new ByteArraySerializer());
+    private final KafkaProducerTelemetry telemetry = Mockito.mock(KafkaProducerTelemetry.class);
+    private final KafkaProducerTelemetry.KafkaProducerBatchTelemetryContext batchTelemetry = Mockito.mock(KafkaProducerTelemetry.KafkaProducerBatchTelemetryContext.class);
+
+    private final GeneratedPublisher publisher = new GeneratedPublisher() {
+        @Override
+        public void init() {}
+
+        @Override
+        public void release() {}
+
+        @Override
+        public Producer<byte[], byte[]> producer() {
+            return producer;
+        }
+
+        @Override
+        public KafkaProducerTelemetry telemetry() {
+            return telemetry;
+        }
+    };
+
+    {
+        when(this.telemetry.batch()).thenReturn(this.batchTelemetry);
+    }
+
+    @Test
+    void testListInFlightIsLimited() throws Exception {
+        var batchPublisher = new KafkaBatchPublisher(this.publisher, config(2));
+        var values = List.of("1", "2", "3", "4", "5");
+
+        var result = CompletableFuture.supplyAsync(() -> batchPublisher.send(values, this::send)).thenCompose(s -> s);
+        await().atMost(Duration.ofSeconds(5)).until(() -> this.producer.history().size() == 2);
+        Thread.sleep(100);
+        assertThat(this.producer.history()).hasSize(2);
+
+        for (var i = 0; i < values.size(); i++) {
+            var sent = i;
+            await().atMost(Duration.ofSeconds(5)).until(() -> this.producer.history().size() > sent);
+            assertThat(this.producer.completeNext()).isTrue();
+        }
+
+        var metadata = result.get(5, TimeUnit.SECONDS);
+        assertThat(metadata).hasSize(5);
+        assertThat(metadata).extracting(RecordMetadata::offset).doesNotContainNull();
+        verify(this.batchTelemetry).sendEnd(eq(5), isNull());
+    }
+
+    @Test
+    void testListStopsOnFailure() throws Exception {
+        var batchPublisher = new KafkaBatchPublisher(this.publisher, config(1));
+        var values = List.of("1", "2", "3");
+
+        var result = CompletableFuture.supplyAsync(() -> batchPublisher.send(values, this::send)).thenCompose(s -> s);
+        await().atMost(Duration.ofSeconds(5)).until(() -> this.producer.history().size() == 1);
+        assertThat(this.producer.errorNext(new IllegalStateException("test"))).isTrue();
+
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasRootCauseInstanceOf(IllegalStateException.class);
+        assertThat(this.producer.history()).hasSize(1);
+        verify(this.batchTelemetry).sendEnd(eq(0), any(IllegalStateException.class));
+    }
+
+    @Test
+    void testPublisher() throws Exception {
+        var batchPublisher = new KafkaBatchPublisher(this.publisher, config(2));
+
+        CompletionStage<Long> result;
+        try (var values = new SubmissionPublisher<String>()) {
+            result = batchPublisher.send(values, this::send);
+            for (var i = 0; i < 5; i++) {
+                values.submit(Integer.toString(i));
+            }
+        }
+        for (var i = 0; i < 5; i++) {
+            var sent = i;
+            await().atMost(Duration.ofSeconds(5)).until(() -> this.producer.history().size() > sent);
+            assertThat(this.producer.history().size()).isLessThanOrEqualTo(sent + 2);
+            assertThat(this.producer.completeNext()).isTrue();
+        }
+
+        assertThat(result.toCompletableFuture().get(5, TimeUnit.SECONDS)).isEqualTo(5L);
+        verify(this.batchTelemetry).sendEnd(eq(5), isNull());
+    }
+
+    private CompletionStage<RecordMetadata> send(String value) {
+        var future = new CompletableFuture<RecordMetadata>();
+        this.producer.send(new ProducerRecord<>("test", value.getBytes(StandardCharsets.UTF_8)), (metadata, exception) -> {
+            if (exception != null) {
+                future.completeExceptionally(exception);
+            } else {
+                future.complete(metadata);
+            }
+        });
+        return future;
+    }
+
+    private static KafkaPublisherConfig.BatchConfig config(int maxInFlight) {
+        return new $KafkaPublisherConfig_BatchConfig_ConfigValueExtractor.BatchConfig_Impl(maxInFlight, 0.9);
+    }
+}
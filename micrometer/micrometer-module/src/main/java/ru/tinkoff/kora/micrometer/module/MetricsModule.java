@@ -19,6 +19,7 @@ import ru.tinkoff.kora.micrometer.module.db.MicrometerDataBaseMetricWriterFactor
 import ru.tinkoff.kora.micrometer.module.grpc.client.MicrometerGrpcClientMetricsFactory;
 import ru.tinkoff.kora.micrometer.module.grpc.server.MicrometerGrpcServerMetricsFactory;
 import ru.tinkoff.kora.micrometer.module.http.client.MicrometerHttpClientMetricsFactory;
+import ru.tinkoff.kora.micrometer.module.http.server.MicrometerBlockingRequestExecutorMetrics;
 import ru.tinkoff.kora.micrometer.module.http.server.MicrometerHttpServerMetricsFactory;
 import ru.tinkoff.kora.micrometer.module.http.server.MicrometerPrivateApiMetrics;
 import ru.tinkoff.kora.micrometer.module.http.server.tag.DefaultMicrometerHttpServerTagsProvider;
@@ -62,6 +63,11 @@ public interface MetricsModule {
         return new MicrometerHttpServerMetricsFactory(meterRegistry, httpServerTagsProvider, metricsConfig);
     }
 
+    @DefaultComponent
+    default MicrometerBlockingRequestExecutorMetrics micrometerBlockingRequestExecutorMetrics(MeterRegistry meterRegistry) {
+        return new MicrometerBlockingRequestExecutorMetrics(meterRegistry);
+    }
+
     @DefaultComponent
     default MicrometerHttpClientMetricsFactory micrometerHttpClientMetricsFactory(MeterRegistry meterRegistry, MetricsConfig metricsConfig) {
         return new MicrometerHttpClientMetricsFactory(meterRegistry, metricsConfig);
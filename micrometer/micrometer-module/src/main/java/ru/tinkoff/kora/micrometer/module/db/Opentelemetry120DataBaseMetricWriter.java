@@ -1,13 +1,17 @@
 package ru.tinkoff.kora.micrometer.module.db;
 
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.Nullable;
 import ru.tinkoff.kora.database.common.QueryContext;
 import ru.tinkoff.kora.database.common.telemetry.DataBaseMetricWriter;
+import ru.tinkoff.kora.database.common.telemetry.DataBaseTelemetry;
 import ru.tinkoff.kora.telemetry.common.TelemetryConfig;
 
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
 
 public final class Opentelemetry120DataBaseMetricWriter implements DataBaseMetricWriter {
 
@@ -35,6 +39,71 @@ public final class Opentelemetry120DataBaseMetricWriter implements DataBaseMetri
         return this.meterRegistry;
     }
 
+    @Override
+    public DataBaseTelemetry.DataBaseExecutorMetrics executorMetrics(IntSupplier queueSize) {
+        Gauge.builder("database.client.executor.queue.size", queueSize, IntSupplier::getAsInt)
+            .tag("pool", this.poolName)
+            .strongReference(true)
+            .register(this.meterRegistry);
+        var wait = DistributionSummary.builder("database.client.executor.wait.duration")
+            .serviceLevelObjectives(this.config.slo(TelemetryConfig.MetricsConfig.OpentelemetrySpec.V120))
+            .baseUnit("milliseconds")
+            .tag("pool", this.poolName)
+            .register(this.meterRegistry);
+        return waitNanos -> wait.record((double) waitNanos / 1_000_000);
+    }
+
+    @Override
+    public DataBaseTelemetry.DataBaseStatementCacheMetrics statementCacheMetrics() {
+        var hits = Counter.builder("database.client.statement.cache.requests")
+            .tag("pool", this.poolName)
+            .tag("result", "hit")
+            .register(this.meterRegistry);
+        var misses = Counter.builder("database.client.statement.cache.requests")
+            .tag("pool", this.poolName)
+            .tag("result", "miss")
+            .register(this.meterRegistry);
+        return new DataBaseTelemetry.DataBaseStatementCacheMetrics() {
+            @Override
+            public void recordHit() {
+                hits.increment();
+            }
+
+            @Override
+            public void recordMiss() {
+                misses.increment();
+            }
+        };
+    }
+
+    @Override
+    public DataBaseTelemetry.DataBasePoolMetrics poolMetrics(DataBaseTelemetry.DataBasePoolState state) {
+        Gauge.builder("database.client.connections.usage", state, DataBaseTelemetry.DataBasePoolState::acquired)
+            .tag("pool", this.poolName)
+            .tag("state", "used")
+            .strongReference(true)
+            .register(this.meterRegistry);
+        Gauge.builder("database.client.connections.usage", state, DataBaseTelemetry.DataBasePoolState::idle)
+            .tag("pool", this.poolName)
+            .tag("state", "idle")
+            .strongReference(true)
+            .register(this.meterRegistry);
+        Gauge.builder("database.client.connections.pending_requests", state, DataBaseTelemetry.DataBasePoolState::pending)
+            .tag("pool", this.poolName)
+            .strongReference(true)
+            .register(this.meterRegistry);
+        Gauge.builder("database.client.connections.max", state, DataBaseTelemetry.DataBasePoolState::max)
+            .tag("pool", this.poolName)
+            .strongReference(true)
+            .register(this.meterRegistry);
+        var acquire = DistributionSummary.builder("database.client.connections.wait_time")
+            .serviceLevelObjectives(this.config.slo(TelemetryConfig.MetricsConfig.OpentelemetrySpec.V120))
+            .baseUnit("milliseconds")
+            .tag("pool", this.poolName)
+            .register(this.meterRegistry);
+        return acquireNanos -> acquire.record((double) acquireNanos / 1_000_000);
+    }
+
     private record DbMetrics(DistributionSummary duration) {}
 
     private record DbKey(String queryId, String operation, @Nullable Class<? extends Throwable> error) {}
@@ -1,6 +1,8 @@
 package ru.tinkoff.kora.micrometer.module.db;
 
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.opentelemetry.semconv.ErrorAttributes;
 import io.opentelemetry.semconv.incubating.DbIncubatingAttributes;
@@ -8,9 +10,11 @@ import io.opentelemetry.semconv.incubating.PoolIncubatingAttributes;
 import jakarta.annotation.Nullable;
 import ru.tinkoff.kora.database.common.QueryContext;
 import ru.tinkoff.kora.database.common.telemetry.DataBaseMetricWriter;
+import ru.tinkoff.kora.database.common.telemetry.DataBaseTelemetry;
 import ru.tinkoff.kora.telemetry.common.TelemetryConfig;
 
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
 
 public final class Opentelemetry123DataBaseMetricWriter implements DataBaseMetricWriter {
 
@@ -38,6 +42,71 @@ public final class Opentelemetry123DataBaseMetricWriter implements DataBaseMetri
         return this.meterRegistry;
     }
 
+    @Override
+    public DataBaseTelemetry.DataBaseExecutorMetrics executorMetrics(IntSupplier queueSize) {
+        Gauge.builder("db.client.executor.queue.size", queueSize, IntSupplier::getAsInt)
+            .tag(PoolIncubatingAttributes.POOL_NAME.getKey(), this.poolName)
+            .strongReference(true)
+            .register(this.meterRegistry);
+        var wait = DistributionSummary.builder("db.client.executor.wait.duration")
+            .serviceLevelObjectives(this.config.slo(TelemetryConfig.MetricsConfig.OpentelemetrySpec.V123))
+            .baseUnit("s")
+            .tag(PoolIncubatingAttributes.POOL_NAME.getKey(), this.poolName)
+            .register(this.meterRegistry);
+        return waitNanos -> wait.record((double) waitNanos / 1_000_000_000);
+    }
+
+    @Override
+    public DataBaseTelemetry.DataBaseStatementCacheMetrics statementCacheMetrics() {
+        var hits = Counter.builder("db.client.statement.cache.requests")
+            .tag(PoolIncubatingAttributes.POOL_NAME.getKey(), this.poolName)
+            .tag("result", "hit")
+            .register(this.meterRegistry);
+        var misses = Counter.builder("db.client.statement.cache.requests")
+            .tag(PoolIncubatingAttributes.POOL_NAME.getKey(), this.poolName)
+            .tag("result", "miss")
+            .register(this.meterRegistry);
+        return new DataBaseTelemetry.DataBaseStatementCacheMetrics() {
+            @Override
+            public void recordHit() {
+                hits.increment();
+            }
+
+            @Override
+            public void recordMiss() {
+                misses.increment();
+            }
+        };
+    }
+
+    @Override
+    public DataBaseTelemetry.DataBasePoolMetrics poolMetrics(DataBaseTelemetry.DataBasePoolState state) {
+        Gauge.builder("db.client.connections.usage", state, DataBaseTelemetry.DataBasePoolState::acquired)
+            .tag(PoolIncubatingAttributes.POOL_NAME.getKey(), this.poolName)
+            .tag("state", "used")
+            .strongReference(true)
+            .register(this.meterRegistry);
+        Gauge.builder("db.client.connections.usage", state, DataBaseTelemetry.DataBasePoolState::idle)
+            .tag(PoolIncubatingAttributes.POOL_NAME.getKey(), this.poolName)
+            .tag("state", "idle")
+            .strongReference(true)
+            .register(this.meterRegistry);
+        Gauge.builder("db.client.connections.pending_requests", state, DataBaseTelemetry.DataBasePoolState::pending)
+            .tag(PoolIncubatingAttributes.POOL_NAME.getKey(), this.poolName)
+            .strongReference(true)
+            .register(this.meterRegistry);
+        Gauge.builder("db.client.connections.max", state, DataBaseTelemetry.DataBasePoolState::max)
+            .tag(PoolIncubatingAttributes.POOL_NAME.getKey(), this.poolName)
+            .strongReference(true)
+            .register(this.meterRegistry);
+        var acquire = DistributionSummary.builder("db.client.connections.wait_time")
+            .serviceLevelObjectives(this.config.slo(TelemetryConfig.MetricsConfig.OpentelemetrySpec.V123))
+            .baseUnit("s")
+            .tag(PoolIncubatingAttributes.POOL_NAME.getKey(), this.poolName)
+            .register(this.meterRegistry);
+        return acquireNanos -> acquire.record((double) acquireNanos / 1_000_000_000);
+    }
+
     private record DbMetrics(DistributionSummary duration) {}
 
     private record DbKey(String queryId, String operation, @Nullable Class<? extends Throwable> error) {}
@@ -0,0 +1,53 @@
+package ru.tinkoff.kora.micrometer.module.http.server;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import ru.tinkoff.kora.http.server.common.telemetry.BlockingRequestExecutorMetrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class MicrometerBlockingRequestExecutorMetrics implements BlockingRequestExecutorMetrics {
+    private final AtomicInteger active = new AtomicInteger(0);
+    private final Timer queueWait;
+    private final Timer rejectedQueueWait;
+    private final Counter rejected;
+
+    public MicrometerBlockingRequestExecutorMetrics(MeterRegistry meterRegistry) {
+        this.queueWait = Timer.builder("http.server.blocking.queue.wait")
+            .description("Time blocking request waited for execution")
+            .tag("result", "started")
+            .register(meterRegistry);
+        this.rejectedQueueWait = Timer.builder("http.server.blocking.queue.wait")
+            .description("Time blocking request waited for execution")
+            .tag("result", "rejected")
+            .register(meterRegistry);
+        this.rejected = Counter.builder("http.server.blocking.rejected")
+            .baseUnit(BaseUnits.REQUESTS)
+            .description("Blocking requests rejected because concurrency limit was reached")
+            .register(meterRegistry);
+        Gauge.builder("http.server.blocking.active", this.active::get)
+            .description("Blocking requests currently executing")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void requestStarted(long queueWaitNanos) {
+        this.active.incrementAndGet();
+        this.queueWait.record(queueWaitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void requestFinished() {
+        this.active.decrementAndGet();
+    }
+
+    @Override
+    public void requestRejected(long queueWaitNanos) {
+        this.rejected.increment();
+        this.rejectedQueueWait.record(queueWaitNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -3,6 +3,11 @@ package ru.tinkoff.kora.micrometer.module.http.server;
 import io.micrometer.prometheus.PrometheusMeterRegistry;
 import ru.tinkoff.kora.http.server.common.telemetry.PrivateApiMetrics;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
 public final class MicrometerPrivateApiMetrics implements PrivateApiMetrics {
     private final PrometheusMeterRegistry meterRegistry;
 
@@ -14,4 +19,11 @@ public final class MicrometerPrivateApiMetrics implements PrivateApiMetrics {
     public String scrape() {
         return this.meterRegistry.scrape();
     }
+
+    @Override
+    public void scrape(OutputStream os) throws IOException {
+        var writer = new OutputStreamWriter(os, StandardCharsets.UTF_8);
+        this.meterRegistry.scrape(writer);
+        writer.flush();
+    }
 }
@@ -0,0 +1,121 @@
+package ru.tinkoff.kora.micrometer.module.http.server;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import jakarta.annotation.Nullable;
+import ru.tinkoff.kora.http.common.HttpResultCode;
+import ru.tinkoff.kora.http.common.header.HttpHeaders;
+import ru.tinkoff.kora.http.server.common.telemetry.HttpServerMetrics;
+import ru.tinkoff.kora.micrometer.module.http.server.tag.ActiveRequestsKey;
+import ru.tinkoff.kora.micrometer.module.http.server.tag.DurationKey;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Meters of a single route. Meters for host and scheme are found by lookup in a per-scheme map of hosts seen by the route,
+ * duration of requests finished without exception is found by status code, so requests do not allocate keys and do not touch shared maps.
+ * Host comes from client Host header, so it is lowercased and only first {@link #MAX_HOSTS} hosts of a route get own meters,
+ * requests to other hosts are reported with {@link #OTHER_HOST} host to keep number of meters bounded.
+ * Meters themselves are still resolved through the owning metrics maps, so they are shared with requests reported without route handle.
+ */
+final class MicrometerRouteMetrics implements HttpServerMetrics.RouteMetrics {
+    private static final int MAX_STATUS_CODE = 600;
+    static final int MAX_HOSTS = 32;
+    static final String OTHER_HOST = "other";
+
+    private final String method;
+    private final String pathTemplate;
+    private final Function<ActiveRequestsKey, AtomicInteger> activeRequests;
+    private final Function<DurationKey, DistributionSummary> duration;
+    private final double nanosPerUnit;
+    // scheme -> lowercased host -> meters
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, HostMeters>> hosts = new ConcurrentHashMap<>();
+    private volatile int hostCount;
+
+    MicrometerRouteMetrics(String method, String pathTemplate, Function<ActiveRequestsKey, AtomicInteger> activeRequests, Function<DurationKey, DistributionSummary> duration, double nanosPerUnit) {
+        this.method = method;
+        this.pathTemplate = pathTemplate;
+        this.activeRequests = activeRequests;
+        this.duration = duration;
+        this.nanosPerUnit = nanosPerUnit;
+    }
+
+    private static final class HostMeters {
+        private final String host;
+        private final String scheme;
+        private final AtomicInteger activeRequests;
+        private final AtomicReferenceArray<DistributionSummary> durations = new AtomicReferenceArray<>(MAX_STATUS_CODE);
+
+        private HostMeters(String host, String scheme, AtomicInteger activeRequests) {
+            this.host = host;
+            this.scheme = scheme;
+            this.activeRequests = activeRequests;
+        }
+    }
+
+    @Override
+    public void requestStarted(String host, String scheme) {
+        this.hostMeters(host, scheme).activeRequests.incrementAndGet();
+    }
+
+    @Override
+    public void requestFinished(int statusCode, HttpResultCode resultCode, String scheme, String host, HttpHeaders headers, long processingTimeNanos, @Nullable Throwable exception) {
+        var meters = this.hostMeters(host, scheme);
+        meters.activeRequests.decrementAndGet();
+        final DistributionSummary summary;
+        if (exception == null && statusCode >= 0 && statusCode < MAX_STATUS_CODE) {
+            var cached = meters.durations.get(statusCode);
+            if (cached == null) {
+                cached = this.duration.apply(new DurationKey(statusCode, this.method, this.pathTemplate, meters.host, meters.scheme, null));
+                meters.durations.set(statusCode, cached);
+            }
+            summary = cached;
+        } else {
+            var errorType = exception != null ? exception.getClass() : null;
+            summary = this.duration.apply(new DurationKey(statusCode, this.method, this.pathTemplate, meters.host, meters.scheme, errorType));
+        }
+        summary.record(processingTimeNanos / this.nanosPerUnit);
+    }
+
+    private HostMeters hostMeters(String host, String scheme) {
+        var hosts = this.hosts.get(scheme);
+        if (hosts != null) {
+            var meters = hosts.get(host);
+            if (meters != null) {
+                return meters;
+            }
+            // lowercase returns same string when there is nothing to convert
+            var normalized = host.toLowerCase(Locale.ROOT);
+            if (normalized != host && (meters = hosts.get(normalized)) != null) {
+                return meters;
+            }
+            if (this.hostCount >= MAX_HOSTS && (meters = hosts.get(OTHER_HOST)) != null) {
+                return meters;
+            }
+        }
+        return this.addHostMeters(host.toLowerCase(Locale.ROOT), scheme);
+    }
+
+    private synchronized HostMeters addHostMeters(String host, String scheme) {
+        var hosts = this.hosts.computeIfAbsent(scheme, s -> new ConcurrentHashMap<>());
+        var meters = hosts.get(host);
+        if (meters != null) {
+            return meters;
+        }
+        if (this.hostCount >= MAX_HOSTS) {
+            host = OTHER_HOST;
+            meters = hosts.get(host);
+            if (meters != null) {
+                return meters;
+            }
+        } else {
+            this.hostCount++;
+        }
+        meters = new HostMeters(host, scheme, this.activeRequests.apply(new ActiveRequestsKey(this.method, this.pathTemplate, host, scheme)));
+        hosts.put(host, meters);
+        return meters;
+    }
+}
@@ -1,8 +1,10 @@
 package ru.tinkoff.kora.micrometer.module.http.server;
 
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.semconv.HttpAttributes;
 import jakarta.annotation.Nullable;
 import ru.tinkoff.kora.http.common.HttpResultCode;
 import ru.tinkoff.kora.http.common.header.HttpHeaders;
@@ -14,12 +16,14 @@ import ru.tinkoff.kora.telemetry.common.TelemetryConfig;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
 
 public final class Opentelemetry120HttpServerMetrics implements HttpServerMetrics {
     private final MeterRegistry meterRegistry;
     private final MicrometerHttpServerTagsProvider httpServerTagsProvider;
     private final ConcurrentHashMap<ActiveRequestsKey, AtomicInteger> requestCounters = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<DurationKey, DistributionSummary> duration = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<RejectedKey, Counter> rejected = new ConcurrentHashMap<>();
     private final TelemetryConfig.MetricsConfig config;
 
     public Opentelemetry120HttpServerMetrics(MeterRegistry meterRegistry, MicrometerHttpServerTagsProvider httpServerTagsProvider, @Nullable TelemetryConfig.MetricsConfig config) {
@@ -28,30 +32,59 @@ public final class Opentelemetry120HttpServerMetrics implements HttpServerMetric
         this.config = config;
     }
 
+    @Override
+    public RouteMetrics route(String method, String pathTemplate) {
+        return new MicrometerRouteMetrics(method, pathTemplate, this::activeRequests, this::duration, 1_000_000);
+    }
+
     @Override
     public void requestStarted(String method, String pathTemplate, String host, String scheme) {
-        var counter = requestCounters.computeIfAbsent(new ActiveRequestsKey(method, pathTemplate, host, scheme), activeRequestsKey -> {
-            var c = new AtomicInteger(0);
-            this.registerActiveRequestsGauge(activeRequestsKey, c);
-            return c;
-        });
-        counter.incrementAndGet();
+        this.activeRequests(new ActiveRequestsKey(method, pathTemplate, host, scheme)).incrementAndGet();
     }
 
     @Override
     public void requestFinished(int statusCode, HttpResultCode resultCode, String scheme, String host, String method, String pathTemplate, HttpHeaders headers, long processingTimeNanos, Throwable exception) {
-        var counter = requestCounters.computeIfAbsent(new ActiveRequestsKey(method, pathTemplate, host, scheme), activeRequestsKey -> {
+        this.activeRequests(new ActiveRequestsKey(method, pathTemplate, host, scheme)).decrementAndGet();
+        var errorType = exception != null ? exception.getClass() : null;
+        var key = new DurationKey(statusCode, method, pathTemplate, host, scheme, errorType);
+        this.duration(key).record(((double) processingTimeNanos) / 1_000_000);
+    }
+
+    private AtomicInteger activeRequests(ActiveRequestsKey key) {
+        return this.requestCounters.computeIfAbsent(key, activeRequestsKey -> {
             var c = new AtomicInteger(0);
             this.registerActiveRequestsGauge(activeRequestsKey, c);
             return c;
         });
-        counter.decrementAndGet();
-        var errorType = exception != null ? exception.getClass() : null;
-        var key = new DurationKey(statusCode, method, pathTemplate, host, scheme, errorType);
-        this.duration.computeIfAbsent(key, this::requestDuration)
-            .record(((double) processingTimeNanos) / 1_000_000);
     }
 
+    private DistributionSummary duration(DurationKey key) {
+        return this.duration.computeIfAbsent(key, this::requestDuration);
+    }
+
+    @Override
+    public void concurrencyLimiterCreated(IntSupplier limit, IntSupplier inFlight) {
+        // suppliers are usually lambdas referenced only by gauge
+        Gauge.builder("http.server.concurrency.limit", limit, IntSupplier::getAsInt)
+            .strongReference(true)
+            .register(this.meterRegistry);
+        Gauge.builder("http.server.concurrency.in_flight", inFlight, IntSupplier::getAsInt)
+            .strongReference(true)
+            .register(this.meterRegistry);
+    }
+
+    @Override
+    public void requestRejected(String method, String pathTemplate, int statusCode) {
+        this.rejected.computeIfAbsent(new RejectedKey(method, pathTemplate, statusCode), key -> Counter.builder("http.server.concurrency.rejected")
+                .tag(HttpAttributes.HTTP_REQUEST_METHOD.getKey(), key.method())
+                .tag(HttpAttributes.HTTP_ROUTE.getKey(), key.route())
+                .tag(HttpAttributes.HTTP_RESPONSE_STATUS_CODE.getKey(), Integer.toString(key.statusCode()))
+                .register(this.meterRegistry))
+            .increment();
+    }
+
+    private record RejectedKey(String method, String route, int statusCode) {}
+
     private void registerActiveRequestsGauge(ActiveRequestsKey key, AtomicInteger counter) {
         Gauge.builder("http.server.active_requests", counter, AtomicInteger::get)
             .tags(httpServerTagsProvider.getActiveRequestsTags(key))
@@ -33,6 +33,7 @@ public class Opentelemetry120KafkaConsumerMetrics implements KafkaConsumerMetric
     private final ConcurrentHashMap<DurationKey, DistributionSummary> metrics = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<DurationBatchKey, DistributionSummary> metricsBatch = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<TopicPartition, LagGauge> lagMetrics = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<CommitKey, DistributionSummary> commitMetrics = new ConcurrentHashMap<>();
     private final TelemetryConfig.MetricsConfig config;
     private final Properties driverProperties;
 
@@ -46,6 +47,8 @@ public class Opentelemetry120KafkaConsumerMetrics implements KafkaConsumerMetric
 
     private record DurationBatchKey(String consumerName) {}
 
+    private record CommitKey(String consumerName, boolean error) {}
+
     private DistributionSummary metrics(DurationKey key) {
         var clientId = driverProperties.get(ProducerConfig.CLIENT_ID_CONFIG);
         var groupId = driverProperties.get(ConsumerConfig.GROUP_ID_CONFIG);
@@ -77,6 +80,22 @@ public class Opentelemetry120KafkaConsumerMetrics implements KafkaConsumerMetric
         return builder.register(this.meterRegistry);
     }
 
+    private DistributionSummary commitMetric(CommitKey key) {
+        var clientId = driverProperties.get(ProducerConfig.CLIENT_ID_CONFIG);
+        var groupId = driverProperties.get(ConsumerConfig.GROUP_ID_CONFIG);
+
+        var builder = DistributionSummary.builder("messaging.kafka.consumer.commit.duration")
+            .serviceLevelObjectives(this.config.slo(TelemetryConfig.MetricsConfig.OpentelemetrySpec.V120))
+            .baseUnit("milliseconds")
+            .tag(MessagingIncubatingAttributes.MESSAGING_SYSTEM.getKey(), "kafka")
+            .tag(MESSAGING_KAFKA_CONSUMER_NAME.getKey(), key.consumerName())
+            .tag(MessagingIncubatingAttributes.MESSAGING_CLIENT_ID.getKey(), Objects.requireNonNullElse(clientId, "").toString())
+            .tag(MessagingIncubatingAttributes.MESSAGING_KAFKA_CONSUMER_GROUP.getKey(), Objects.requireNonNullElse(groupId, "").toString())
+            .tag("status", key.error() ? "error" : "ok");
+
+        return builder.register(this.meterRegistry);
+    }
+
     @Override
     public void onRecordsReceived(ConsumerRecords<?, ?> records) {
 
@@ -103,6 +122,14 @@ public class Opentelemetry120KafkaConsumerMetrics implements KafkaConsumerMetric
         this.metricsBatch.computeIfAbsent(key, this::metricBatch).record(durationDouble);
     }
 
+    @Override
+    public void onOffsetsCommitted(String consumerName, long duration, @Nullable Throwable ex) {
+        double durationDouble = ((double) duration) / 1_000_000;
+        var key = new CommitKey(consumerName, ex != null);
+
+        this.commitMetrics.computeIfAbsent(key, this::commitMetric).record(durationDouble);
+    }
+
     @Override
     public void init() {
 
@@ -120,6 +147,11 @@ public class Opentelemetry120KafkaConsumerMetrics implements KafkaConsumerMetric
         for (var metric : metricsBatch) {
             metric.close();
         }
+        var commitMetrics = new ArrayList<>(this.commitMetrics.values());
+        this.commitMetrics.clear();
+        for (var metric : commitMetrics) {
+            metric.close();
+        }
         var lagMetrics = new ArrayList<>(this.lagMetrics.values());
         this.lagMetrics.clear();
         for (var lagMetric : lagMetrics) {
@@ -34,6 +34,7 @@ public final class Opentelemetry123KafkaConsumerMetrics implements KafkaConsumer
     private final ConcurrentHashMap<DurationKey, DistributionSummary> metrics = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<DurationBatchKey, DistributionSummary> metricsBatch = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<TopicPartition, LagGauge> lagMetrics = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<CommitKey, DistributionSummary> commitMetrics = new ConcurrentHashMap<>();
     private final TelemetryConfig.MetricsConfig config;
     private final Properties driverProperties;
 
@@ -47,6 +48,8 @@ public final class Opentelemetry123KafkaConsumerMetrics implements KafkaConsumer
 
     private record DurationBatchKey(String consumerName, @Nullable Class<? extends Throwable> errorType) {}
 
+    private record CommitKey(String consumerName, @Nullable Class<? extends Throwable> errorType) {}
+
     private DistributionSummary metrics(DurationKey key) {
         var clientId = driverProperties.get(ProducerConfig.CLIENT_ID_CONFIG);
         var groupId = driverProperties.get(ConsumerConfig.GROUP_ID_CONFIG);
@@ -93,6 +96,27 @@ public final class Opentelemetry123KafkaConsumerMetrics implements KafkaConsumer
         return builder.register(this.meterRegistry);
     }
 
+    private DistributionSummary commitMetric(CommitKey key) {
+        var clientId = driverProperties.get(ProducerConfig.CLIENT_ID_CONFIG);
+        var groupId = driverProperties.get(ConsumerConfig.GROUP_ID_CONFIG);
+
+        var builder = DistributionSummary.builder("messaging.kafka.consumer.commit.duration")
+            .serviceLevelObjectives(this.config.slo(TelemetryConfig.MetricsConfig.OpentelemetrySpec.V123))
+            .baseUnit("s")
+            .tag(MessagingIncubatingAttributes.MESSAGING_SYSTEM.getKey(), "kafka")
+            .tag(MESSAGING_KAFKA_CONSUMER_NAME.getKey(), key.consumerName())
+            .tag(MessagingIncubatingAttributes.MESSAGING_CLIENT_ID.getKey(), Objects.requireNonNullElse(clientId, "").toString())
+            .tag(MessagingIncubatingAttributes.MESSAGING_KAFKA_CONSUMER_GROUP.getKey(), Objects.requireNonNullElse(groupId, "").toString());
+
+        if (key.errorType() != null) {
+            builder.tag(ErrorAttributes.ERROR_TYPE.getKey(), key.errorType().getCanonicalName());
+        } else {
+            builder.tag(ErrorAttributes.ERROR_TYPE.getKey(), "");
+        }
+
+        return builder.register(this.meterRegistry);
+    }
+
     @Override
     public void onRecordsReceived(ConsumerRecords<?, ?> records) {
 
@@ -119,6 +143,14 @@ public final class Opentelemetry123KafkaConsumerMetrics implements KafkaConsumer
         lagMetrics.computeIfAbsent(partition, p -> new LagGauge(consumerName, p, meterRegistry)).offsetLag = lag;
     }
 
+    @Override
+    public void onOffsetsCommitted(String consumerName, long duration, @Nullable Throwable ex) {
+        double durationDouble = ((double) duration) / 1_000_000_000;
+        var key = new CommitKey(consumerName, ex != null ? ex.getClass() : null);
+
+        this.commitMetrics.computeIfAbsent(key, this::commitMetric).record(durationDouble);
+    }
+
     @Override
     public void init() {
 
@@ -131,6 +163,11 @@ public final class Opentelemetry123KafkaConsumerMetrics implements KafkaConsumer
         for (var metric : metrics) {
             metric.close();
         }
+        var commitMetrics = new ArrayList<>(this.commitMetrics.values());
+        this.commitMetrics.clear();
+        for (var metric : commitMetrics) {
+            metric.close();
+        }
         var lagMetrics = new ArrayList<>(this.lagMetrics.values());
         this.lagMetrics.clear();
         for (var lagMetric : lagMetrics) {
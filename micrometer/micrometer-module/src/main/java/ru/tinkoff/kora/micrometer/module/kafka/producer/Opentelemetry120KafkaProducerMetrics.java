@@ -26,6 +26,7 @@ public class Opentelemetry120KafkaProducerMetrics implements KafkaProducerMetric
     private final TelemetryConfig.MetricsConfig config;
     private final MeterRegistry meterRegistry;
     private final ConcurrentHashMap<TopicPartition, DistributionSummary> metrics = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Boolean, DistributionSummary> batchMetrics = new ConcurrentHashMap<>();
 
     public Opentelemetry120KafkaProducerMetrics(MeterRegistry meterRegistry, TelemetryConfig.MetricsConfig config, Producer<?, ?> producer, Properties properties) {
         this.micrometerMetrics = new KafkaClientMetrics(producer);
@@ -62,6 +63,12 @@ public class Opentelemetry120KafkaProducerMetrics implements KafkaProducerMetric
         m.record((double) durationNanos / 1_000_000);
     }
 
+    @Override
+    public void batchSendEnd(int records, long durationNanos, @Nullable Throwable e) {
+        var m = this.batchMetrics.computeIfAbsent(e != null, this::batchMetrics);
+        m.record((double) durationNanos / 1_000_000);
+    }
+
     @Override
     public void close() {
         this.micrometerMetrics.close();
@@ -73,6 +80,14 @@ public class Opentelemetry120KafkaProducerMetrics implements KafkaProducerMetric
             } catch (Throwable ignore) {
             }
         }
+        for (var i = this.batchMetrics.entrySet().iterator(); i.hasNext(); ) {
+            var entry = i.next();
+            i.remove();
+            try {
+                entry.getValue().close();
+            } catch (Throwable ignore) {
+            }
+        }
     }
 
     private DistributionSummary metrics(TopicPartition topicPartition) {
@@ -91,4 +106,17 @@ public class Opentelemetry120KafkaProducerMetrics implements KafkaProducerMetric
 
         return builder.register(this.meterRegistry);
     }
+
+    private DistributionSummary batchMetrics(boolean error) {
+        var clientId = this.properties.get(ProducerConfig.CLIENT_ID_CONFIG);
+
+        var builder = DistributionSummary.builder("messaging.kafka.producer.batch.duration")
+            .serviceLevelObjectives(this.config.slo(TelemetryConfig.MetricsConfig.OpentelemetrySpec.V120))
+            .baseUnit("milliseconds")
+            .tag(MessagingIncubatingAttributes.MESSAGING_SYSTEM.getKey(), "kafka")
+            .tag(MessagingIncubatingAttributes.MESSAGING_CLIENT_ID.getKey(), Objects.requireNonNullElse(clientId, "").toString())
+            .tag("status", error ? "error" : "ok");
+
+        return builder.register(this.meterRegistry);
+    }
 }
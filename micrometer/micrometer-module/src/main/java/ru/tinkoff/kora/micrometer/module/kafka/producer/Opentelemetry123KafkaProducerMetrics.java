@@ -26,6 +26,7 @@ public class Opentelemetry123KafkaProducerMetrics implements KafkaProducerMetric
     private final TelemetryConfig.MetricsConfig config;
     private final MeterRegistry meterRegistry;
     private final ConcurrentHashMap<DurationKey, DistributionSummary> metrics = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<BatchKey, DistributionSummary> batchMetrics = new ConcurrentHashMap<>();
 
     public Opentelemetry123KafkaProducerMetrics(MeterRegistry meterRegistry, TelemetryConfig.MetricsConfig config, Producer<?, ?> producer, Properties properties) {
         this.micrometerMetrics = new KafkaClientMetrics(producer);
@@ -64,6 +65,12 @@ public class Opentelemetry123KafkaProducerMetrics implements KafkaProducerMetric
         m.record((double) durationNanos / 1_000_000_000);
     }
 
+    @Override
+    public void batchSendEnd(int records, long durationNanos, @Nullable Throwable e) {
+        var m = this.batchMetrics.computeIfAbsent(new BatchKey(e == null ? null : e.getClass()), this::batchMetrics);
+        m.record((double) durationNanos / 1_000_000_000);
+    }
+
     @Override
     public void close() {
         this.micrometerMetrics.close();
@@ -75,8 +82,18 @@ public class Opentelemetry123KafkaProducerMetrics implements KafkaProducerMetric
             } catch (Throwable ignore) {
             }
         }
+        for (var i = this.batchMetrics.entrySet().iterator(); i.hasNext(); ) {
+            var entry = i.next();
+            i.remove();
+            try {
+                entry.getValue().close();
+            } catch (Throwable ignore) {
+            }
+        }
     }
 
+    private record BatchKey(@Nullable Class<? extends Throwable> errorType) {}
+
     private record DurationKey(String topic, int partition, @Nullable Class<? extends Throwable> errorType) {}
 
     private DistributionSummary metrics(DurationKey key) {
@@ -102,4 +119,22 @@ public class Opentelemetry123KafkaProducerMetrics implements KafkaProducerMetric
 
         return builder.register(this.meterRegistry);
     }
+
+    private DistributionSummary batchMetrics(BatchKey key) {
+        var clientId = this.properties.get(ProducerConfig.CLIENT_ID_CONFIG);
+
+        var builder = DistributionSummary.builder("messaging.kafka.producer.batch.duration")
+            .serviceLevelObjectives(this.config.slo(TelemetryConfig.MetricsConfig.OpentelemetrySpec.V123))
+            .baseUnit("s")
+            .tag(MessagingIncubatingAttributes.MESSAGING_SYSTEM.getKey(), "kafka")
+            .tag(MessagingIncubatingAttributes.MESSAGING_CLIENT_ID.getKey(), Objects.requireNonNullElse(clientId, "").toString());
+
+        if (key.errorType() != null) {
+            builder.tag(ErrorAttributes.ERROR_TYPE.getKey(), key.errorType().getCanonicalName());
+        } else {
+            builder.tag(ErrorAttributes.ERROR_TYPE.getKey(), "");
+        }
+
+        return builder.register(this.meterRegistry);
+    }
 }
@@ -0,0 +1,105 @@
+package ru.tinkoff.kora.micrometer.module.http.server;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import ru.tinkoff.kora.http.common.HttpResultCode;
+import ru.tinkoff.kora.http.common.header.HttpHeaders;
+import ru.tinkoff.kora.micrometer.module.http.server.tag.ActiveRequestsKey;
+import ru.tinkoff.kora.micrometer.module.http.server.tag.DurationKey;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MicrometerRouteMetricsTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Map<ActiveRequestsKey, AtomicInteger> activeRequests = new ConcurrentHashMap<>();
+    private final Map<DurationKey, DistributionSummary> durations = new ConcurrentHashMap<>();
+    private final MicrometerRouteMetrics metrics = new MicrometerRouteMetrics(
+        "GET",
+        "/test/{id}",
+        key -> this.activeRequests.computeIfAbsent(key, k -> new AtomicInteger()),
+        key -> this.durations.computeIfAbsent(key, k -> DistributionSummary.builder("duration").tag("key", k.toString()).register(this.registry)),
+        1_000_000
+    );
+
+    @Test
+    void testActiveRequests() {
+        this.metrics.requestStarted("localhost", "http");
+        this.metrics.requestStarted("localhost", "http");
+        var key = new ActiveRequestsKey("GET", "/test/{id}", "localhost", "http");
+        assertThat(this.activeRequests).containsOnlyKeys(key);
+        assertThat(this.activeRequests.get(key)).hasValue(2);
+
+        this.finish("localhost", "http", 200, null);
+        assertThat(this.activeRequests.get(key)).hasValue(1);
+    }
+
+    @Test
+    void testDurationIsRecordedByStatusCode() {
+        this.request("localhost", "http", 200);
+        this.request("localhost", "http", 200);
+        this.request("localhost", "http", 404);
+
+        var ok = this.durations.get(new DurationKey(200, "GET", "/test/{id}", "localhost", "http", null));
+        var notFound = this.durations.get(new DurationKey(404, "GET", "/test/{id}", "localhost", "http", null));
+        assertThat(this.durations).hasSize(2);
+        assertThat(ok.count()).isEqualTo(2);
+        assertThat(ok.totalAmount()).isEqualTo(4.0);
+        assertThat(notFound.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testExceptionIsRecordedWithErrorType() {
+        this.metrics.requestStarted("localhost", "http");
+        this.finish("localhost", "http", 500, new IllegalStateException());
+
+        var summary = this.durations.get(new DurationKey(500, "GET", "/test/{id}", "localhost", "http", IllegalStateException.class));
+        assertThat(summary.count()).isEqualTo(1);
+        assertThat(this.durations).hasSize(1);
+    }
+
+    @Test
+    void testHostIsLowercased() {
+        this.request("LocalHost", "http", 200);
+        this.request("localhost", "http", 200);
+        this.request("LOCALHOST", "https", 200);
+
+        assertThat(this.activeRequests).containsOnlyKeys(
+            new ActiveRequestsKey("GET", "/test/{id}", "localhost", "http"),
+            new ActiveRequestsKey("GET", "/test/{id}", "localhost", "https")
+        );
+        assertThat(this.durations.get(new DurationKey(200, "GET", "/test/{id}", "localhost", "http", null)).count()).isEqualTo(2);
+        assertThat(this.durations.get(new DurationKey(200, "GET", "/test/{id}", "localhost", "https", null)).count()).isEqualTo(1);
+    }
+
+    @Test
+    void testHostsOverLimitAreReportedAsOther() {
+        for (var i = 0; i < MicrometerRouteMetrics.MAX_HOSTS + 10; i++) {
+            this.request("host" + i, "http", 200);
+        }
+        this.metrics.requestStarted("unknown", "http");
+        this.finish("unknown", "http", 500, new IllegalStateException());
+        this.request("host0", "http", 200);
+
+        assertThat(this.activeRequests).hasSize(MicrometerRouteMetrics.MAX_HOSTS + 1);
+        assertThat(this.activeRequests.get(new ActiveRequestsKey("GET", "/test/{id}", "host0", "http"))).hasValue(0);
+        assertThat(this.activeRequests.get(new ActiveRequestsKey("GET", "/test/{id}", MicrometerRouteMetrics.OTHER_HOST, "http"))).hasValue(0);
+        assertThat(this.durations.get(new DurationKey(200, "GET", "/test/{id}", "host0", "http", null)).count()).isEqualTo(2);
+        assertThat(this.durations.get(new DurationKey(200, "GET", "/test/{id}", MicrometerRouteMetrics.OTHER_HOST, "http", null)).count()).isEqualTo(10);
+        assertThat(this.durations.get(new DurationKey(500, "GET", "/test/{id}", MicrometerRouteMetrics.OTHER_HOST, "http", IllegalStateException.class)).count()).isEqualTo(1);
+        assertThat(this.durations.keySet()).noneMatch(key -> key.host().equals("unknown"));
+    }
+
+    private void request(String host, String scheme, int statusCode) {
+        this.metrics.requestStarted(host, scheme);
+        this.finish(host, scheme, statusCode, null);
+    }
+
+    private void finish(String host, String scheme, int statusCode, Throwable exception) {
+        this.metrics.requestFinished(statusCode, HttpResultCode.fromStatusCode(statusCode), scheme, host, HttpHeaders.empty(), 2_000_000, exception);
+    }
+}